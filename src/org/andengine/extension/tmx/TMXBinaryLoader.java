@@ -0,0 +1,221 @@
+package org.andengine.extension.tmx;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+
+import org.andengine.extension.tmx.TMXBinaryReader.ITMXBinaryReaderListener;
+import org.andengine.extension.tmx.TMXLoader.ITMXTilePropertiesListener;
+import org.andengine.extension.tmx.util.constants.TMXConstants;
+import org.andengine.extension.tmx.util.exception.TMXLoadException;
+import org.andengine.opengl.texture.TextureManager;
+import org.andengine.opengl.texture.TextureOptions;
+import org.andengine.opengl.vbo.VertexBufferObjectManager;
+import org.andengine.util.StreamUtils;
+import org.xml.sax.Attributes;
+import org.xml.sax.SAXException;
+
+import android.content.res.AssetManager;
+
+/**
+ * Loads a {@link TMXTiledMap} that was written by the {@link TMXBinaryWriter}.
+ * Files are memory-mapped and the {@link TMXLayer}s are built straight from {@link IntBuffer} views of the mapped global tile IDs,
+ * so neither XML parsing, nor base64 decoding, nor decompression is necessary. Reading the format is up to the {@link TMXBinaryReader}.
+ *
+ * (c) 2026 Nicolas Gramlich
+ *
+ * @author Nicolas Gramlich
+ * @since 06:30:21 - 18.10.2026
+ */
+public class TMXBinaryLoader implements TMXConstants {
+	// ===========================================================
+	// Constants
+	// ===========================================================
+
+	// ===========================================================
+	// Fields
+	// ===========================================================
+
+	private final AssetManager mAssetManager;
+	private final TextureManager mTextureManager;
+	private final TextureOptions mTextureOptions;
+	private final VertexBufferObjectManager mVertexBufferObjectManager;
+	private final ITMXTilePropertiesListener mTMXTilePropertyListener;
+	private final TMXTileSetCache mTMXTileSetCache;
+
+	// ===========================================================
+	// Constructors
+	// ===========================================================
+
+	public TMXBinaryLoader(final AssetManager pAssetManager, final TextureManager pTextureManager, final VertexBufferObjectManager pVertexBufferObjectManager) {
+		this(pAssetManager, pTextureManager, TextureOptions.DEFAULT, pVertexBufferObjectManager, null);
+	}
+
+	public TMXBinaryLoader(final AssetManager pAssetManager, final TextureManager pTextureManager, final TextureOptions pTextureOptions, final VertexBufferObjectManager pVertexBufferObjectManager, final ITMXTilePropertiesListener pTMXTilePropertyListener) {
+		this(pAssetManager, pTextureManager, pTextureOptions, pVertexBufferObjectManager, pTMXTilePropertyListener, null);
+	}
+
+	/**
+	 * @param pTMXTileSetCache may be <code>null</code>.
+	 */
+	public TMXBinaryLoader(final AssetManager pAssetManager, final TextureManager pTextureManager, final TextureOptions pTextureOptions, final VertexBufferObjectManager pVertexBufferObjectManager, final ITMXTilePropertiesListener pTMXTilePropertyListener, final TMXTileSetCache pTMXTileSetCache) {
+		this.mAssetManager = pAssetManager;
+		this.mTextureManager = pTextureManager;
+		this.mTextureOptions = pTextureOptions;
+		this.mVertexBufferObjectManager = pVertexBufferObjectManager;
+		this.mTMXTilePropertyListener = pTMXTilePropertyListener;
+		this.mTMXTileSetCache = pTMXTileSetCache;
+	}
+
+	// ===========================================================
+	// Getter & Setter
+	// ===========================================================
+
+	// ===========================================================
+	// Methods for/from SuperClass/Interfaces
+	// ===========================================================
+
+	// ===========================================================
+	// Methods
+	// ===========================================================
+
+	/**
+	 * Memory-maps <code>pFile</code>, which is the fastest way to load a binary {@link TMXTiledMap}.
+	 */
+	public TMXTiledMap load(final File pFile) throws TMXLoadException {
+		FileInputStream in = null;
+		try {
+			in = new FileInputStream(pFile);
+			final FileChannel fileChannel = in.getChannel();
+			return this.load(fileChannel.map(FileChannel.MapMode.READ_ONLY, 0, fileChannel.size()));
+		} catch (final IOException e) {
+			throw new TMXLoadException("Could not load TMXTiledMap from file: " + pFile, e);
+		} finally {
+			StreamUtils.close(in);
+		}
+	}
+
+	/**
+	 * Assets are usually compressed inside the APK and can't be memory-mapped, so they are read into memory completely.
+	 */
+	public TMXTiledMap loadFromAsset(final String pAssetPath) throws TMXLoadException {
+		try {
+			return this.load(this.mAssetManager.open(pAssetPath));
+		} catch (final IOException e) {
+			throw new TMXLoadException("Could not load TMXTiledMap from asset: " + pAssetPath, e);
+		}
+	}
+
+	public TMXTiledMap load(final InputStream pInputStream) throws TMXLoadException {
+		try {
+			return this.load(ByteBuffer.wrap(StreamUtils.streamToBytes(pInputStream)));
+		} catch (final IOException e) {
+			throw new TMXLoadException(e);
+		} finally {
+			StreamUtils.close(pInputStream);
+		}
+	}
+
+	/**
+	 * @param pByteBuffer positioned at the start of the binary {@link TMXTiledMap}. Its position is not changed.
+	 */
+	public TMXTiledMap load(final ByteBuffer pByteBuffer) throws TMXLoadException {
+		final TMXTiledMapBuilder tmxTiledMapBuilder = new TMXTiledMapBuilder();
+		new TMXBinaryReader(tmxTiledMapBuilder).read(pByteBuffer);
+		return tmxTiledMapBuilder.mTMXTiledMap;
+	}
+
+	// ===========================================================
+	// Inner and Anonymous Classes
+	// ===========================================================
+
+	/**
+	 * Builds the {@link TMXTiledMap} from what the {@link TMXBinaryReader} reports, along with the textures of its {@link TMXTileSet}s and the sprites of its {@link TMXLayer}s.
+	 */
+	private class TMXTiledMapBuilder implements ITMXBinaryReaderListener {
+		// ===========================================================
+		// Fields
+		// ===========================================================
+
+		private TMXTiledMap mTMXTiledMap;
+		private TMXTileSet mTMXTileSet;
+		private TMXLayer mTMXLayer;
+		private TMXObjectGroup mTMXObjectGroup;
+		private TMXObject mTMXObject;
+
+		// ===========================================================
+		// Methods for/from SuperClass/Interfaces
+		// ===========================================================
+
+		@Override
+		public void onTMXTiledMap(final Attributes pAttributes) {
+			this.mTMXTiledMap = new TMXTiledMap(pAttributes);
+		}
+
+		@Override
+		public void onTMXTiledMapProperty(final Attributes pAttributes) {
+			this.mTMXTiledMap.addTMXTiledMapProperty(new TMXTiledMapProperty(pAttributes));
+		}
+
+		@Override
+		public void onTMXTileSet(final int pFirstGlobalTileID, final Attributes pAttributes, final Attributes pImageAttributes) throws IOException, SAXException {
+			final TMXBinaryLoader tmxBinaryLoader = TMXBinaryLoader.this;
+			this.mTMXTileSet = new TMXTileSet(pFirstGlobalTileID, pAttributes, tmxBinaryLoader.mTextureOptions);
+			this.mTMXTileSet.setImageSource(tmxBinaryLoader.mAssetManager, tmxBinaryLoader.mTextureManager, pImageAttributes, tmxBinaryLoader.mTMXTileSetCache);
+			this.mTMXTiledMap.addTMXTileSet(this.mTMXTileSet);
+		}
+
+		@Override
+		public void onTMXTileProperty(final int pLocalTileID, final Attributes pAttributes) {
+			this.mTMXTileSet.addTMXTileProperty(pLocalTileID, new TMXTileProperty(pAttributes));
+		}
+
+		@Override
+		public void onTMXTileAnimationFrame(final int pLocalTileID, final int pFrameLocalTileID, final int pFrameDuration) {
+			this.mTMXTileSet.addTMXTileAnimationFrame(pLocalTileID, pFrameLocalTileID, pFrameDuration);
+		}
+
+		@Override
+		public void onTMXLayer(final Attributes pAttributes) {
+			this.mTMXLayer = new TMXLayer(this.mTMXTiledMap, pAttributes, TMXBinaryLoader.this.mVertexBufferObjectManager);
+			this.mTMXTiledMap.addTMXLayer(this.mTMXLayer);
+		}
+
+		@Override
+		public void onTMXLayerProperty(final Attributes pAttributes) {
+			this.mTMXLayer.addTMXLayerProperty(new TMXLayerProperty(pAttributes));
+		}
+
+		@Override
+		public void onTMXLayerGlobalTileIDs(final IntBuffer pGlobalTileIDs) {
+			this.mTMXLayer.initializeTMXTilesFromIntBuffer(pGlobalTileIDs, TMXBinaryLoader.this.mTMXTilePropertyListener);
+			this.mTMXLayer.submitTMXTiles();
+		}
+
+		@Override
+		public void onTMXObjectGroup(final Attributes pAttributes) {
+			this.mTMXObjectGroup = new TMXObjectGroup(pAttributes);
+			this.mTMXTiledMap.addTMXObjectGroup(this.mTMXObjectGroup);
+		}
+
+		@Override
+		public void onTMXObjectGroupProperty(final Attributes pAttributes) {
+			this.mTMXObjectGroup.addTMXObjectGroupProperty(new TMXObjectGroupProperty(pAttributes));
+		}
+
+		@Override
+		public void onTMXObject(final Attributes pAttributes) {
+			this.mTMXObject = new TMXObject(pAttributes);
+			this.mTMXObjectGroup.addTMXObject(this.mTMXObject);
+		}
+
+		@Override
+		public void onTMXObjectProperty(final Attributes pAttributes) {
+			this.mTMXObject.addTMXObjectProperty(new TMXObjectProperty(pAttributes));
+		}
+	}
+}
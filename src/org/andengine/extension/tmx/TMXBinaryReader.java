@@ -0,0 +1,300 @@
+package org.andengine.extension.tmx;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+
+import org.andengine.extension.tmx.util.constants.TMXConstants;
+import org.andengine.extension.tmx.util.exception.TMXLoadException;
+import org.xml.sax.Attributes;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.AttributesImpl;
+
+/**
+ * Reads the binary format written by the {@link TMXBinaryWriter} and reports its contents to an {@link ITMXBinaryReaderListener}, much like a SAX parser reports a TMX file.
+ * The attributes passed on have the same names as in a TMX file, so the {@link TMXTiledMap} can be built from them the same way.
+ * Knows nothing about textures or GL, building the {@link TMXTiledMap} is up to the {@link TMXBinaryLoader}.
+ *
+ * (c) 2026 Nicolas Gramlich
+ *
+ * @author Nicolas Gramlich
+ * @since 07:28:40 - 18.10.2026
+ */
+public class TMXBinaryReader implements TMXConstants {
+	// ===========================================================
+	// Constants
+	// ===========================================================
+
+	// ===========================================================
+	// Fields
+	// ===========================================================
+
+	private final ITMXBinaryReaderListener mTMXBinaryReaderListener;
+
+	// ===========================================================
+	// Constructors
+	// ===========================================================
+
+	public TMXBinaryReader(final ITMXBinaryReaderListener pTMXBinaryReaderListener) {
+		this.mTMXBinaryReaderListener = pTMXBinaryReaderListener;
+	}
+
+	// ===========================================================
+	// Getter & Setter
+	// ===========================================================
+
+	// ===========================================================
+	// Methods for/from SuperClass/Interfaces
+	// ===========================================================
+
+	// ===========================================================
+	// Methods
+	// ===========================================================
+
+	/**
+	 * @param pByteBuffer positioned at the start of the binary {@link TMXTiledMap}. Its position is not changed.
+	 * @throws TMXLoadException if <code>pByteBuffer</code> does not hold a supported binary {@link TMXTiledMap}, is truncated, or the {@link ITMXBinaryReaderListener} fails.
+	 */
+	public void read(final ByteBuffer pByteBuffer) throws TMXLoadException {
+		final ByteBuffer byteBuffer = pByteBuffer.slice();
+		byteBuffer.order(ByteOrder.BIG_ENDIAN);
+
+		try {
+			if(byteBuffer.getInt() != TMXConstants.BINARY_FORMAT_MAGIC) {
+				throw new TMXLoadException("Not a binary TMXTiledMap.");
+			}
+			final int version = byteBuffer.getInt();
+			/* Older versions only lack what later versions added, so they can still be read. */
+			if(version < 1 || version > TMXConstants.BINARY_FORMAT_VERSION) {
+				throw new TMXLoadException("Unsupported binary TMXTiledMap version: " + version);
+			}
+			final ByteOrder globalTileIDByteOrder;
+			if(version < 3) {
+				globalTileIDByteOrder = ByteOrder.BIG_ENDIAN;
+			} else {
+				final int byteOrder = byteBuffer.getInt();
+				if(byteOrder == TMXConstants.BINARY_FORMAT_BYTEORDER_LITTLE_ENDIAN) {
+					globalTileIDByteOrder = ByteOrder.LITTLE_ENDIAN;
+				} else if(byteOrder == TMXConstants.BINARY_FORMAT_BYTEORDER_BIG_ENDIAN) {
+					globalTileIDByteOrder = ByteOrder.BIG_ENDIAN;
+				} else {
+					throw new TMXLoadException("Unsupported byte order of the binary TMXTiledMap: " + byteOrder);
+				}
+			}
+
+			final ITMXBinaryReaderListener tmxBinaryReaderListener = this.mTMXBinaryReaderListener;
+
+			final AttributesImpl tmxTiledMapAttributes = new AttributesImpl();
+			TMXBinaryReader.addAttribute(tmxTiledMapAttributes, TMXConstants.TAG_MAP_ATTRIBUTE_ORIENTATION, TMXBinaryReader.readString(byteBuffer));
+			TMXBinaryReader.addAttribute(tmxTiledMapAttributes, TMXConstants.TAG_MAP_ATTRIBUTE_WIDTH, byteBuffer.getInt());
+			TMXBinaryReader.addAttribute(tmxTiledMapAttributes, TMXConstants.TAG_MAP_ATTRIBUTE_HEIGHT, byteBuffer.getInt());
+			TMXBinaryReader.addAttribute(tmxTiledMapAttributes, TMXConstants.TAG_MAP_ATTRIBUTE_TILEWIDTH, byteBuffer.getInt());
+			TMXBinaryReader.addAttribute(tmxTiledMapAttributes, TMXConstants.TAG_MAP_ATTRIBUTE_TILEHEIGHT, byteBuffer.getInt());
+			tmxBinaryReaderListener.onTMXTiledMap(tmxTiledMapAttributes);
+
+			final int tmxTiledMapPropertyCount = byteBuffer.getInt();
+			for(int i = 0; i < tmxTiledMapPropertyCount; i++) {
+				tmxBinaryReaderListener.onTMXTiledMapProperty(TMXBinaryReader.readTMXPropertyAttributes(byteBuffer));
+			}
+
+			final int tmxTileSetCount = byteBuffer.getInt();
+			for(int i = 0; i < tmxTileSetCount; i++) {
+				this.readTMXTileSet(byteBuffer, version);
+			}
+
+			final int tmxLayerCount = byteBuffer.getInt();
+			for(int i = 0; i < tmxLayerCount; i++) {
+				this.readTMXLayer(byteBuffer, globalTileIDByteOrder);
+			}
+
+			final int tmxObjectGroupCount = byteBuffer.getInt();
+			for(int i = 0; i < tmxObjectGroupCount; i++) {
+				this.readTMXObjectGroup(byteBuffer);
+			}
+		} catch (final BufferUnderflowException e) {
+			throw new TMXLoadException("Truncated binary TMXTiledMap.", e);
+		} catch (final IllegalArgumentException e) {
+			throw new TMXLoadException(e);
+		} catch (final SAXException e) {
+			throw new TMXLoadException(e);
+		} catch (final IOException e) {
+			throw new TMXLoadException(e);
+		}
+	}
+
+	private void readTMXTileSet(final ByteBuffer pByteBuffer, final int pVersion) throws IOException, SAXException {
+		final ITMXBinaryReaderListener tmxBinaryReaderListener = this.mTMXBinaryReaderListener;
+
+		final int firstGlobalTileID = pByteBuffer.getInt();
+
+		final AttributesImpl tmxTileSetAttributes = new AttributesImpl();
+		TMXBinaryReader.addAttribute(tmxTileSetAttributes, TMXConstants.TAG_TILESET_ATTRIBUTE_NAME, TMXBinaryReader.readString(pByteBuffer));
+		TMXBinaryReader.addAttribute(tmxTileSetAttributes, TMXConstants.TAG_TILESET_ATTRIBUTE_TILEWIDTH, pByteBuffer.getInt());
+		TMXBinaryReader.addAttribute(tmxTileSetAttributes, TMXConstants.TAG_TILESET_ATTRIBUTE_TILEHEIGHT, pByteBuffer.getInt());
+		TMXBinaryReader.addAttribute(tmxTileSetAttributes, TMXConstants.TAG_TILESET_ATTRIBUTE_SPACING, pByteBuffer.getInt());
+		TMXBinaryReader.addAttribute(tmxTileSetAttributes, TMXConstants.TAG_TILESET_ATTRIBUTE_MARGIN, pByteBuffer.getInt());
+
+		final AttributesImpl imageAttributes = new AttributesImpl();
+		TMXBinaryReader.addAttribute(imageAttributes, TMXConstants.TAG_IMAGE_ATTRIBUTE_SOURCE, TMXBinaryReader.readString(pByteBuffer));
+		TMXBinaryReader.addAttribute(imageAttributes, TMXConstants.TAG_IMAGE_ATTRIBUTE_TRANS, TMXBinaryReader.readString(pByteBuffer));
+		tmxBinaryReaderListener.onTMXTileSet(firstGlobalTileID, tmxTileSetAttributes, imageAttributes);
+
+		final int tmxTilePropertiesCount = pByteBuffer.getInt();
+		for(int i = 0; i < tmxTilePropertiesCount; i++) {
+			final int localTileID = pByteBuffer.getInt();
+			final int tmxTilePropertyCount = pByteBuffer.getInt();
+			for(int j = 0; j < tmxTilePropertyCount; j++) {
+				tmxBinaryReaderListener.onTMXTileProperty(localTileID, TMXBinaryReader.readTMXPropertyAttributes(pByteBuffer));
+			}
+		}
+
+		if(pVersion >= 2) {
+			final int tmxTileAnimationCount = pByteBuffer.getInt();
+			for(int i = 0; i < tmxTileAnimationCount; i++) {
+				final int localTileID = pByteBuffer.getInt();
+				final int frameCount = pByteBuffer.getInt();
+				for(int frame = 0; frame < frameCount; frame++) {
+					final int frameLocalTileID = pByteBuffer.getInt();
+					tmxBinaryReaderListener.onTMXTileAnimationFrame(localTileID, frameLocalTileID, pByteBuffer.getInt());
+				}
+			}
+		}
+	}
+
+	private void readTMXLayer(final ByteBuffer pByteBuffer, final ByteOrder pGlobalTileIDByteOrder) throws IOException, SAXException {
+		final ITMXBinaryReaderListener tmxBinaryReaderListener = this.mTMXBinaryReaderListener;
+
+		final AttributesImpl tmxLayerAttributes = new AttributesImpl();
+		TMXBinaryReader.addAttribute(tmxLayerAttributes, TMXConstants.TAG_LAYER_ATTRIBUTE_NAME, TMXBinaryReader.readString(pByteBuffer));
+		final int tileColumns = pByteBuffer.getInt();
+		final int tileRows = pByteBuffer.getInt();
+		TMXBinaryReader.addAttribute(tmxLayerAttributes, TMXConstants.TAG_LAYER_ATTRIBUTE_WIDTH, tileColumns);
+		TMXBinaryReader.addAttribute(tmxLayerAttributes, TMXConstants.TAG_LAYER_ATTRIBUTE_HEIGHT, tileRows);
+		TMXBinaryReader.addAttribute(tmxLayerAttributes, TMXConstants.TAG_LAYER_ATTRIBUTE_VISIBLE, pByteBuffer.getInt());
+		TMXBinaryReader.addAttribute(tmxLayerAttributes, TMXConstants.TAG_LAYER_ATTRIBUTE_OPACITY, Float.toString(pByteBuffer.getFloat()));
+		tmxBinaryReaderListener.onTMXLayer(tmxLayerAttributes);
+
+		final int tmxLayerPropertyCount = pByteBuffer.getInt();
+		for(int i = 0; i < tmxLayerPropertyCount; i++) {
+			tmxBinaryReaderListener.onTMXLayerProperty(TMXBinaryReader.readTMXPropertyAttributes(pByteBuffer));
+		}
+
+		/* Skip the alignment padding. */
+		final int misalignment = pByteBuffer.position() % TMXConstants.BYTES_PER_GLOBALTILEID;
+		if(misalignment != 0) {
+			pByteBuffer.position(pByteBuffer.position() + TMXConstants.BYTES_PER_GLOBALTILEID - misalignment);
+		}
+
+		final int globalTileIDByteCount = tileColumns * tileRows * TMXConstants.BYTES_PER_GLOBALTILEID;
+		if(pByteBuffer.remaining() < globalTileIDByteCount) {
+			throw new BufferUnderflowException();
+		}
+		final ByteBuffer globalTileIDBytes = pByteBuffer.slice();
+		globalTileIDBytes.limit(globalTileIDByteCount);
+		tmxBinaryReaderListener.onTMXLayerGlobalTileIDs(globalTileIDBytes.order(pGlobalTileIDByteOrder).asIntBuffer());
+
+		pByteBuffer.position(pByteBuffer.position() + globalTileIDByteCount);
+	}
+
+	private void readTMXObjectGroup(final ByteBuffer pByteBuffer) throws IOException, SAXException {
+		final ITMXBinaryReaderListener tmxBinaryReaderListener = this.mTMXBinaryReaderListener;
+
+		final AttributesImpl tmxObjectGroupAttributes = new AttributesImpl();
+		TMXBinaryReader.addAttribute(tmxObjectGroupAttributes, TMXConstants.TAG_OBJECTGROUP_ATTRIBUTE_NAME, TMXBinaryReader.readString(pByteBuffer));
+		TMXBinaryReader.addAttribute(tmxObjectGroupAttributes, TMXConstants.TAG_OBJECTGROUP_ATTRIBUTE_WIDTH, pByteBuffer.getInt());
+		TMXBinaryReader.addAttribute(tmxObjectGroupAttributes, TMXConstants.TAG_OBJECTGROUP_ATTRIBUTE_HEIGHT, pByteBuffer.getInt());
+		tmxBinaryReaderListener.onTMXObjectGroup(tmxObjectGroupAttributes);
+
+		final int tmxObjectGroupPropertyCount = pByteBuffer.getInt();
+		for(int i = 0; i < tmxObjectGroupPropertyCount; i++) {
+			tmxBinaryReaderListener.onTMXObjectGroupProperty(TMXBinaryReader.readTMXPropertyAttributes(pByteBuffer));
+		}
+
+		final int tmxObjectCount = pByteBuffer.getInt();
+		for(int i = 0; i < tmxObjectCount; i++) {
+			final AttributesImpl tmxObjectAttributes = new AttributesImpl();
+			TMXBinaryReader.addAttribute(tmxObjectAttributes, TMXConstants.TAG_OBJECT_ATTRIBUTE_NAME, TMXBinaryReader.readString(pByteBuffer));
+			TMXBinaryReader.addAttribute(tmxObjectAttributes, TMXConstants.TAG_OBJECT_ATTRIBUTE_TYPE, TMXBinaryReader.readString(pByteBuffer));
+			TMXBinaryReader.addAttribute(tmxObjectAttributes, TMXConstants.TAG_OBJECT_ATTRIBUTE_X, pByteBuffer.getInt());
+			TMXBinaryReader.addAttribute(tmxObjectAttributes, TMXConstants.TAG_OBJECT_ATTRIBUTE_Y, pByteBuffer.getInt());
+			TMXBinaryReader.addAttribute(tmxObjectAttributes, TMXConstants.TAG_OBJECT_ATTRIBUTE_WIDTH, pByteBuffer.getInt());
+			TMXBinaryReader.addAttribute(tmxObjectAttributes, TMXConstants.TAG_OBJECT_ATTRIBUTE_HEIGHT, pByteBuffer.getInt());
+			tmxBinaryReaderListener.onTMXObject(tmxObjectAttributes);
+
+			final int tmxObjectPropertyCount = pByteBuffer.getInt();
+			for(int j = 0; j < tmxObjectPropertyCount; j++) {
+				tmxBinaryReaderListener.onTMXObjectProperty(TMXBinaryReader.readTMXPropertyAttributes(pByteBuffer));
+			}
+		}
+	}
+
+	private static AttributesImpl readTMXPropertyAttributes(final ByteBuffer pByteBuffer) throws IOException {
+		final AttributesImpl tmxPropertyAttributes = new AttributesImpl();
+		TMXBinaryReader.addAttribute(tmxPropertyAttributes, TMXConstants.TAG_PROPERTY_ATTRIBUTE_NAME, TMXBinaryReader.readString(pByteBuffer));
+		TMXBinaryReader.addAttribute(tmxPropertyAttributes, TMXConstants.TAG_PROPERTY_ATTRIBUTE_VALUE, TMXBinaryReader.readString(pByteBuffer));
+		return tmxPropertyAttributes;
+	}
+
+	private static String readString(final ByteBuffer pByteBuffer) throws IOException {
+		final int length = pByteBuffer.getInt();
+		if(length < 0) {
+			return null;
+		} else {
+			final byte[] bytes = new byte[length];
+			pByteBuffer.get(bytes);
+			return new String(bytes, "UTF-8");
+		}
+	}
+
+	private static void addAttribute(final AttributesImpl pAttributes, final String pName, final int pValue) {
+		TMXBinaryReader.addAttribute(pAttributes, pName, Integer.toString(pValue));
+	}
+
+	private static void addAttribute(final AttributesImpl pAttributes, final String pName, final String pValue) {
+		if(pValue != null) {
+			pAttributes.addAttribute("", pName, pName, "CDATA", pValue);
+		}
+	}
+
+	// ===========================================================
+	// Inner and Anonymous Classes
+	// ===========================================================
+
+	/**
+	 * Called in the order of the binary format: the map and its properties, every tileset with its tile properties and animation frames,
+	 * every layer with its properties and global tile IDs, and every object group with its properties and objects, each followed by its properties.
+	 */
+	public static interface ITMXBinaryReaderListener {
+		// ===========================================================
+		// Constants
+		// ===========================================================
+
+		// ===========================================================
+		// Methods
+		// ===========================================================
+
+		public void onTMXTiledMap(final Attributes pAttributes) throws IOException, SAXException;
+		public void onTMXTiledMapProperty(final Attributes pAttributes) throws IOException, SAXException;
+
+		/**
+		 * @param pImageAttributes the attributes of the image of the tileset, as in the <code>image</code> tag of a TMX file.
+		 */
+		public void onTMXTileSet(final int pFirstGlobalTileID, final Attributes pAttributes, final Attributes pImageAttributes) throws IOException, SAXException;
+		public void onTMXTileProperty(final int pLocalTileID, final Attributes pAttributes) throws IOException, SAXException;
+		public void onTMXTileAnimationFrame(final int pLocalTileID, final int pFrameLocalTileID, final int pFrameDuration) throws IOException, SAXException;
+
+		public void onTMXLayer(final Attributes pAttributes) throws IOException, SAXException;
+		public void onTMXLayerProperty(final Attributes pAttributes) throws IOException, SAXException;
+		/**
+		 * @param pGlobalTileIDs the global tile IDs of the layer, row by row. A view of the buffer that is read, so nothing is copied.
+		 */
+		public void onTMXLayerGlobalTileIDs(final IntBuffer pGlobalTileIDs) throws IOException, SAXException;
+
+		public void onTMXObjectGroup(final Attributes pAttributes) throws IOException, SAXException;
+		public void onTMXObjectGroupProperty(final Attributes pAttributes) throws IOException, SAXException;
+		public void onTMXObject(final Attributes pAttributes) throws IOException, SAXException;
+		public void onTMXObjectProperty(final Attributes pAttributes) throws IOException, SAXException;
+	}
+}
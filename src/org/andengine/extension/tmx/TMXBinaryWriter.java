@@ -0,0 +1,267 @@
+package org.andengine.extension.tmx;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+
+import org.andengine.extension.tmx.util.constants.TMXConstants;
+import org.andengine.util.StreamUtils;
+
+import android.util.SparseArray;
+
+/**
+ * Serializes a loaded {@link TMXTiledMap} into a compact, versioned binary format that can be loaded with the {@link TMXBinaryLoader}.
+ * All values are big-endian, except for the global tile IDs. Strings are stored as their UTF-8 byte length (-1 for <code>null</code>) followed by the bytes.
+ * The global tile IDs of every {@link TMXLayer} are stored as a raw, 4-byte aligned, little-endian int array, so they can be used straight from a memory-mapped file
+ * in the native byte order of Android devices.
+ *
+ * <pre>
+ * int magic, int version, int globalTileIDByteOrder
+ * map:          string orientation, int tileColumns, int tileRows, int tileWidth, int tileHeight, properties
+ * tilesets:     int count, { int firstGID, string name, int tileWidth, int tileHeight, int spacing, int margin, string imageSource, string transparentColor,
+ *                            int tilePropertiesCount, { int localTileID, properties },
+ *                            int tileAnimationCount, { int localTileID, int frameCount, { int frameLocalTileID, int frameDuration } } }
+ * layers:       int count, { string name, int tileColumns, int tileRows, int visible, float opacity, properties, padding, int[tileColumns * tileRows] globalTileIDs }
+ * objectgroups: int count, { string name, int width, int height, properties, int objectCount, { string name, string type, int x, int y, int width, int height, properties } }
+ * properties:   int count, { string name, string value }
+ * </pre>
+ *
+ * (c) 2026 Nicolas Gramlich
+ *
+ * @author Nicolas Gramlich
+ * @since 06:28:47 - 18.10.2026
+ */
+public class TMXBinaryWriter implements TMXConstants {
+	// ===========================================================
+	// Constants
+	// ===========================================================
+
+	// ===========================================================
+	// Fields
+	// ===========================================================
+
+	// ===========================================================
+	// Constructors
+	// ===========================================================
+
+	// ===========================================================
+	// Getter & Setter
+	// ===========================================================
+
+	// ===========================================================
+	// Methods for/from SuperClass/Interfaces
+	// ===========================================================
+
+	// ===========================================================
+	// Methods
+	// ===========================================================
+
+	public void write(final TMXTiledMap pTMXTiledMap, final File pFile) throws IOException {
+		OutputStream out = null;
+		try {
+			out = new FileOutputStream(pFile);
+			this.write(pTMXTiledMap, out);
+		} finally {
+			StreamUtils.close(out);
+		}
+	}
+
+	/**
+	 * Note that <code>pOutputStream</code> is flushed, but not closed.
+	 */
+	public void write(final TMXTiledMap pTMXTiledMap, final OutputStream pOutputStream) throws IOException {
+		final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(pOutputStream));
+
+		TMXBinaryWriter.writeHeader(out);
+		TMXBinaryWriter.writeTMXTiledMap(out, pTMXTiledMap.getOrientation(), pTMXTiledMap.getTileColumns(), pTMXTiledMap.getTileRows(), pTMXTiledMap.getTileWidth(), pTMXTiledMap.getTileHeight(), pTMXTiledMap.getTMXTiledMapProperties());
+
+		final ArrayList<TMXTileSet> tmxTileSets = pTMXTiledMap.getTMXTileSets();
+		out.writeInt(tmxTileSets.size());
+		for(int i = 0; i < tmxTileSets.size(); i++) {
+			TMXBinaryWriter.writeTMXTileSet(out, tmxTileSets.get(i));
+		}
+
+		final ArrayList<TMXLayer> tmxLayers = pTMXTiledMap.getTMXLayers();
+		out.writeInt(tmxLayers.size());
+		for(int i = 0; i < tmxLayers.size(); i++) {
+			TMXBinaryWriter.writeTMXLayer(out, tmxLayers.get(i));
+		}
+
+		final ArrayList<TMXObjectGroup> tmxObjectGroups = pTMXTiledMap.getTMXObjectGroups();
+		out.writeInt(tmxObjectGroups.size());
+		for(int i = 0; i < tmxObjectGroups.size(); i++) {
+			TMXBinaryWriter.writeTMXObjectGroup(out, tmxObjectGroups.get(i));
+		}
+
+		out.flush();
+	}
+
+	private static void writeTMXTileSet(final DataOutputStream pDataOutputStream, final TMXTileSet pTMXTileSet) throws IOException {
+		TMXBinaryWriter.writeTMXTileSet(pDataOutputStream, pTMXTileSet.getFirstGlobalTileID(), pTMXTileSet.getName(), pTMXTileSet.getTileWidth(), pTMXTileSet.getTileHeight(), pTMXTileSet.getSpacing(), pTMXTileSet.getMargin(), pTMXTileSet.getImageSource(), pTMXTileSet.getTransparentColor());
+
+		final SparseArray<TMXProperties<TMXTileProperty>> tmxTileProperties = pTMXTileSet.getTMXTileProperties();
+		final int tmxTilePropertiesCount = tmxTileProperties.size();
+		pDataOutputStream.writeInt(tmxTilePropertiesCount);
+		for(int i = 0; i < tmxTilePropertiesCount; i++) {
+			TMXBinaryWriter.writeTMXTileProperties(pDataOutputStream, tmxTileProperties.keyAt(i), tmxTileProperties.valueAt(i));
+		}
+
+		final SparseArray<TMXTileAnimation> tmxTileAnimations = pTMXTileSet.getTMXTileAnimations();
+		final int tmxTileAnimationCount = tmxTileAnimations.size();
+		pDataOutputStream.writeInt(tmxTileAnimationCount);
+		for(int i = 0; i < tmxTileAnimationCount; i++) {
+			TMXBinaryWriter.writeTMXTileAnimation(pDataOutputStream, tmxTileAnimations.keyAt(i), tmxTileAnimations.valueAt(i));
+		}
+	}
+
+	private static void writeTMXLayer(final DataOutputStream pDataOutputStream, final TMXLayer pTMXLayer) throws IOException {
+		final int tileColumns = pTMXLayer.getTileColumns();
+		final int tileRows = pTMXLayer.getTileRows();
+
+		TMXBinaryWriter.writeTMXLayer(pDataOutputStream, pTMXLayer.getName(), tileColumns, tileRows, pTMXLayer.isVisible(), pTMXLayer.getAlpha(), pTMXLayer.getTMXLayerProperties());
+
+		final int[] globalTileIDs = new int[tileColumns * tileRows];
+		for(int row = 0; row < tileRows; row++) {
+			for(int column = 0; column < tileColumns; column++) {
+				globalTileIDs[row * tileColumns + column] = pTMXLayer.getGlobalTileID(column, row);
+			}
+		}
+		TMXBinaryWriter.writeGlobalTileIDs(pDataOutputStream, globalTileIDs, ByteOrder.LITTLE_ENDIAN);
+	}
+
+	private static void writeTMXObjectGroup(final DataOutputStream pDataOutputStream, final TMXObjectGroup pTMXObjectGroup) throws IOException {
+		TMXBinaryWriter.writeTMXObjectGroup(pDataOutputStream, pTMXObjectGroup.getName(), pTMXObjectGroup.getWidth(), pTMXObjectGroup.getHeight(), pTMXObjectGroup.getTMXObjectGroupProperties());
+
+		final ArrayList<TMXObject> tmxObjects = pTMXObjectGroup.getTMXObjects();
+		pDataOutputStream.writeInt(tmxObjects.size());
+		for(int i = 0; i < tmxObjects.size(); i++) {
+			TMXBinaryWriter.writeTMXObject(pDataOutputStream, tmxObjects.get(i));
+		}
+	}
+
+	/**
+	 * Writes the header of the current version, with little-endian global tile IDs.
+	 * This and the following methods write the parts of the format one by one, so a map can be written without a loaded {@link TMXTiledMap}, i.e. in tests.
+	 * The counts in between are up to the caller.
+	 */
+	static void writeHeader(final DataOutputStream pDataOutputStream) throws IOException {
+		pDataOutputStream.writeInt(TMXConstants.BINARY_FORMAT_MAGIC);
+		pDataOutputStream.writeInt(TMXConstants.BINARY_FORMAT_VERSION);
+		pDataOutputStream.writeInt(TMXConstants.BINARY_FORMAT_BYTEORDER_LITTLE_ENDIAN);
+	}
+
+	static void writeTMXTiledMap(final DataOutputStream pDataOutputStream, final String pOrientation, final int pTileColumns, final int pTileRows, final int pTileWidth, final int pTileHeight, final TMXProperties<? extends TMXProperty> pTMXProperties) throws IOException {
+		TMXBinaryWriter.writeString(pDataOutputStream, pOrientation);
+		pDataOutputStream.writeInt(pTileColumns);
+		pDataOutputStream.writeInt(pTileRows);
+		pDataOutputStream.writeInt(pTileWidth);
+		pDataOutputStream.writeInt(pTileHeight);
+		TMXBinaryWriter.writeTMXProperties(pDataOutputStream, pTMXProperties);
+	}
+
+	/**
+	 * Writes everything of a tileset up to its tile properties.
+	 */
+	static void writeTMXTileSet(final DataOutputStream pDataOutputStream, final int pFirstGlobalTileID, final String pName, final int pTileWidth, final int pTileHeight, final int pSpacing, final int pMargin, final String pImageSource, final String pTransparentColor) throws IOException {
+		pDataOutputStream.writeInt(pFirstGlobalTileID);
+		TMXBinaryWriter.writeString(pDataOutputStream, pName);
+		pDataOutputStream.writeInt(pTileWidth);
+		pDataOutputStream.writeInt(pTileHeight);
+		pDataOutputStream.writeInt(pSpacing);
+		pDataOutputStream.writeInt(pMargin);
+		TMXBinaryWriter.writeString(pDataOutputStream, pImageSource);
+		TMXBinaryWriter.writeString(pDataOutputStream, pTransparentColor);
+	}
+
+	static void writeTMXTileProperties(final DataOutputStream pDataOutputStream, final int pLocalTileID, final TMXProperties<? extends TMXProperty> pTMXProperties) throws IOException {
+		pDataOutputStream.writeInt(pLocalTileID);
+		TMXBinaryWriter.writeTMXProperties(pDataOutputStream, pTMXProperties);
+	}
+
+	static void writeTMXTileAnimation(final DataOutputStream pDataOutputStream, final int pLocalTileID, final TMXTileAnimation pTMXTileAnimation) throws IOException {
+		pDataOutputStream.writeInt(pLocalTileID);
+		final int frameCount = pTMXTileAnimation.getFrameCount();
+		pDataOutputStream.writeInt(frameCount);
+		for(int frame = 0; frame < frameCount; frame++) {
+			pDataOutputStream.writeInt(pTMXTileAnimation.getFrameLocalTileID(frame));
+			pDataOutputStream.writeInt(pTMXTileAnimation.getFrameDuration(frame));
+		}
+	}
+
+	/**
+	 * Writes everything of a layer up to its global tile IDs, see {@link #writeGlobalTileIDs(DataOutputStream, int[], ByteOrder)}.
+	 */
+	static void writeTMXLayer(final DataOutputStream pDataOutputStream, final String pName, final int pTileColumns, final int pTileRows, final boolean pVisible, final float pOpacity, final TMXProperties<? extends TMXProperty> pTMXProperties) throws IOException {
+		TMXBinaryWriter.writeString(pDataOutputStream, pName);
+		pDataOutputStream.writeInt(pTileColumns);
+		pDataOutputStream.writeInt(pTileRows);
+		pDataOutputStream.writeInt(pVisible ? 1 : 0);
+		pDataOutputStream.writeFloat(pOpacity);
+		TMXBinaryWriter.writeTMXProperties(pDataOutputStream, pTMXProperties);
+	}
+
+	/**
+	 * @param pGlobalTileIDs row by row.
+	 * @param pByteOrder {@link ByteOrder#LITTLE_ENDIAN} for the current version, {@link ByteOrder#BIG_ENDIAN} for versions before 3.
+	 */
+	static void writeGlobalTileIDs(final DataOutputStream pDataOutputStream, final int[] pGlobalTileIDs, final ByteOrder pByteOrder) throws IOException {
+		/* Align the global tile IDs, so they can be viewed as an IntBuffer efficiently. */
+		while(pDataOutputStream.size() % TMXConstants.BYTES_PER_GLOBALTILEID != 0) {
+			pDataOutputStream.writeByte(0);
+		}
+
+		final ByteBuffer globalTileIDBytes = ByteBuffer.allocate(pGlobalTileIDs.length * TMXConstants.BYTES_PER_GLOBALTILEID);
+		globalTileIDBytes.order(pByteOrder).asIntBuffer().put(pGlobalTileIDs);
+		pDataOutputStream.write(globalTileIDBytes.array());
+	}
+
+	/**
+	 * Writes everything of an object group up to its objects.
+	 */
+	static void writeTMXObjectGroup(final DataOutputStream pDataOutputStream, final String pName, final int pWidth, final int pHeight, final TMXProperties<? extends TMXProperty> pTMXProperties) throws IOException {
+		TMXBinaryWriter.writeString(pDataOutputStream, pName);
+		pDataOutputStream.writeInt(pWidth);
+		pDataOutputStream.writeInt(pHeight);
+		TMXBinaryWriter.writeTMXProperties(pDataOutputStream, pTMXProperties);
+	}
+
+	static void writeTMXObject(final DataOutputStream pDataOutputStream, final TMXObject pTMXObject) throws IOException {
+		TMXBinaryWriter.writeString(pDataOutputStream, pTMXObject.getName());
+		TMXBinaryWriter.writeString(pDataOutputStream, pTMXObject.getType());
+		pDataOutputStream.writeInt(pTMXObject.getX());
+		pDataOutputStream.writeInt(pTMXObject.getY());
+		pDataOutputStream.writeInt(pTMXObject.getWidth());
+		pDataOutputStream.writeInt(pTMXObject.getHeight());
+		TMXBinaryWriter.writeTMXProperties(pDataOutputStream, pTMXObject.getTMXObjectProperties());
+	}
+
+	static void writeTMXProperties(final DataOutputStream pDataOutputStream, final TMXProperties<? extends TMXProperty> pTMXProperties) throws IOException {
+		final int tmxPropertyCount = pTMXProperties.size();
+		pDataOutputStream.writeInt(tmxPropertyCount);
+		for(int i = 0; i < tmxPropertyCount; i++) {
+			final TMXProperty tmxProperty = pTMXProperties.get(i);
+			TMXBinaryWriter.writeString(pDataOutputStream, tmxProperty.getName());
+			TMXBinaryWriter.writeString(pDataOutputStream, tmxProperty.getValue());
+		}
+	}
+
+	static void writeString(final DataOutputStream pDataOutputStream, final String pString) throws IOException {
+		if(pString == null) {
+			pDataOutputStream.writeInt(-1);
+		} else {
+			final byte[] bytes = pString.getBytes("UTF-8");
+			pDataOutputStream.writeInt(bytes.length);
+			pDataOutputStream.write(bytes);
+		}
+	}
+
+	// ===========================================================
+	// Inner and Anonymous Classes
+	// ===========================================================
+}
@@ -0,0 +1,285 @@
+package org.andengine.extension.tmx;
+
+import java.util.Arrays;
+
+/**
+ * Keeps track of the textures the chunks of a {@link TMXLayer} were rendered into, see {@link TMXLayer#enableChunkTextureCache(org.andengine.opengl.texture.TextureManager, long)}.
+ * Bounds their total size in bytes by evicting the least recently used ones, but never one that was used in the current frame,
+ * so a budget too small for the visible chunks does not make them evict each other every frame.
+ * Knows nothing about textures or GL itself, what an evicted texture needs is up to the {@link ITMXChunkTextureCacheListener}.
+ *
+ * (c) 2026 Nicolas Gramlich
+ *
+ * @author Nicolas Gramlich
+ * @since 06:52:08 - 18.10.2026
+ */
+public class TMXChunkTextureCache<T> {
+	// ===========================================================
+	// Constants
+	// ===========================================================
+
+	private static final int CHUNK_NONE = -1;
+
+	// ===========================================================
+	// Fields
+	// ===========================================================
+
+	private final ITMXChunkTextureCacheListener<T> mTMXChunkTextureCacheListener;
+
+	private long mByteBudget;
+	private long mByteCount;
+	private int mChunkTextureCount;
+
+	private final Object[] mChunkTextures;
+	private final int[] mChunkTextureByteCounts;
+	private final boolean[] mChunkTexturesValid;
+	private final int[] mChunkTextureFrames;
+
+	/** The chunks with a texture, as a doubly linked list from the most to the least recently used one. */
+	private final int[] mPreviousChunks;
+	private final int[] mNextChunks;
+	private int mMostRecentlyUsedChunk = TMXChunkTextureCache.CHUNK_NONE;
+	private int mLeastRecentlyUsedChunk = TMXChunkTextureCache.CHUNK_NONE;
+
+	private int mFrame = 1;
+
+	// ===========================================================
+	// Constructors
+	// ===========================================================
+
+	/**
+	 * @param pChunkCount the chunks are identified by their index, from <code>0</code> to <code>pChunkCount - 1</code>.
+	 * @param pByteBudget the total size of all textures in bytes.
+	 */
+	public TMXChunkTextureCache(final int pChunkCount, final long pByteBudget, final ITMXChunkTextureCacheListener<T> pTMXChunkTextureCacheListener) {
+		if(pByteBudget < 0) {
+			throw new IllegalArgumentException("pByteBudget must not be negative.");
+		}
+
+		this.mByteBudget = pByteBudget;
+		this.mTMXChunkTextureCacheListener = pTMXChunkTextureCacheListener;
+
+		this.mChunkTextures = new Object[pChunkCount];
+		this.mChunkTextureByteCounts = new int[pChunkCount];
+		this.mChunkTexturesValid = new boolean[pChunkCount];
+		this.mChunkTextureFrames = new int[pChunkCount];
+		this.mPreviousChunks = new int[pChunkCount];
+		this.mNextChunks = new int[pChunkCount];
+	}
+
+	// ===========================================================
+	// Getter & Setter
+	// ===========================================================
+
+	public int getChunkCount() {
+		return this.mChunkTextures.length;
+	}
+
+	public int getChunkTextureCount() {
+		return this.mChunkTextureCount;
+	}
+
+	public long getByteCount() {
+		return this.mByteCount;
+	}
+
+	public long getByteBudget() {
+		return this.mByteBudget;
+	}
+
+	/**
+	 * Evicts the least recently used textures right away if the new budget is exceeded, including the ones used in the current frame.
+	 */
+	public void setByteBudget(final long pByteBudget) {
+		if(pByteBudget < 0) {
+			throw new IllegalArgumentException("pByteBudget must not be negative.");
+		}
+
+		this.mByteBudget = pByteBudget;
+		while(this.mByteCount > pByteBudget) {
+			this.removeChunkTexture(this.mLeastRecentlyUsedChunk);
+		}
+	}
+
+	public boolean hasChunkTexture(final int pChunk) {
+		return this.mChunkTextures[pChunk] != null;
+	}
+
+	/**
+	 * @return the texture of <code>pChunk</code>, which is then the most recently used one and kept for the current frame, or <code>null</code>.
+	 */
+	@SuppressWarnings("unchecked")
+	public T getChunkTexture(final int pChunk) {
+		final Object chunkTexture = this.mChunkTextures[pChunk];
+		if(chunkTexture != null) {
+			this.unlink(pChunk);
+			this.linkFirst(pChunk);
+			this.mChunkTextureFrames[pChunk] = this.mFrame;
+		}
+		return (T)chunkTexture;
+	}
+
+	/**
+	 * @return whether the texture of <code>pChunk</code> holds the current tiles, i.e. no tile of the chunk was changed since {@link #setChunkTextureValid(int)}.
+	 */
+	public boolean isChunkTextureValid(final int pChunk) {
+		return this.mChunkTexturesValid[pChunk];
+	}
+
+	/**
+	 * To be called once the tiles of <code>pChunk</code> were rendered into its texture.
+	 */
+	public void setChunkTextureValid(final int pChunk) {
+		if(this.mChunkTextures[pChunk] != null) {
+			this.mChunkTexturesValid[pChunk] = true;
+		}
+	}
+
+	// ===========================================================
+	// Methods for/from SuperClass/Interfaces
+	// ===========================================================
+
+	// ===========================================================
+	// Methods
+	// ===========================================================
+
+	/**
+	 * Starts a new frame, after which the textures used in the previous frame can be evicted again.
+	 */
+	public void beginFrame() {
+		this.mFrame++;
+		if(this.mFrame == 0) {
+			/* Wrapped around, forget in which frames the textures were used. */
+			Arrays.fill(this.mChunkTextureFrames, 0);
+			this.mFrame = 1;
+		}
+	}
+
+	/**
+	 * Evicts the least recently used textures until <code>pByteCount</code> more bytes fit into the budget, but none that was used in the current frame.
+	 *
+	 * @return whether <code>pByteCount</code> more bytes fit into the budget now.
+	 */
+	public boolean makeRoom(final long pByteCount) {
+		final long byteBudget = this.mByteBudget;
+		while(this.mByteCount + pByteCount > byteBudget) {
+			final int leastRecentlyUsedChunk = this.mLeastRecentlyUsedChunk;
+			if(leastRecentlyUsedChunk == TMXChunkTextureCache.CHUNK_NONE || this.mChunkTextureFrames[leastRecentlyUsedChunk] == this.mFrame) {
+				return false;
+			}
+			this.removeChunkTexture(leastRecentlyUsedChunk);
+		}
+		return true;
+	}
+
+	/**
+	 * Adds the texture of <code>pChunk</code> as the most recently used one, still to be rendered, see {@link #setChunkTextureValid(int)}.
+	 * Does not check the budget, so call {@link #makeRoom(long)} first. A previous texture of <code>pChunk</code> is evicted.
+	 *
+	 * @param pByteCount the size of <code>pChunkTexture</code> in bytes.
+	 */
+	public void putChunkTexture(final int pChunk, final T pChunkTexture, final int pByteCount) {
+		if(pChunkTexture == null) {
+			throw new IllegalArgumentException("pChunkTexture must not be null.");
+		}
+
+		this.removeChunkTexture(pChunk);
+
+		this.mChunkTextures[pChunk] = pChunkTexture;
+		this.mChunkTextureByteCounts[pChunk] = pByteCount;
+		this.mChunkTexturesValid[pChunk] = false;
+		this.mChunkTextureFrames[pChunk] = this.mFrame;
+		this.linkFirst(pChunk);
+
+		this.mByteCount += pByteCount;
+		this.mChunkTextureCount++;
+	}
+
+	/**
+	 * Keeps the texture of <code>pChunk</code>, so it can be rendered into again.
+	 */
+	public void invalidateChunkTexture(final int pChunk) {
+		this.mChunkTexturesValid[pChunk] = false;
+	}
+
+	public void invalidateChunkTextures() {
+		Arrays.fill(this.mChunkTexturesValid, false);
+	}
+
+	/**
+	 * Evicts the texture of <code>pChunk</code>, if there is one.
+	 */
+	public void removeChunkTexture(final int pChunk) {
+		final Object chunkTexture = this.mChunkTextures[pChunk];
+		if(chunkTexture == null) {
+			return;
+		}
+
+		this.unlink(pChunk);
+		this.mChunkTextures[pChunk] = null;
+		this.mChunkTexturesValid[pChunk] = false;
+		this.mByteCount -= this.mChunkTextureByteCounts[pChunk];
+		this.mChunkTextureByteCounts[pChunk] = 0;
+		this.mChunkTextureCount--;
+
+		if(this.mTMXChunkTextureCacheListener != null) {
+			@SuppressWarnings("unchecked")
+			final T evictedChunkTexture = (T)chunkTexture;
+			this.mTMXChunkTextureCacheListener.onChunkTextureEvicted(pChunk, evictedChunkTexture);
+		}
+	}
+
+	/**
+	 * Evicts all textures.
+	 */
+	public void clear() {
+		while(this.mLeastRecentlyUsedChunk != TMXChunkTextureCache.CHUNK_NONE) {
+			this.removeChunkTexture(this.mLeastRecentlyUsedChunk);
+		}
+	}
+
+	private void linkFirst(final int pChunk) {
+		this.mPreviousChunks[pChunk] = TMXChunkTextureCache.CHUNK_NONE;
+		this.mNextChunks[pChunk] = this.mMostRecentlyUsedChunk;
+		if(this.mMostRecentlyUsedChunk == TMXChunkTextureCache.CHUNK_NONE) {
+			this.mLeastRecentlyUsedChunk = pChunk;
+		} else {
+			this.mPreviousChunks[this.mMostRecentlyUsedChunk] = pChunk;
+		}
+		this.mMostRecentlyUsedChunk = pChunk;
+	}
+
+	private void unlink(final int pChunk) {
+		final int previousChunk = this.mPreviousChunks[pChunk];
+		final int nextChunk = this.mNextChunks[pChunk];
+		if(previousChunk == TMXChunkTextureCache.CHUNK_NONE) {
+			this.mMostRecentlyUsedChunk = nextChunk;
+		} else {
+			this.mNextChunks[previousChunk] = nextChunk;
+		}
+		if(nextChunk == TMXChunkTextureCache.CHUNK_NONE) {
+			this.mLeastRecentlyUsedChunk = previousChunk;
+		} else {
+			this.mPreviousChunks[nextChunk] = previousChunk;
+		}
+	}
+
+	// ===========================================================
+	// Inner and Anonymous Classes
+	// ===========================================================
+
+	public static interface ITMXChunkTextureCacheListener<T> {
+		// ===========================================================
+		// Constants
+		// ===========================================================
+
+		// ===========================================================
+		// Methods
+		// ===========================================================
+
+		/**
+		 * Called when the texture of <code>pChunk</code> was removed from the {@link TMXChunkTextureCache}, i.e. to release it.
+		 */
+		public void onChunkTextureEvicted(final int pChunk, final T pChunkTexture);
+	}
+}
@@ -0,0 +1,401 @@
+package org.andengine.extension.tmx;
+
+import java.nio.IntBuffer;
+
+import org.andengine.engine.camera.Camera;
+import org.andengine.entity.Entity;
+import org.andengine.entity.sprite.Sprite;
+import org.andengine.entity.sprite.batch.SpriteBatch;
+import org.andengine.entity.sprite.batch.vbo.HighPerformanceSpriteBatchVertexBufferObject;
+import org.andengine.extension.tmx.TMXResidentChunks.ITMXChunkFactory;
+import org.andengine.extension.tmx.util.constants.TMXConstants;
+import org.andengine.opengl.texture.ITexture;
+import org.andengine.opengl.texture.region.ITextureRegion;
+import org.andengine.opengl.util.GLState;
+import org.andengine.opengl.vbo.VertexBufferObjectManager;
+import org.andengine.util.algorithm.collision.RectangularShapeCollisionChecker;
+import org.andengine.util.color.Color;
+import org.andengine.util.exception.AndEngineRuntimeException;
+import org.andengine.util.math.MathUtils;
+
+/**
+ * A layer for maps that are too large for a single {@link TMXLayer}, whose {@link SpriteBatch} always holds every tile of the layer.
+ * The layer is split into square chunks of <code>chunkSize * chunkSize</code> tiles. Only the chunks around the {@link Camera} are resident,
+ * each in its own {@link SpriteBatch} that only contains the non-empty tiles of the chunk. Chunks are built from an {@link IGlobalTileIDSource}
+ * when they get into range and go back into a small pool when they get out of range, so the memory used is bounded by the size of the {@link Camera},
+ * not by the size of the map, see {@link TMXResidentChunks}.
+ *
+ * Unlike a {@link TMXLayer}, a chunk draws from a single texture, so all tiles need to be in the same {@link TMXTileSet},
+ * or in the same packed texture if the {@link TMXTileSet}s were packed while loading, see {@link TMXLoader#setPackedTextureSizeMaximum(int)}.
+ * Building a chunk with tiles from another texture throws an {@link AndEngineRuntimeException}.
+ *
+ * (c) 2026 Nicolas Gramlich
+ *
+ * @author Nicolas Gramlich
+ * @since 06:33:02 - 18.10.2026
+ */
+public class TMXChunkedLayer extends Entity implements TMXConstants {
+	// ===========================================================
+	// Constants
+	// ===========================================================
+
+	public static final int CHUNK_SIZE_DEFAULT = 32;
+	public static final int RESIDENT_CHUNK_MARGIN_DEFAULT = 1;
+	public static final int POOLED_CHUNKS_MAXIMUM_DEFAULT = 8;
+
+	// ===========================================================
+	// Fields
+	// ===========================================================
+
+	private final TMXTiledMap mTMXTiledMap;
+	private final IGlobalTileIDSource mGlobalTileIDSource;
+	private final VertexBufferObjectManager mVertexBufferObjectManager;
+
+	private final int mTileColumns;
+	private final int mTileRows;
+	private final int mChunkSize;
+	private final int mChunkColumns;
+	private final int mChunkRows;
+
+	private final int mWidth;
+	private final int mHeight;
+
+	private final TMXResidentChunks<TMXChunk> mResidentChunks;
+
+	private final float[] mCullingVertices = new float[2 * Sprite.VERTICES_PER_SPRITE];
+
+	// ===========================================================
+	// Constructors
+	// ===========================================================
+
+	public TMXChunkedLayer(final TMXTiledMap pTMXTiledMap, final IGlobalTileIDSource pGlobalTileIDSource, final VertexBufferObjectManager pVertexBufferObjectManager) {
+		this(pTMXTiledMap, pGlobalTileIDSource, TMXChunkedLayer.CHUNK_SIZE_DEFAULT, TMXChunkedLayer.RESIDENT_CHUNK_MARGIN_DEFAULT, TMXChunkedLayer.POOLED_CHUNKS_MAXIMUM_DEFAULT, pVertexBufferObjectManager);
+	}
+
+	/**
+	 * @param pChunkSize the width and height of a chunk in tiles.
+	 * @param pResidentChunkMargin how many chunks beyond the visible ones stay resident in every direction, so chunks are built before they get visible.
+	 * @param pPooledChunksMaximum how many evicted chunks keep their {@link SpriteBatch} for reuse. Further evicted chunks are disposed.
+	 */
+	public TMXChunkedLayer(final TMXTiledMap pTMXTiledMap, final IGlobalTileIDSource pGlobalTileIDSource, final int pChunkSize, final int pResidentChunkMargin, final int pPooledChunksMaximum, final VertexBufferObjectManager pVertexBufferObjectManager) {
+		if(pChunkSize <= 0) {
+			throw new IllegalArgumentException("pChunkSize must be greater than 0.");
+		}
+
+		this.mTMXTiledMap = pTMXTiledMap;
+		this.mGlobalTileIDSource = pGlobalTileIDSource;
+		this.mVertexBufferObjectManager = pVertexBufferObjectManager;
+
+		this.mTileColumns = pGlobalTileIDSource.getTileColumns();
+		this.mTileRows = pGlobalTileIDSource.getTileRows();
+		this.mChunkSize = pChunkSize;
+		this.mChunkColumns = (this.mTileColumns + pChunkSize - 1) / pChunkSize;
+		this.mChunkRows = (this.mTileRows + pChunkSize - 1) / pChunkSize;
+
+		this.mWidth = pTMXTiledMap.getTileWidth() * this.mTileColumns;
+		this.mHeight = pTMXTiledMap.getTileHeight() * this.mTileRows;
+
+		this.mResidentChunks = new TMXResidentChunks<TMXChunk>(this.mChunkColumns, this.mChunkRows, pResidentChunkMargin, pPooledChunksMaximum, new ITMXChunkFactory<TMXChunk>() {
+			@Override
+			public TMXChunk createChunk() {
+				return new TMXChunk(TMXChunkedLayer.this.mChunkSize * TMXChunkedLayer.this.mChunkSize, TMXChunkedLayer.this.mVertexBufferObjectManager);
+			}
+
+			@Override
+			public void buildChunk(final TMXChunk pTMXChunk, final int pChunkColumn, final int pChunkRow) {
+				TMXChunkedLayer.this.buildChunk(pTMXChunk, pChunkColumn, pChunkRow);
+			}
+
+			@Override
+			public void disposeChunk(final TMXChunk pTMXChunk) {
+				pTMXChunk.dispose();
+			}
+		});
+	}
+
+	// ===========================================================
+	// Getter & Setter
+	// ===========================================================
+
+	public int getWidth() {
+		return this.mWidth;
+	}
+
+	public int getHeight() {
+		return this.mHeight;
+	}
+
+	public int getTileColumns() {
+		return this.mTileColumns;
+	}
+
+	public int getTileRows() {
+		return this.mTileRows;
+	}
+
+	public int getChunkSize() {
+		return this.mChunkSize;
+	}
+
+	public int getGlobalTileID(final int pTileColumn, final int pTileRow) throws ArrayIndexOutOfBoundsException {
+		if(pTileColumn < 0 || pTileColumn >= this.mTileColumns || pTileRow < 0 || pTileRow >= this.mTileRows) {
+			throw new ArrayIndexOutOfBoundsException("Illegal TMXTile: column=" + pTileColumn + ", row=" + pTileRow);
+		}
+		return this.mGlobalTileIDSource.getGlobalTileID(pTileColumn, pTileRow);
+	}
+
+	public int getResidentChunkCount() {
+		return this.mResidentChunks.getResidentChunkCount();
+	}
+
+	public int getPooledChunkCount() {
+		return this.mResidentChunks.getPooledChunkCount();
+	}
+
+	// ===========================================================
+	// Methods for/from SuperClass/Interfaces
+	// ===========================================================
+
+	@Override
+	protected void draw(final GLState pGLState, final Camera pCamera) {
+		if(this.mChunkColumns == 0 || this.mChunkRows == 0) {
+			return;
+		}
+
+		final int chunkSize = this.mChunkSize;
+		final float scaledChunkWidth = this.mTMXTiledMap.getTileWidth() * chunkSize * this.mScaleX;
+		final float scaledChunkHeight = this.mTMXTiledMap.getTileHeight() * chunkSize * this.mScaleY;
+
+		final float[] cullingVertices = this.mCullingVertices;
+		RectangularShapeCollisionChecker.fillVertices(0, 0, this.mWidth, this.mHeight, this.getLocalToSceneTransformation(), cullingVertices);
+
+		final float layerMinX = cullingVertices[SpriteBatch.VERTEX_INDEX_X];
+		final float layerMinY = cullingVertices[SpriteBatch.VERTEX_INDEX_Y];
+
+		/* Determine the chunks that are visible in the camera. */
+		final float firstChunkColumnRaw = (pCamera.getXMin() - layerMinX) / scaledChunkWidth;
+		final int firstChunkColumn = MathUtils.bringToBounds(0, this.mChunkColumns - 1, (int)Math.floor(firstChunkColumnRaw));
+		final int lastChunkColumn = MathUtils.bringToBounds(0, this.mChunkColumns - 1, (int)Math.floor(firstChunkColumnRaw + pCamera.getWidth() / scaledChunkWidth));
+
+		final float firstChunkRowRaw = (pCamera.getYMin() - layerMinY) / scaledChunkHeight;
+		final int firstChunkRow = MathUtils.bringToBounds(0, this.mChunkRows - 1, (int)Math.floor(firstChunkRowRaw));
+		final int lastChunkRow = MathUtils.bringToBounds(0, this.mChunkRows - 1, (int)Math.floor(firstChunkRowRaw + pCamera.getHeight() / scaledChunkHeight));
+
+		final TMXResidentChunks<TMXChunk> residentChunks = this.mResidentChunks;
+		residentChunks.update(firstChunkColumn, firstChunkRow, lastChunkColumn, lastChunkRow);
+
+		for(int chunkRow = firstChunkRow; chunkRow <= lastChunkRow; chunkRow++) {
+			for(int chunkColumn = firstChunkColumn; chunkColumn <= lastChunkColumn; chunkColumn++) {
+				final TMXChunk tmxChunk = residentChunks.getChunk(chunkColumn, chunkRow);
+				if(tmxChunk.mTileCount > 0) {
+					tmxChunk.onDraw(pGLState, pCamera);
+				}
+			}
+		}
+	}
+
+	@Override
+	public void dispose() {
+		super.dispose();
+
+		this.mResidentChunks.clear();
+	}
+
+	// ===========================================================
+	// Methods
+	// ===========================================================
+
+	private void buildChunk(final TMXChunk pTMXChunk, final int pChunkColumn, final int pChunkRow) {
+		final TMXTiledMap tmxTiledMap = this.mTMXTiledMap;
+		final IGlobalTileIDSource globalTileIDSource = this.mGlobalTileIDSource;
+		final int tileWidth = tmxTiledMap.getTileWidth();
+		final int tileHeight = tmxTiledMap.getTileHeight();
+
+		final int firstColumn = pChunkColumn * this.mChunkSize;
+		final int firstRow = pChunkRow * this.mChunkSize;
+		final int lastColumn = Math.min(this.mTileColumns, firstColumn + this.mChunkSize) - 1;
+		final int lastRow = Math.min(this.mTileRows, firstRow + this.mChunkSize) - 1;
+
+		pTMXChunk.reset();
+		for(int row = firstRow; row <= lastRow; row++) {
+			for(int column = firstColumn; column <= lastColumn; column++) {
+				final int globalTileID = globalTileIDSource.getGlobalTileID(column, row);
+				if(globalTileID != 0) {
+					pTMXChunk.addTile(tmxTiledMap.getTextureRegionFromGlobalTileID(globalTileID), globalTileID, (column - firstColumn) * tileWidth, (row - firstRow) * tileHeight, tileWidth, tileHeight);
+				}
+			}
+		}
+		pTMXChunk.submit();
+		pTMXChunk.setPosition(firstColumn * tileWidth, firstRow * tileHeight);
+	}
+
+	// ===========================================================
+	// Inner and Anonymous Classes
+	// ===========================================================
+
+	/**
+	 * Random access to the global tile IDs of a layer, which don't need to be held in memory as a whole.
+	 */
+	public interface IGlobalTileIDSource {
+		// ===========================================================
+		// Final Fields
+		// ===========================================================
+
+		// ===========================================================
+		// Methods
+		// ===========================================================
+
+		public int getTileColumns();
+		public int getTileRows();
+		public int getGlobalTileID(final int pTileColumn, final int pTileRow);
+	}
+
+	/**
+	 * Global tile IDs stored row-major in an <code>int[]</code>.
+	 */
+	public static class ArrayGlobalTileIDSource implements IGlobalTileIDSource {
+		// ===========================================================
+		// Fields
+		// ===========================================================
+
+		private final int[] mGlobalTileIDs;
+		private final int mTileColumns;
+		private final int mTileRows;
+
+		// ===========================================================
+		// Constructors
+		// ===========================================================
+
+		public ArrayGlobalTileIDSource(final int[] pGlobalTileIDs, final int pTileColumns, final int pTileRows) {
+			if(pGlobalTileIDs.length < pTileColumns * pTileRows) {
+				throw new IllegalArgumentException("Expected " + (pTileColumns * pTileRows) + " global Tile IDs, but got " + pGlobalTileIDs.length + ".");
+			}
+			this.mGlobalTileIDs = pGlobalTileIDs;
+			this.mTileColumns = pTileColumns;
+			this.mTileRows = pTileRows;
+		}
+
+		// ===========================================================
+		// Methods for/from SuperClass/Interfaces
+		// ===========================================================
+
+		@Override
+		public int getTileColumns() {
+			return this.mTileColumns;
+		}
+
+		@Override
+		public int getTileRows() {
+			return this.mTileRows;
+		}
+
+		@Override
+		public int getGlobalTileID(final int pTileColumn, final int pTileRow) {
+			return this.mGlobalTileIDs[pTileRow * this.mTileColumns + pTileColumn];
+		}
+	}
+
+	/**
+	 * Global tile IDs stored row-major in an {@link IntBuffer}, i.e. a view of a memory-mapped file, such as the layer data written by the {@link TMXBinaryWriter},
+	 * so the operating system pages in only the parts of the layer that are actually read.
+	 */
+	public static class IntBufferGlobalTileIDSource implements IGlobalTileIDSource {
+		// ===========================================================
+		// Fields
+		// ===========================================================
+
+		private final IntBuffer mGlobalTileIDs;
+		private final int mOffset;
+		private final int mTileColumns;
+		private final int mTileRows;
+
+		// ===========================================================
+		// Constructors
+		// ===========================================================
+
+		/**
+		 * @param pGlobalTileIDs the global tile IDs from the current position on.
+		 */
+		public IntBufferGlobalTileIDSource(final IntBuffer pGlobalTileIDs, final int pTileColumns, final int pTileRows) {
+			if(pGlobalTileIDs.remaining() < pTileColumns * pTileRows) {
+				throw new IllegalArgumentException("Expected " + (pTileColumns * pTileRows) + " global Tile IDs, but got " + pGlobalTileIDs.remaining() + ".");
+			}
+			this.mGlobalTileIDs = pGlobalTileIDs;
+			this.mOffset = pGlobalTileIDs.position();
+			this.mTileColumns = pTileColumns;
+			this.mTileRows = pTileRows;
+		}
+
+		// ===========================================================
+		// Methods for/from SuperClass/Interfaces
+		// ===========================================================
+
+		@Override
+		public int getTileColumns() {
+			return this.mTileColumns;
+		}
+
+		@Override
+		public int getTileRows() {
+			return this.mTileRows;
+		}
+
+		@Override
+		public int getGlobalTileID(final int pTileColumn, final int pTileRow) {
+			return this.mGlobalTileIDs.get(this.mOffset + pTileRow * this.mTileColumns + pTileColumn);
+		}
+	}
+
+	/**
+	 * The non-empty tiles of one chunk. Positioned at the top left corner of the chunk within the {@link TMXChunkedLayer}.
+	 */
+	private static class TMXChunk extends SpriteBatch {
+		// ===========================================================
+		// Fields
+		// ===========================================================
+
+		int mTileCount;
+
+		// ===========================================================
+		// Constructors
+		// ===========================================================
+
+		TMXChunk(final int pCapacity, final VertexBufferObjectManager pVertexBufferObjectManager) {
+			super(null, pCapacity, pVertexBufferObjectManager);
+		}
+
+		// ===========================================================
+		// Methods for/from SuperClass/Interfaces
+		// ===========================================================
+
+		@Override
+		protected void initBlendFunction(final ITexture pTexture) {
+
+		}
+
+		// ===========================================================
+		// Methods
+		// ===========================================================
+
+		void reset() {
+			this.mTileCount = 0;
+			this.setIndex(0);
+		}
+
+		/**
+		 * @param pGlobalTileID its flip flags are applied to the texture coordinates.
+		 */
+		void addTile(final ITextureRegion pTextureRegion, final int pGlobalTileID, final float pX, final float pY, final float pWidth, final float pHeight) {
+			if(this.mTexture == null) {
+				this.mTexture = pTextureRegion.getTexture();
+				super.initBlendFunction(this.mTexture);
+			} else if(this.mTexture != pTextureRegion.getTexture()) {
+				throw new AndEngineRuntimeException("All TMXTiles in a TMXChunkedLayer need to be in the same texture.");
+			}
+
+			this.drawWithoutChecks(pTextureRegion, pX, pY, pWidth, pHeight, Color.WHITE_ABGR_PACKED_FLOAT);
+			TMXLayerVertexBufferObject.flipSpriteTextureCoordinates(((HighPerformanceSpriteBatchVertexBufferObject)this.mSpriteBatchVertexBufferObject).getBufferData(), this.mTileCount, pTextureRegion, pGlobalTileID);
+			this.mTileCount++;
+		}
+	}
+}
@@ -0,0 +1,182 @@
+package org.andengine.extension.tmx;
+
+import java.util.Arrays;
+
+/**
+ * The sprites of a {@link TMXLayerVertexBufferObject} that changed since its last upload, and the ranges they are uploaded in.
+ * Changed sprites are collected with {@link #setSpriteDirty(int)} and coalesced into as few ranges as possible by {@link #nextUpload()}.
+ * Knows nothing about GL itself, so what gets uploaded can be checked without a GL context.
+ *
+ * (c) 2026 Nicolas Gramlich
+ *
+ * @author Nicolas Gramlich
+ * @since 07:21:47 - 18.10.2026
+ */
+public class TMXDirtySprites {
+	// ===========================================================
+	// Constants
+	// ===========================================================
+
+	/** Clean sprites between two dirty ones are uploaded along, if there are at most this many, as one call is cheaper than two. */
+	public static final int SPRITE_GAP_MAXIMUM = 8;
+	/** Above this fraction of dirty sprites, the whole buffer is uploaded at once. */
+	public static final float DIRTY_SPRITES_FULL_UPLOAD_RATIO = 0.25f;
+
+	/** The number of upload ranges that stands for a full upload, see {@link #nextUpload()}. */
+	public static final int UPLOAD_FULL = -1;
+
+	// ===========================================================
+	// Fields
+	// ===========================================================
+
+	private final int mSpriteCapacity;
+
+	private boolean mFullUploadRequired = true;
+
+	private final long[] mDirtySprites;
+	private int[] mDirtySpriteIndices = new int[16];
+	private int mDirtySpriteCount;
+
+	/** The sprite ranges of the last upload, as pairs of first index and sprite count. */
+	private int[] mUploadRanges = new int[16];
+	private int mUploadRangeCount = TMXDirtySprites.UPLOAD_FULL;
+
+	// ===========================================================
+	// Constructors
+	// ===========================================================
+
+	/**
+	 * Starts with a full upload, as a new buffer holds nothing yet.
+	 */
+	public TMXDirtySprites(final int pSpriteCapacity) {
+		this.mSpriteCapacity = pSpriteCapacity;
+		this.mDirtySprites = new long[(pSpriteCapacity + 63) >>> 6];
+	}
+
+	// ===========================================================
+	// Getter & Setter
+	// ===========================================================
+
+	public int getSpriteCapacity() {
+		return this.mSpriteCapacity;
+	}
+
+	public int getDirtySpriteCount() {
+		return this.mDirtySpriteCount;
+	}
+
+	/**
+	 * @return whether the next upload is a full one, either because it was requested or because too many sprites are dirty.
+	 */
+	public boolean isFullUploadRequired() {
+		return this.mFullUploadRequired || this.mDirtySpriteCount > this.mSpriteCapacity * TMXDirtySprites.DIRTY_SPRITES_FULL_UPLOAD_RATIO;
+	}
+
+	/**
+	 * Requests a full upload, i.e. after the whole buffer was changed or the hardware buffer was lost with the GL context.
+	 */
+	public void setFullUploadRequired() {
+		this.mFullUploadRequired = true;
+	}
+
+	/**
+	 * @return the number of ranges of the last upload, or {@link #UPLOAD_FULL} if it was a full one.
+	 */
+	public int getUploadRangeCount() {
+		return this.mUploadRangeCount;
+	}
+
+	public int getUploadRangeFirstSprite(final int pUploadRange) {
+		return this.mUploadRanges[pUploadRange * 2];
+	}
+
+	public int getUploadRangeSpriteCount(final int pUploadRange) {
+		return this.mUploadRanges[pUploadRange * 2 + 1];
+	}
+
+	/**
+	 * Marks the sprite at <code>pSpriteIndex</code> to be uploaded with the next upload. Marking it again before that does nothing.
+	 */
+	public void setSpriteDirty(final int pSpriteIndex) {
+		final long bit = 1L << pSpriteIndex;
+		final int word = pSpriteIndex >>> 6;
+		if((this.mDirtySprites[word] & bit) != 0) {
+			return;
+		}
+		this.mDirtySprites[word] |= bit;
+
+		if(this.mDirtySpriteCount == this.mDirtySpriteIndices.length) {
+			this.mDirtySpriteIndices = Arrays.copyOf(this.mDirtySpriteIndices, this.mDirtySpriteCount * 2);
+		}
+		this.mDirtySpriteIndices[this.mDirtySpriteCount++] = pSpriteIndex;
+	}
+
+	// ===========================================================
+	// Methods for/from SuperClass/Interfaces
+	// ===========================================================
+
+	// ===========================================================
+	// Methods
+	// ===========================================================
+
+	/**
+	 * Decides how the dirty sprites are uploaded and starts collecting them anew.
+	 *
+	 * @return {@link #UPLOAD_FULL}, or the number of ranges to be uploaded, see {@link #getUploadRangeFirstSprite(int)} and {@link #getUploadRangeSpriteCount(int)}.
+	 */
+	public int nextUpload() {
+		if(this.isFullUploadRequired()) {
+			this.mFullUploadRequired = false;
+			this.mUploadRangeCount = TMXDirtySprites.UPLOAD_FULL;
+		} else {
+			this.coalesceDirtySprites();
+		}
+
+		this.clearDirtySprites();
+
+		return this.mUploadRangeCount;
+	}
+
+	/**
+	 * Sorts the dirty sprites and merges them into the ranges to be uploaded.
+	 */
+	private void coalesceDirtySprites() {
+		final int dirtySpriteCount = this.mDirtySpriteCount;
+		final int[] dirtySpriteIndices = this.mDirtySpriteIndices;
+		Arrays.sort(dirtySpriteIndices, 0, dirtySpriteCount);
+
+		if(this.mUploadRanges.length < dirtySpriteCount * 2) {
+			this.mUploadRanges = new int[dirtySpriteCount * 2];
+		}
+		final int[] uploadRanges = this.mUploadRanges;
+
+		int uploadRangeCount = 0;
+		int i = 0;
+		while(i < dirtySpriteCount) {
+			final int first = dirtySpriteIndices[i];
+			int last = first;
+			i++;
+			while(i < dirtySpriteCount && dirtySpriteIndices[i] - last - 1 <= TMXDirtySprites.SPRITE_GAP_MAXIMUM) {
+				last = dirtySpriteIndices[i];
+				i++;
+			}
+			uploadRanges[uploadRangeCount * 2] = first;
+			uploadRanges[uploadRangeCount * 2 + 1] = last - first + 1;
+			uploadRangeCount++;
+		}
+		this.mUploadRangeCount = uploadRangeCount;
+	}
+
+	private void clearDirtySprites() {
+		final long[] dirtySprites = this.mDirtySprites;
+		final int[] dirtySpriteIndices = this.mDirtySpriteIndices;
+		for(int i = 0; i < this.mDirtySpriteCount; i++) {
+			dirtySprites[dirtySpriteIndices[i] >>> 6] = 0;
+		}
+		this.mDirtySpriteCount = 0;
+	}
+
+	// ===========================================================
+	// Inner and Anonymous Classes
+	// ===========================================================
+}
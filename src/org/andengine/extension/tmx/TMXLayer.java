@@ -1,32 +1,34 @@
 package org.andengine.extension.tmx;
 
-import java.io.ByteArrayInputStream;
-import java.io.DataInputStream;
-import java.io.IOException;
-import java.io.InputStream;
-import java.util.zip.GZIPInputStream;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
 
 import org.andengine.engine.camera.Camera;
 import org.andengine.entity.sprite.Sprite;
 import org.andengine.entity.sprite.batch.SpriteBatch;
+import org.andengine.entity.sprite.batch.vbo.ISpriteBatchVertexBufferObject;
+import org.andengine.extension.tmx.TMXChunkTextureCache.ITMXChunkTextureCacheListener;
 import org.andengine.extension.tmx.TMXLoader.ITMXTilePropertiesListener;
 import org.andengine.extension.tmx.util.constants.TMXConstants;
+import org.andengine.opengl.shader.ShaderProgram;
 import org.andengine.opengl.texture.ITexture;
+import org.andengine.opengl.texture.TextureManager;
 import org.andengine.opengl.texture.region.ITextureRegion;
+import org.andengine.opengl.texture.region.TextureRegion;
+import org.andengine.opengl.texture.render.RenderTexture;
 import org.andengine.opengl.util.GLState;
+import org.andengine.opengl.vbo.DrawType;
 import org.andengine.opengl.vbo.VertexBufferObjectManager;
 import org.andengine.util.SAXUtils;
-import org.andengine.util.StreamUtils;
 import org.andengine.util.algorithm.collision.RectangularShapeCollisionChecker;
-import org.andengine.util.base64.Base64;
-import org.andengine.util.base64.Base64InputStream;
 import org.andengine.util.color.Color;
-import org.andengine.util.exception.AndEngineRuntimeException;
 import org.andengine.util.exception.MethodNotSupportedException;
 import org.andengine.util.math.MathUtils;
 import org.xml.sax.Attributes;
 
 import android.opengl.GLES20;
+import android.util.SparseArray;
 
 /**
  * (c) 2010 Nicolas Gramlich
@@ -40,6 +42,12 @@ public class TMXLayer extends SpriteBatch implements TMXConstants {
 	// Constants
 	// ===========================================================
 
+	/** A sensible chunk size for {@link #setStaticChunkSize(int)}, in tiles. */
+	public static final int STATIC_CHUNK_SIZE_DEFAULT = 16;
+
+	/** The chunk textures are RGBA_8888. */
+	private static final int CHUNK_TEXTURE_BYTES_PER_PIXEL = 4;
+
 	// ===========================================================
 	// Fields
 	// ===========================================================
@@ -49,15 +57,42 @@ public class TMXLayer extends SpriteBatch implements TMXConstants {
 	private final String mName;
 	private final int mTileColumns;
 	private final int mTileRows;
-	private final TMXTile[][] mTMXTiles;
+	private final int[] mGlobalTileIDs;
+	private TMXTile[][] mTMXTiles;
 
 	private int mTilesAdded;
 	private final int mGlobalTileIDsExpected;
 
+	/** One per texture, the one of {@link #mTexture} first. Only they hold vertices, and only for the non-empty cells. */
+	private TMXLayerSubBatch[] mTMXLayerSubBatches;
+	/** Set when a runtime edit added a tile where its {@link TMXLayerSubBatch} had no room, which then are rebuilt before the next draw. */
+	private boolean mTMXLayerSubBatchesDirty;
+
+	/** The width and height of a chunk in tiles, <code>0</code> while this {@link TMXLayer} is not static. */
+	private int mStaticChunkSize;
+	private int mStaticChunkColumns;
+	private int mStaticChunkRows;
+
+	private TextureManager mChunkTextureManager;
+	private long mChunkTextureByteBudget;
+	/** Only while a static {@link TMXLayer} renders its chunks into textures, see {@link #enableChunkTextureCache(TextureManager, long)}. */
+	private TMXChunkTextureCache<TMXChunkTexture> mTMXChunkTextureCache;
+
+	private boolean mTMXTileAnimationsRunning = true;
+	/** How long the {@link TMXTileAnimation}s have been running, in seconds. */
+	private double mTMXTileAnimationTime;
+	/** The animated cells, grouped by their global tile ID, so a frame change only touches them. */
+	private ArrayList<TMXAnimatedTiles> mAnimatedTMXTiles;
+	private SparseArray<TMXAnimatedTiles> mAnimatedTMXTilesByGlobalTileID;
+	/** Set whenever the {@link TMXLayerSubBatch}es were rebuilt, which then rebuilds {@link #mAnimatedTMXTiles} before the next update. Runtime edits update it in place. */
+	private boolean mAnimatedTMXTilesDirty = true;
+
 	private final float[] mCullingVertices = new float[2 * Sprite.VERTICES_PER_SPRITE];
 
 	private final TMXProperties<TMXLayerProperty> mTMXLayerProperties = new TMXProperties<TMXLayerProperty>();
 
+	private TMXTileFlags mTMXTileFlags;
+
 	private final int mWidth;
 	private final int mHeight;
 
@@ -66,13 +101,14 @@ public class TMXLayer extends SpriteBatch implements TMXConstants {
 	// ===========================================================
 
 	public TMXLayer(final TMXTiledMap pTMXTiledMap, final Attributes pAttributes, final VertexBufferObjectManager pVertexBufferObjectManager) {
-		super(null, SAXUtils.getIntAttributeOrThrow(pAttributes, TMXConstants.TAG_LAYER_ATTRIBUTE_WIDTH) * SAXUtils.getIntAttributeOrThrow(pAttributes, TMXConstants.TAG_LAYER_ATTRIBUTE_HEIGHT), pVertexBufferObjectManager);
+		/* The tiles are held by the TMXLayerSubBatches, which are sized once the tiles are known, so the own buffer of this SpriteBatch stays minimal. */
+		super(null, 1, pVertexBufferObjectManager);
 
 		this.mTMXTiledMap = pTMXTiledMap;
 		this.mName = pAttributes.getValue("", TMXConstants.TAG_LAYER_ATTRIBUTE_NAME);
 		this.mTileColumns = SAXUtils.getIntAttributeOrThrow(pAttributes, TMXConstants.TAG_LAYER_ATTRIBUTE_WIDTH);
 		this.mTileRows = SAXUtils.getIntAttributeOrThrow(pAttributes, TMXConstants.TAG_LAYER_ATTRIBUTE_HEIGHT);
-		this.mTMXTiles = new TMXTile[this.mTileRows][this.mTileColumns];
+		this.mGlobalTileIDs = new int[this.mTileRows * this.mTileColumns];
 
 		this.mWidth = pTMXTiledMap.getTileWidth() * this.mTileColumns;
 		this.mHeight = pTMXTiledMap.getTileHeight() * this.mTileRows;
@@ -93,6 +129,10 @@ public class TMXLayer extends SpriteBatch implements TMXConstants {
 	// Getter & Setter
 	// ===========================================================
 
+	public TMXTiledMap getTMXTiledMap() {
+		return this.mTMXTiledMap;
+	}
+
 	public String getName() {
 		return this.mName;
 	}
@@ -113,12 +153,129 @@ public class TMXLayer extends SpriteBatch implements TMXConstants {
 		return this.mTileRows;
 	}
 
+	/**
+	 * Note that this creates a {@link TMXTile} for every cell of this {@link TMXLayer}.
+	 * Prefer {@link TMXLayer#getGlobalTileID(int, int)} or {@link TMXLayer#getTMXTile(int, int)} where possible.
+	 */
 	public TMXTile[][] getTMXTiles() {
+		final int tileColumns = this.mTileColumns;
+		final int tileRows = this.mTileRows;
+		for(int row = 0; row < tileRows; row++) {
+			for(int column = 0; column < tileColumns; column++) {
+				this.getTMXTile(column, row);
+			}
+		}
 		return this.mTMXTiles;
 	}
 
+	/**
+	 * The {@link TMXTile} is created lazily on the first request and returned on all subsequent ones.
+	 */
 	public TMXTile getTMXTile(final int pTileColumn, final int pTileRow) throws ArrayIndexOutOfBoundsException {
-		return this.mTMXTiles[pTileRow][pTileColumn];
+		if(pTileColumn < 0 || pTileColumn >= this.mTileColumns || pTileRow < 0 || pTileRow >= this.mTileRows) {
+			throw new ArrayIndexOutOfBoundsException("Illegal TMXTile: column=" + pTileColumn + ", row=" + pTileRow);
+		}
+
+		TMXTile[][] tmxTiles = this.mTMXTiles;
+		if(tmxTiles == null) {
+			tmxTiles = new TMXTile[this.mTileRows][];
+			this.mTMXTiles = tmxTiles;
+		}
+
+		TMXTile[] tmxTileRow = tmxTiles[pTileRow];
+		if(tmxTileRow == null) {
+			tmxTileRow = new TMXTile[this.mTileColumns];
+			tmxTiles[pTileRow] = tmxTileRow;
+		}
+
+		TMXTile tmxTile = tmxTileRow[pTileColumn];
+		if(tmxTile == null) {
+			final int globalTileID = this.mGlobalTileIDs[this.getTileIndex(pTileColumn, pTileRow)];
+			final ITextureRegion tmxTileTextureRegion = (globalTileID == 0) ? null : this.mTMXTiledMap.getTextureRegionFromGlobalTileID(globalTileID);
+
+			tmxTile = new TMXTile(globalTileID, pTileColumn, pTileRow, this.mTMXTiledMap.getTileWidth(), this.mTMXTiledMap.getTileHeight(), tmxTileTextureRegion);
+			tmxTile.mTMXLayer = this;
+			tmxTileRow[pTileColumn] = tmxTile;
+		}
+		return tmxTile;
+	}
+
+	/**
+	 * @return including the flip flags, see {@link TMXConstants#GLOBALTILEID_FLAGS}.
+	 */
+	public int getGlobalTileID(final int pTileColumn, final int pTileRow) throws ArrayIndexOutOfBoundsException {
+		if(pTileColumn < 0 || pTileColumn >= this.mTileColumns || pTileRow < 0 || pTileRow >= this.mTileRows) {
+			throw new ArrayIndexOutOfBoundsException("Illegal TMXTile: column=" + pTileColumn + ", row=" + pTileRow);
+		}
+
+		/* TMXTile.setGlobalTileID goes through setTileGlobalID, so this is always up to date. */
+		return this.mGlobalTileIDs[this.getTileIndex(pTileColumn, pTileRow)];
+	}
+
+	/**
+	 * Changes the tile at <code>pTileColumn/pTileRow</code> at runtime, i.e. for destructible terrain or doors.
+	 * Only the vertices of that tile are rewritten and uploaded, together with all other tiles changed in the same frame, see {@link TMXLayerVertexBufferObject}.
+	 * Cleared cells keep their (then empty) vertices until the next rebuild, so they can be refilled in place. Only filling a cell that never held a tile of that texture
+	 * rebuilds the {@link TMXLayerSubBatch}es, once before the next draw.
+	 * The {@link TMXTile} of the cell, if one was created, is updated as well. The {@link TMXTileFlags} are not.
+	 *
+	 * @param pGlobalTileID <code>0</code> to clear the cell. May include flip flags, see {@link TMXConstants#GLOBALTILEID_FLAGS}.
+	 */
+	public void setTileGlobalID(final int pTileColumn, final int pTileRow, final int pGlobalTileID) throws ArrayIndexOutOfBoundsException {
+		if(pTileColumn < 0 || pTileColumn >= this.mTileColumns || pTileRow < 0 || pTileRow >= this.mTileRows) {
+			throw new ArrayIndexOutOfBoundsException("Illegal TMXTile: column=" + pTileColumn + ", row=" + pTileRow);
+		}
+
+		final int spriteBatchIndex = this.getTileIndex(pTileColumn, pTileRow);
+		final int oldGlobalTileID = this.mGlobalTileIDs[spriteBatchIndex];
+		if(oldGlobalTileID == pGlobalTileID) {
+			return;
+		}
+
+		final TMXTiledMap tmxTiledMap = this.mTMXTiledMap;
+		final ITextureRegion oldTextureRegion = (oldGlobalTileID == 0) ? null : tmxTiledMap.getTextureRegionFromGlobalTileID(oldGlobalTileID);
+		final ITextureRegion textureRegion = (pGlobalTileID == 0) ? null : tmxTiledMap.getTextureRegionFromGlobalTileID(pGlobalTileID);
+		if(textureRegion != null && this.mTexture == null) {
+			this.mTexture = textureRegion.getTexture();
+			super.initBlendFunction(this.mTexture);
+		}
+
+		this.mGlobalTileIDs[spriteBatchIndex] = pGlobalTileID;
+
+		if(!this.mTMXLayerSubBatchesDirty) {
+			final int segment = this.getSegment(pTileColumn, pTileRow);
+			if(oldTextureRegion != null) {
+				final TMXLayerSubBatch oldTMXLayerSubBatch = this.getTMXLayerSubBatch(oldTextureRegion.getTexture());
+				if(oldTMXLayerSubBatch != null) {
+					oldTMXLayerSubBatch.clearTile(spriteBatchIndex, segment);
+				}
+			}
+			if(textureRegion != null) {
+				final int tileWidth = tmxTiledMap.getTileWidth();
+				final int tileHeight = tmxTiledMap.getTileHeight();
+				final TMXLayerSubBatch tmxLayerSubBatch = this.getTMXLayerSubBatch(textureRegion.getTexture());
+				if(tmxLayerSubBatch == null || !tmxLayerSubBatch.setTile(textureRegion, pGlobalTileID, spriteBatchIndex, segment, pTileColumn * tileWidth, pTileRow * tileHeight, tileWidth, tileHeight)) {
+					/* The TMXLayerSubBatch has no vertices for this cell yet. */
+					this.mTMXLayerSubBatchesDirty = true;
+				}
+			}
+		}
+
+		/* A rebuild of the TMXLayerSubBatches looks up all animated cells anew anyway. */
+		if(!this.mTMXLayerSubBatchesDirty && !this.mAnimatedTMXTilesDirty) {
+			this.moveAnimatedTMXTile(spriteBatchIndex, oldGlobalTileID, pGlobalTileID);
+		}
+
+		if(this.mTMXChunkTextureCache != null) {
+			this.mTMXChunkTextureCache.invalidateChunkTexture(this.getSegment(pTileColumn, pTileRow));
+		}
+
+		final TMXTile[][] tmxTiles = this.mTMXTiles;
+		if(tmxTiles != null && tmxTiles[pTileRow] != null && tmxTiles[pTileRow][pTileColumn] != null) {
+			final TMXTile tmxTile = tmxTiles[pTileRow][pTileColumn];
+			tmxTile.mGlobalTileID = pGlobalTileID;
+			tmxTile.mTextureRegion = textureRegion;
+		}
 	}
 
 	/**
@@ -139,7 +296,7 @@ public class TMXLayer extends SpriteBatch implements TMXConstants {
 			return null;
 		}
 
-		return this.mTMXTiles[tileRow][tileColumn];
+		return this.getTMXTile(tileColumn, tileRow);
 	}
 
 	public void addTMXLayerProperty(final TMXLayerProperty pTMXLayerProperty) {
@@ -150,6 +307,113 @@ public class TMXLayer extends SpriteBatch implements TMXConstants {
 		return this.mTMXLayerProperties;
 	}
 
+	/**
+	 * @return the {@link TMXTileFlags} last created by {@link #createTMXTileFlags(String...)}, or <code>null</code>.
+	 */
+	public TMXTileFlags getTMXTileFlags() {
+		return this.mTMXTileFlags;
+	}
+
+	public boolean isStatic() {
+		return this.mStaticChunkSize > 0;
+	}
+
+	public int getStaticChunkSize() {
+		return this.mStaticChunkSize;
+	}
+
+	/**
+	 * A static {@link TMXLayer} stores its tiles chunk by chunk instead of row by row, so every chunk is one contiguous range of vertices.
+	 * Drawing then only finds the chunks overlapping the camera and draws every run of adjacent visible chunks in one call, without looking at single rows or tiles.
+	 * Meant for layers that do not change at runtime, as a frame costs a draw call per visible chunk row, but more vertices are drawn outside the camera.
+	 * {@link #setTileGlobalID(int, int, int)} still works.
+	 * Set it before the tiles are submitted, i.e. with {@link TMXLoader#setStaticTMXLayerChunkSize(int)}, otherwise the vertices are rebuilt once before the next draw.
+	 *
+	 * @param pStaticChunkSize the width and height of a chunk in tiles, i.e. {@link #STATIC_CHUNK_SIZE_DEFAULT}. <code>0</code> stores the tiles row by row, which is the default.
+	 */
+	public void setStaticChunkSize(final int pStaticChunkSize) {
+		if(pStaticChunkSize < 0) {
+			throw new IllegalArgumentException("pStaticChunkSize must not be negative.");
+		}
+		if(pStaticChunkSize == this.mStaticChunkSize) {
+			return;
+		}
+
+		this.mStaticChunkSize = pStaticChunkSize;
+		if(pStaticChunkSize > 0) {
+			this.mStaticChunkColumns = (this.mTileColumns + pStaticChunkSize - 1) / pStaticChunkSize;
+			this.mStaticChunkRows = (this.mTileRows + pStaticChunkSize - 1) / pStaticChunkSize;
+		} else {
+			this.mStaticChunkColumns = 0;
+			this.mStaticChunkRows = 0;
+		}
+
+		if(this.mTMXLayerSubBatches != null) {
+			this.mTMXLayerSubBatchesDirty = true;
+		}
+
+		if(this.mTMXChunkTextureCache != null) {
+			/* The chunks changed. */
+			this.mTMXChunkTextureCache.clear();
+			this.mTMXChunkTextureCache = (pStaticChunkSize > 0) ? this.createTMXChunkTextureCache() : null;
+		}
+	}
+
+	public boolean isChunkTextureCacheEnabled() {
+		return this.mTMXChunkTextureCache != null;
+	}
+
+	/**
+	 * @return the bookkeeping of the chunk textures, or <code>null</code> while they are disabled.
+	 */
+	public TMXChunkTextureCache<?> getTMXChunkTextureCache() {
+		return this.mTMXChunkTextureCache;
+	}
+
+	/**
+	 * Renders every visible chunk into a texture once and then draws only that texture, with one draw call per chunk,
+	 * until a tile of the chunk is changed with {@link #setTileGlobalID(int, int, int)} or the texture is evicted.
+	 * Meant for layers with many tiles per chunk that change rarely, i.e. parallax backgrounds. Makes this {@link TMXLayer} static, if it is not yet, see {@link #setStaticChunkSize(int)}.
+	 * When the textures of the visible chunks do not fit into <code>pByteBudget</code>, the remaining chunks are drawn from their tiles.
+	 * Evicted textures are handed to the {@link TextureManager}, which deletes them on the GL thread, also after this {@link TMXLayer} was disposed. After the GL context was lost, enable the cache again, so all chunks are rendered anew.
+	 *
+	 * @param pByteBudget the total size of the chunk textures in bytes, at four bytes per pixel.
+	 */
+	public void enableChunkTextureCache(final TextureManager pTextureManager, final long pByteBudget) {
+		if(pByteBudget < 0) {
+			throw new IllegalArgumentException("pByteBudget must not be negative.");
+		}
+
+		this.disableChunkTextureCache();
+		if(!this.isStatic()) {
+			this.setStaticChunkSize(TMXLayer.STATIC_CHUNK_SIZE_DEFAULT);
+		}
+
+		this.mChunkTextureManager = pTextureManager;
+		this.mChunkTextureByteBudget = pByteBudget;
+		this.mTMXChunkTextureCache = this.createTMXChunkTextureCache();
+	}
+
+	public void disableChunkTextureCache() {
+		if(this.mTMXChunkTextureCache != null) {
+			this.mTMXChunkTextureCache.clear();
+			this.mTMXChunkTextureCache = null;
+		}
+	}
+
+	public boolean isTMXTileAnimationsRunning() {
+		return this.mTMXTileAnimationsRunning;
+	}
+
+	/**
+	 * Pauses or resumes the {@link TMXTileAnimation}s of the tiles of this {@link TMXLayer}, which run by default.
+	 * While paused, the animated tiles keep their current frame. Each frame change rewrites only the cells showing the changed animation.
+	 * The frames of an animated tile are only shown if they are in the same texture as the tile itself.
+	 */
+	public void setTMXTileAnimationsRunning(final boolean pTMXTileAnimationsRunning) {
+		this.mTMXTileAnimationsRunning = pTMXTileAnimationsRunning;
+	}
+
 	// ===========================================================
 	// Methods for/from SuperClass/Interfaces
 	// ===========================================================
@@ -167,11 +431,67 @@ public class TMXLayer extends SpriteBatch implements TMXConstants {
 
 	@Override
 	protected void onManagedUpdate(final float pSecondsElapsed) {
-		/* Nothing. */
+		if(!this.mTMXTileAnimationsRunning) {
+			return;
+		}
+
+		this.mTMXTileAnimationTime += pSecondsElapsed;
+
+		/* Stale TMXLayerSubBatches are rebuilt in the next draw, after which the animated cells are looked up again. */
+		if(this.mTMXLayerSubBatches == null || this.mTMXLayerSubBatchesDirty) {
+			return;
+		}
+		if(this.mAnimatedTMXTilesDirty) {
+			this.buildAnimatedTMXTiles();
+		}
+
+		final ArrayList<TMXAnimatedTiles> animatedTMXTiles = this.mAnimatedTMXTiles;
+		final int animatedTMXTilesCount = animatedTMXTiles.size();
+		if(animatedTMXTilesCount > 0) {
+			final long time = (long)(this.mTMXTileAnimationTime * 1000);
+			for(int i = 0; i < animatedTMXTilesCount; i++) {
+				final TMXAnimatedTiles animatedTiles = animatedTMXTiles.get(i);
+				final int frame = animatedTiles.getFrame(time);
+				if(frame != animatedTiles.mFrame) {
+					animatedTiles.mFrame = frame;
+					this.updateAnimatedTMXTiles(animatedTiles);
+				}
+			}
+		}
+	}
+
+	@Override
+	public void dispose() {
+		super.dispose();
+
+		this.disposeTMXLayerSubBatches();
+		this.disableChunkTextureCache();
+	}
+
+	@Override
+	protected void preDraw(final GLState pGLState, final Camera pCamera) {
+		/* Without any tile, there is no texture to bind. */
+		if(this.mTexture != null) {
+			super.preDraw(pGLState, pCamera);
+		}
 	}
 
 	@Override
 	protected void draw(final GLState pGLState, final Camera pCamera) {
+		if(this.mTMXLayerSubBatchesDirty) {
+			this.disposeTMXLayerSubBatches();
+			this.buildTMXLayerSubBatches();
+
+			if(this.mTMXChunkTextureCache != null) {
+				this.mTMXChunkTextureCache.invalidateChunkTextures();
+			}
+		}
+
+		final TMXLayerSubBatch[] tmxLayerSubBatches = this.mTMXLayerSubBatches;
+		if(tmxLayerSubBatches == null || tmxLayerSubBatches.length == 0) {
+			return;
+		}
+
 		final int tileColumns = this.mTileColumns;
 		final int tileRows = this.mTileRows;
 		final int tileWidth = this.mTMXTiledMap.getTileWidth();
@@ -200,10 +520,32 @@ public class TMXLayer extends SpriteBatch implements TMXConstants {
 		final int firstRow = MathUtils.bringToBounds(0, tileRows - 1, (int)Math.floor(firstRowRaw));
 		final int lastRow = MathUtils.bringToBounds(0, tileRows - 1, (int)Math.floor(firstRowRaw + cameraHeight / scaledTileHeight));
 
-		for(int row = firstRow; row <= lastRow; row++) {
-			for(int column = firstColumn; column <= lastColumn; column++) {
-				this.mSpriteBatchVertexBufferObject.draw(GLES20.GL_TRIANGLE_STRIP, this.getSpriteBatchIndex(column, row) * SpriteBatch.VERTICES_PER_SPRITE, SpriteBatch.VERTICES_PER_SPRITE);
+		final int staticChunkSize = this.mStaticChunkSize;
+		if(staticChunkSize > 0) {
+			/* The bounds of the chunks form a grid, so the chunks overlapping the camera follow from the visible tiles. */
+			final int firstChunkColumn = firstColumn / staticChunkSize;
+			final int firstChunkRow = firstRow / staticChunkSize;
+			final int lastChunkColumn = lastColumn / staticChunkSize;
+			final int lastChunkRow = lastRow / staticChunkSize;
+			if(this.mTMXChunkTextureCache != null) {
+				this.drawChunkTextures(pGLState, pCamera, firstChunkColumn, firstChunkRow, lastChunkColumn, lastChunkRow);
+			} else {
+				for(int i = 0; i < tmxLayerSubBatches.length; i++) {
+					tmxLayerSubBatches[i].drawVisibleChunks(pGLState, this.mShaderProgram, firstChunkColumn, firstChunkRow, lastChunkColumn, lastChunkRow, this.mStaticChunkColumns);
+				}
 			}
+		} else {
+			final boolean wholeRowsVisible = lastColumn - firstColumn + 1 == tileColumns;
+			for(int i = 0; i < tmxLayerSubBatches.length; i++) {
+				tmxLayerSubBatches[i].drawVisibleTiles(pGLState, this.mShaderProgram, firstColumn, firstRow, lastColumn, lastRow, tileColumns, wholeRowsVisible);
+			}
+		}
+	}
+
+	@Override
+	protected void postDraw(final GLState pGLState, final Camera pCamera) {
+		if(this.mTexture != null) {
+			super.postDraw(pGLState, pCamera);
 		}
 	}
 
@@ -212,101 +554,805 @@ public class TMXLayer extends SpriteBatch implements TMXConstants {
 	// ===========================================================
 
 	void initializeTMXTileFromXML(final Attributes pAttributes, final ITMXTilePropertiesListener pTMXTilePropertyListener) {
-		this.addTileByGlobalTileID(SAXUtils.getIntAttributeOrThrow(pAttributes, TMXConstants.TAG_TILE_ATTRIBUTE_GID), pTMXTilePropertyListener);
+		/* Parsed as long, as the flip flags make the unsigned global tile ID exceed the range of int. */
+		this.addTileByGlobalTileID((int)Long.parseLong(SAXUtils.getAttributeOrThrow(pAttributes, TMXConstants.TAG_TILE_ATTRIBUTE_GID)), pTMXTilePropertyListener);
 	}
 
-	void initializeTMXTilesFromDataString(final String pDataString, final String pDataEncoding, final String pDataCompression, final ITMXTilePropertiesListener pTMXTilePropertyListener) throws IOException, IllegalArgumentException {
-		DataInputStream dataIn = null;
-		try{
-			InputStream in = new ByteArrayInputStream(pDataString.getBytes("UTF-8"));
+	void initializeTMXTilesFromIntBuffer(final IntBuffer pGlobalTileIDs, final ITMXTilePropertiesListener pTMXTilePropertyListener) {
+		final int globalTileIDCount = pGlobalTileIDs.remaining();
+		if(globalTileIDCount != this.getTilesRemaining()) {
+			throw new IllegalArgumentException("Expected " + this.getTilesRemaining() + " global Tile IDs, but got " + globalTileIDCount + ".");
+		}
 
-			/* Wrap decoding Streams if necessary. */
-			if(pDataEncoding != null && pDataEncoding.equals(TMXConstants.TAG_DATA_ATTRIBUTE_ENCODING_VALUE_BASE64)) {
-				in = new Base64InputStream(in, Base64.DEFAULT);
-			}
-			if(pDataCompression != null){
-				if(pDataCompression.equals(TMXConstants.TAG_DATA_ATTRIBUTE_COMPRESSION_VALUE_GZIP)) {
-					in = new GZIPInputStream(in);
+		final int position = pGlobalTileIDs.position();
+		for(int i = 0; i < globalTileIDCount; i++) {
+			this.addTileByGlobalTileID(pGlobalTileIDs.get(position + i), pTMXTilePropertyListener);
+		}
+	}
+
+	/**
+	 * Derives one flag per property name from the {@link TMXTileProperty}s of the tiles of this {@link TMXLayer}.
+	 * A flag is set for a cell, if its tile has a {@link TMXTileProperty} with that name whose value is neither <code>false</code> nor <code>0</code>.
+	 * The properties are looked up once per distinct global tile ID. Later changes of the tiles are not reflected, see {@link TMXTileFlags#setFlag(int, int, int, boolean)}.
+	 *
+	 * @param pPropertyNames at most 64, the index of a name is the flag in the {@link TMXTileFlags}.
+	 * @return the {@link TMXTileFlags}, which are also returned by {@link #getTMXTileFlags()} from now on.
+	 */
+	public TMXTileFlags createTMXTileFlags(final String ... pPropertyNames) {
+		final int flagCount = pPropertyNames.length;
+		if(flagCount > 64) {
+			throw new IllegalArgumentException("At most 64 flags are supported, but got " + flagCount + ".");
+		}
+
+		final int[] nameIDs = new int[flagCount];
+		for(int i = 0; i < flagCount; i++) {
+			nameIDs[i] = TMXPropertyNames.peekID(pPropertyNames[i]);
+		}
+
+		final TMXTiledMap tmxTiledMap = this.mTMXTiledMap;
+		final TMXTileFlags tmxTileFlags = new TMXTileFlags(pPropertyNames, this.mTileColumns, this.mTileRows);
+
+		/* The flags of every global tile ID, resolved on first use. */
+		long[] globalTileIDFlags = new long[64];
+		long[] globalTileIDsResolved = new long[1];
+
+		for(int row = 0; row < this.mTileRows; row++) {
+			for(int column = 0; column < this.mTileColumns; column++) {
+				final int globalTileID = this.getGlobalTileID(column, row) & ~TMXConstants.GLOBALTILEID_FLAGS;
+				if(globalTileID == 0) {
+					continue;
+				}
+
+				if(globalTileID >= globalTileIDFlags.length) {
+					final int capacity = Math.max(globalTileIDFlags.length * 2, (globalTileID + 64) & ~63);
+					final long[] newGlobalTileIDFlags = new long[capacity];
+					System.arraycopy(globalTileIDFlags, 0, newGlobalTileIDFlags, 0, globalTileIDFlags.length);
+					globalTileIDFlags = newGlobalTileIDFlags;
+					final long[] newGlobalTileIDsResolved = new long[capacity >>> 6];
+					System.arraycopy(globalTileIDsResolved, 0, newGlobalTileIDsResolved, 0, globalTileIDsResolved.length);
+					globalTileIDsResolved = newGlobalTileIDsResolved;
+				}
+
+				long flags;
+				if((globalTileIDsResolved[globalTileID >>> 6] & (1L << globalTileID)) != 0) {
+					flags = globalTileIDFlags[globalTileID];
 				} else {
-					throw new IllegalArgumentException("Supplied compression '" + pDataCompression + "' is not supported yet.");
+					flags = 0;
+					if(tmxTiledMap.hasTMXTileProperties(globalTileID)) {
+						final TMXProperties<TMXTileProperty> tmxTileProperties = tmxTiledMap.getTMXTilePropertiesByGlobalTileID(globalTileID);
+						for(int i = 0; i < flagCount; i++) {
+							final TMXTileProperty tmxTileProperty = tmxTileProperties.getTMXProperty(nameIDs[i]);
+							if(tmxTileProperty != null && tmxTileProperty.getBooleanValue(true)) {
+								flags |= 1L << i;
+							}
+						}
+					}
+					globalTileIDFlags[globalTileID] = flags;
+					globalTileIDsResolved[globalTileID >>> 6] |= 1L << globalTileID;
+				}
+
+				while(flags != 0) {
+					final int flag = Long.numberOfTrailingZeros(flags);
+					tmxTileFlags.setFlag(column, row, flag, true);
+					flags &= flags - 1;
+				}
+			}
+		}
+
+		this.mTMXTileFlags = tmxTileFlags;
+		return tmxTileFlags;
+	}
+
+	int getTilesRemaining() {
+		return this.mGlobalTileIDsExpected - this.mTilesAdded;
+	}
+
+	/**
+	 * Creates the vertices of all {@link TMXTile}s that were added while decoding the layer data.
+	 * Called once, when the <code>&lt;data&gt;</code> element of this {@link TMXLayer} was closed.
+	 */
+	void submitTMXTiles() {
+		this.buildTMXLayerSubBatches();
+	}
+
+	/**
+	 * Puts the non-empty tiles into one {@link TMXLayerSubBatch} per texture, starting with the one of {@link #mTexture}.
+	 * Empty cells take neither vertices nor draw calls.
+	 */
+	private void buildTMXLayerSubBatches() {
+		final TMXTiledMap tmxTiledMap = this.mTMXTiledMap;
+		final int[] globalTileIDs = this.mGlobalTileIDs;
+
+		/* Count the tiles per texture. */
+		final ArrayList<ITexture> subBatchTextures = new ArrayList<ITexture>();
+		if(this.mTexture != null) {
+			subBatchTextures.add(this.mTexture);
+		}
+		int[] subBatchTileCounts = new int[1];
+		for(int i = 0; i < globalTileIDs.length; i++) {
+			final int globalTileID = globalTileIDs[i];
+			if(globalTileID != 0) {
+				/* Throws for global tile IDs without a tile, rather than dropping them silently. */
+				final ITexture tileTexture = tmxTiledMap.getTextureRegionFromGlobalTileID(globalTileID).getTexture();
+				int subBatchIndex = subBatchTextures.indexOf(tileTexture);
+				if(subBatchIndex == -1) {
+					subBatchIndex = subBatchTextures.size();
+					subBatchTextures.add(tileTexture);
+					if(subBatchIndex == subBatchTileCounts.length) {
+						final int[] grownSubBatchTileCounts = new int[subBatchTileCounts.length * 2];
+						System.arraycopy(subBatchTileCounts, 0, grownSubBatchTileCounts, 0, subBatchTileCounts.length);
+						subBatchTileCounts = grownSubBatchTileCounts;
+					}
 				}
+				subBatchTileCounts[subBatchIndex]++;
 			}
-			dataIn = new DataInputStream(in);
+		}
+
+		final int tileColumns = this.mTileColumns;
+		final int tileRows = this.mTileRows;
+		final int staticChunkSize = this.mStaticChunkSize;
+		final int segmentCount = (staticChunkSize > 0) ? this.mStaticChunkColumns * this.mStaticChunkRows : tileRows;
+
+		final int subBatchCount = subBatchTextures.size();
+		final TMXLayerSubBatch[] tmxLayerSubBatches = new TMXLayerSubBatch[subBatchCount];
+		for(int i = 0; i < subBatchCount; i++) {
+			tmxLayerSubBatches[i] = new TMXLayerSubBatch(subBatchTextures.get(i), subBatchTileCounts[i], segmentCount, this.getVertexBufferObjectManager());
+		}
 
-			while(this.mTilesAdded < this.mGlobalTileIDsExpected) {
-				final int globalTileID = this.readGlobalTileID(dataIn);
-				this.addTileByGlobalTileID(globalTileID, pTMXTilePropertyListener);
+		/* Fill the sub-batches segment by segment, so every row (or chunk, when static) is one contiguous range in every sub-batch. */
+		if(staticChunkSize > 0) {
+			for(int chunkRow = 0; chunkRow < this.mStaticChunkRows; chunkRow++) {
+				for(int chunkColumn = 0; chunkColumn < this.mStaticChunkColumns; chunkColumn++) {
+					final int firstColumn = chunkColumn * staticChunkSize;
+					final int firstRow = chunkRow * staticChunkSize;
+					final int lastColumn = Math.min(tileColumns, firstColumn + staticChunkSize) - 1;
+					final int lastRow = Math.min(tileRows, firstRow + staticChunkSize) - 1;
+					this.fillTMXLayerSubBatchSegment(tmxLayerSubBatches, subBatchTextures, chunkRow * this.mStaticChunkColumns + chunkColumn, firstColumn, firstRow, lastColumn, lastRow);
+				}
+			}
+		} else {
+			for(int row = 0; row < tileRows; row++) {
+				this.fillTMXLayerSubBatchSegment(tmxLayerSubBatches, subBatchTextures, row, 0, row, tileColumns - 1, row);
 			}
-		} finally {
-			StreamUtils.close(dataIn);
 		}
+		for(int i = 0; i < subBatchCount; i++) {
+			tmxLayerSubBatches[i].endSegments(segmentCount);
+			tmxLayerSubBatches[i].submit();
+		}
+
+		this.mTMXLayerSubBatches = tmxLayerSubBatches;
+		this.mTMXLayerSubBatchesDirty = false;
+		this.mAnimatedTMXTilesDirty = true;
 	}
 
-	private void addTileByGlobalTileID(final int pGlobalTileID, final ITMXTilePropertiesListener pTMXTilePropertyListener) {
+	/**
+	 * Adds the non-empty tiles of the given range to their {@link TMXLayerSubBatch}es, row by row, as the segment <code>pSegment</code>.
+	 */
+	private void fillTMXLayerSubBatchSegment(final TMXLayerSubBatch[] pTMXLayerSubBatches, final ArrayList<ITexture> pSubBatchTextures, final int pSegment, final int pFirstColumn, final int pFirstRow, final int pLastColumn, final int pLastRow) {
 		final TMXTiledMap tmxTiledMap = this.mTMXTiledMap;
+		final int[] globalTileIDs = this.mGlobalTileIDs;
+		final int tileWidth = tmxTiledMap.getTileWidth();
+		final int tileHeight = tmxTiledMap.getTileHeight();
 
-		final int tilesHorizontal = this.mTileColumns;
+		for(int i = 0; i < pTMXLayerSubBatches.length; i++) {
+			pTMXLayerSubBatches[i].beginSegment(pSegment);
+		}
+		for(int row = pFirstRow; row <= pLastRow; row++) {
+			for(int column = pFirstColumn; column <= pLastColumn; column++) {
+				final int tileIndex = this.getTileIndex(column, row);
+				final int globalTileID = globalTileIDs[tileIndex];
+				if(globalTileID != 0) {
+					final ITextureRegion tmxTileTextureRegion = tmxTiledMap.getTextureRegionFromGlobalTileID(globalTileID);
+					pTMXLayerSubBatches[pSubBatchTextures.indexOf(tmxTileTextureRegion.getTexture())].addTile(tmxTileTextureRegion, globalTileID, tileIndex, column * tileWidth, row * tileHeight, tileWidth, tileHeight);
+				}
+			}
+		}
+	}
 
-		final int column = this.mTilesAdded % tilesHorizontal;
-		final int row = this.mTilesAdded / tilesHorizontal;
+	/**
+	 * Draws every visible chunk from its texture, rendering it first if needed.
+	 */
+	private void drawChunkTextures(final GLState pGLState, final Camera pCamera, final int pFirstChunkColumn, final int pFirstChunkRow, final int pLastChunkColumn, final int pLastChunkRow) {
+		final TMXLayerSubBatch[] tmxLayerSubBatches = this.mTMXLayerSubBatches;
+		final TMXChunkTextureCache<TMXChunkTexture> tmxChunkTextureCache = this.mTMXChunkTextureCache;
+		final int chunkColumns = this.mStaticChunkColumns;
+		final int chunkWidth = this.mStaticChunkSize * this.mTMXTiledMap.getTileWidth();
+		final int chunkHeight = this.mStaticChunkSize * this.mTMXTiledMap.getTileHeight();
+		final int chunkTextureByteCount = chunkWidth * chunkHeight * TMXLayer.CHUNK_TEXTURE_BYTES_PER_PIXEL;
+
+		tmxChunkTextureCache.beginFrame();
+		for(int chunkRow = pFirstChunkRow; chunkRow <= pLastChunkRow; chunkRow++) {
+			for(int chunkColumn = pFirstChunkColumn; chunkColumn <= pLastChunkColumn; chunkColumn++) {
+				final int chunk = chunkRow * chunkColumns + chunkColumn;
+				if(!TMXLayer.hasChunkTiles(tmxLayerSubBatches, chunk)) {
+					continue;
+				}
 
-		final TMXTile[][] tmxTiles = this.mTMXTiles;
+				TMXChunkTexture tmxChunkTexture = tmxChunkTextureCache.getChunkTexture(chunk);
+				if(tmxChunkTexture == null) {
+					if(!tmxChunkTextureCache.makeRoom(chunkTextureByteCount)) {
+						/* The textures of the other visible chunks take up the whole budget. */
+						for(int i = 0; i < tmxLayerSubBatches.length; i++) {
+							tmxLayerSubBatches[i].drawVisibleChunks(pGLState, this.mShaderProgram, chunkColumn, chunkRow, chunkColumn, chunkRow, chunkColumns);
+						}
+						continue;
+					}
+
+					tmxChunkTexture = new TMXChunkTexture(this.mChunkTextureManager, chunkColumn * chunkWidth, chunkRow * chunkHeight, chunkWidth, chunkHeight, this.getVertexBufferObjectManager());
+					tmxChunkTextureCache.putChunkTexture(chunk, tmxChunkTexture, chunkTextureByteCount);
+				}
+
+				if(!tmxChunkTextureCache.isChunkTextureValid(chunk)) {
+					tmxChunkTexture.render(pGLState, this.mShaderProgram, tmxLayerSubBatches, chunkColumn, chunkRow, chunkColumns);
+					tmxChunkTextureCache.setChunkTextureValid(chunk);
+				}
+				tmxChunkTexture.mSprite.onDraw(pGLState, pCamera);
+			}
+		}
+	}
+
+	private static boolean hasChunkTiles(final TMXLayerSubBatch[] pTMXLayerSubBatches, final int pChunk) {
+		for(int i = 0; i < pTMXLayerSubBatches.length; i++) {
+			if(pTMXLayerSubBatches[i].getSegmentTileCount(pChunk) > 0) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private TMXChunkTextureCache<TMXChunkTexture> createTMXChunkTextureCache() {
+		return new TMXChunkTextureCache<TMXChunkTexture>(this.mStaticChunkColumns * this.mStaticChunkRows, this.mChunkTextureByteBudget, new ITMXChunkTextureCacheListener<TMXChunkTexture>() {
+			@Override
+			public void onChunkTextureEvicted(final int pChunk, final TMXChunkTexture pChunkTexture) {
+				pChunkTexture.release();
+			}
+		});
+	}
+
+	/**
+	 * Groups the animated cells by their global tile ID and resolves the frames of every group once, so frame changes need no lookups.
+	 * Scans the whole {@link TMXLayer}, but only after its {@link TMXLayerSubBatch}es were rebuilt.
+	 */
+	private void buildAnimatedTMXTiles() {
+		this.mAnimatedTMXTilesDirty = false;
+
+		final ArrayList<TMXAnimatedTiles> animatedTMXTiles = new ArrayList<TMXAnimatedTiles>();
+		final SparseArray<TMXAnimatedTiles> animatedTMXTilesByGlobalTileID = new SparseArray<TMXAnimatedTiles>();
+		this.mAnimatedTMXTiles = animatedTMXTiles;
+		this.mAnimatedTMXTilesByGlobalTileID = animatedTMXTilesByGlobalTileID;
+
+		if(!this.mTMXTiledMap.hasTMXTileAnimations()) {
+			return;
+		}
+
+		final int[] globalTileIDs = this.mGlobalTileIDs;
+		for(int i = 0; i < globalTileIDs.length; i++) {
+			final int globalTileID = globalTileIDs[i];
+			if(globalTileID == 0) {
+				continue;
+			}
+
+			TMXAnimatedTiles animatedTiles = animatedTMXTilesByGlobalTileID.get(globalTileID);
+			if(animatedTiles == null) {
+				animatedTiles = this.createAnimatedTMXTiles(globalTileID);
+				if(animatedTiles == null) {
+					continue;
+				}
+				animatedTMXTilesByGlobalTileID.put(globalTileID, animatedTiles);
+				animatedTMXTiles.add(animatedTiles);
+			}
+			animatedTiles.addTileIndex(i);
+		}
+	}
+
+	/**
+	 * @return the group for the cells showing <code>pGlobalTileID</code>, still without any cell, or <code>null</code> if that tile is not animated.
+	 */
+	private TMXAnimatedTiles createAnimatedTMXTiles(final int pGlobalTileID) {
+		final TMXTiledMap tmxTiledMap = this.mTMXTiledMap;
+		final TMXTileAnimation tmxTileAnimation = tmxTiledMap.getTMXTileAnimationByGlobalTileID(pGlobalTileID);
+		if(tmxTileAnimation == null || tmxTileAnimation.getFrameCount() == 0 || tmxTileAnimation.getDuration() <= 0) {
+			return null;
+		}
+
+		final ITextureRegion textureRegion = tmxTiledMap.getTextureRegionFromGlobalTileID(pGlobalTileID);
+		final TMXLayerSubBatch tmxLayerSubBatch = this.getTMXLayerSubBatch(textureRegion.getTexture());
+		if(tmxLayerSubBatch == null) {
+			return null;
+		}
+
+		final TMXAnimatedTiles animatedTiles = new TMXAnimatedTiles(tmxTileAnimation, tmxLayerSubBatch);
+		final int firstGlobalTileID = tmxTiledMap.getTMXTileSetFromGlobalTileID(pGlobalTileID).getFirstGlobalTileID();
+		final int flags = pGlobalTileID & TMXConstants.GLOBALTILEID_FLAGS;
+		for(int frame = 0; frame < tmxTileAnimation.getFrameCount(); frame++) {
+			final int frameGlobalTileID = (firstGlobalTileID + tmxTileAnimation.getFrameLocalTileID(frame)) | flags;
+			ITextureRegion frameTextureRegion;
+			try {
+				frameTextureRegion = tmxTiledMap.getTextureRegionFromGlobalTileID(frameGlobalTileID);
+			} catch (final IllegalArgumentException e) {
+				frameTextureRegion = null;
+			}
+
+			/* A TMXLayerSubBatch draws from one texture only, so other frames show the tile itself. */
+			if(frameTextureRegion != null && frameTextureRegion.getTexture() == textureRegion.getTexture()) {
+				animatedTiles.mFrameGlobalTileIDs[frame] = frameGlobalTileID;
+				animatedTiles.mFrameTextureRegions[frame] = frameTextureRegion;
+			} else {
+				animatedTiles.mFrameGlobalTileIDs[frame] = pGlobalTileID;
+				animatedTiles.mFrameTextureRegions[frame] = textureRegion;
+			}
+		}
+		return animatedTiles;
+	}
+
+	/**
+	 * Moves the cell at <code>pTileIndex</code> from the group of its old global tile ID to the one of its new global tile ID, if they are animated,
+	 * so a runtime edit costs no more than a pass over the cells of these two groups.
+	 */
+	private void moveAnimatedTMXTile(final int pTileIndex, final int pOldGlobalTileID, final int pGlobalTileID) {
+		final SparseArray<TMXAnimatedTiles> animatedTMXTilesByGlobalTileID = this.mAnimatedTMXTilesByGlobalTileID;
+
+		final TMXAnimatedTiles oldAnimatedTiles = animatedTMXTilesByGlobalTileID.get(pOldGlobalTileID);
+		if(oldAnimatedTiles != null) {
+			oldAnimatedTiles.removeTileIndex(pTileIndex);
+		}
 
-		final ITextureRegion tmxTileTextureRegion;
 		if(pGlobalTileID == 0) {
-			tmxTileTextureRegion = null;
-		} else {
-			tmxTileTextureRegion = tmxTiledMap.getTextureRegionFromGlobalTileID(pGlobalTileID);
+			return;
 		}
-		final int tileHeight = this.mTMXTiledMap.getTileHeight();
+		TMXAnimatedTiles animatedTiles = animatedTMXTilesByGlobalTileID.get(pGlobalTileID);
+		if(animatedTiles == null) {
+			animatedTiles = this.createAnimatedTMXTiles(pGlobalTileID);
+			if(animatedTiles == null) {
+				return;
+			}
+			animatedTMXTilesByGlobalTileID.put(pGlobalTileID, animatedTiles);
+			this.mAnimatedTMXTiles.add(animatedTiles);
+		}
+		animatedTiles.addTileIndex(pTileIndex);
+
+		/* The cell was just written with the tile itself, show the current frame instead. A new group shows its first frame with the next update. */
+		if(animatedTiles.mFrame != -1) {
+			this.updateAnimatedTMXTile(animatedTiles, pTileIndex);
+		}
+	}
+
+	/**
+	 * Rewrites the cells of <code>pAnimatedTiles</code> with its current frame, which is uploaded with the next draw.
+	 */
+	private void updateAnimatedTMXTiles(final TMXAnimatedTiles pAnimatedTiles) {
+		final int[] tileIndices = pAnimatedTiles.mTileIndices;
+		for(int i = pAnimatedTiles.mTileCount - 1; i >= 0; i--) {
+			this.updateAnimatedTMXTile(pAnimatedTiles, tileIndices[i]);
+		}
+	}
+
+	private void updateAnimatedTMXTile(final TMXAnimatedTiles pAnimatedTiles, final int pTileIndex) {
+		final int frame = pAnimatedTiles.mFrame;
+		final int column = pTileIndex % this.mTileColumns;
+		final int row = pTileIndex / this.mTileColumns;
+		final int segment = this.getSegment(column, row);
 		final int tileWidth = this.mTMXTiledMap.getTileWidth();
+		final int tileHeight = this.mTMXTiledMap.getTileHeight();
 
-		if(this.mTexture == null) {
-			this.mTexture = tmxTileTextureRegion.getTexture();
-			super.initBlendFunction(this.mTexture);
-		} else {
-			if(this.mTexture != tmxTileTextureRegion.getTexture()) {
-				throw new AndEngineRuntimeException("All TMXTiles in a TMXLayer need to be in the same TMXTileSet.");
+		pAnimatedTiles.mTMXLayerSubBatch.setTile(pAnimatedTiles.mFrameTextureRegions[frame], pAnimatedTiles.mFrameGlobalTileIDs[frame], pTileIndex, segment, column * tileWidth, row * tileHeight, tileWidth, tileHeight);
+		if(this.mTMXChunkTextureCache != null) {
+			this.mTMXChunkTextureCache.invalidateChunkTexture(segment);
+		}
+	}
+
+	private void disposeTMXLayerSubBatches() {
+		final TMXLayerSubBatch[] tmxLayerSubBatches = this.mTMXLayerSubBatches;
+		if(tmxLayerSubBatches != null) {
+			for(int i = 0; i < tmxLayerSubBatches.length; i++) {
+				tmxLayerSubBatches[i].dispose();
 			}
+			this.mTMXLayerSubBatches = null;
 		}
-		final TMXTile tmxTile = new TMXTile(pGlobalTileID, column, row, tileWidth, tileHeight, tmxTileTextureRegion);
-		tmxTiles[row][column] = tmxTile;
+	}
 
-		this.setIndex(this.getSpriteBatchIndex(column, row));
-		this.drawWithoutChecks(tmxTileTextureRegion, tmxTile.getTileX(), tmxTile.getTileY(), tileWidth, tileHeight, Color.WHITE_ABGR_PACKED_FLOAT);
-		this.submit(); // TODO Doesn't need to be called here, but should rather be called in a "init" step, when parsing the XML is complete.
+	/**
+	 * @return the {@link TMXLayerSubBatch} of <code>pTexture</code>, or <code>null</code>.
+	 */
+	private TMXLayerSubBatch getTMXLayerSubBatch(final ITexture pTexture) {
+		final TMXLayerSubBatch[] tmxLayerSubBatches = this.mTMXLayerSubBatches;
+		if(tmxLayerSubBatches != null && !this.mTMXLayerSubBatchesDirty) {
+			for(int i = 0; i < tmxLayerSubBatches.length; i++) {
+				if(tmxLayerSubBatches[i].getTexture() == pTexture) {
+					return tmxLayerSubBatches[i];
+				}
+			}
+		}
+		return null;
+	}
+
+	void addTileByGlobalTileID(final int pGlobalTileID, final ITMXTilePropertiesListener pTMXTilePropertyListener) {
+		final TMXTiledMap tmxTiledMap = this.mTMXTiledMap;
+
+		final int tilesHorizontal = this.mTileColumns;
+
+		final int column = this.mTilesAdded % tilesHorizontal;
+		final int row = this.mTilesAdded / tilesHorizontal;
+
+		/* Only the global tile ID is recorded here, the vertices are created in submitTMXTiles, for the non-empty cells only. */
+		this.mGlobalTileIDs[this.getTileIndex(column, row)] = pGlobalTileID;
 
 		if(pGlobalTileID != 0) {
+			if(this.mTexture == null) {
+				this.mTexture = tmxTiledMap.getTextureRegionFromGlobalTileID(pGlobalTileID).getTexture();
+				super.initBlendFunction(this.mTexture);
+			}
+
 			/* Notify the ITMXTilePropertiesListener if it exists. */
-			if(pTMXTilePropertyListener != null) {
-				final TMXProperties<TMXTileProperty> tmxTileProperties = tmxTiledMap.getTMXTileProperties(pGlobalTileID);
-				if(tmxTileProperties != null) {
-					pTMXTilePropertyListener.onTMXTileWithPropertiesCreated(tmxTiledMap, this, tmxTile, tmxTileProperties);
-				}
+			if(pTMXTilePropertyListener != null && tmxTiledMap.hasTMXTileProperties(pGlobalTileID)) {
+				final TMXProperties<TMXTileProperty> tmxTileProperties = tmxTiledMap.getTMXTilePropertiesByGlobalTileID(pGlobalTileID);
+				pTMXTilePropertyListener.onTMXTileWithPropertiesCreated(tmxTiledMap, this, this.getTMXTile(column, row), tmxTileProperties);
 			}
 		}
 
 		this.mTilesAdded++;
 	}
 
-	private int getSpriteBatchIndex(final int pColumn, final int pRow) {
+	private int getTileIndex(final int pColumn, final int pRow) {
 		return pRow * this.mTileColumns + pColumn;
 	}
 
-	private int readGlobalTileID(final DataInputStream pDataIn) throws IOException {
-		final int lowestByte = pDataIn.read();
-		final int secondLowestByte = pDataIn.read();
-		final int secondHighestByte = pDataIn.read();
-		final int highestByte = pDataIn.read();
-
-		if(lowestByte < 0 || secondLowestByte < 0 || secondHighestByte < 0 || highestByte < 0) {
-			throw new IllegalArgumentException("Couldn't read global Tile ID.");
+	/**
+	 * @return the row, or the chunk when static, that the {@link TMXLayerSubBatch}es store the tile at <code>pColumn/pRow</code> in.
+	 */
+	private int getSegment(final int pColumn, final int pRow) {
+		final int staticChunkSize = this.mStaticChunkSize;
+		if(staticChunkSize > 0) {
+			return (pRow / staticChunkSize) * this.mStaticChunkColumns + pColumn / staticChunkSize;
+		} else {
+			return pRow;
 		}
-
-		return lowestByte | secondLowestByte <<  8 |secondHighestByte << 16 | highestByte << 24;
 	}
 
 	// ===========================================================
 	// Inner and Anonymous Classes
 	// ===========================================================
+
+	/**
+	 * Holds the tiles of a {@link TMXLayer} that are in one texture.
+	 * Only the non-empty tiles are stored, segment by segment, i.e. row by row or chunk by chunk for a static {@link TMXLayer}.
+	 * Within a segment they are sorted by tile index, so the visible part of every row is one contiguous range, found by binary search.
+	 */
+	private static class TMXLayerSubBatch extends SpriteBatch {
+		// ===========================================================
+		// Fields
+		// ===========================================================
+
+		/** The index of the first sprite of every segment, plus the total sprite count at the end. */
+		private final int[] mSegmentOffsets;
+		/** The tile index, see {@link TMXLayer#getTileIndex(int, int)}, of every sprite. */
+		private final int[] mTileIndices;
+		private int mTileCount;
+
+		// ===========================================================
+		// Constructors
+		// ===========================================================
+
+		TMXLayerSubBatch(final ITexture pTexture, final int pCapacity, final int pSegmentCount, final VertexBufferObjectManager pVertexBufferObjectManager) {
+			super(pTexture, pCapacity, new TMXLayerVertexBufferObject(pVertexBufferObjectManager, pCapacity, DrawType.STATIC, true, SpriteBatch.VERTEXBUFFEROBJECTATTRIBUTES_DEFAULT));
+
+			this.mSegmentOffsets = new int[pSegmentCount + 1];
+			this.mTileIndices = new int[pCapacity];
+		}
+
+		// ===========================================================
+		// Methods for/from SuperClass/Interfaces
+		// ===========================================================
+
+		@Override
+		protected void initBlendFunction(final ITexture pTexture) {
+
+		}
+
+		// ===========================================================
+		// Methods
+		// ===========================================================
+
+		void beginSegment(final int pSegment) {
+			this.mSegmentOffsets[pSegment] = this.mTileCount;
+		}
+
+		void endSegments(final int pSegmentCount) {
+			this.mSegmentOffsets[pSegmentCount] = this.mTileCount;
+		}
+
+		int getSegmentTileCount(final int pSegment) {
+			return this.mSegmentOffsets[pSegment + 1] - this.mSegmentOffsets[pSegment];
+		}
+
+		/**
+		 * @param pGlobalTileID its flip flags are applied to the texture coordinates.
+		 */
+		void addTile(final ITextureRegion pTextureRegion, final int pGlobalTileID, final int pTileIndex, final float pX, final float pY, final float pWidth, final float pHeight) {
+			this.mTileIndices[this.mTileCount] = pTileIndex;
+			this.writeTile(this.mTileCount, pTextureRegion, pGlobalTileID, pX, pY, pWidth, pHeight);
+			this.mTileCount++;
+		}
+
+		/**
+		 * Rewrites the tile at <code>pTileIndex</code> in place, if this {@link TMXLayerSubBatch} holds a tile there.
+		 *
+		 * @param pSegment the segment the tile belongs to, see {@link TMXLayer#getSegment(int, int)}.
+		 * @return <code>false</code> if there is no tile at <code>pTileIndex</code>, in which case nothing was changed.
+		 */
+		boolean setTile(final ITextureRegion pTextureRegion, final int pGlobalTileID, final int pTileIndex, final int pSegment, final float pX, final float pY, final float pWidth, final float pHeight) {
+			final int index = this.findTile(pTileIndex, pSegment);
+			if(index == -1) {
+				return false;
+			}
+
+			this.setIndex(index);
+			this.writeTile(index, pTextureRegion, pGlobalTileID, pX, pY, pWidth, pHeight);
+			((TMXLayerVertexBufferObject)this.mSpriteBatchVertexBufferObject).setSpriteDirty(index);
+			return true;
+		}
+
+		/**
+		 * Writes the vertices of the sprite at <code>pIndex</code>, which needs to be the current index.
+		 */
+		private void writeTile(final int pIndex, final ITextureRegion pTextureRegion, final int pGlobalTileID, final float pX, final float pY, final float pWidth, final float pHeight) {
+			this.drawWithoutChecks(pTextureRegion, pX, pY, pWidth, pHeight, Color.WHITE_ABGR_PACKED_FLOAT);
+			TMXLayerVertexBufferObject.flipSpriteTextureCoordinates(((TMXLayerVertexBufferObject)this.mSpriteBatchVertexBufferObject).getBufferData(), pIndex, pTextureRegion, pGlobalTileID);
+		}
+
+		/**
+		 * Turns the tile at <code>pTileIndex</code> into degenerate triangles, keeping its place for {@link #setTile(ITextureRegion, int, int, int, float, float, float, float)}.
+		 */
+		void clearTile(final int pTileIndex, final int pSegment) {
+			final int index = this.findTile(pTileIndex, pSegment);
+			if(index != -1) {
+				((TMXLayerVertexBufferObject)this.mSpriteBatchVertexBufferObject).clearSprite(index);
+			}
+		}
+
+		/**
+		 * @return the sprite index of the tile at <code>pTileIndex</code>, or <code>-1</code>.
+		 */
+		private int findTile(final int pTileIndex, final int pSegment) {
+			final int end = this.mSegmentOffsets[pSegment + 1];
+			final int index = TMXLayerSubBatch.findFirstTile(this.mTileIndices, this.mSegmentOffsets[pSegment], end, pTileIndex);
+			return (index == end || this.mTileIndices[index] != pTileIndex) ? -1 : index;
+		}
+
+		/**
+		 * Draws the tiles within the given range, using the transformation and the {@link ShaderProgram} of the {@link TMXLayer} that is being drawn.
+		 * Only for {@link TMXLayerSubBatch}es with one segment per row.
+		 */
+		void drawVisibleTiles(final GLState pGLState, final ShaderProgram pShaderProgram, final int pFirstColumn, final int pFirstRow, final int pLastColumn, final int pLastRow, final int pTileColumns, final boolean pWholeRowsVisible) {
+			final int[] rowOffsets = this.mSegmentOffsets;
+			if(rowOffsets[pFirstRow] == rowOffsets[pLastRow + 1]) {
+				return;
+			}
+
+			this.mTexture.bind(pGLState);
+			final ISpriteBatchVertexBufferObject spriteBatchVertexBufferObject = this.mSpriteBatchVertexBufferObject;
+			spriteBatchVertexBufferObject.bind(pGLState, pShaderProgram);
+
+			if(pWholeRowsVisible) {
+				final int first = rowOffsets[pFirstRow];
+				spriteBatchVertexBufferObject.draw(GLES20.GL_TRIANGLES, first * SpriteBatch.VERTICES_PER_SPRITE, (rowOffsets[pLastRow + 1] - first) * SpriteBatch.VERTICES_PER_SPRITE);
+			} else {
+				final int[] tileIndices = this.mTileIndices;
+				for(int row = pFirstRow; row <= pLastRow; row++) {
+					final int rowTileIndex = row * pTileColumns;
+					final int first = TMXLayerSubBatch.findFirstTile(tileIndices, rowOffsets[row], rowOffsets[row + 1], rowTileIndex + pFirstColumn);
+					final int end = TMXLayerSubBatch.findFirstTile(tileIndices, first, rowOffsets[row + 1], rowTileIndex + pLastColumn + 1);
+					if(end > first) {
+						spriteBatchVertexBufferObject.draw(GLES20.GL_TRIANGLES, first * SpriteBatch.VERTICES_PER_SPRITE, (end - first) * SpriteBatch.VERTICES_PER_SPRITE);
+					}
+				}
+			}
+
+			spriteBatchVertexBufferObject.unbind(pGLState, pShaderProgram);
+		}
+
+		/**
+		 * Draws the chunks within the given range whole, with one draw call per chunk row, as adjacent chunks of a chunk row are adjacent in the buffer.
+		 * Only for {@link TMXLayerSubBatch}es with one segment per chunk, stored row by row.
+		 */
+		void drawVisibleChunks(final GLState pGLState, final ShaderProgram pShaderProgram, final int pFirstChunkColumn, final int pFirstChunkRow, final int pLastChunkColumn, final int pLastChunkRow, final int pChunkColumns) {
+			final int[] chunkOffsets = this.mSegmentOffsets;
+			if(chunkOffsets[pFirstChunkRow * pChunkColumns + pFirstChunkColumn] == chunkOffsets[pLastChunkRow * pChunkColumns + pLastChunkColumn + 1]) {
+				return;
+			}
+
+			this.mTexture.bind(pGLState);
+			final ISpriteBatchVertexBufferObject spriteBatchVertexBufferObject = this.mSpriteBatchVertexBufferObject;
+			spriteBatchVertexBufferObject.bind(pGLState, pShaderProgram);
+
+			if(pFirstChunkColumn == 0 && pLastChunkColumn == pChunkColumns - 1) {
+				/* Whole chunk rows are adjacent as well. */
+				final int first = chunkOffsets[pFirstChunkRow * pChunkColumns];
+				spriteBatchVertexBufferObject.draw(GLES20.GL_TRIANGLES, first * SpriteBatch.VERTICES_PER_SPRITE, (chunkOffsets[(pLastChunkRow + 1) * pChunkColumns] - first) * SpriteBatch.VERTICES_PER_SPRITE);
+			} else {
+				for(int chunkRow = pFirstChunkRow; chunkRow <= pLastChunkRow; chunkRow++) {
+					final int chunkRowOffset = chunkRow * pChunkColumns;
+					final int first = chunkOffsets[chunkRowOffset + pFirstChunkColumn];
+					final int end = chunkOffsets[chunkRowOffset + pLastChunkColumn + 1];
+					if(end > first) {
+						spriteBatchVertexBufferObject.draw(GLES20.GL_TRIANGLES, first * SpriteBatch.VERTICES_PER_SPRITE, (end - first) * SpriteBatch.VERTICES_PER_SPRITE);
+					}
+				}
+			}
+
+			spriteBatchVertexBufferObject.unbind(pGLState, pShaderProgram);
+		}
+
+		/**
+		 * @return the index of the first sprite in <code>[pStart, pEnd)</code> whose tile index is at least <code>pTileIndex</code>, or <code>pEnd</code> if there is none.
+		 */
+		private static int findFirstTile(final int[] pTileIndices, final int pStart, final int pEnd, final int pTileIndex) {
+			int low = pStart;
+			int high = pEnd;
+			while(low < high) {
+				final int middle = (low + high) >>> 1;
+				if(pTileIndices[middle] < pTileIndex) {
+					low = middle + 1;
+				} else {
+					high = middle;
+				}
+			}
+			return low;
+		}
+	}
+
+	/**
+	 * The cells of a {@link TMXLayer} that show the same animated tile, with the frames of its {@link TMXTileAnimation} resolved for the {@link TMXLayerSubBatch} holding them.
+	 */
+	private static class TMXAnimatedTiles {
+		// ===========================================================
+		// Fields
+		// ===========================================================
+
+		private final TMXTileAnimation mTMXTileAnimation;
+		final TMXLayerSubBatch mTMXLayerSubBatch;
+
+		final int[] mFrameGlobalTileIDs;
+		final ITextureRegion[] mFrameTextureRegions;
+		/** The frame the cells show, <code>-1</code> until the first update. */
+		int mFrame = -1;
+
+		int[] mTileIndices = new int[4];
+		int mTileCount;
+
+		// ===========================================================
+		// Constructors
+		// ===========================================================
+
+		TMXAnimatedTiles(final TMXTileAnimation pTMXTileAnimation, final TMXLayerSubBatch pTMXLayerSubBatch) {
+			this.mTMXTileAnimation = pTMXTileAnimation;
+			this.mTMXLayerSubBatch = pTMXLayerSubBatch;
+
+			final int frameCount = pTMXTileAnimation.getFrameCount();
+			this.mFrameGlobalTileIDs = new int[frameCount];
+			this.mFrameTextureRegions = new ITextureRegion[frameCount];
+		}
+
+		// ===========================================================
+		// Methods
+		// ===========================================================
+
+		void addTileIndex(final int pTileIndex) {
+			if(this.mTileCount == this.mTileIndices.length) {
+				this.mTileIndices = Arrays.copyOf(this.mTileIndices, this.mTileCount * 2);
+			}
+			this.mTileIndices[this.mTileCount++] = pTileIndex;
+		}
+
+		/**
+		 * The order of the remaining cells is not kept.
+		 */
+		void removeTileIndex(final int pTileIndex) {
+			final int[] tileIndices = this.mTileIndices;
+			for(int i = this.mTileCount - 1; i >= 0; i--) {
+				if(tileIndices[i] == pTileIndex) {
+					this.mTileCount--;
+					tileIndices[i] = tileIndices[this.mTileCount];
+					return;
+				}
+			}
+		}
+
+		/**
+		 * @param pTime in milliseconds.
+		 * @return the frame shown at <code>pTime</code>, as the animation loops.
+		 */
+		int getFrame(final long pTime) {
+			final TMXTileAnimation tmxTileAnimation = this.mTMXTileAnimation;
+			long frameTime = pTime % tmxTileAnimation.getDuration();
+			final int lastFrame = tmxTileAnimation.getFrameCount() - 1;
+			for(int frame = 0; frame < lastFrame; frame++) {
+				frameTime -= tmxTileAnimation.getFrameDuration(frame);
+				if(frameTime < 0) {
+					return frame;
+				}
+			}
+			return lastFrame;
+		}
+	}
+
+	/**
+	 * The texture a chunk of a static {@link TMXLayer} was rendered into, with the {@link Sprite} that draws it in place of the tiles.
+	 */
+	private static class TMXChunkTexture {
+		// ===========================================================
+		// Fields
+		// ===========================================================
+
+		private final TMXChunkRenderTexture mRenderTexture;
+		final Sprite mSprite;
+
+		// ===========================================================
+		// Constructors
+		// ===========================================================
+
+		TMXChunkTexture(final TextureManager pTextureManager, final float pX, final float pY, final int pWidth, final int pHeight, final VertexBufferObjectManager pVertexBufferObjectManager) {
+			this.mRenderTexture = new TMXChunkRenderTexture(pTextureManager, pWidth, pHeight);
+			this.mSprite = new Sprite(pX, pY, new TextureRegion(this.mRenderTexture, 0, 0, pWidth, pHeight), pVertexBufferObjectManager);
+		}
+
+		// ===========================================================
+		// Methods
+		// ===========================================================
+
+		/**
+		 * Renders the tiles of the chunk at <code>pChunkColumn/pChunkRow</code> into the texture, using the {@link ShaderProgram} of the {@link TMXLayer}.
+		 */
+		void render(final GLState pGLState, final ShaderProgram pShaderProgram, final TMXLayerSubBatch[] pTMXLayerSubBatches, final int pChunkColumn, final int pChunkRow, final int pChunkColumns) {
+			final RenderTexture renderTexture = this.mRenderTexture;
+			if(!renderTexture.isInitialized()) {
+				renderTexture.init(pGLState);
+				/* Already on the hardware, this only lets the TextureManager unload it in release. */
+				renderTexture.load();
+			}
+
+			/* Flipped vertically, so the texture is upright when drawn by the Sprite. */
+			renderTexture.begin(pGLState, false, true, Color.TRANSPARENT);
+			pGLState.translateModelViewGLMatrixf(-this.mSprite.getX(), -this.mSprite.getY(), 0);
+			for(int i = 0; i < pTMXLayerSubBatches.length; i++) {
+				pTMXLayerSubBatches[i].drawVisibleChunks(pGLState, pShaderProgram, pChunkColumn, pChunkRow, pChunkColumn, pChunkRow, pChunkColumns);
+			}
+			renderTexture.end(pGLState);
+		}
+
+		/**
+		 * Can be called from any thread, the texture and its framebuffer are deleted by the {@link TextureManager} on the GL thread.
+		 */
+		void release() {
+			this.mRenderTexture.unload();
+			this.mSprite.dispose();
+		}
+	}
+
+	/**
+	 * A {@link RenderTexture} that also deletes its framebuffer when unloaded, so the {@link TextureManager} can release it entirely.
+	 */
+	private static class TMXChunkRenderTexture extends RenderTexture {
+		// ===========================================================
+		// Constructors
+		// ===========================================================
+
+		TMXChunkRenderTexture(final TextureManager pTextureManager, final int pWidth, final int pHeight) {
+			super(pTextureManager, pWidth, pHeight);
+		}
+
+		// ===========================================================
+		// Methods for/from SuperClass/Interfaces
+		// ===========================================================
+
+		@Override
+		public void unloadFromHardware(final GLState pGLState) {
+			super.unloadFromHardware(pGLState);
+
+			if(this.mFramebufferObjectID != 0) {
+				pGLState.deleteFramebuffer(this.mFramebufferObjectID);
+				this.mFramebufferObjectID = 0;
+			}
+		}
+	}
 }
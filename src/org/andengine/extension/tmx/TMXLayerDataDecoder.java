@@ -0,0 +1,433 @@
+package org.andengine.extension.tmx;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import org.andengine.extension.tmx.util.constants.TMXConstants;
+
+/**
+ * Decodes the base64 or CSV encoded <code>&lt;data&gt;</code> of a {@link TMXLayer}.
+ * The data is decoded incrementally, chunk by chunk, as it is handed to {@link TMXParser#characters(char[], int, int)}.
+ * Base64 data runs through a base64 decoder, an optional gzip/zlib {@link Inflater} and a little-endian global tile ID assembler,
+ * all of which keep their state across chunks, so the peak memory during loading is bounded by the chunk size and not by the layer size.
+ * The decoded global tile IDs are handed to an {@link ITMXGlobalTileIDListener}, so decoding needs no {@link TMXLayer}.
+ *
+ * (c) 2026 Nicolas Gramlich
+ *
+ * @author Nicolas Gramlich
+ * @since 06:25:21 - 18.10.2026
+ */
+class TMXLayerDataDecoder implements TMXConstants {
+	// ===========================================================
+	// Constants
+	// ===========================================================
+
+	private static final int INFLATED_DATA_CHUNK_SIZE = 16 * 1024;
+
+	private static final int[] BASE64_DECODING_TABLE = new int[128];
+
+	static {
+		Arrays.fill(TMXLayerDataDecoder.BASE64_DECODING_TABLE, -1);
+
+		final String base64Alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/";
+		for(int i = base64Alphabet.length() - 1; i >= 0; i--) {
+			TMXLayerDataDecoder.BASE64_DECODING_TABLE[base64Alphabet.charAt(i)] = i;
+		}
+	}
+
+	private static final int GZIP_HEADER_SIZE = 10;
+	private static final int GZIP_MAGIC_FIRST_BYTE = 0x1F;
+	private static final int GZIP_MAGIC_SECOND_BYTE = 0x8B;
+	private static final int GZIP_COMPRESSION_METHOD_DEFLATE = 8;
+
+	private static final int GZIP_FLAG_HEADER_CRC = 0x02;
+	private static final int GZIP_FLAG_EXTRA = 0x04;
+	private static final int GZIP_FLAG_NAME = 0x08;
+	private static final int GZIP_FLAG_COMMENT = 0x10;
+
+	private static final int GZIP_STATE_HEADER = 0;
+	private static final int GZIP_STATE_EXTRA_LENGTH = GZIP_STATE_HEADER + 1;
+	private static final int GZIP_STATE_EXTRA = GZIP_STATE_EXTRA_LENGTH + 1;
+	private static final int GZIP_STATE_NAME = GZIP_STATE_EXTRA + 1;
+	private static final int GZIP_STATE_COMMENT = GZIP_STATE_NAME + 1;
+	private static final int GZIP_STATE_HEADER_CRC = GZIP_STATE_COMMENT + 1;
+	private static final int GZIP_STATE_DATA = GZIP_STATE_HEADER_CRC + 1;
+
+	// ===========================================================
+	// Fields
+	// ===========================================================
+
+	private byte[] mDecodedData = new byte[0];
+	private ByteBuffer mDecodedDataByteBuffer = ByteBuffer.wrap(this.mDecodedData).order(ByteOrder.LITTLE_ENDIAN);
+
+	private final byte[] mInflatedData = new byte[TMXLayerDataDecoder.INFLATED_DATA_CHUNK_SIZE];
+	private final ByteBuffer mInflatedDataByteBuffer = ByteBuffer.wrap(this.mInflatedData).order(ByteOrder.LITTLE_ENDIAN);
+
+	private final Inflater mZlibInflater = new Inflater();
+	private final Inflater mGZIPInflater = new Inflater(true);
+	private Inflater mInflater;
+
+	private int mBase64Bits;
+	private int mBase64BitCount;
+	private boolean mBase64Padded;
+
+	private int mGZIPState;
+	private int mGZIPFlags;
+	private int mGZIPExtraLength;
+	private int mGZIPBytesRemaining;
+
+	private int mPartialGlobalTileID;
+	private int mPartialGlobalTileIDByteCount;
+
+	private int mCSVGlobalTileID;
+	private boolean mInCSVGlobalTileID;
+
+	// ===========================================================
+	// Constructors
+	// ===========================================================
+
+	// ===========================================================
+	// Getter & Setter
+	// ===========================================================
+
+	// ===========================================================
+	// Methods for/from SuperClass/Interfaces
+	// ===========================================================
+
+	// ===========================================================
+	// Methods
+	// ===========================================================
+
+	/**
+	 * Prepares decoding the base64 encoded <code>&lt;data&gt;</code> of the next {@link TMXLayer}.
+	 * @param pDataCompression <code>null</code>, {@link TMXConstants#TAG_DATA_ATTRIBUTE_COMPRESSION_VALUE_GZIP} or {@link TMXConstants#TAG_DATA_ATTRIBUTE_COMPRESSION_VALUE_ZLIB}.
+	 */
+	void beginBase64(final String pDataCompression) throws IllegalArgumentException {
+		if(pDataCompression == null) {
+			this.mInflater = null;
+		} else if(pDataCompression.equals(TMXConstants.TAG_DATA_ATTRIBUTE_COMPRESSION_VALUE_GZIP)) {
+			/* The gzip header is parsed by hand, the Inflater only sees the raw deflate stream. */
+			this.mInflater = this.mGZIPInflater;
+			this.mGZIPState = TMXLayerDataDecoder.GZIP_STATE_HEADER;
+			this.mGZIPBytesRemaining = TMXLayerDataDecoder.GZIP_HEADER_SIZE;
+			this.mGZIPFlags = 0;
+			this.mGZIPExtraLength = 0;
+		} else if(pDataCompression.equals(TMXConstants.TAG_DATA_ATTRIBUTE_COMPRESSION_VALUE_ZLIB)) {
+			this.mInflater = this.mZlibInflater;
+		} else {
+			throw new IllegalArgumentException("Supplied compression '" + pDataCompression + "' is not supported yet.");
+		}
+
+		if(this.mInflater != null) {
+			this.mInflater.reset();
+		}
+
+		this.mBase64Bits = 0;
+		this.mBase64BitCount = 0;
+		this.mBase64Padded = false;
+
+		this.mPartialGlobalTileID = 0;
+		this.mPartialGlobalTileIDByteCount = 0;
+	}
+
+	/**
+	 * Decodes the next chunk of base64 data and passes the resulting bytes on to the {@link Inflater} or straight to the {@link ITMXGlobalTileIDListener}.
+	 */
+	void decodeBase64(final ITMXGlobalTileIDListener pTMXGlobalTileIDListener, final char[] pCharacters, final int pStart, final int pLength) throws IllegalArgumentException {
+		final int decodedDataCapacity = (pLength * 3) / 4 + 3;
+		if(this.mDecodedData.length < decodedDataCapacity) {
+			this.mDecodedData = new byte[decodedDataCapacity];
+			this.mDecodedDataByteBuffer = ByteBuffer.wrap(this.mDecodedData).order(ByteOrder.LITTLE_ENDIAN);
+		}
+
+		final byte[] decodedData = this.mDecodedData;
+		final int[] base64DecodingTable = TMXLayerDataDecoder.BASE64_DECODING_TABLE;
+
+		int decodedByteCount = 0;
+		int bits = this.mBase64Bits;
+		int bitCount = this.mBase64BitCount;
+
+		final int end = pStart + pLength;
+		for(int i = pStart; i < end; i++) {
+			final char character = pCharacters[i];
+			final int value = (character < base64DecodingTable.length) ? base64DecodingTable[character] : -1;
+			if(value >= 0) {
+				if(this.mBase64Padded) {
+					throw new IllegalArgumentException("Unexpected base64 data after padding.");
+				}
+				bits = (bits << 6) | value;
+				bitCount += 6;
+				if(bitCount >= 8) {
+					bitCount -= 8;
+					decodedData[decodedByteCount++] = (byte)(bits >> bitCount);
+					bits &= (1 << bitCount) - 1;
+				}
+			} else if(character == '=') {
+				this.mBase64Padded = true;
+			} else if(!Character.isWhitespace(character)) {
+				throw new IllegalArgumentException("Unexpected character '" + character + "' in base64 data.");
+			}
+		}
+
+		this.mBase64Bits = bits;
+		this.mBase64BitCount = bitCount;
+
+		if(decodedByteCount > 0) {
+			this.inflate(pTMXGlobalTileIDListener, decodedData, this.mDecodedDataByteBuffer, decodedByteCount);
+		}
+	}
+
+	/**
+	 * Verifies that the base64 data of the {@link TMXLayer} was complete.
+	 */
+	void finishBase64(final ITMXGlobalTileIDListener pTMXGlobalTileIDListener) throws IllegalArgumentException {
+		if(this.mBase64BitCount >= 6) {
+			throw new IllegalArgumentException("Truncated base64 data.");
+		}
+		if(this.mInflater != null && !this.mInflater.finished()) {
+			throw new IllegalArgumentException("Truncated compressed layer data.");
+		}
+		if(pTMXGlobalTileIDListener.getGlobalTileIDsRemaining() != 0 || this.mPartialGlobalTileIDByteCount != 0) {
+			throw new IllegalArgumentException("Layer data is missing " + pTMXGlobalTileIDListener.getGlobalTileIDsRemaining() + " global Tile IDs.");
+		}
+	}
+
+	/**
+	 * Scans the next chunk of CSV data. The scan state is kept, so a global tile ID may be split across chunks.
+	 * Global tile IDs are accumulated with int overflow, which keeps the flip flags in the upper bits intact.
+	 */
+	void decodeCSV(final ITMXGlobalTileIDListener pTMXGlobalTileIDListener, final char[] pCharacters, final int pStart, final int pLength) throws IllegalArgumentException {
+		int globalTileID = this.mCSVGlobalTileID;
+		boolean inGlobalTileID = this.mInCSVGlobalTileID;
+
+		final int end = pStart + pLength;
+		for(int i = pStart; i < end; i++) {
+			final char character = pCharacters[i];
+			if(character >= '0' && character <= '9') {
+				/* Overflows on purpose: global tile IDs with flip flags exceed the range of int, but keep their bits. */
+				globalTileID = globalTileID * 10 + (character - '0');
+				inGlobalTileID = true;
+			} else if(character == ',') {
+				if(!inGlobalTileID) {
+					throw new IllegalArgumentException("Empty global Tile ID in CSV data.");
+				}
+				this.addGlobalTileID(pTMXGlobalTileIDListener, globalTileID);
+				globalTileID = 0;
+				inGlobalTileID = false;
+			} else if(!Character.isWhitespace(character)) {
+				throw new IllegalArgumentException("Unexpected character '" + character + "' in CSV data.");
+			}
+		}
+
+		this.mCSVGlobalTileID = globalTileID;
+		this.mInCSVGlobalTileID = inGlobalTileID;
+	}
+
+	/**
+	 * Adds the last global tile ID, which isn't followed by a comma, and resets the scan state.
+	 */
+	void finishCSV(final ITMXGlobalTileIDListener pTMXGlobalTileIDListener) throws IllegalArgumentException {
+		if(this.mInCSVGlobalTileID) {
+			this.addGlobalTileID(pTMXGlobalTileIDListener, this.mCSVGlobalTileID);
+		}
+		this.mCSVGlobalTileID = 0;
+		this.mInCSVGlobalTileID = false;
+
+		if(pTMXGlobalTileIDListener.getGlobalTileIDsRemaining() != 0) {
+			throw new IllegalArgumentException("CSV data is missing " + pTMXGlobalTileIDListener.getGlobalTileIDsRemaining() + " global Tile IDs.");
+		}
+	}
+
+	/**
+	 * Releases the native resources of this {@link TMXLayerDataDecoder}. It must not be used afterwards.
+	 */
+	void release() {
+		this.mZlibInflater.end();
+		this.mGZIPInflater.end();
+	}
+
+	private void inflate(final ITMXGlobalTileIDListener pTMXGlobalTileIDListener, final byte[] pData, final ByteBuffer pDataByteBuffer, final int pLength) throws IllegalArgumentException {
+		final Inflater inflater = this.mInflater;
+		if(inflater == null) {
+			this.addGlobalTileIDs(pTMXGlobalTileIDListener, pData, pDataByteBuffer, 0, pLength);
+			return;
+		}
+
+		int offset = 0;
+		if(inflater == this.mGZIPInflater && this.mGZIPState != TMXLayerDataDecoder.GZIP_STATE_DATA) {
+			offset = this.readGZIPHeader(pData, 0, pLength);
+		}
+
+		/* Anything after the end of the compressed stream, i.e. the gzip trailer, is ignored. */
+		if(offset == pLength || inflater.finished()) {
+			return;
+		}
+
+		inflater.setInput(pData, offset, pLength - offset);
+		try {
+			while(true) {
+				final int inflatedByteCount = inflater.inflate(this.mInflatedData);
+				if(inflatedByteCount > 0) {
+					this.addGlobalTileIDs(pTMXGlobalTileIDListener, this.mInflatedData, this.mInflatedDataByteBuffer, 0, inflatedByteCount);
+				} else {
+					if(inflater.needsDictionary()) {
+						throw new IllegalArgumentException("Compressed layer data with a preset dictionary is not supported.");
+					}
+					/* Either more input is needed or the stream is finished. */
+					break;
+				}
+			}
+		} catch (final DataFormatException e) {
+			throw new IllegalArgumentException("Couldn't inflate layer data.", e);
+		}
+	}
+
+	/**
+	 * @return the number of bytes of <code>pData</code> that belonged to the gzip header.
+	 */
+	private int readGZIPHeader(final byte[] pData, final int pOffset, final int pLength) throws IllegalArgumentException {
+		final int end = pOffset + pLength;
+		int offset = pOffset;
+		while(offset < end && this.mGZIPState != TMXLayerDataDecoder.GZIP_STATE_DATA) {
+			final int value = pData[offset++] & 0xFF;
+			switch(this.mGZIPState) {
+				case GZIP_STATE_HEADER:
+					final int headerIndex = TMXLayerDataDecoder.GZIP_HEADER_SIZE - this.mGZIPBytesRemaining;
+					if((headerIndex == 0 && value != TMXLayerDataDecoder.GZIP_MAGIC_FIRST_BYTE) || (headerIndex == 1 && value != TMXLayerDataDecoder.GZIP_MAGIC_SECOND_BYTE)) {
+						throw new IllegalArgumentException("Layer data is not in gzip format.");
+					} else if(headerIndex == 2 && value != TMXLayerDataDecoder.GZIP_COMPRESSION_METHOD_DEFLATE) {
+						throw new IllegalArgumentException("Unsupported gzip compression method: " + value);
+					} else if(headerIndex == 3) {
+						this.mGZIPFlags = value;
+					}
+					if(--this.mGZIPBytesRemaining == 0) {
+						this.advanceGZIPState();
+					}
+					break;
+				case GZIP_STATE_EXTRA_LENGTH:
+					/* Little-endian. */
+					this.mGZIPExtraLength |= value << (8 * (2 - this.mGZIPBytesRemaining));
+					if(--this.mGZIPBytesRemaining == 0) {
+						this.advanceGZIPState();
+					}
+					break;
+				case GZIP_STATE_EXTRA:
+				case GZIP_STATE_HEADER_CRC:
+					if(--this.mGZIPBytesRemaining == 0) {
+						this.advanceGZIPState();
+					}
+					break;
+				case GZIP_STATE_NAME:
+				case GZIP_STATE_COMMENT:
+					/* Zero-terminated. */
+					if(value == 0) {
+						this.advanceGZIPState();
+					}
+					break;
+				default:
+					throw new IllegalStateException("Unexpected gzip state: " + this.mGZIPState);
+			}
+		}
+		return offset - pOffset;
+	}
+
+	private void advanceGZIPState() {
+		int gzipState = this.mGZIPState;
+		do {
+			gzipState++;
+		} while(gzipState != TMXLayerDataDecoder.GZIP_STATE_DATA && !this.isGZIPStatePresent(gzipState));
+
+		this.mGZIPState = gzipState;
+		switch(gzipState) {
+			case GZIP_STATE_EXTRA_LENGTH:
+			case GZIP_STATE_HEADER_CRC:
+				this.mGZIPBytesRemaining = 2;
+				break;
+			case GZIP_STATE_EXTRA:
+				this.mGZIPBytesRemaining = this.mGZIPExtraLength;
+				break;
+		}
+	}
+
+	private boolean isGZIPStatePresent(final int pGZIPState) {
+		final int gzipFlags = this.mGZIPFlags;
+		switch(pGZIPState) {
+			case GZIP_STATE_EXTRA_LENGTH:
+				return (gzipFlags & TMXLayerDataDecoder.GZIP_FLAG_EXTRA) != 0;
+			case GZIP_STATE_EXTRA:
+				return (gzipFlags & TMXLayerDataDecoder.GZIP_FLAG_EXTRA) != 0 && this.mGZIPExtraLength > 0;
+			case GZIP_STATE_NAME:
+				return (gzipFlags & TMXLayerDataDecoder.GZIP_FLAG_NAME) != 0;
+			case GZIP_STATE_COMMENT:
+				return (gzipFlags & TMXLayerDataDecoder.GZIP_FLAG_COMMENT) != 0;
+			case GZIP_STATE_HEADER_CRC:
+				return (gzipFlags & TMXLayerDataDecoder.GZIP_FLAG_HEADER_CRC) != 0;
+			default:
+				return false;
+		}
+	}
+
+	/**
+	 * Assembles little-endian global tile IDs. Whole IDs are read straight from <code>pDataByteBuffer</code>,
+	 * the bytes of an ID that is split across chunks are carried over to the next call.
+	 */
+	private void addGlobalTileIDs(final ITMXGlobalTileIDListener pTMXGlobalTileIDListener, final byte[] pData, final ByteBuffer pDataByteBuffer, final int pOffset, final int pLength) throws IllegalArgumentException {
+		final int end = pOffset + pLength;
+		int offset = pOffset;
+
+		if(this.mPartialGlobalTileIDByteCount > 0) {
+			while(offset < end && this.mPartialGlobalTileIDByteCount < TMXConstants.BYTES_PER_GLOBALTILEID) {
+				this.mPartialGlobalTileID |= (pData[offset++] & 0xFF) << (8 * this.mPartialGlobalTileIDByteCount++);
+			}
+			if(this.mPartialGlobalTileIDByteCount < TMXConstants.BYTES_PER_GLOBALTILEID) {
+				return;
+			}
+			this.addGlobalTileID(pTMXGlobalTileIDListener, this.mPartialGlobalTileID);
+			this.mPartialGlobalTileID = 0;
+			this.mPartialGlobalTileIDByteCount = 0;
+		}
+
+		final int wholeGlobalTileIDsEnd = offset + ((end - offset) / TMXConstants.BYTES_PER_GLOBALTILEID) * TMXConstants.BYTES_PER_GLOBALTILEID;
+		for(; offset < wholeGlobalTileIDsEnd; offset += TMXConstants.BYTES_PER_GLOBALTILEID) {
+			this.addGlobalTileID(pTMXGlobalTileIDListener, pDataByteBuffer.getInt(offset));
+		}
+
+		while(offset < end) {
+			this.mPartialGlobalTileID |= (pData[offset++] & 0xFF) << (8 * this.mPartialGlobalTileIDByteCount++);
+		}
+	}
+
+	private void addGlobalTileID(final ITMXGlobalTileIDListener pTMXGlobalTileIDListener, final int pGlobalTileID) throws IllegalArgumentException {
+		if(pTMXGlobalTileIDListener.getGlobalTileIDsRemaining() == 0) {
+			throw new IllegalArgumentException("Layer data contains more global Tile IDs than expected.");
+		}
+		pTMXGlobalTileIDListener.onGlobalTileID(pGlobalTileID);
+	}
+
+	// ===========================================================
+	// Inner and Anonymous Classes
+	// ===========================================================
+
+	/**
+	 * Receives the decoded global tile IDs of a {@link TMXLayer}, row by row.
+	 */
+	static interface ITMXGlobalTileIDListener {
+		// ===========================================================
+		// Constants
+		// ===========================================================
+
+		// ===========================================================
+		// Methods
+		// ===========================================================
+
+		/**
+		 * @return how many more global tile IDs the {@link TMXLayer} expects, so data with too many or too few is detected.
+		 */
+		public int getGlobalTileIDsRemaining();
+
+		public void onGlobalTileID(final int pGlobalTileID);
+	}
+}
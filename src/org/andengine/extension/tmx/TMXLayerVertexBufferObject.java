@@ -0,0 +1,192 @@
+package org.andengine.extension.tmx;
+
+import java.util.Arrays;
+
+import org.andengine.entity.sprite.batch.SpriteBatch;
+import org.andengine.entity.sprite.batch.vbo.HighPerformanceSpriteBatchVertexBufferObject;
+import org.andengine.extension.tmx.util.constants.TMXConstants;
+import org.andengine.opengl.texture.region.ITextureRegion;
+import org.andengine.opengl.shader.ShaderProgram;
+import org.andengine.opengl.util.GLState;
+import org.andengine.opengl.vbo.DrawType;
+import org.andengine.opengl.vbo.VertexBufferObjectManager;
+import org.andengine.opengl.vbo.attribute.VertexBufferObjectAttributes;
+
+import android.opengl.GLES20;
+
+/**
+ * Uploads only the sprites that changed since the last upload, instead of the whole buffer, see {@link TMXLayer#setTileGlobalID(int, int, int)}.
+ * Changed sprites are collected with {@link #setSpriteDirty(int)} and coalesced into as few <code>glBufferSubData</code> calls as possible, once per frame when the buffer is bound.
+ * {@link #setDirtyOnHardware()} still requests a full upload, as does a newly created hardware buffer, i.e. after the GL context was lost.
+ * Before Honeycomb every upload is a full one, as the sprites can't be written into the buffer on their own there.
+ *
+ * (c) 2026 Nicolas Gramlich
+ *
+ * @author Nicolas Gramlich
+ * @since 06:46:18 - 18.10.2026
+ */
+public class TMXLayerVertexBufferObject extends HighPerformanceSpriteBatchVertexBufferObject {
+	// ===========================================================
+	// Constants
+	// ===========================================================
+
+	/** The value of the hardware buffer ID while not loaded to hardware. */
+	private static final int HARDWARE_BUFFER_ID_NONE = -1;
+
+	// ===========================================================
+	// Fields
+	// ===========================================================
+
+	private final TMXDirtySprites mTMXDirtySprites;
+
+	// ===========================================================
+	// Constructors
+	// ===========================================================
+
+	/**
+	 * @param pSpriteCapacity the number of sprites, not floats.
+	 */
+	public TMXLayerVertexBufferObject(final VertexBufferObjectManager pVertexBufferObjectManager, final int pSpriteCapacity, final DrawType pDrawType, final boolean pAutoDispose, final VertexBufferObjectAttributes pVertexBufferObjectAttributes) {
+		super(pVertexBufferObjectManager, pSpriteCapacity * SpriteBatch.SPRITE_SIZE, pDrawType, pAutoDispose, pVertexBufferObjectAttributes);
+
+		this.mTMXDirtySprites = new TMXDirtySprites(pSpriteCapacity);
+	}
+
+	// ===========================================================
+	// Getter & Setter
+	// ===========================================================
+
+	/**
+	 * @return the dirty sprites and the ranges of the last upload.
+	 */
+	public TMXDirtySprites getTMXDirtySprites() {
+		return this.mTMXDirtySprites;
+	}
+
+	/**
+	 * Marks the sprite at <code>pSpriteIndex</code> to be uploaded the next time this buffer is bound.
+	 */
+	public void setSpriteDirty(final int pSpriteIndex) {
+		this.mTMXDirtySprites.setSpriteDirty(pSpriteIndex);
+
+		/* Not via setDirtyOnHardware, which requests a full upload. */
+		this.mDirtyOnHardware = true;
+	}
+
+	// ===========================================================
+	// Methods for/from SuperClass/Interfaces
+	// ===========================================================
+
+	@Override
+	public void setDirtyOnHardware() {
+		super.setDirtyOnHardware();
+
+		this.mTMXDirtySprites.setFullUploadRequired();
+	}
+
+	@Override
+	public void bind(final GLState pGLState, final ShaderProgram pShaderProgram) {
+		if(this.mHardwareBufferID == TMXLayerVertexBufferObject.HARDWARE_BUFFER_ID_NONE) {
+			/* A new hardware buffer, i.e. after the GL context was lost, holds nothing yet. */
+			this.mTMXDirtySprites.setFullUploadRequired();
+		}
+
+		super.bind(pGLState, pShaderProgram);
+	}
+
+	@Override
+	protected void onBufferData() {
+		final TMXDirtySprites tmxDirtySprites = this.mTMXDirtySprites;
+		if(this.mFloatBuffer == null) {
+			/* Before Honeycomb, there is no FloatBuffer view to write the ranges through, and BufferUtils always writes from the start of the buffer. */
+			tmxDirtySprites.setFullUploadRequired();
+		}
+
+		final int uploadRangeCount = tmxDirtySprites.nextUpload();
+		if(uploadRangeCount == TMXDirtySprites.UPLOAD_FULL) {
+			super.onBufferData();
+		} else {
+			final float[] bufferData = this.mBufferData;
+			for(int i = 0; i < uploadRangeCount; i++) {
+				final int offset = tmxDirtySprites.getUploadRangeFirstSprite(i) * SpriteBatch.SPRITE_SIZE;
+				final int length = tmxDirtySprites.getUploadRangeSpriteCount(i) * SpriteBatch.SPRITE_SIZE;
+
+				this.mFloatBuffer.position(offset);
+				this.mFloatBuffer.put(bufferData, offset, length);
+
+				this.mByteBuffer.position(offset * 4);
+				GLES20.glBufferSubData(GLES20.GL_ARRAY_BUFFER, offset * 4, length * 4, this.mByteBuffer);
+			}
+			this.mFloatBuffer.position(0);
+			this.mByteBuffer.position(0);
+		}
+	}
+
+	// ===========================================================
+	// Methods
+	// ===========================================================
+
+	/**
+	 * Turns the sprite at <code>pSpriteIndex</code> into two degenerate triangles, so it draws nothing.
+	 */
+	public void clearSprite(final int pSpriteIndex) {
+		final int offset = pSpriteIndex * SpriteBatch.SPRITE_SIZE;
+		Arrays.fill(this.mBufferData, offset, offset + SpriteBatch.SPRITE_SIZE, 0);
+		this.setSpriteDirty(pSpriteIndex);
+	}
+
+	/**
+	 * Applies the flip flags of <code>pGlobalTileID</code> to the sprite at <code>pSpriteIndex</code>, which was just written from <code>pTextureRegion</code>, by permuting its texture coordinates.
+	 * So flipped tiles need neither their own tiles in the tileset nor a draw call of their own. Does nothing for tiles that are not flipped.
+	 *
+	 * @param pBufferData of any {@link HighPerformanceSpriteBatchVertexBufferObject}.
+	 * @param pGlobalTileID see {@link TMXConstants#GLOBALTILEID_FLAGS}.
+	 */
+	public static void flipSpriteTextureCoordinates(final float[] pBufferData, final int pSpriteIndex, final ITextureRegion pTextureRegion, final int pGlobalTileID) {
+		final int flags = pGlobalTileID & TMXConstants.GLOBALTILEID_FLAGS;
+		if(flags == 0) {
+			return;
+		}
+
+		final int spriteOffset = pSpriteIndex * SpriteBatch.SPRITE_SIZE;
+		final int spriteEnd = spriteOffset + SpriteBatch.SPRITE_SIZE;
+
+		/* The bounds of the sprite, the corner of every vertex follows from its side of their center. */
+		float minX = Float.POSITIVE_INFINITY;
+		float minY = Float.POSITIVE_INFINITY;
+		float maxX = Float.NEGATIVE_INFINITY;
+		float maxY = Float.NEGATIVE_INFINITY;
+		for(int vertexOffset = spriteOffset; vertexOffset < spriteEnd; vertexOffset += SpriteBatch.VERTEX_SIZE) {
+			minX = Math.min(minX, pBufferData[vertexOffset + SpriteBatch.VERTEX_INDEX_X]);
+			minY = Math.min(minY, pBufferData[vertexOffset + SpriteBatch.VERTEX_INDEX_Y]);
+			maxX = Math.max(maxX, pBufferData[vertexOffset + SpriteBatch.VERTEX_INDEX_X]);
+			maxY = Math.max(maxY, pBufferData[vertexOffset + SpriteBatch.VERTEX_INDEX_Y]);
+		}
+		final float centerX2 = minX + maxX;
+		final float centerY2 = minY + maxY;
+
+		final boolean flippedHorizontally = (flags & TMXConstants.GLOBALTILEID_FLAG_FLIPPED_HORIZONTALLY) != 0;
+		final boolean flippedVertically = (flags & TMXConstants.GLOBALTILEID_FLAG_FLIPPED_VERTICALLY) != 0;
+		final boolean flippedDiagonally = (flags & TMXConstants.GLOBALTILEID_FLAG_FLIPPED_DIAGONALLY) != 0;
+
+		final float u = pTextureRegion.getU();
+		final float v = pTextureRegion.getV();
+		final float u2 = pTextureRegion.getU2();
+		final float v2 = pTextureRegion.getV2();
+
+		for(int vertexOffset = spriteOffset; vertexOffset < spriteEnd; vertexOffset += SpriteBatch.VERTEX_SIZE) {
+			/* Going back from this corner of the tile to the corner of the texture region it shows, so undoing the flips in reverse order. */
+			final boolean right = (pBufferData[vertexOffset + SpriteBatch.VERTEX_INDEX_X] * 2 > centerX2) ^ flippedHorizontally;
+			final boolean bottom = (pBufferData[vertexOffset + SpriteBatch.VERTEX_INDEX_Y] * 2 > centerY2) ^ flippedVertically;
+			final boolean textureRight = flippedDiagonally ? bottom : right;
+			final boolean textureBottom = flippedDiagonally ? right : bottom;
+
+			pBufferData[vertexOffset + SpriteBatch.TEXTURECOORDINATES_INDEX_U] = textureRight ? u2 : u;
+			pBufferData[vertexOffset + SpriteBatch.TEXTURECOORDINATES_INDEX_V] = textureBottom ? v2 : v;
+		}
+	}
+
+	// ===========================================================
+	// Inner and Anonymous Classes
+	// ===========================================================
+}
@@ -0,0 +1,310 @@
+package org.andengine.extension.tmx;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.concurrent.Executor;
+
+import org.andengine.extension.tmx.TMXLoader.ITMXLoadCallback;
+import org.andengine.extension.tmx.util.exception.TMXLoadException;
+import org.andengine.opengl.texture.ITexture;
+import org.andengine.util.StreamUtils;
+
+/**
+ * Loads a {@link TMXTiledMap} in the background, see {@link TMXLoader#loadFromAssetAsync(String, Executor, Executor, ITMXLoadCallback)}.
+ * The XML parsing and tile decoding run on the worker thread (as does the {@link TMXLoader.ITMXTilePropertiesListener}).
+ * Submitting the {@link TMXLayer}s, loading the tileset textures and the {@link ITMXLoadCallback} run on the engine thread.
+ *
+ * (c) 2026 Nicolas Gramlich
+ *
+ * @author Nicolas Gramlich
+ * @since 06:34:02 - 18.10.2026
+ */
+public class TMXLoadTask implements Runnable {
+	// ===========================================================
+	// Constants
+	// ===========================================================
+
+	// ===========================================================
+	// Fields
+	// ===========================================================
+
+	private final TMXLoader mTMXLoader;
+	private final String mAssetPath;
+	private final Executor mEngineExecutor;
+	private final ITMXLoadCallback mTMXLoadCallback;
+
+	private volatile boolean mCancelled;
+	private volatile boolean mDone;
+	private volatile float mProgress;
+
+	// ===========================================================
+	// Constructors
+	// ===========================================================
+
+	TMXLoadTask(final TMXLoader pTMXLoader, final String pAssetPath, final Executor pEngineExecutor, final ITMXLoadCallback pTMXLoadCallback) {
+		this.mTMXLoader = pTMXLoader;
+		this.mAssetPath = pAssetPath;
+		this.mEngineExecutor = pEngineExecutor;
+		this.mTMXLoadCallback = pTMXLoadCallback;
+	}
+
+	// ===========================================================
+	// Getter & Setter
+	// ===========================================================
+
+	public String getAssetPath() {
+		return this.mAssetPath;
+	}
+
+	public boolean isCancelled() {
+		return this.mCancelled;
+	}
+
+	/**
+	 * @return <code>true</code> once one of the final {@link ITMXLoadCallback} methods was called.
+	 */
+	public boolean isDone() {
+		return this.mDone;
+	}
+
+	/**
+	 * @return the fraction of the map file parsed so far, from <code>0</code> to <code>1</code>.
+	 */
+	public float getProgress() {
+		return this.mProgress;
+	}
+
+	// ===========================================================
+	// Methods for/from SuperClass/Interfaces
+	// ===========================================================
+
+	@Override
+	public void run() {
+		if(this.mCancelled) {
+			this.postCancelled(null);
+			return;
+		}
+
+		final TMXParser tmxParser = this.mTMXLoader.newTMXParser();
+		tmxParser.setSubmitTMXLayers(false);
+
+		InputStream in = null;
+		final TMXTiledMap tmxTiledMap;
+		try {
+			in = new ProgressInputStream(this.mTMXLoader.getAssetManager().open(this.mAssetPath));
+			tmxTiledMap = this.mTMXLoader.load(in, tmxParser);
+		} catch (final IOException e) {
+			this.postCancelledOrFailed(tmxParser.getTMXTiledMap(), new TMXLoadException("Could not load TMXTiledMap from asset: " + this.mAssetPath, e));
+			return;
+		} catch (final TMXLoadException e) {
+			this.postCancelledOrFailed(tmxParser.getTMXTiledMap(), e);
+			return;
+		} catch (final RuntimeException e) {
+			/* I.e. a global tile ID without a tile. */
+			this.postCancelledOrFailed(tmxParser.getTMXTiledMap(), new TMXLoadException("Could not load TMXTiledMap from asset: " + this.mAssetPath, e));
+			return;
+		} finally {
+			StreamUtils.close(in);
+		}
+
+		this.setProgress(1);
+
+		this.mEngineExecutor.execute(new Runnable() {
+			@Override
+			public void run() {
+				TMXLoadTask.this.onLoaded(tmxTiledMap);
+			}
+		});
+	}
+
+	// ===========================================================
+	// Methods
+	// ===========================================================
+
+	/**
+	 * Stops the parsing as soon as possible. Has no effect once the {@link TMXTiledMap} was handed to {@link ITMXLoadCallback#onTMXLoaded(TMXLoadTask, TMXTiledMap)}.
+	 */
+	public void cancel() {
+		this.mCancelled = true;
+	}
+
+	private void onLoaded(final TMXTiledMap pTMXTiledMap) {
+		if(this.mCancelled) {
+			this.onCancelled(pTMXTiledMap);
+			return;
+		}
+
+		final ArrayList<TMXTileSet> tmxTileSets = pTMXTiledMap.getTMXTileSets();
+		for(int i = 0; i < tmxTileSets.size(); i++) {
+			final ITexture texture = tmxTileSets.get(i).getTexture();
+			if(texture != null) {
+				/* Idempotent, textures were queued on the TextureManager while parsing already. */
+				texture.load();
+			}
+		}
+
+		final ArrayList<TMXLayer> tmxLayers = pTMXTiledMap.getTMXLayers();
+		try {
+			for(int i = 0; i < tmxLayers.size(); i++) {
+				tmxLayers.get(i).submitTMXTiles();
+			}
+		} catch (final RuntimeException e) {
+			this.onFailed(pTMXTiledMap, new TMXLoadException("Could not load TMXTiledMap from asset: " + this.mAssetPath, e));
+			return;
+		}
+
+		this.mDone = true;
+		this.mTMXLoadCallback.onTMXLoaded(this, pTMXTiledMap);
+	}
+
+	/**
+	 * @param pTMXTiledMap the already parsed {@link TMXTiledMap} whose textures need to be given back, or <code>null</code>.
+	 */
+	private void onCancelled(final TMXTiledMap pTMXTiledMap) {
+		this.releaseTextures(pTMXTiledMap);
+
+		this.mDone = true;
+		this.mTMXLoadCallback.onTMXLoadCancelled(this);
+	}
+
+	/**
+	 * @param pTMXTiledMap the partially loaded {@link TMXTiledMap} whose textures need to be given back, or <code>null</code>.
+	 */
+	private void onFailed(final TMXTiledMap pTMXTiledMap, final TMXLoadException pTMXLoadException) {
+		this.releaseTextures(pTMXTiledMap);
+
+		this.mDone = true;
+		this.mTMXLoadCallback.onTMXLoadFailed(this, pTMXLoadException);
+	}
+
+	/**
+	 * @param pTMXTiledMap may be <code>null</code>.
+	 */
+	private void releaseTextures(final TMXTiledMap pTMXTiledMap) {
+		if(pTMXTiledMap == null) {
+			return;
+		}
+
+		final TMXTileSetCache tmxTileSetCache = this.mTMXLoader.getTMXTileSetCache();
+		if(tmxTileSetCache != null) {
+			tmxTileSetCache.release(pTMXTiledMap);
+		} else {
+			final ArrayList<TMXTileSet> tmxTileSets = pTMXTiledMap.getTMXTileSets();
+			for(int i = 0; i < tmxTileSets.size(); i++) {
+				final ITexture texture = tmxTileSets.get(i).getTexture();
+				if(texture != null) {
+					texture.unload();
+				}
+			}
+		}
+	}
+
+	private void postCancelled(final TMXTiledMap pTMXTiledMap) {
+		this.mEngineExecutor.execute(new Runnable() {
+			@Override
+			public void run() {
+				TMXLoadTask.this.onCancelled(pTMXTiledMap);
+			}
+		});
+	}
+
+	/**
+	 * Reports a load that was aborted, as cancelled if it was cancelled, giving back the textures of the partially loaded map.
+	 */
+	private void postCancelledOrFailed(final TMXTiledMap pTMXTiledMap, final TMXLoadException pTMXLoadException) {
+		if(this.mCancelled) {
+			this.postCancelled(pTMXTiledMap);
+		} else {
+			this.postFailed(pTMXTiledMap, pTMXLoadException);
+		}
+	}
+
+	private void postFailed(final TMXTiledMap pTMXTiledMap, final TMXLoadException pTMXLoadException) {
+		this.mEngineExecutor.execute(new Runnable() {
+			@Override
+			public void run() {
+				TMXLoadTask.this.onFailed(pTMXTiledMap, pTMXLoadException);
+			}
+		});
+	}
+
+	private void setProgress(final float pProgress) {
+		if((int)(pProgress * 100) != (int)(this.mProgress * 100)) {
+			this.mProgress = pProgress;
+			this.mTMXLoadCallback.onTMXLoadProgress(this, pProgress);
+		}
+	}
+
+	// ===========================================================
+	// Inner and Anonymous Classes
+	// ===========================================================
+
+	/**
+	 * Reports the progress from the number of bytes read and aborts the parsing once the {@link TMXLoadTask} is cancelled.
+	 */
+	private class ProgressInputStream extends FilterInputStream {
+		// ===========================================================
+		// Constants
+		// ===========================================================
+
+		// ===========================================================
+		// Fields
+		// ===========================================================
+
+		private final int mLength;
+		private int mBytesRead;
+
+		// ===========================================================
+		// Constructors
+		// ===========================================================
+
+		ProgressInputStream(final InputStream pInputStream) throws IOException {
+			super(pInputStream);
+
+			/* For assets, this is the remaining size of the asset. */
+			this.mLength = Math.max(1, pInputStream.available());
+		}
+
+		// ===========================================================
+		// Methods for/from SuperClass/Interfaces
+		// ===========================================================
+
+		@Override
+		public int read() throws IOException {
+			this.checkCancelled();
+			final int read = super.read();
+			if(read != -1) {
+				this.onBytesRead(1);
+			}
+			return read;
+		}
+
+		@Override
+		public int read(final byte[] pBuffer, final int pOffset, final int pLength) throws IOException {
+			this.checkCancelled();
+			final int read = super.read(pBuffer, pOffset, pLength);
+			if(read > 0) {
+				this.onBytesRead(read);
+			}
+			return read;
+		}
+
+		// ===========================================================
+		// Methods
+		// ===========================================================
+
+		private void checkCancelled() throws InterruptedIOException {
+			if(TMXLoadTask.this.mCancelled) {
+				throw new InterruptedIOException("Loading of '" + TMXLoadTask.this.mAssetPath + "' was cancelled.");
+			}
+		}
+
+		private void onBytesRead(final int pCount) {
+			this.mBytesRead += pCount;
+			TMXLoadTask.this.setProgress(Math.min(1, (float)this.mBytesRead / this.mLength));
+		}
+	}
+}
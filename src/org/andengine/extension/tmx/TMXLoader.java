@@ -3,6 +3,7 @@ package org.andengine.extension.tmx;
 import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.concurrent.Executor;
 
 import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.parsers.SAXParser;
@@ -40,6 +41,10 @@ public class TMXLoader {
 	private final TextureOptions mTextureOptions;
 	private final VertexBufferObjectManager mVertexBufferObjectManager;
 	private final ITMXTilePropertiesListener mTMXTilePropertyListener;
+	private final TMXTileSetCache mTMXTileSetCache;
+	private int mPackedTextureSizeMaximum;
+	private String[] mTMXTileFlagPropertyNames;
+	private int mStaticTMXLayerChunkSize;
 
 	// ===========================================================
 	// Constructors
@@ -78,17 +83,76 @@ public class TMXLoader {
 	}
 
 	public TMXLoader(final AssetManager pAssetManager, final TextureManager pTextureManager, final TextureOptions pTextureOptions, final VertexBufferObjectManager pVertexBufferObjectManager, final ITMXTilePropertiesListener pTMXTilePropertyListener) {
+		this(pAssetManager, pTextureManager, pTextureOptions, pVertexBufferObjectManager, pTMXTilePropertyListener, null);
+	}
+
+	/**
+	 * @param pTMXTileSetCache shares tileset textures between all maps loaded through it. May be <code>null</code>, in which case every map loads its own textures.
+	 */
+	public TMXLoader(final AssetManager pAssetManager, final TextureManager pTextureManager, final TextureOptions pTextureOptions, final VertexBufferObjectManager pVertexBufferObjectManager, final ITMXTilePropertiesListener pTMXTilePropertyListener, final TMXTileSetCache pTMXTileSetCache) {
 		this.mAssetManager = pAssetManager;
 		this.mTextureManager = pTextureManager;
 		this.mTextureOptions = pTextureOptions;
 		this.mVertexBufferObjectManager = pVertexBufferObjectManager;
 		this.mTMXTilePropertyListener = pTMXTilePropertyListener;
+		this.mTMXTileSetCache = pTMXTileSetCache;
 	}
 
 	// ===========================================================
 	// Getter & Setter
 	// ===========================================================
 
+	public TMXTileSetCache getTMXTileSetCache() {
+		return this.mTMXTileSetCache;
+	}
+
+	public int getPackedTextureSizeMaximum() {
+		return this.mPackedTextureSizeMaximum;
+	}
+
+	/**
+	 * Enables packing the images of all {@link TMXTileSet}s of a map into as few power-of-two textures as possible, so fewer textures need to be bound per frame
+	 * and tiles of different {@link TMXTileSet}s can be drawn in one batch. Packed textures are specific to a map and are not shared through the {@link TMXTileSetCache}.
+	 * A {@link TMXChunkedLayer} draws from a single texture, so it can only show tiles of several {@link TMXTileSet}s if they were packed into the same texture.
+	 *
+	 * @param pPackedTextureSizeMaximum the maximum width and height of a packed texture, needs to be a power of two. <code>0</code> disables packing, which is the default.
+	 */
+	public void setPackedTextureSizeMaximum(final int pPackedTextureSizeMaximum) {
+		if(pPackedTextureSizeMaximum < 0 || (pPackedTextureSizeMaximum & (pPackedTextureSizeMaximum - 1)) != 0) {
+			throw new IllegalArgumentException("pPackedTextureSizeMaximum must be 0 or a power of two.");
+		}
+		this.mPackedTextureSizeMaximum = pPackedTextureSizeMaximum;
+	}
+
+	public String[] getTMXTileFlagPropertyNames() {
+		return this.mTMXTileFlagPropertyNames;
+	}
+
+	/**
+	 * Lets every {@link TMXLayer} derive its {@link TMXTileFlags} from these {@link TMXTileProperty} names while loading, see {@link TMXLayer#createTMXTileFlags(String...)}.
+	 *
+	 * @param pTMXTileFlagPropertyNames i.e. <code>"solid"</code>. <code>null</code> or none disable the {@link TMXTileFlags}, which is the default.
+	 */
+	public void setTMXTileFlagPropertyNames(final String ... pTMXTileFlagPropertyNames) {
+		this.mTMXTileFlagPropertyNames = (pTMXTileFlagPropertyNames == null || pTMXTileFlagPropertyNames.length == 0) ? null : pTMXTileFlagPropertyNames.clone();
+	}
+
+	public int getStaticTMXLayerChunkSize() {
+		return this.mStaticTMXLayerChunkSize;
+	}
+
+	/**
+	 * Makes every {@link TMXLayer} static while loading, see {@link TMXLayer#setStaticChunkSize(int)}.
+	 *
+	 * @param pStaticTMXLayerChunkSize i.e. {@link TMXLayer#STATIC_CHUNK_SIZE_DEFAULT}. <code>0</code> loads dynamic {@link TMXLayer}s, which is the default.
+	 */
+	public void setStaticTMXLayerChunkSize(final int pStaticTMXLayerChunkSize) {
+		if(pStaticTMXLayerChunkSize < 0) {
+			throw new IllegalArgumentException("pStaticTMXLayerChunkSize must not be negative.");
+		}
+		this.mStaticTMXLayerChunkSize = pStaticTMXLayerChunkSize;
+	}
+
 	// ===========================================================
 	// Methods for/from SuperClass/Interfaces
 	// ===========================================================
@@ -106,12 +170,43 @@ public class TMXLoader {
 	}
 
 	public TMXTiledMap load(final InputStream pInputStream) throws TMXLoadException {
+		return this.load(pInputStream, this.newTMXParser());
+	}
+
+	/**
+	 * Loads the {@link TMXTiledMap} on a worker thread, see {@link TMXLoadTask}.
+	 *
+	 * @param pWorkerExecutor runs the parsing and tile decoding.
+	 * @param pEngineExecutor runs the GL-bound work and the {@link ITMXLoadCallback}, i.e. it should post to the update thread of the engine, like <code>Engine.runOnUpdateThread(Runnable)</code>.
+	 */
+	public TMXLoadTask loadFromAssetAsync(final String pAssetPath, final Executor pWorkerExecutor, final Executor pEngineExecutor, final ITMXLoadCallback pTMXLoadCallback) {
+		final TMXLoadTask tmxLoadTask = new TMXLoadTask(this, pAssetPath, pEngineExecutor, pTMXLoadCallback);
+		pWorkerExecutor.execute(tmxLoadTask);
+		return tmxLoadTask;
+	}
+
+	AssetManager getAssetManager() {
+		return this.mAssetManager;
+	}
+
+	TMXParser newTMXParser() {
+		final TMXParser tmxParser = new TMXParser(this.mAssetManager, this.mTextureManager, this.mTextureOptions, this.mVertexBufferObjectManager, this.mTMXTilePropertyListener, this.mTMXTileSetCache);
+		tmxParser.setPackedTextureSizeMaximum(this.mPackedTextureSizeMaximum);
+		tmxParser.setTMXTileFlagPropertyNames(this.mTMXTileFlagPropertyNames);
+		tmxParser.setStaticTMXLayerChunkSize(this.mStaticTMXLayerChunkSize);
+		return tmxParser;
+	}
+
+	/**
+	 * @param pTMXParser holds the partially loaded {@link TMXTiledMap} if loading fails. It is released afterwards, in either case.
+	 */
+	TMXTiledMap load(final InputStream pInputStream, final TMXParser pTMXParser) throws TMXLoadException {
 		try {
 			final SAXParserFactory spf = SAXParserFactory.newInstance();
 			final SAXParser sp = spf.newSAXParser();
 
 			final XMLReader xr = sp.getXMLReader();
-			final TMXParser tmxParser = new TMXParser(this.mAssetManager, this.mTextureManager, this.mTextureOptions, this.mVertexBufferObjectManager, this.mTMXTilePropertyListener);
+			final TMXParser tmxParser = pTMXParser;
 			xr.setContentHandler(tmxParser);
 
 			xr.parse(new InputSource(new BufferedInputStream(pInputStream)));
@@ -124,6 +219,9 @@ public class TMXLoader {
 			return null;
 		} catch (final IOException e) {
 			throw new TMXLoadException(e);
+		} finally {
+			/* The Inflaters of a parse that failed half way through a layer would otherwise only be ended by their finalizers. */
+			pTMXParser.release();
 		}
 	}
 
@@ -142,4 +240,36 @@ public class TMXLoader {
 
 		public void onTMXTileWithPropertiesCreated(final TMXTiledMap pTMXTiledMap, final TMXLayer pTMXLayer, final TMXTile pTMXTile, final TMXProperties<TMXTileProperty> pTMXTileProperties);
 	}
+
+	public interface ITMXLoadCallback {
+		// ===========================================================
+		// Final Fields
+		// ===========================================================
+
+		// ===========================================================
+		// Methods
+		// ===========================================================
+
+		/**
+		 * Called on the worker thread, at most once per percent.
+		 *
+		 * @param pProgress from <code>0</code> to <code>1</code>.
+		 */
+		public void onTMXLoadProgress(final TMXLoadTask pTMXLoadTask, final float pProgress);
+
+		/**
+		 * Called on the engine thread, once the {@link TMXTiledMap} is ready to be attached.
+		 */
+		public void onTMXLoaded(final TMXLoadTask pTMXLoadTask, final TMXTiledMap pTMXTiledMap);
+
+		/**
+		 * Called on the engine thread.
+		 */
+		public void onTMXLoadFailed(final TMXLoadTask pTMXLoadTask, final TMXLoadException pTMXLoadException);
+
+		/**
+		 * Called on the engine thread, if {@link TMXLoadTask#cancel()} was called before the {@link TMXTiledMap} was handed out.
+		 */
+		public void onTMXLoadCancelled(final TMXLoadTask pTMXLoadTask);
+	}
 }
@@ -1,6 +1,7 @@
 package org.andengine.extension.tmx;
 
 import java.util.ArrayList;
+import java.util.List;
 
 import org.andengine.extension.tmx.util.constants.TMXConstants;
 import org.andengine.util.SAXUtils;
@@ -27,6 +28,7 @@ public class TMXObjectGroup implements TMXConstants {
 	private final int mHeight;
 	private final ArrayList<TMXObject> mTMXObjects = new ArrayList<TMXObject>();
 	private final TMXProperties<TMXObjectGroupProperty> mTMXObjectGroupProperties = new TMXProperties<TMXObjectGroupProperty>();
+	private TMXObjectIndex mTMXObjectIndex;
 
 	// ===========================================================
 	// Constructors
@@ -56,6 +58,7 @@ public class TMXObjectGroup implements TMXConstants {
 
 	void addTMXObject(final TMXObject pTMXObject) {
 		this.mTMXObjects.add(pTMXObject);
+		this.mTMXObjectIndex = null;
 	}
 
 	public ArrayList<TMXObject> getTMXObjects() {
@@ -70,6 +73,16 @@ public class TMXObjectGroup implements TMXConstants {
 		return this.mTMXObjectGroupProperties;
 	}
 
+	/**
+	 * Built on the first call, with an automatically chosen cell size. Note that changes to the list returned by {@link #getTMXObjects()} are not tracked, see {@link #createTMXObjectIndex(int)}.
+	 */
+	public TMXObjectIndex getTMXObjectIndex() {
+		if(this.mTMXObjectIndex == null) {
+			this.mTMXObjectIndex = new TMXObjectIndex(this.mTMXObjects);
+		}
+		return this.mTMXObjectIndex;
+	}
+
 	// ===========================================================
 	// Methods for/from SuperClass/Interfaces
 	// ===========================================================
@@ -78,6 +91,30 @@ public class TMXObjectGroup implements TMXConstants {
 	// Methods
 	// ===========================================================
 
+	/**
+	 * (Re-)builds the {@link TMXObjectIndex}, i.e. at load time, to keep the first query fast.
+	 *
+	 * @param pCellSize the width and height of a cell in pixels, <code>0</code> to choose it automatically.
+	 */
+	public TMXObjectIndex createTMXObjectIndex(final int pCellSize) {
+		this.mTMXObjectIndex = new TMXObjectIndex(this.mTMXObjects, pCellSize);
+		return this.mTMXObjectIndex;
+	}
+
+	/**
+	 * @see TMXObjectIndex#queryRect(int, int, int, int, List)
+	 */
+	public int queryRect(final int pX, final int pY, final int pWidth, final int pHeight, final List<TMXObject> pResult) {
+		return this.getTMXObjectIndex().queryRect(pX, pY, pWidth, pHeight, pResult);
+	}
+
+	/**
+	 * @see TMXObjectIndex#queryPoint(int, int, List)
+	 */
+	public int queryPoint(final int pX, final int pY, final List<TMXObject> pResult) {
+		return this.getTMXObjectIndex().queryPoint(pX, pY, pResult);
+	}
+
 	// ===========================================================
 	// Inner and Anonymous Classes
 	// ===========================================================
@@ -0,0 +1,263 @@
+package org.andengine.extension.tmx;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Uniform grid over the bounds of the {@link TMXObject}s of a {@link TMXObjectGroup}, so area queries only test the objects of the cells they overlap.
+ * Every cell lists the objects overlapping it in one flat array. Objects spanning several cells are reported once per query.
+ * The queries do not allocate, but are not thread-safe. Built by {@link TMXObjectGroup#getTMXObjectIndex()}.
+ *
+ * (c) 2026 Nicolas Gramlich
+ *
+ * @author Nicolas Gramlich
+ * @since 06:46:02 - 18.10.2026
+ */
+public class TMXObjectIndex {
+	// ===========================================================
+	// Constants
+	// ===========================================================
+
+	/** Roughly the number of objects per cell when the cell size is chosen automatically. */
+	private static final int OBJECTS_PER_CELL_DEFAULT = 4;
+
+	// ===========================================================
+	// Fields
+	// ===========================================================
+
+	private final TMXObject[] mTMXObjects;
+
+	private final int mCellSize;
+	private final int mMinX;
+	private final int mMinY;
+	private final int mMaxX;
+	private final int mMaxY;
+	private final int mCellColumns;
+	private final int mCellRows;
+
+	/** The objects of cell <code>i</code> are <code>mCellTMXObjectIndices[mCellStarts[i]]</code> to <code>mCellTMXObjectIndices[mCellStarts[i + 1] - 1]</code>. */
+	private final int[] mCellStarts;
+	private final int[] mCellTMXObjectIndices;
+
+	/** The query that last reported an object, to report objects spanning several cells only once. */
+	private final int[] mTMXObjectQueryStamps;
+	private int mQueryStamp;
+
+	// ===========================================================
+	// Constructors
+	// ===========================================================
+
+	/**
+	 * Chooses the cell size from the bounds and the sizes of the objects.
+	 */
+	public TMXObjectIndex(final ArrayList<TMXObject> pTMXObjects) {
+		this(pTMXObjects, 0);
+	}
+
+	/**
+	 * @param pCellSize the width and height of a cell in pixels, <code>0</code> to choose it automatically.
+	 */
+	public TMXObjectIndex(final ArrayList<TMXObject> pTMXObjects, final int pCellSize) {
+		if(pCellSize < 0) {
+			throw new IllegalArgumentException("pCellSize must not be negative.");
+		}
+
+		final int tmxObjectCount = pTMXObjects.size();
+		final TMXObject[] tmxObjects = pTMXObjects.toArray(new TMXObject[tmxObjectCount]);
+		this.mTMXObjects = tmxObjects;
+		this.mTMXObjectQueryStamps = new int[tmxObjectCount];
+
+		int minX = Integer.MAX_VALUE;
+		int minY = Integer.MAX_VALUE;
+		int maxX = Integer.MIN_VALUE;
+		int maxY = Integer.MIN_VALUE;
+		long sizeSum = 0;
+		for(int i = 0; i < tmxObjectCount; i++) {
+			final TMXObject tmxObject = tmxObjects[i];
+			minX = Math.min(minX, tmxObject.getX());
+			minY = Math.min(minY, tmxObject.getY());
+			maxX = Math.max(maxX, tmxObject.getX() + tmxObject.getWidth());
+			maxY = Math.max(maxY, tmxObject.getY() + tmxObject.getHeight());
+			sizeSum += Math.max(tmxObject.getWidth(), tmxObject.getHeight());
+		}
+		if(tmxObjectCount == 0) {
+			minX = minY = maxX = maxY = 0;
+		}
+		this.mMinX = minX;
+		this.mMinY = minY;
+		this.mMaxX = maxX;
+		this.mMaxY = maxY;
+
+		int cellSize = pCellSize;
+		if(cellSize == 0 && tmxObjectCount > 0) {
+			/* Large enough for the average object to overlap few cells, small enough for few objects per cell. */
+			final double area = (double)(maxX - minX + 1) * (maxY - minY + 1);
+			final int cellSizeForDensity = (int)Math.sqrt(area * TMXObjectIndex.OBJECTS_PER_CELL_DEFAULT / tmxObjectCount);
+			final int cellSizeForObjectSize = (int)(2 * sizeSum / tmxObjectCount);
+			cellSize = Math.max(cellSizeForDensity, cellSizeForObjectSize);
+		}
+		this.mCellSize = Math.max(1, cellSize);
+
+		this.mCellColumns = (maxX - minX) / this.mCellSize + 1;
+		this.mCellRows = (maxY - minY) / this.mCellSize + 1;
+
+		/* Count, then fill the objects of every cell. */
+		final int cellCount = this.mCellColumns * this.mCellRows;
+		final int[] cellStarts = new int[cellCount + 1];
+		for(int i = 0; i < tmxObjectCount; i++) {
+			final TMXObject tmxObject = tmxObjects[i];
+			final int fromCellColumn = this.getCellColumn(tmxObject.getX());
+			final int toCellColumn = this.getCellColumn(tmxObject.getX() + tmxObject.getWidth());
+			final int fromCellRow = this.getCellRow(tmxObject.getY());
+			final int toCellRow = this.getCellRow(tmxObject.getY() + tmxObject.getHeight());
+			for(int cellRow = fromCellRow; cellRow <= toCellRow; cellRow++) {
+				for(int cellColumn = fromCellColumn; cellColumn <= toCellColumn; cellColumn++) {
+					cellStarts[cellRow * this.mCellColumns + cellColumn + 1]++;
+				}
+			}
+		}
+		for(int i = 0; i < cellCount; i++) {
+			cellStarts[i + 1] += cellStarts[i];
+		}
+
+		final int[] cellTMXObjectIndices = new int[cellStarts[cellCount]];
+		final int[] cellFills = new int[cellCount];
+		for(int i = 0; i < tmxObjectCount; i++) {
+			final TMXObject tmxObject = tmxObjects[i];
+			final int fromCellColumn = this.getCellColumn(tmxObject.getX());
+			final int toCellColumn = this.getCellColumn(tmxObject.getX() + tmxObject.getWidth());
+			final int fromCellRow = this.getCellRow(tmxObject.getY());
+			final int toCellRow = this.getCellRow(tmxObject.getY() + tmxObject.getHeight());
+			for(int cellRow = fromCellRow; cellRow <= toCellRow; cellRow++) {
+				for(int cellColumn = fromCellColumn; cellColumn <= toCellColumn; cellColumn++) {
+					final int cell = cellRow * this.mCellColumns + cellColumn;
+					cellTMXObjectIndices[cellStarts[cell] + cellFills[cell]++] = i;
+				}
+			}
+		}
+
+		this.mCellStarts = cellStarts;
+		this.mCellTMXObjectIndices = cellTMXObjectIndices;
+	}
+
+	// ===========================================================
+	// Getter & Setter
+	// ===========================================================
+
+	public int getCellSize() {
+		return this.mCellSize;
+	}
+
+	public int getTMXObjectCount() {
+		return this.mTMXObjects.length;
+	}
+
+	// ===========================================================
+	// Methods for/from SuperClass/Interfaces
+	// ===========================================================
+
+	// ===========================================================
+	// Methods
+	// ===========================================================
+
+	/**
+	 * Adds all {@link TMXObject}s whose bounds overlap or touch the rectangle to <code>pResult</code>, in no particular order.
+	 *
+	 * @param pX in the pixel coordinates of the map, like {@link TMXObject#getX()}.
+	 * @param pY in the pixel coordinates of the map, like {@link TMXObject#getY()}.
+	 * @param pResult is not cleared.
+	 * @return the number of {@link TMXObject}s added.
+	 */
+	public int queryRect(final int pX, final int pY, final int pWidth, final int pHeight, final List<TMXObject> pResult) {
+		final int right = pX + pWidth;
+		final int bottom = pY + pHeight;
+		if(this.mTMXObjects.length == 0 || right < this.mMinX || bottom < this.mMinY || pX > this.mMaxX || pY > this.mMaxY) {
+			return 0;
+		}
+
+		final int fromCellColumn = this.getCellColumn(pX);
+		final int toCellColumn = this.getCellColumn(right);
+		final int fromCellRow = this.getCellRow(pY);
+		final int toCellRow = this.getCellRow(bottom);
+
+		final int queryStamp = this.nextQueryStamp();
+		final TMXObject[] tmxObjects = this.mTMXObjects;
+		final int[] tmxObjectQueryStamps = this.mTMXObjectQueryStamps;
+		final int[] cellStarts = this.mCellStarts;
+		final int[] cellTMXObjectIndices = this.mCellTMXObjectIndices;
+
+		int count = 0;
+		for(int cellRow = fromCellRow; cellRow <= toCellRow; cellRow++) {
+			for(int cellColumn = fromCellColumn; cellColumn <= toCellColumn; cellColumn++) {
+				final int cell = cellRow * this.mCellColumns + cellColumn;
+				for(int i = cellStarts[cell]; i < cellStarts[cell + 1]; i++) {
+					final int tmxObjectIndex = cellTMXObjectIndices[i];
+					if(tmxObjectQueryStamps[tmxObjectIndex] == queryStamp) {
+						continue;
+					}
+					tmxObjectQueryStamps[tmxObjectIndex] = queryStamp;
+
+					final TMXObject tmxObject = tmxObjects[tmxObjectIndex];
+					if(tmxObject.getX() <= right && tmxObject.getX() + tmxObject.getWidth() >= pX && tmxObject.getY() <= bottom && tmxObject.getY() + tmxObject.getHeight() >= pY) {
+						pResult.add(tmxObject);
+						count++;
+					}
+				}
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Adds all {@link TMXObject}s whose bounds contain the point, including their edges, to <code>pResult</code>.
+	 *
+	 * @param pResult is not cleared.
+	 * @return the number of {@link TMXObject}s added.
+	 */
+	public int queryPoint(final int pX, final int pY, final List<TMXObject> pResult) {
+		if(this.mTMXObjects.length == 0 || pX < this.mMinX || pY < this.mMinY) {
+			return 0;
+		}
+		final int cellColumn = (pX - this.mMinX) / this.mCellSize;
+		final int cellRow = (pY - this.mMinY) / this.mCellSize;
+		if(cellColumn >= this.mCellColumns || cellRow >= this.mCellRows) {
+			return 0;
+		}
+
+		/* Every object is listed at most once per cell, so no stamps are needed. */
+		final TMXObject[] tmxObjects = this.mTMXObjects;
+		final int cell = cellRow * this.mCellColumns + cellColumn;
+		int count = 0;
+		for(int i = this.mCellStarts[cell]; i < this.mCellStarts[cell + 1]; i++) {
+			final TMXObject tmxObject = tmxObjects[this.mCellTMXObjectIndices[i]];
+			if(tmxObject.getX() <= pX && tmxObject.getX() + tmxObject.getWidth() >= pX && tmxObject.getY() <= pY && tmxObject.getY() + tmxObject.getHeight() >= pY) {
+				pResult.add(tmxObject);
+				count++;
+			}
+		}
+		return count;
+	}
+
+	private int getCellColumn(final int pX) {
+		return Math.max(0, Math.min(this.mCellColumns - 1, (pX - this.mMinX) / this.mCellSize));
+	}
+
+	private int getCellRow(final int pY) {
+		return Math.max(0, Math.min(this.mCellRows - 1, (pY - this.mMinY) / this.mCellSize));
+	}
+
+	private int nextQueryStamp() {
+		this.mQueryStamp++;
+		if(this.mQueryStamp == 0) {
+			/* Wrapped around, forget all stamps of earlier queries. */
+			Arrays.fill(this.mTMXObjectQueryStamps, 0);
+			this.mQueryStamp = 1;
+		}
+		return this.mQueryStamp;
+	}
+
+	// ===========================================================
+	// Inner and Anonymous Classes
+	// ===========================================================
+}
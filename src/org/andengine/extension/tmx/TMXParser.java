@@ -1,17 +1,21 @@
 package org.andengine.extension.tmx;
 
-import java.io.IOException;
 import java.util.ArrayList;
 
+import org.andengine.extension.tmx.TMXLayerDataDecoder.ITMXGlobalTileIDListener;
 import org.andengine.extension.tmx.TMXLoader.ITMXTilePropertiesListener;
+import org.andengine.extension.tmx.util.algorithm.RectanglePacker;
 import org.andengine.extension.tmx.util.constants.TMXConstants;
 import org.andengine.extension.tmx.util.exception.TMXParseException;
 import org.andengine.extension.tmx.util.exception.TSXLoadException;
 import org.andengine.opengl.texture.TextureManager;
 import org.andengine.opengl.texture.TextureOptions;
+import org.andengine.opengl.texture.atlas.bitmap.BitmapTextureAtlas;
+import org.andengine.opengl.texture.atlas.bitmap.BitmapTextureAtlasTextureRegionFactory;
+import org.andengine.opengl.texture.atlas.bitmap.source.IBitmapTextureAtlasSource;
+import org.andengine.opengl.texture.bitmap.BitmapTextureFormat;
 import org.andengine.opengl.vbo.VertexBufferObjectManager;
 import org.andengine.util.SAXUtils;
-import org.andengine.util.debug.Debug;
 import org.xml.sax.Attributes;
 import org.xml.sax.SAXException;
 import org.xml.sax.helpers.DefaultHandler;
@@ -30,6 +34,9 @@ public class TMXParser extends DefaultHandler implements TMXConstants {
 	// Constants
 	// ===========================================================
 
+	/** The distance in pixels between two packed tileset images, so they don't bleed into each other when filtered. */
+	private static final int PACKED_TILESET_IMAGE_PADDING = 2;
+
 	// ===========================================================
 	// Fields
 	// ===========================================================
@@ -39,12 +46,22 @@ public class TMXParser extends DefaultHandler implements TMXConstants {
 	private final TextureOptions mTextureOptions;
 	private final VertexBufferObjectManager mVertexBufferObjectManager;
 	private final ITMXTilePropertiesListener mTMXTilePropertyListener;
+	private final TMXTileSetCache mTMXTileSetCache;
 
 	private TMXTiledMap mTMXTiledMap;
 
 	private int mLastTileSetTileID;
 
 	private final StringBuilder mStringBuilder = new StringBuilder();
+	private final TMXLayerDataDecoder mTMXLayerDataDecoder = new TMXLayerDataDecoder();
+	private final TMXLayerGlobalTileIDListener mTMXLayerGlobalTileIDListener = new TMXLayerGlobalTileIDListener();
+
+	private boolean mSubmitTMXLayers = true;
+
+	private int mPackedTextureSizeMaximum;
+	private String[] mTMXTileFlagPropertyNames;
+	private int mStaticTMXLayerChunkSize;
+	private boolean mTMXTileSetsPacked;
 
 	private String mDataEncoding;
 	private String mDataCompression;
@@ -57,6 +74,9 @@ public class TMXParser extends DefaultHandler implements TMXConstants {
 	private boolean mInProperties;
 	@SuppressWarnings("unused")
 	private boolean mInProperty;
+	private boolean mInAnimation;
+	@SuppressWarnings("unused")
+	private boolean mInFrame;
 	private boolean mInLayer;
 	private boolean mInData;
 	private boolean mInObjectGroup;
@@ -67,11 +87,19 @@ public class TMXParser extends DefaultHandler implements TMXConstants {
 	// ===========================================================
 
 	public TMXParser(final AssetManager pAssetManager, final TextureManager pTextureManager, final TextureOptions pTextureOptions, final VertexBufferObjectManager pVertexBufferObjectManager, final ITMXTilePropertiesListener pTMXTilePropertyListener) {
+		this(pAssetManager, pTextureManager, pTextureOptions, pVertexBufferObjectManager, pTMXTilePropertyListener, null);
+	}
+
+	/**
+	 * @param pTMXTileSetCache may be <code>null</code>.
+	 */
+	public TMXParser(final AssetManager pAssetManager, final TextureManager pTextureManager, final TextureOptions pTextureOptions, final VertexBufferObjectManager pVertexBufferObjectManager, final ITMXTilePropertiesListener pTMXTilePropertyListener, final TMXTileSetCache pTMXTileSetCache) {
 		this.mAssetManager = pAssetManager;
 		this.mTextureManager = pTextureManager;
 		this.mTextureOptions = pTextureOptions;
 		this.mVertexBufferObjectManager = pVertexBufferObjectManager;
 		this.mTMXTilePropertyListener = pTMXTilePropertyListener;
+		this.mTMXTileSetCache = pTMXTileSetCache;
 	}
 
 	// ===========================================================
@@ -82,6 +110,39 @@ public class TMXParser extends DefaultHandler implements TMXConstants {
 		return this.mTMXTiledMap;
 	}
 
+	/**
+	 * @param pSubmitTMXLayers when <code>false</code>, the {@link TMXLayer}s are filled but not submitted, so the caller can submit them on the engine thread.
+	 */
+	void setSubmitTMXLayers(final boolean pSubmitTMXLayers) {
+		this.mSubmitTMXLayers = pSubmitTMXLayers;
+	}
+
+	/**
+	 * @param pPackedTextureSizeMaximum when greater than <code>0</code>, the images of all {@link TMXTileSet}s of the map are packed into as few power-of-two textures of at most this size as possible.
+	 * The {@link TMXTileSetCache} is not used for packed textures, as they are specific to the map.
+	 */
+	void setPackedTextureSizeMaximum(final int pPackedTextureSizeMaximum) {
+		this.mPackedTextureSizeMaximum = pPackedTextureSizeMaximum;
+	}
+
+	/**
+	 * @param pTMXTileFlagPropertyNames when not <code>null</code>, every {@link TMXLayer} creates its {@link TMXTileFlags} from these names once its data was read.
+	 */
+	void setTMXTileFlagPropertyNames(final String[] pTMXTileFlagPropertyNames) {
+		this.mTMXTileFlagPropertyNames = pTMXTileFlagPropertyNames;
+	}
+
+	/**
+	 * @param pStaticTMXLayerChunkSize when greater than <code>0</code>, every {@link TMXLayer} is made static before its tiles are submitted, see {@link TMXLayer#setStaticChunkSize(int)}.
+	 */
+	void setStaticTMXLayerChunkSize(final int pStaticTMXLayerChunkSize) {
+		this.mStaticTMXLayerChunkSize = pStaticTMXLayerChunkSize;
+	}
+
+	private boolean isPackingTMXTileSets() {
+		return this.mPackedTextureSizeMaximum > 0;
+	}
+
 	// ===========================================================
 	// Methods for/from SuperClass/Interfaces
 	// ===========================================================
@@ -100,8 +161,13 @@ public class TMXParser extends DefaultHandler implements TMXConstants {
 			} else {
 				try {
 					final int firstGlobalTileID = SAXUtils.getIntAttribute(pAttributes, TMXConstants.TAG_TILESET_ATTRIBUTE_FIRSTGID, 1);
-					final TSXLoader tsxLoader = new TSXLoader(this.mAssetManager, this.mTextureManager, this.mTextureOptions);
-					tmxTileSet = tsxLoader.loadFromAsset(firstGlobalTileID, tsxTileSetSource);
+					if(this.mTMXTileSetCache == null || this.isPackingTMXTileSets()) {
+						final TSXLoader tsxLoader = new TSXLoader(this.mAssetManager, this.mTextureManager, this.mTextureOptions);
+						tsxLoader.setPackTileSetImages(this.isPackingTMXTileSets());
+						tmxTileSet = tsxLoader.loadFromAsset(firstGlobalTileID, tsxTileSetSource);
+					} else {
+						tmxTileSet = this.mTMXTileSetCache.acquireTSXTileSet(this.mAssetManager, this.mTextureManager, this.mTextureOptions, firstGlobalTileID, tsxTileSetSource);
+					}
 				} catch (final TSXLoadException e) {
 					throw new TMXParseException("Failed to load TMXTileSet from source: " + tsxTileSetSource, e);
 				}
@@ -110,7 +176,12 @@ public class TMXParser extends DefaultHandler implements TMXConstants {
 		} else if(pLocalName.equals(TMXConstants.TAG_IMAGE)){
 			this.mInImage = true;
 			final ArrayList<TMXTileSet> tmxTileSets = this.mTMXTiledMap.getTMXTileSets();
-			tmxTileSets.get(tmxTileSets.size() - 1).setImageSource(this.mAssetManager, this.mTextureManager, pAttributes);
+			final TMXTileSet lastTMXTileSet = tmxTileSets.get(tmxTileSets.size() - 1);
+			if(this.isPackingTMXTileSets()) {
+				lastTMXTileSet.setImageSourceForPacking(this.mAssetManager, pAttributes);
+			} else {
+				lastTMXTileSet.setImageSource(this.mAssetManager, this.mTextureManager, pAttributes, this.mTMXTileSetCache);
+			}
 		} else if(pLocalName.equals(TMXConstants.TAG_TILE)) {
 			this.mInTile = true;
 			if(this.mInTileset) {
@@ -151,11 +222,25 @@ public class TMXParser extends DefaultHandler implements TMXConstants {
 			}
 		} else if(pLocalName.equals(TMXConstants.TAG_LAYER)){
 			this.mInLayer = true;
+			/* All tilesets precede the layers. */
+			this.packTMXTileSets();
 			this.mTMXTiledMap.addTMXLayer(new TMXLayer(this.mTMXTiledMap, pAttributes, this.mVertexBufferObjectManager));
 		} else if(pLocalName.equals(TMXConstants.TAG_DATA)){
 			this.mInData = true;
 			this.mDataEncoding = pAttributes.getValue("", TMXConstants.TAG_DATA_ATTRIBUTE_ENCODING);
 			this.mDataCompression = pAttributes.getValue("", TMXConstants.TAG_DATA_ATTRIBUTE_COMPRESSION);
+			if(this.mDataEncoding != null && !this.mDataEncoding.equals(TMXConstants.TAG_DATA_ATTRIBUTE_ENCODING_VALUE_BASE64) && !this.mDataEncoding.equals(TMXConstants.TAG_DATA_ATTRIBUTE_ENCODING_VALUE_CSV)) {
+				throw new TMXParseException("Supplied encoding '" + this.mDataEncoding + "' is not supported.");
+			}
+			final ArrayList<TMXLayer> tmxLayers = this.mTMXTiledMap.getTMXLayers();
+			this.mTMXLayerGlobalTileIDListener.mTMXLayer = tmxLayers.get(tmxLayers.size() - 1);
+			if(this.isDataEncodingBase64()) {
+				try {
+					this.mTMXLayerDataDecoder.beginBase64(this.mDataCompression);
+				} catch (final IllegalArgumentException e) {
+					throw new TMXParseException(e.getMessage(), e);
+				}
+			}
 		} else if(pLocalName.equals(TMXConstants.TAG_OBJECTGROUP)){
 			this.mInObjectGroup = true;
 			this.mTMXTiledMap.addTMXObjectGroup(new TMXObjectGroup(pAttributes));
@@ -163,6 +248,16 @@ public class TMXParser extends DefaultHandler implements TMXConstants {
 			this.mInObject = true;
 			final ArrayList<TMXObjectGroup> tmxObjectGroups = this.mTMXTiledMap.getTMXObjectGroups();
 			tmxObjectGroups.get(tmxObjectGroups.size() - 1).addTMXObject(new TMXObject(pAttributes));
+		} else if(this.mInTileset && pLocalName.equals(TMXConstants.TAG_ANIMATION)) {
+			this.mInAnimation = true;
+		} else if(this.mInAnimation && pLocalName.equals(TMXConstants.TAG_FRAME)) {
+			this.mInFrame = true;
+			final ArrayList<TMXTileSet> tmxTileSets = this.mTMXTiledMap.getTMXTileSets();
+			final TMXTileSet lastTMXTileSet = tmxTileSets.get(tmxTileSets.size() - 1);
+
+			final int frameLocalTileID = SAXUtils.getIntAttributeOrThrow(pAttributes, TMXConstants.TAG_FRAME_ATTRIBUTE_TILEID);
+			final int frameDuration = SAXUtils.getIntAttributeOrThrow(pAttributes, TMXConstants.TAG_FRAME_ATTRIBUTE_DURATION);
+			lastTMXTileSet.addTMXTileAnimationFrame(this.mLastTileSetTileID, frameLocalTileID, frameDuration);
 		} else {
 			throw new TMXParseException("Unexpected start tag: '" + pLocalName + "'.");
 		}
@@ -170,15 +265,31 @@ public class TMXParser extends DefaultHandler implements TMXConstants {
 
 	@Override
 	public void characters(final char[] pCharacters, final int pStart, final int pLength) throws SAXException {
-		this.mStringBuilder.append(pCharacters, pStart, pLength);
+		if(this.mInData && this.mDataEncoding != null) {
+			/* Layer data is decoded straight from the SAX buffer, without collecting it in the StringBuilder first. */
+			try {
+				if(this.isDataEncodingCSV()) {
+					this.mTMXLayerDataDecoder.decodeCSV(this.mTMXLayerGlobalTileIDListener, pCharacters, pStart, pLength);
+				} else {
+					this.mTMXLayerDataDecoder.decodeBase64(this.mTMXLayerGlobalTileIDListener, pCharacters, pStart, pLength);
+				}
+			} catch (final IllegalArgumentException e) {
+				throw new TMXParseException(e.getMessage(), e);
+			}
+		} else {
+			this.mStringBuilder.append(pCharacters, pStart, pLength);
+		}
 	}
 
 	@Override
 	public void endElement(final String pUri, final String pLocalName, final String pQualifiedName) throws SAXException {
 		if(pLocalName.equals(TMXConstants.TAG_MAP)){
 			this.mInMap = false;
+			this.packTMXTileSets();
 		} else if(pLocalName.equals(TMXConstants.TAG_TILESET)){
 			this.mInTileset = false;
+			/* The TMXTileProperties of the TMXTileSet are complete now. */
+			this.mTMXTiledMap.invalidateTMXTileProperties();
 		} else if(pLocalName.equals(TMXConstants.TAG_IMAGE)){
 			this.mInImage = false;
 		} else if(pLocalName.equals(TMXConstants.TAG_TILE)) {
@@ -190,22 +301,40 @@ public class TMXParser extends DefaultHandler implements TMXConstants {
 		} else if(pLocalName.equals(TMXConstants.TAG_LAYER)){
 			this.mInLayer = false;
 		} else if(pLocalName.equals(TMXConstants.TAG_DATA)){
-			final boolean binarySaved = this.mDataCompression != null && this.mDataEncoding != null;
-			if(binarySaved) {
-				final ArrayList<TMXLayer> tmxLayers = this.mTMXTiledMap.getTMXLayers();
+			final ArrayList<TMXLayer> tmxLayers = this.mTMXTiledMap.getTMXLayers();
+			final TMXLayer tmxLayer = tmxLayers.get(tmxLayers.size() - 1);
+
+			if(this.mDataEncoding != null) {
 				try {
-					tmxLayers.get(tmxLayers.size() - 1).initializeTMXTilesFromDataString(this.mStringBuilder.toString().trim(), this.mDataEncoding, this.mDataCompression, this.mTMXTilePropertyListener);
-				} catch (final IOException e) {
-					Debug.e(e);
+					if(this.isDataEncodingCSV()) {
+						this.mTMXLayerDataDecoder.finishCSV(this.mTMXLayerGlobalTileIDListener);
+					} else {
+						this.mTMXLayerDataDecoder.finishBase64(this.mTMXLayerGlobalTileIDListener);
+					}
+				} catch (final IllegalArgumentException e) {
+					throw new TMXParseException(e.getMessage(), e);
 				}
 				this.mDataCompression = null;
 				this.mDataEncoding = null;
 			}
+
+			if(this.mTMXTileFlagPropertyNames != null) {
+				tmxLayer.createTMXTileFlags(this.mTMXTileFlagPropertyNames);
+			}
+			tmxLayer.setStaticChunkSize(this.mStaticTMXLayerChunkSize);
+			if(this.mSubmitTMXLayers) {
+				tmxLayer.submitTMXTiles();
+			}
+			this.mTMXLayerGlobalTileIDListener.mTMXLayer = null;
 			this.mInData = false;
 		} else if(pLocalName.equals(TMXConstants.TAG_OBJECTGROUP)){
 			this.mInObjectGroup = false;
 		} else if(pLocalName.equals(TMXConstants.TAG_OBJECT)){
 			this.mInObject = false;
+		} else if(pLocalName.equals(TMXConstants.TAG_ANIMATION)) {
+			this.mInAnimation = false;
+		} else if(pLocalName.equals(TMXConstants.TAG_FRAME)) {
+			this.mInFrame = false;
 		} else {
 			throw new TMXParseException("Unexpected end tag: '" + pLocalName + "'.");
 		}
@@ -218,7 +347,101 @@ public class TMXParser extends DefaultHandler implements TMXConstants {
 	// Methods
 	// ===========================================================
 
+	/**
+	 * Releases the native resources of the {@link TMXLayerDataDecoder}. Must be called once parsing is done, whether it succeeded or failed.
+	 */
+	void release() {
+		this.mTMXLayerDataDecoder.release();
+	}
+
+	private boolean isDataEncodingBase64() {
+		return this.mDataEncoding != null && this.mDataEncoding.equals(TMXConstants.TAG_DATA_ATTRIBUTE_ENCODING_VALUE_BASE64);
+	}
+
+	private boolean isDataEncodingCSV() {
+		return this.mDataEncoding != null && this.mDataEncoding.equals(TMXConstants.TAG_DATA_ATTRIBUTE_ENCODING_VALUE_CSV);
+	}
+
+	/**
+	 * Packs the images of all {@link TMXTileSet}s into as few textures as possible, if packing is enabled and was not done yet.
+	 */
+	private void packTMXTileSets() throws TMXParseException {
+		if(!this.isPackingTMXTileSets() || this.mTMXTileSetsPacked) {
+			return;
+		}
+		this.mTMXTileSetsPacked = true;
+
+		final ArrayList<TMXTileSet> tmxTileSets = this.mTMXTiledMap.getTMXTileSets();
+		final ArrayList<TMXTileSet> packingTMXTileSets = new ArrayList<TMXTileSet>();
+		for(int i = 0; i < tmxTileSets.size(); i++) {
+			if(tmxTileSets.get(i).getPackingBitmapTextureAtlasSource() != null) {
+				packingTMXTileSets.add(tmxTileSets.get(i));
+			}
+		}
+
+		final int count = packingTMXTileSets.size();
+		final int[] widths = new int[count];
+		final int[] heights = new int[count];
+		for(int i = 0; i < count; i++) {
+			final IBitmapTextureAtlasSource bitmapTextureAtlasSource = packingTMXTileSets.get(i).getPackingBitmapTextureAtlasSource();
+			widths[i] = bitmapTextureAtlasSource.getTextureWidth();
+			heights[i] = bitmapTextureAtlasSource.getTextureHeight();
+		}
+
+		final int[] atlasIndices = new int[count];
+		final int[] xs = new int[count];
+		final int[] ys = new int[count];
+		final RectanglePacker rectanglePacker = new RectanglePacker(this.mPackedTextureSizeMaximum, TMXParser.PACKED_TILESET_IMAGE_PADDING);
+		final int atlasCount;
+		try {
+			atlasCount = rectanglePacker.pack(widths, heights, atlasIndices, xs, ys);
+		} catch (final IllegalArgumentException e) {
+			throw new TMXParseException("Failed to pack the TMXTileSets: " + e.getMessage(), e);
+		}
+
+		final BitmapTextureAtlas[] bitmapTextureAtlases = new BitmapTextureAtlas[atlasCount];
+		for(int i = 0; i < atlasCount; i++) {
+			bitmapTextureAtlases[i] = new BitmapTextureAtlas(this.mTextureManager, rectanglePacker.getAtlasWidth(i), rectanglePacker.getAtlasHeight(i), BitmapTextureFormat.RGBA_8888, this.mTextureOptions);
+		}
+		for(int i = 0; i < count; i++) {
+			final TMXTileSet tmxTileSet = packingTMXTileSets.get(i);
+			final BitmapTextureAtlas bitmapTextureAtlas = bitmapTextureAtlases[atlasIndices[i]];
+			BitmapTextureAtlasTextureRegionFactory.createFromSource(bitmapTextureAtlas, tmxTileSet.getPackingBitmapTextureAtlasSource(), xs[i], ys[i]);
+			tmxTileSet.setPackedTexture(bitmapTextureAtlas, xs[i], ys[i]);
+		}
+		for(int i = 0; i < atlasCount; i++) {
+			bitmapTextureAtlases[i].load();
+		}
+
+		this.mTMXTiledMap.invalidateTextureRegions();
+	}
+
 	// ===========================================================
 	// Inner and Anonymous Classes
 	// ===========================================================
+
+	/**
+	 * Adds the global tile IDs decoded by the {@link TMXLayerDataDecoder} to the {@link TMXLayer} whose <code>&lt;data&gt;</code> is being parsed.
+	 */
+	private class TMXLayerGlobalTileIDListener implements ITMXGlobalTileIDListener {
+		// ===========================================================
+		// Fields
+		// ===========================================================
+
+		private TMXLayer mTMXLayer;
+
+		// ===========================================================
+		// Methods for/from SuperClass/Interfaces
+		// ===========================================================
+
+		@Override
+		public int getGlobalTileIDsRemaining() {
+			return this.mTMXLayer.getTilesRemaining();
+		}
+
+		@Override
+		public void onGlobalTileID(final int pGlobalTileID) {
+			this.mTMXLayer.addTileByGlobalTileID(pGlobalTileID, TMXParser.this.mTMXTilePropertyListener);
+		}
+	}
 }
@@ -1,13 +1,17 @@
 package org.andengine.extension.tmx;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 
 import org.andengine.extension.tmx.util.constants.TMXConstants;
 
 /**
+ * Besides the list of {@link TMXProperty}s, keeps an index from the name IDs of the {@link TMXPropertyNames} to the position of the first {@link TMXProperty} with that name,
+ * so lookups by name ID are integer compares. The index is rebuilt lazily after the list was modified.
+ *
  * (c) 2010 Nicolas Gramlich
  * (c) 2011 Zynga Inc.
- * 
+ *
  * @author Nicolas Gramlich
  * @since 10:14:06 - 27.07.2010
  */
@@ -18,10 +22,16 @@ public class TMXProperties<T extends TMXProperty> extends ArrayList<T> implement
 
 	private static final long serialVersionUID = 8912773556975105201L;
 
+	private static final int INDEX_NONE = -1;
+
 	// ===========================================================
 	// Fields
 	// ===========================================================
 
+	/** Open addressing, holds <code>index + 1</code> of the first {@link TMXProperty} per name ID, <code>0</code> for empty slots. */
+	private transient int[] mIndexSlots;
+	private transient int mIndexedModCount = TMXProperties.INDEX_NONE;
+
 	// ===========================================================
 	// Constructors
 	// ===========================================================
@@ -30,24 +40,164 @@ public class TMXProperties<T extends TMXProperty> extends ArrayList<T> implement
 	// Getter & Setter
 	// ===========================================================
 
+	/**
+	 * @param pValue may be <code>null</code>, to find a {@link TMXProperty} without a value.
+	 */
 	public boolean containsTMXProperty(final String pName, final String pValue) {
-		for(int i = this.size() - 1; i >= 0; i--) {
+		final int nameID = TMXPropertyNames.peekID(pName);
+		if(nameID == TMXPropertyNames.ID_INVALID) {
+			return false;
+		}
+
+		for(int i = this.indexOfTMXProperty(nameID); i != TMXProperties.INDEX_NONE && i < this.size(); i++) {
 			final T tmxProperty = this.get(i);
-			if(tmxProperty.getName().equals(pName) && tmxProperty.getValue().equals(pValue)) {
-				return true;
+			if(tmxProperty.getNameID() == nameID) {
+				final String value = tmxProperty.getValue();
+				if(value == null ? pValue == null : value.equals(pValue)) {
+					return true;
+				}
 			}
 		}
 		return false;
 	}
 
+	public boolean containsTMXProperty(final int pNameID) {
+		return this.indexOfTMXProperty(pNameID) != TMXProperties.INDEX_NONE;
+	}
+
+	/**
+	 * @return the first {@link TMXProperty} named <code>pName</code>, or <code>null</code>.
+	 */
+	public T getTMXProperty(final String pName) {
+		return this.getTMXProperty(TMXPropertyNames.peekID(pName));
+	}
+
+	/**
+	 * @param pNameID see {@link TMXPropertyNames#getID(String)}.
+	 * @return the first {@link TMXProperty} with the name <code>pNameID</code>, or <code>null</code>.
+	 */
+	public T getTMXProperty(final int pNameID) {
+		final int index = this.indexOfTMXProperty(pNameID);
+		return (index == TMXProperties.INDEX_NONE) ? null : this.get(index);
+	}
+
+	public String getValue(final int pNameID, final String pDefaultValue) {
+		final T tmxProperty = this.getTMXProperty(pNameID);
+		return (tmxProperty == null) ? pDefaultValue : tmxProperty.getValue();
+	}
+
+	public int getInt(final int pNameID, final int pDefaultValue) {
+		final T tmxProperty = this.getTMXProperty(pNameID);
+		return (tmxProperty == null) ? pDefaultValue : tmxProperty.getIntValue(pDefaultValue);
+	}
+
+	public int getInt(final String pName, final int pDefaultValue) {
+		return this.getInt(TMXPropertyNames.peekID(pName), pDefaultValue);
+	}
+
+	public float getFloat(final int pNameID, final float pDefaultValue) {
+		final T tmxProperty = this.getTMXProperty(pNameID);
+		return (tmxProperty == null) ? pDefaultValue : tmxProperty.getFloatValue(pDefaultValue);
+	}
+
+	public float getFloat(final String pName, final float pDefaultValue) {
+		return this.getFloat(TMXPropertyNames.peekID(pName), pDefaultValue);
+	}
+
+	public boolean getBoolean(final int pNameID, final boolean pDefaultValue) {
+		final T tmxProperty = this.getTMXProperty(pNameID);
+		return (tmxProperty == null) ? pDefaultValue : tmxProperty.getBooleanValue(pDefaultValue);
+	}
+
+	public boolean getBoolean(final String pName, final boolean pDefaultValue) {
+		return this.getBoolean(TMXPropertyNames.peekID(pName), pDefaultValue);
+	}
+
 	// ===========================================================
 	// Methods for/from SuperClass/Interfaces
 	// ===========================================================
 
+	@Override
+	public T set(final int pIndex, final T pTMXProperty) {
+		/* Does not change the modCount, but might change the name at pIndex. */
+		this.mIndexedModCount = TMXProperties.INDEX_NONE;
+		return super.set(pIndex, pTMXProperty);
+	}
+
 	// ===========================================================
 	// Methods
 	// ===========================================================
 
+	/**
+	 * @return the position of the first {@link TMXProperty} with the name <code>pNameID</code>, or <code>-1</code>.
+	 */
+	public int indexOfTMXProperty(final int pNameID) {
+		if(pNameID < 0) {
+			return TMXProperties.INDEX_NONE;
+		}
+		if(this.mIndexSlots == null || this.mIndexedModCount != this.modCount) {
+			this.buildIndex();
+		}
+
+		final int[] indexSlots = this.mIndexSlots;
+		final int mask = indexSlots.length - 1;
+		for(int slot = TMXProperties.hash(pNameID) & mask; ; slot = (slot + 1) & mask) {
+			final int indexSlot = indexSlots[slot];
+			if(indexSlot == 0) {
+				return TMXProperties.INDEX_NONE;
+			}
+			final int index = indexSlot - 1;
+			if(this.get(index).getNameID() == pNameID) {
+				return index;
+			}
+		}
+	}
+
+	private void buildIndex() {
+		final int size = this.size();
+
+		/* Keep the load factor at or below 0.5, so there always are empty slots. */
+		int capacity = 2;
+		while(capacity < size * 2) {
+			capacity <<= 1;
+		}
+
+		int[] indexSlots = this.mIndexSlots;
+		if(indexSlots == null || indexSlots.length != capacity) {
+			indexSlots = new int[capacity];
+			this.mIndexSlots = indexSlots;
+		} else {
+			Arrays.fill(indexSlots, 0);
+		}
+
+		final int mask = capacity - 1;
+		for(int i = 0; i < size; i++) {
+			final int nameID = this.get(i).getNameID();
+			if(nameID < 0) {
+				continue;
+			}
+			int slot = TMXProperties.hash(nameID) & mask;
+			while(true) {
+				final int indexSlot = indexSlots[slot];
+				if(indexSlot == 0) {
+					indexSlots[slot] = i + 1;
+					break;
+				} else if(this.get(indexSlot - 1).getNameID() == nameID) {
+					/* Only the first TMXProperty with a name is indexed. */
+					break;
+				}
+				slot = (slot + 1) & mask;
+			}
+		}
+
+		this.mIndexedModCount = this.modCount;
+	}
+
+	private static int hash(final int pNameID) {
+		final int hash = pNameID * 0x9E3779B9;
+		return hash ^ (hash >>> 16);
+	}
+
 	// ===========================================================
 	// Inner and Anonymous Classes
 	// ===========================================================
@@ -15,13 +15,27 @@ public class TMXProperty implements TMXConstants {
 	// Constants
 	// ===========================================================
 
+	private static final int FLAG_INT_PARSED = 1 << 0;
+	private static final int FLAG_INT_VALID = 1 << 1;
+	private static final int FLAG_FLOAT_PARSED = 1 << 2;
+	private static final int FLAG_FLOAT_VALID = 1 << 3;
+	private static final int FLAG_BOOLEAN_PARSED = 1 << 4;
+	private static final int FLAG_BOOLEAN_VALID = 1 << 5;
+
 	// ===========================================================
 	// Fields
 	// ===========================================================
 
 	private final String mName;
+	private final int mNameID;
 	private final String mValue;
 
+	/** The typed values are parsed on the first request and cached, see the <code>FLAG_*</code> constants. */
+	private int mParsedFlags;
+	private int mIntValue;
+	private float mFloatValue;
+	private boolean mBooleanValue;
+
 	// ===========================================================
 	// Constructors
 	// ===========================================================
@@ -29,6 +43,7 @@ public class TMXProperty implements TMXConstants {
 	public TMXProperty(final Attributes pAttributes) {
 		this.mName = pAttributes.getValue("", TMXConstants.TAG_PROPERTY_ATTRIBUTE_NAME);
 		this.mValue = pAttributes.getValue("", TMXConstants.TAG_PROPERTY_ATTRIBUTE_VALUE);
+		this.mNameID = TMXPropertyNames.getID(this.mName);
 	}
 
 	// ===========================================================
@@ -39,10 +54,73 @@ public class TMXProperty implements TMXConstants {
 		return this.mName;
 	}
 
+	/**
+	 * @return the ID of the name in the {@link TMXPropertyNames}.
+	 */
+	public int getNameID() {
+		return this.mNameID;
+	}
+
 	public String getValue() {
 		return this.mValue;
 	}
 
+	/**
+	 * @return the value as an <code>int</code>, or <code>pDefaultValue</code> if it is no valid <code>int</code>.
+	 */
+	public int getIntValue(final int pDefaultValue) {
+		if((this.mParsedFlags & TMXProperty.FLAG_INT_PARSED) == 0) {
+			this.mParsedFlags |= TMXProperty.FLAG_INT_PARSED;
+			if(this.mValue != null) {
+				try {
+					this.mIntValue = Integer.parseInt(this.mValue.trim());
+					this.mParsedFlags |= TMXProperty.FLAG_INT_VALID;
+				} catch (final NumberFormatException e) {
+					/* Not an int. */
+				}
+			}
+		}
+		return ((this.mParsedFlags & TMXProperty.FLAG_INT_VALID) != 0) ? this.mIntValue : pDefaultValue;
+	}
+
+	/**
+	 * @return the value as a <code>float</code>, or <code>pDefaultValue</code> if it is no valid <code>float</code>.
+	 */
+	public float getFloatValue(final float pDefaultValue) {
+		if((this.mParsedFlags & TMXProperty.FLAG_FLOAT_PARSED) == 0) {
+			this.mParsedFlags |= TMXProperty.FLAG_FLOAT_PARSED;
+			if(this.mValue != null) {
+				try {
+					this.mFloatValue = Float.parseFloat(this.mValue.trim());
+					this.mParsedFlags |= TMXProperty.FLAG_FLOAT_VALID;
+				} catch (final NumberFormatException e) {
+					/* Not a float. */
+				}
+			}
+		}
+		return ((this.mParsedFlags & TMXProperty.FLAG_FLOAT_VALID) != 0) ? this.mFloatValue : pDefaultValue;
+	}
+
+	/**
+	 * @return <code>true</code> for <code>"true"</code> and <code>"1"</code>, <code>false</code> for <code>"false"</code> and <code>"0"</code> (ignoring case), <code>pDefaultValue</code> otherwise.
+	 */
+	public boolean getBooleanValue(final boolean pDefaultValue) {
+		if((this.mParsedFlags & TMXProperty.FLAG_BOOLEAN_PARSED) == 0) {
+			this.mParsedFlags |= TMXProperty.FLAG_BOOLEAN_PARSED;
+			if(this.mValue != null) {
+				final String value = this.mValue.trim();
+				if(value.equalsIgnoreCase("true") || value.equals("1")) {
+					this.mBooleanValue = true;
+					this.mParsedFlags |= TMXProperty.FLAG_BOOLEAN_VALID;
+				} else if(value.equalsIgnoreCase("false") || value.equals("0")) {
+					this.mBooleanValue = false;
+					this.mParsedFlags |= TMXProperty.FLAG_BOOLEAN_VALID;
+				}
+			}
+		}
+		return ((this.mParsedFlags & TMXProperty.FLAG_BOOLEAN_VALID) != 0) ? this.mBooleanValue : pDefaultValue;
+	}
+
 	// ===========================================================
 	// Methods for/from SuperClass/Interfaces
 	// ===========================================================
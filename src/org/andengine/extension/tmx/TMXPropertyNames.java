@@ -0,0 +1,87 @@
+package org.andengine.extension.tmx;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+/**
+ * Symbol table of all {@link TMXProperty} names, shared by all loaded maps.
+ * Every distinct name gets a small, stable integer ID, so hot loops can look up properties with {@link TMXProperties#getTMXProperty(int)} and friends
+ * by comparing integers instead of strings. Resolve the IDs once, i.e. <code>private static final int SOLID = TMXPropertyNames.getID("solid");</code>.
+ * <p>
+ * The table is a global static that is never pruned: every distinct name stays registered for the lifetime of the process, so its IDs stay valid across maps.
+ * It is meant to stay small, i.e. hold the few dozen names a game's maps share. Don't use generated or per-object property names, as each of them would be kept forever.
+ *
+ * (c) 2026 Nicolas Gramlich
+ *
+ * @author Nicolas Gramlich
+ * @since 06:41:37 - 18.10.2026
+ */
+public final class TMXPropertyNames {
+	// ===========================================================
+	// Constants
+	// ===========================================================
+
+	public static final int ID_INVALID = -1;
+
+	private static final HashMap<String, Integer> NAME_IDS = new HashMap<String, Integer>();
+	private static final ArrayList<String> NAMES = new ArrayList<String>();
+
+	// ===========================================================
+	// Fields
+	// ===========================================================
+
+	// ===========================================================
+	// Constructors
+	// ===========================================================
+
+	private TMXPropertyNames() {
+
+	}
+
+	// ===========================================================
+	// Getter & Setter
+	// ===========================================================
+
+	/**
+	 * @return the ID of <code>pName</code>, which is registered if it was not known yet.
+	 */
+	public static synchronized int getID(final String pName) {
+		if(pName == null) {
+			return TMXPropertyNames.ID_INVALID;
+		}
+
+		final Integer id = TMXPropertyNames.NAME_IDS.get(pName);
+		if(id != null) {
+			return id.intValue();
+		} else {
+			final int newID = TMXPropertyNames.NAMES.size();
+			TMXPropertyNames.NAMES.add(pName);
+			TMXPropertyNames.NAME_IDS.put(pName, Integer.valueOf(newID));
+			return newID;
+		}
+	}
+
+	/**
+	 * @return the ID of <code>pName</code>, or {@link #ID_INVALID} if no {@link TMXProperty} with that name was loaded so far.
+	 */
+	public static synchronized int peekID(final String pName) {
+		final Integer id = TMXPropertyNames.NAME_IDS.get(pName);
+		return (id == null) ? TMXPropertyNames.ID_INVALID : id.intValue();
+	}
+
+	public static synchronized String getName(final int pID) {
+		return TMXPropertyNames.NAMES.get(pID);
+	}
+
+	// ===========================================================
+	// Methods for/from SuperClass/Interfaces
+	// ===========================================================
+
+	// ===========================================================
+	// Methods
+	// ===========================================================
+
+	// ===========================================================
+	// Inner and Anonymous Classes
+	// ===========================================================
+}
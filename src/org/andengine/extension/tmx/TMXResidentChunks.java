@@ -0,0 +1,235 @@
+package org.andengine.extension.tmx;
+
+import java.util.ArrayList;
+
+/**
+ * The window of resident chunks of a {@link TMXChunkedLayer}: the visible chunks plus a margin in every direction.
+ * Chunks entering the window are taken from a small pool or created, and built for their position. Chunks leaving it go back into the pool, or are disposed once the pool is full.
+ * So at most the chunks of the window plus the pool are alive at any time, however large the map is.
+ * Knows nothing about what a chunk holds, that is up to the {@link ITMXChunkFactory}.
+ *
+ * (c) 2026 Nicolas Gramlich
+ *
+ * @author Nicolas Gramlich
+ * @since 07:23:29 - 18.10.2026
+ */
+public class TMXResidentChunks<T> {
+	// ===========================================================
+	// Constants
+	// ===========================================================
+
+	private static final int INDEX_NONE = -1;
+
+	// ===========================================================
+	// Fields
+	// ===========================================================
+
+	private final int mChunkColumns;
+	private final int mChunkRows;
+	private final int mResidentChunkMargin;
+	private final int mPooledChunksMaximum;
+	private final ITMXChunkFactory<T> mTMXChunkFactory;
+
+	/** Only as many as fit into the window, so they are searched linearly. */
+	private final ArrayList<T> mResidentChunks = new ArrayList<T>();
+	private int[] mResidentChunkColumns = new int[16];
+	private int[] mResidentChunkRows = new int[16];
+	private final ArrayList<T> mPooledChunks = new ArrayList<T>();
+
+	// ===========================================================
+	// Constructors
+	// ===========================================================
+
+	/**
+	 * @param pResidentChunkMargin how many chunks beyond the visible ones stay resident in every direction, so chunks are built before they get visible.
+	 * @param pPooledChunksMaximum how many chunks that left the window are kept for reuse. Further ones are disposed.
+	 */
+	public TMXResidentChunks(final int pChunkColumns, final int pChunkRows, final int pResidentChunkMargin, final int pPooledChunksMaximum, final ITMXChunkFactory<T> pTMXChunkFactory) {
+		if(pResidentChunkMargin < 0) {
+			throw new IllegalArgumentException("pResidentChunkMargin must not be negative.");
+		}
+		if(pPooledChunksMaximum < 0) {
+			throw new IllegalArgumentException("pPooledChunksMaximum must not be negative.");
+		}
+
+		this.mChunkColumns = pChunkColumns;
+		this.mChunkRows = pChunkRows;
+		this.mResidentChunkMargin = pResidentChunkMargin;
+		this.mPooledChunksMaximum = pPooledChunksMaximum;
+		this.mTMXChunkFactory = pTMXChunkFactory;
+	}
+
+	// ===========================================================
+	// Getter & Setter
+	// ===========================================================
+
+	public int getChunkColumns() {
+		return this.mChunkColumns;
+	}
+
+	public int getChunkRows() {
+		return this.mChunkRows;
+	}
+
+	public int getResidentChunkMargin() {
+		return this.mResidentChunkMargin;
+	}
+
+	public int getPooledChunksMaximum() {
+		return this.mPooledChunksMaximum;
+	}
+
+	public int getResidentChunkCount() {
+		return this.mResidentChunks.size();
+	}
+
+	public int getPooledChunkCount() {
+		return this.mPooledChunks.size();
+	}
+
+	/**
+	 * @return the chunk at <code>pChunkColumn</code> and <code>pChunkRow</code>, or <code>null</code> if it is not resident.
+	 */
+	public T getChunk(final int pChunkColumn, final int pChunkRow) {
+		final int index = this.indexOfResidentChunk(pChunkColumn, pChunkRow);
+		return (index == TMXResidentChunks.INDEX_NONE) ? null : this.mResidentChunks.get(index);
+	}
+
+	// ===========================================================
+	// Methods for/from SuperClass/Interfaces
+	// ===========================================================
+
+	// ===========================================================
+	// Methods
+	// ===========================================================
+
+	/**
+	 * Evicts the chunks outside of the visible chunks plus the resident margin and builds the missing ones inside of it.
+	 */
+	public void update(final int pFirstVisibleChunkColumn, final int pFirstVisibleChunkRow, final int pLastVisibleChunkColumn, final int pLastVisibleChunkRow) {
+		final int residentChunkMargin = this.mResidentChunkMargin;
+		final int firstChunkColumn = Math.max(0, pFirstVisibleChunkColumn - residentChunkMargin);
+		final int firstChunkRow = Math.max(0, pFirstVisibleChunkRow - residentChunkMargin);
+		final int lastChunkColumn = Math.min(this.mChunkColumns - 1, pLastVisibleChunkColumn + residentChunkMargin);
+		final int lastChunkRow = Math.min(this.mChunkRows - 1, pLastVisibleChunkRow + residentChunkMargin);
+
+		/* Evict first, so the evicted chunks can be reused right away. */
+		for(int i = this.mResidentChunks.size() - 1; i >= 0; i--) {
+			final int chunkColumn = this.mResidentChunkColumns[i];
+			final int chunkRow = this.mResidentChunkRows[i];
+			if(chunkColumn < firstChunkColumn || chunkColumn > lastChunkColumn || chunkRow < firstChunkRow || chunkRow > lastChunkRow) {
+				this.recycleChunk(this.removeResidentChunk(i));
+			}
+		}
+
+		for(int chunkRow = firstChunkRow; chunkRow <= lastChunkRow; chunkRow++) {
+			for(int chunkColumn = firstChunkColumn; chunkColumn <= lastChunkColumn; chunkColumn++) {
+				if(this.indexOfResidentChunk(chunkColumn, chunkRow) == TMXResidentChunks.INDEX_NONE) {
+					this.addResidentChunk(chunkColumn, chunkRow, this.buildChunk(chunkColumn, chunkRow));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Disposes all resident and pooled chunks.
+	 */
+	public void clear() {
+		final ITMXChunkFactory<T> tmxChunkFactory = this.mTMXChunkFactory;
+
+		final ArrayList<T> residentChunks = this.mResidentChunks;
+		for(int i = residentChunks.size() - 1; i >= 0; i--) {
+			tmxChunkFactory.disposeChunk(residentChunks.get(i));
+		}
+		residentChunks.clear();
+
+		final ArrayList<T> pooledChunks = this.mPooledChunks;
+		for(int i = pooledChunks.size() - 1; i >= 0; i--) {
+			tmxChunkFactory.disposeChunk(pooledChunks.get(i));
+		}
+		pooledChunks.clear();
+	}
+
+	private T buildChunk(final int pChunkColumn, final int pChunkRow) {
+		final ArrayList<T> pooledChunks = this.mPooledChunks;
+		final T chunk;
+		if(pooledChunks.isEmpty()) {
+			chunk = this.mTMXChunkFactory.createChunk();
+		} else {
+			chunk = pooledChunks.remove(pooledChunks.size() - 1);
+		}
+		this.mTMXChunkFactory.buildChunk(chunk, pChunkColumn, pChunkRow);
+		return chunk;
+	}
+
+	private void recycleChunk(final T pChunk) {
+		if(this.mPooledChunks.size() < this.mPooledChunksMaximum) {
+			this.mPooledChunks.add(pChunk);
+		} else {
+			this.mTMXChunkFactory.disposeChunk(pChunk);
+		}
+	}
+
+	private int indexOfResidentChunk(final int pChunkColumn, final int pChunkRow) {
+		final int[] residentChunkColumns = this.mResidentChunkColumns;
+		final int[] residentChunkRows = this.mResidentChunkRows;
+		for(int i = this.mResidentChunks.size() - 1; i >= 0; i--) {
+			if(residentChunkColumns[i] == pChunkColumn && residentChunkRows[i] == pChunkRow) {
+				return i;
+			}
+		}
+		return TMXResidentChunks.INDEX_NONE;
+	}
+
+	private void addResidentChunk(final int pChunkColumn, final int pChunkRow, final T pChunk) {
+		final int index = this.mResidentChunks.size();
+		if(index == this.mResidentChunkColumns.length) {
+			final int[] residentChunkColumns = new int[index * 2];
+			final int[] residentChunkRows = new int[index * 2];
+			System.arraycopy(this.mResidentChunkColumns, 0, residentChunkColumns, 0, index);
+			System.arraycopy(this.mResidentChunkRows, 0, residentChunkRows, 0, index);
+			this.mResidentChunkColumns = residentChunkColumns;
+			this.mResidentChunkRows = residentChunkRows;
+		}
+		this.mResidentChunks.add(pChunk);
+		this.mResidentChunkColumns[index] = pChunkColumn;
+		this.mResidentChunkRows[index] = pChunkRow;
+	}
+
+	/**
+	 * Moves the last resident chunk into the place of the removed one.
+	 */
+	private T removeResidentChunk(final int pIndex) {
+		final ArrayList<T> residentChunks = this.mResidentChunks;
+		final int lastIndex = residentChunks.size() - 1;
+		final T chunk = residentChunks.get(pIndex);
+		residentChunks.set(pIndex, residentChunks.get(lastIndex));
+		residentChunks.remove(lastIndex);
+		this.mResidentChunkColumns[pIndex] = this.mResidentChunkColumns[lastIndex];
+		this.mResidentChunkRows[pIndex] = this.mResidentChunkRows[lastIndex];
+		return chunk;
+	}
+
+	// ===========================================================
+	// Inner and Anonymous Classes
+	// ===========================================================
+
+	public static interface ITMXChunkFactory<T> {
+		// ===========================================================
+		// Constants
+		// ===========================================================
+
+		// ===========================================================
+		// Methods
+		// ===========================================================
+
+		public T createChunk();
+
+		/**
+		 * Fills <code>pChunk</code>, which is new or was used for another chunk before, with the tiles of the chunk at <code>pChunkColumn</code> and <code>pChunkRow</code>.
+		 */
+		public void buildChunk(final T pChunk, final int pChunkColumn, final int pChunkRow);
+
+		public void disposeChunk(final T pChunk);
+	}
+}
@@ -1,5 +1,6 @@
 package org.andengine.extension.tmx;
 
+import org.andengine.extension.tmx.util.constants.TMXConstants;
 import org.andengine.opengl.texture.region.ITextureRegion;
 
 /**
@@ -24,6 +25,8 @@ public class TMXTile {
 	private final int mTileWidth;
 	private final int mTileHeight;
 	ITextureRegion mTextureRegion;
+	/** The {@link TMXLayer} that created this {@link TMXTile}, if any. */
+	TMXLayer mTMXLayer;
 
 	// ===========================================================
 	// Constructors
@@ -42,10 +45,25 @@ public class TMXTile {
 	// Getter & Setter
 	// ===========================================================
 
+	/**
+	 * @return including the flip flags, see {@link TMXConstants#GLOBALTILEID_FLAGS}.
+	 */
 	public int getGlobalTileID() {
 		return this.mGlobalTileID;
 	}
 
+	public boolean isFlippedHorizontally() {
+		return (this.mGlobalTileID & TMXConstants.GLOBALTILEID_FLAG_FLIPPED_HORIZONTALLY) != 0;
+	}
+
+	public boolean isFlippedVertically() {
+		return (this.mGlobalTileID & TMXConstants.GLOBALTILEID_FLAG_FLIPPED_VERTICALLY) != 0;
+	}
+
+	public boolean isFlippedDiagonally() {
+		return (this.mGlobalTileID & TMXConstants.GLOBALTILEID_FLAG_FLIPPED_DIAGONALLY) != 0;
+	}
+
 	public int getTileRow() {
 		return this.mTileRow;
 	}
@@ -76,12 +94,17 @@ public class TMXTile {
 
 	/**
 	 * Note this will also set the {@link ITextureRegion} with the associated pGlobalTileID of the {@link TMXTiledMap}.
+	 * For a {@link TMXTile} of a {@link TMXLayer}, this goes through {@link TMXLayer#setTileGlobalID(int, int, int)}, so the change is visible.
 	 * @param pTMXTiledMap
 	 * @param pGlobalTileID
 	 */
 	public void setGlobalTileID(final TMXTiledMap pTMXTiledMap, final int pGlobalTileID) {
-		this.mGlobalTileID = pGlobalTileID;
-		this.mTextureRegion = pTMXTiledMap.getTextureRegionFromGlobalTileID(pGlobalTileID);
+		if(this.mTMXLayer != null) {
+			this.mTMXLayer.setTileGlobalID(this.mTileColumn, this.mTileRow, pGlobalTileID);
+		} else {
+			this.mGlobalTileID = pGlobalTileID;
+			this.mTextureRegion = (pGlobalTileID == 0) ? null : pTMXTiledMap.getTextureRegionFromGlobalTileID(pGlobalTileID);
+		}
 	}
 
 	/**
@@ -0,0 +1,90 @@
+package org.andengine.extension.tmx;
+
+import java.util.Arrays;
+
+/**
+ * The frames of an animated tile, as defined by the <code>&lt;animation&gt;</code> element of a tile in a {@link TMXTileSet}.
+ * Every frame shows another tile of the same {@link TMXTileSet} for a number of milliseconds. {@link TMXLayer}s play them on their own, see {@link TMXLayer#setTMXTileAnimationsRunning(boolean)}.
+ *
+ * (c) 2026 Nicolas Gramlich
+ *
+ * @author Nicolas Gramlich
+ * @since 07:01:06 - 18.10.2026
+ */
+public class TMXTileAnimation {
+	// ===========================================================
+	// Constants
+	// ===========================================================
+
+	// ===========================================================
+	// Fields
+	// ===========================================================
+
+	private int[] mFrameLocalTileIDs = new int[4];
+	private int[] mFrameDurations = new int[4];
+	private int mFrameCount;
+	private int mDuration;
+
+	// ===========================================================
+	// Constructors
+	// ===========================================================
+
+	// ===========================================================
+	// Getter & Setter
+	// ===========================================================
+
+	public int getFrameCount() {
+		return this.mFrameCount;
+	}
+
+	/**
+	 * @return the ID of the tile shown in the frame, local to the {@link TMXTileSet}.
+	 */
+	public int getFrameLocalTileID(final int pFrame) {
+		return this.mFrameLocalTileIDs[pFrame];
+	}
+
+	/**
+	 * @return in milliseconds.
+	 */
+	public int getFrameDuration(final int pFrame) {
+		return this.mFrameDurations[pFrame];
+	}
+
+	/**
+	 * @return the duration of all frames in milliseconds.
+	 */
+	public int getDuration() {
+		return this.mDuration;
+	}
+
+	// ===========================================================
+	// Methods for/from SuperClass/Interfaces
+	// ===========================================================
+
+	// ===========================================================
+	// Methods
+	// ===========================================================
+
+	/**
+	 * @param pDuration in milliseconds.
+	 */
+	public void addFrame(final int pLocalTileID, final int pDuration) {
+		if(pDuration < 0) {
+			throw new IllegalArgumentException("pDuration must not be negative.");
+		}
+
+		if(this.mFrameCount == this.mFrameLocalTileIDs.length) {
+			this.mFrameLocalTileIDs = Arrays.copyOf(this.mFrameLocalTileIDs, this.mFrameCount * 2);
+			this.mFrameDurations = Arrays.copyOf(this.mFrameDurations, this.mFrameCount * 2);
+		}
+		this.mFrameLocalTileIDs[this.mFrameCount] = pLocalTileID;
+		this.mFrameDurations[this.mFrameCount] = pDuration;
+		this.mFrameCount++;
+		this.mDuration += pDuration;
+	}
+
+	// ===========================================================
+	// Inner and Anonymous Classes
+	// ===========================================================
+}
@@ -0,0 +1,242 @@
+package org.andengine.extension.tmx;
+
+/**
+ * Packed per-cell flags of a {@link TMXLayer}, one bitset per flag with every row starting at a new <code>long</code>.
+ * Derived once from {@link TMXTileProperty}s, see {@link TMXLayer#createTMXTileFlags(String...)}, so i.e. collision checks
+ * neither need {@link TMXTile}s nor property lookups.
+ *
+ * (c) 2026 Nicolas Gramlich
+ *
+ * @author Nicolas Gramlich
+ * @since 06:43:26 - 18.10.2026
+ */
+public class TMXTileFlags {
+	// ===========================================================
+	// Constants
+	// ===========================================================
+
+	public static final int FLAG_INVALID = -1;
+
+	private static final long WORD_MASK = 0xFFFFFFFFFFFFFFFFL;
+
+	// ===========================================================
+	// Fields
+	// ===========================================================
+
+	private final String[] mFlagNames;
+	private final int mTileColumns;
+	private final int mTileRows;
+	private final int mWordsPerRow;
+	private final long[][] mFlagBits;
+
+	// ===========================================================
+	// Constructors
+	// ===========================================================
+
+	/**
+	 * @param pFlagNames the name of every flag, the index of a name is the flag used in the queries.
+	 */
+	public TMXTileFlags(final String[] pFlagNames, final int pTileColumns, final int pTileRows) {
+		this.mFlagNames = pFlagNames.clone();
+		this.mTileColumns = pTileColumns;
+		this.mTileRows = pTileRows;
+		this.mWordsPerRow = (pTileColumns + 63) >>> 6;
+
+		final int flagCount = pFlagNames.length;
+		this.mFlagBits = new long[flagCount][];
+		for(int i = 0; i < flagCount; i++) {
+			this.mFlagBits[i] = new long[this.mWordsPerRow * pTileRows];
+		}
+	}
+
+	// ===========================================================
+	// Getter & Setter
+	// ===========================================================
+
+	public int getTileColumns() {
+		return this.mTileColumns;
+	}
+
+	public int getTileRows() {
+		return this.mTileRows;
+	}
+
+	public int getFlagCount() {
+		return this.mFlagNames.length;
+	}
+
+	public String getFlagName(final int pFlag) {
+		return this.mFlagNames[pFlag];
+	}
+
+	/**
+	 * @return the flag named <code>pFlagName</code>, or {@link #FLAG_INVALID}.
+	 */
+	public int getFlag(final String pFlagName) {
+		final String[] flagNames = this.mFlagNames;
+		for(int i = 0; i < flagNames.length; i++) {
+			if(flagNames[i].equals(pFlagName)) {
+				return i;
+			}
+		}
+		return TMXTileFlags.FLAG_INVALID;
+	}
+
+	/**
+	 * @return <code>false</code> for cells outside of the {@link TMXLayer}.
+	 */
+	public boolean isFlagSet(final int pTileColumn, final int pTileRow, final int pFlag) {
+		if(pTileColumn < 0 || pTileColumn >= this.mTileColumns || pTileRow < 0 || pTileRow >= this.mTileRows) {
+			return false;
+		}
+		return (this.mFlagBits[pFlag][pTileRow * this.mWordsPerRow + (pTileColumn >>> 6)] & (1L << pTileColumn)) != 0;
+	}
+
+	public void setFlag(final int pTileColumn, final int pTileRow, final int pFlag, final boolean pSet) {
+		if(pTileColumn < 0 || pTileColumn >= this.mTileColumns || pTileRow < 0 || pTileRow >= this.mTileRows) {
+			throw new ArrayIndexOutOfBoundsException("Illegal TMXTile: column=" + pTileColumn + ", row=" + pTileRow);
+		}
+		final long[] flagBits = this.mFlagBits[pFlag];
+		final int word = pTileRow * this.mWordsPerRow + (pTileColumn >>> 6);
+		if(pSet) {
+			flagBits[word] |= 1L << pTileColumn;
+		} else {
+			flagBits[word] &= ~(1L << pTileColumn);
+		}
+	}
+
+	/**
+	 * Gives direct access, i.e. to hand the flags to a physics engine. Bit <code>column % 64</code> of word <code>row * {@link #getWordsPerRow()} + column / 64</code> is the cell at <code>column/row</code>.
+	 */
+	public long[] getFlagBits(final int pFlag) {
+		return this.mFlagBits[pFlag];
+	}
+
+	public int getWordsPerRow() {
+		return this.mWordsPerRow;
+	}
+
+	// ===========================================================
+	// Methods for/from SuperClass/Interfaces
+	// ===========================================================
+
+	// ===========================================================
+	// Methods
+	// ===========================================================
+
+	/**
+	 * The rectangle is inclusive and clipped to the {@link TMXLayer}. Tests 64 cells per step.
+	 *
+	 * @return <code>true</code> if <code>pFlag</code> is set for any cell within the rectangle.
+	 */
+	public boolean isFlagSetInRect(final int pFlag, final int pFromTileColumn, final int pFromTileRow, final int pToTileColumn, final int pToTileRow) {
+		final int fromTileColumn = Math.max(0, pFromTileColumn);
+		final int toTileColumn = Math.min(this.mTileColumns - 1, pToTileColumn);
+		final int fromTileRow = Math.max(0, pFromTileRow);
+		final int toTileRow = Math.min(this.mTileRows - 1, pToTileRow);
+		if(fromTileColumn > toTileColumn || fromTileRow > toTileRow) {
+			return false;
+		}
+
+		final long[] flagBits = this.mFlagBits[pFlag];
+		final int wordsPerRow = this.mWordsPerRow;
+		final int fromWord = fromTileColumn >>> 6;
+		final int toWord = toTileColumn >>> 6;
+		final long fromMask = TMXTileFlags.WORD_MASK << fromTileColumn;
+		final long toMask = TMXTileFlags.WORD_MASK >>> (63 - (toTileColumn & 63));
+
+		for(int row = fromTileRow; row <= toTileRow; row++) {
+			final int rowOffset = row * wordsPerRow;
+			if(fromWord == toWord) {
+				if((flagBits[rowOffset + fromWord] & fromMask & toMask) != 0) {
+					return true;
+				}
+			} else {
+				if((flagBits[rowOffset + fromWord] & fromMask) != 0) {
+					return true;
+				}
+				for(int word = fromWord + 1; word < toWord; word++) {
+					if(flagBits[rowOffset + word] != 0) {
+						return true;
+					}
+				}
+				if((flagBits[rowOffset + toWord] & toMask) != 0) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Allows iterating over the set cells of a row, i.e. to create the bodies overlapping a rectangle:
+	 * <code>for(int column = flags.nextFlagSet(flag, row, from, to); column != -1; column = flags.nextFlagSet(flag, row, column + 1, to))</code>.
+	 *
+	 * @return the first column from <code>pFromTileColumn</code> to <code>pToTileColumn</code> (inclusive) for which <code>pFlag</code> is set, or <code>-1</code>.
+	 */
+	public int nextFlagSet(final int pFlag, final int pTileRow, final int pFromTileColumn, final int pToTileColumn) {
+		final int fromTileColumn = Math.max(0, pFromTileColumn);
+		final int toTileColumn = Math.min(this.mTileColumns - 1, pToTileColumn);
+		if(pTileRow < 0 || pTileRow >= this.mTileRows || fromTileColumn > toTileColumn) {
+			return -1;
+		}
+
+		final long[] flagBits = this.mFlagBits[pFlag];
+		final int rowOffset = pTileRow * this.mWordsPerRow;
+		final int toWord = toTileColumn >>> 6;
+
+		int word = fromTileColumn >>> 6;
+		long bits = flagBits[rowOffset + word] & (TMXTileFlags.WORD_MASK << fromTileColumn);
+		while(true) {
+			if(bits != 0) {
+				final int tileColumn = (word << 6) + Long.numberOfTrailingZeros(bits);
+				return (tileColumn <= toTileColumn) ? tileColumn : -1;
+			}
+			word++;
+			if(word > toWord) {
+				return -1;
+			}
+			bits = flagBits[rowOffset + word];
+		}
+	}
+
+	/**
+	 * @return the number of cells within the inclusive rectangle for which <code>pFlag</code> is set.
+	 */
+	public int countFlagsSetInRect(final int pFlag, final int pFromTileColumn, final int pFromTileRow, final int pToTileColumn, final int pToTileRow) {
+		final int fromTileColumn = Math.max(0, pFromTileColumn);
+		final int toTileColumn = Math.min(this.mTileColumns - 1, pToTileColumn);
+		final int fromTileRow = Math.max(0, pFromTileRow);
+		final int toTileRow = Math.min(this.mTileRows - 1, pToTileRow);
+		if(fromTileColumn > toTileColumn || fromTileRow > toTileRow) {
+			return 0;
+		}
+
+		final long[] flagBits = this.mFlagBits[pFlag];
+		final int wordsPerRow = this.mWordsPerRow;
+		final int fromWord = fromTileColumn >>> 6;
+		final int toWord = toTileColumn >>> 6;
+		final long fromMask = TMXTileFlags.WORD_MASK << fromTileColumn;
+		final long toMask = TMXTileFlags.WORD_MASK >>> (63 - (toTileColumn & 63));
+
+		int count = 0;
+		for(int row = fromTileRow; row <= toTileRow; row++) {
+			final int rowOffset = row * wordsPerRow;
+			for(int word = fromWord; word <= toWord; word++) {
+				long bits = flagBits[rowOffset + word];
+				if(word == fromWord) {
+					bits &= fromMask;
+				}
+				if(word == toWord) {
+					bits &= toMask;
+				}
+				count += Long.bitCount(bits);
+			}
+		}
+		return count;
+	}
+
+	// ===========================================================
+	// Inner and Anonymous Classes
+	// ===========================================================
+}
@@ -0,0 +1,174 @@
+package org.andengine.extension.tmx;
+
+import org.andengine.extension.tmx.util.algorithm.TileRectangleMerger;
+import org.andengine.extension.tmx.util.algorithm.TileRectangleMerger.ITileMatcher;
+import org.andengine.extension.tmx.util.constants.TMXConstants;
+
+/**
+ * Selects the cells of a {@link TMXLayer} by their global tile IDs, for the {@link TileRectangleMerger}. I.e. to merge the solid tiles into collision bodies:
+ * <code>merger.setTiles(layer.getTileColumns(), layer.getTileRows(), TMXTileMatcher.withTMXTileProperty(layer, "solid"));</code>
+ *
+ * (c) 2026 Nicolas Gramlich
+ *
+ * @author Nicolas Gramlich
+ * @since 06:44:49 - 18.10.2026
+ */
+public abstract class TMXTileMatcher implements ITileMatcher {
+	// ===========================================================
+	// Constants
+	// ===========================================================
+
+	// ===========================================================
+	// Fields
+	// ===========================================================
+
+	protected final TMXLayer mTMXLayer;
+
+	// ===========================================================
+	// Constructors
+	// ===========================================================
+
+	public TMXTileMatcher(final TMXLayer pTMXLayer) {
+		this.mTMXLayer = pTMXLayer;
+	}
+
+	// ===========================================================
+	// Getter & Setter
+	// ===========================================================
+
+	public TMXLayer getTMXLayer() {
+		return this.mTMXLayer;
+	}
+
+	// ===========================================================
+	// Methods for/from SuperClass/Interfaces
+	// ===========================================================
+
+	/**
+	 * @param pGlobalTileID without the flip flags, so flipped tiles match like the tile itself.
+	 */
+	protected abstract boolean matchesGlobalTileID(final int pGlobalTileID);
+
+	@Override
+	public boolean matches(final int pTileColumn, final int pTileRow) {
+		return this.matchesGlobalTileID(this.mTMXLayer.getGlobalTileID(pTileColumn, pTileRow) & ~TMXConstants.GLOBALTILEID_FLAGS);
+	}
+
+	// ===========================================================
+	// Methods
+	// ===========================================================
+
+	/**
+	 * Matches all cells that are not empty.
+	 */
+	public static TMXTileMatcher withAnyTile(final TMXLayer pTMXLayer) {
+		return new TMXTileMatcher(pTMXLayer) {
+			@Override
+			protected boolean matchesGlobalTileID(final int pGlobalTileID) {
+				return pGlobalTileID != 0;
+			}
+		};
+	}
+
+	public static TMXTileMatcher withGlobalTileIDs(final TMXLayer pTMXLayer, final int ... pGlobalTileIDs) {
+		final int[] globalTileIDs = pGlobalTileIDs.clone();
+		return new TMXTileMatcher(pTMXLayer) {
+			@Override
+			protected boolean matchesGlobalTileID(final int pGlobalTileID) {
+				for(int i = 0; i < globalTileIDs.length; i++) {
+					if(globalTileIDs[i] == pGlobalTileID) {
+						return true;
+					}
+				}
+				return false;
+			}
+		};
+	}
+
+	/**
+	 * Matches the cells whose tile has a {@link TMXTileProperty} named <code>pPropertyName</code> with a value that is neither <code>false</code> nor <code>0</code>, like {@link TMXLayer#createTMXTileFlags(String...)}.
+	 */
+	public static TMXTileMatcher withTMXTileProperty(final TMXLayer pTMXLayer, final String pPropertyName) {
+		return new TMXTilePropertyMatcher(pTMXLayer, TMXPropertyNames.peekID(pPropertyName));
+	}
+
+	/**
+	 * Reads the already derived {@link TMXTileFlags}, without looking at the global tile IDs at all.
+	 */
+	public static ITileMatcher withTMXTileFlag(final TMXTileFlags pTMXTileFlags, final int pFlag) {
+		return new ITileMatcher() {
+			@Override
+			public boolean matches(final int pTileColumn, final int pTileRow) {
+				return pTMXTileFlags.isFlagSet(pTileColumn, pTileRow, pFlag);
+			}
+		};
+	}
+
+	// ===========================================================
+	// Inner and Anonymous Classes
+	// ===========================================================
+
+	/**
+	 * Looks up the {@link TMXTileProperty} once per distinct global tile ID.
+	 */
+	private static class TMXTilePropertyMatcher extends TMXTileMatcher {
+		// ===========================================================
+		// Constants
+		// ===========================================================
+
+		// ===========================================================
+		// Fields
+		// ===========================================================
+
+		private final int mNameID;
+
+		private long[] mGlobalTileIDsResolved = new long[1];
+		private long[] mGlobalTileIDsMatching = new long[1];
+
+		// ===========================================================
+		// Constructors
+		// ===========================================================
+
+		public TMXTilePropertyMatcher(final TMXLayer pTMXLayer, final int pNameID) {
+			super(pTMXLayer);
+
+			this.mNameID = pNameID;
+		}
+
+		// ===========================================================
+		// Methods for/from SuperClass/Interfaces
+		// ===========================================================
+
+		@Override
+		protected boolean matchesGlobalTileID(final int pGlobalTileID) {
+			if(pGlobalTileID <= 0 || this.mNameID == TMXPropertyNames.ID_INVALID) {
+				return false;
+			}
+
+			final int word = pGlobalTileID >>> 6;
+			if(word >= this.mGlobalTileIDsResolved.length) {
+				final int capacity = Math.max(this.mGlobalTileIDsResolved.length * 2, word + 1);
+				final long[] globalTileIDsResolved = new long[capacity];
+				final long[] globalTileIDsMatching = new long[capacity];
+				System.arraycopy(this.mGlobalTileIDsResolved, 0, globalTileIDsResolved, 0, this.mGlobalTileIDsResolved.length);
+				System.arraycopy(this.mGlobalTileIDsMatching, 0, globalTileIDsMatching, 0, this.mGlobalTileIDsMatching.length);
+				this.mGlobalTileIDsResolved = globalTileIDsResolved;
+				this.mGlobalTileIDsMatching = globalTileIDsMatching;
+			}
+
+			final long bit = 1L << pGlobalTileID;
+			if((this.mGlobalTileIDsResolved[word] & bit) == 0) {
+				this.mGlobalTileIDsResolved[word] |= bit;
+
+				final TMXTiledMap tmxTiledMap = this.mTMXLayer.getTMXTiledMap();
+				if(tmxTiledMap.hasTMXTileProperties(pGlobalTileID)) {
+					final TMXTileProperty tmxTileProperty = tmxTiledMap.getTMXTilePropertiesByGlobalTileID(pGlobalTileID).getTMXProperty(this.mNameID);
+					if(tmxTileProperty != null && tmxTileProperty.getBooleanValue(true)) {
+						this.mGlobalTileIDsMatching[word] |= bit;
+					}
+				}
+			}
+			return (this.mGlobalTileIDsMatching[word] & bit) != 0;
+		}
+	}
+}
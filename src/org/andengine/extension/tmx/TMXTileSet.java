@@ -8,6 +8,7 @@ import org.andengine.opengl.texture.TextureOptions;
 import org.andengine.opengl.texture.atlas.bitmap.BitmapTextureAtlas;
 import org.andengine.opengl.texture.atlas.bitmap.BitmapTextureAtlasTextureRegionFactory;
 import org.andengine.opengl.texture.atlas.bitmap.source.AssetBitmapTextureAtlasSource;
+import org.andengine.opengl.texture.atlas.bitmap.source.IBitmapTextureAtlasSource;
 import org.andengine.opengl.texture.atlas.bitmap.source.decorator.ColorKeyBitmapTextureAtlasSourceDecorator;
 import org.andengine.opengl.texture.atlas.bitmap.source.decorator.shape.RectangleBitmapTextureAtlasSourceDecoratorShape;
 import org.andengine.opengl.texture.bitmap.BitmapTextureFormat;
@@ -42,8 +43,14 @@ public class TMXTileSet implements TMXConstants {
 	private final int mTileHeight;
 
 	private String mImageSource;
+	private String mTransparentColor;
 	private ITexture mTexture;
 	private final TextureOptions mTextureOptions;
+	/** The position of the tileset image within {@link #mTexture}, when it was packed into an atlas with other tileset images. */
+	private int mTextureX;
+	private int mTextureY;
+	/** The image waiting to be packed, see {@link #setImageSourceForPacking(AssetManager, Attributes)}. */
+	private IBitmapTextureAtlasSource mPackingBitmapTextureAtlasSource;
 
 	private int mTilesHorizontal;
 	private int mTilesVertical;
@@ -51,7 +58,8 @@ public class TMXTileSet implements TMXConstants {
 	private final int mSpacing;
 	private final int mMargin;
 
-	private final SparseArray<TMXProperties<TMXTileProperty>> mTMXTileProperties = new SparseArray<TMXProperties<TMXTileProperty>>();
+	private final SparseArray<TMXProperties<TMXTileProperty>> mTMXTileProperties;
+	private final SparseArray<TMXTileAnimation> mTMXTileAnimations;
 
 	// ===========================================================
 	// Constructors
@@ -70,6 +78,34 @@ public class TMXTileSet implements TMXConstants {
 		this.mMargin = SAXUtils.getIntAttribute(pAttributes, TMXConstants.TAG_TILESET_ATTRIBUTE_MARGIN, 0);
 
 		this.mTextureOptions = pTextureOptions;
+		this.mTMXTileProperties = new SparseArray<TMXProperties<TMXTileProperty>>();
+		this.mTMXTileAnimations = new SparseArray<TMXTileAnimation>();
+	}
+
+	/**
+	 * Creates a {@link TMXTileSet} that shares the texture, the tile properties and the tile animations of <code>pTMXTileSet</code>, but starts at <code>pFirstGlobalTileID</code>.
+	 * Used by the {@link TMXTileSetCache} to hand out an already loaded external tileset to multiple maps.
+	 */
+	TMXTileSet(final int pFirstGlobalTileID, final TMXTileSet pTMXTileSet) {
+		this.mFirstGlobalTileID = pFirstGlobalTileID;
+		this.mName = pTMXTileSet.mName;
+		this.mTileWidth = pTMXTileSet.mTileWidth;
+		this.mTileHeight = pTMXTileSet.mTileHeight;
+		this.mSpacing = pTMXTileSet.mSpacing;
+		this.mMargin = pTMXTileSet.mMargin;
+
+		this.mImageSource = pTMXTileSet.mImageSource;
+		this.mTransparentColor = pTMXTileSet.mTransparentColor;
+		this.mTexture = pTMXTileSet.mTexture;
+		this.mTextureOptions = pTMXTileSet.mTextureOptions;
+		this.mTextureX = pTMXTileSet.mTextureX;
+		this.mTextureY = pTMXTileSet.mTextureY;
+
+		this.mTilesHorizontal = pTMXTileSet.mTilesHorizontal;
+		this.mTilesVertical = pTMXTileSet.mTilesVertical;
+
+		this.mTMXTileProperties = pTMXTileSet.mTMXTileProperties;
+		this.mTMXTileAnimations = pTMXTileSet.mTMXTileAnimations;
 	}
 
 	// ===========================================================
@@ -100,41 +136,94 @@ public class TMXTileSet implements TMXConstants {
 		return this.mTilesVertical;
 	}
 
+	public int getSpacing() {
+		return this.mSpacing;
+	}
+
+	public int getMargin() {
+		return this.mMargin;
+	}
+
 	public ITexture getTexture() {
 		return this.mTexture;
 	}
 
 	public void setImageSource(final AssetManager pAssetManager, final TextureManager pTextureManager, final Attributes pAttributes) throws TMXParseException {
-		this.mImageSource = pAttributes.getValue("", TMXConstants.TAG_IMAGE_ATTRIBUTE_SOURCE);
+		this.setImageSource(pAssetManager, pTextureManager, pAttributes, null);
+	}
 
-		final AssetBitmapTextureAtlasSource assetBitmapTextureAtlasSource = AssetBitmapTextureAtlasSource.create(pAssetManager, this.mImageSource);
-		this.mTilesHorizontal = TMXTileSet.determineCount(assetBitmapTextureAtlasSource.getTextureWidth(), this.mTileWidth, this.mMargin, this.mSpacing);
-		this.mTilesVertical = TMXTileSet.determineCount(assetBitmapTextureAtlasSource.getTextureHeight(), this.mTileHeight, this.mMargin, this.mSpacing);
-		final BitmapTextureAtlas bitmapTextureAtlas = new BitmapTextureAtlas(pTextureManager, assetBitmapTextureAtlasSource.getTextureWidth(), assetBitmapTextureAtlasSource.getTextureHeight(), BitmapTextureFormat.RGBA_8888, this.mTextureOptions); // TODO Make TextureFormat variable
+	/**
+	 * @param pTMXTileSetCache when not <code>null</code>, the texture is acquired from (and shared through) the {@link TMXTileSetCache} instead of being created and loaded for this {@link TMXTileSet} alone.
+	 */
+	public void setImageSource(final AssetManager pAssetManager, final TextureManager pTextureManager, final Attributes pAttributes, final TMXTileSetCache pTMXTileSetCache) throws TMXParseException {
+		this.mImageSource = pAttributes.getValue("", TMXConstants.TAG_IMAGE_ATTRIBUTE_SOURCE);
+		this.mTransparentColor = SAXUtils.getAttribute(pAttributes, TMXConstants.TAG_IMAGE_ATTRIBUTE_TRANS, null);
 
-		final String transparentColor = SAXUtils.getAttribute(pAttributes, TMXConstants.TAG_IMAGE_ATTRIBUTE_TRANS, null);
-		if(transparentColor == null) {
-			BitmapTextureAtlasTextureRegionFactory.createFromSource(bitmapTextureAtlas, assetBitmapTextureAtlasSource, 0, 0);
+		if(pTMXTileSetCache == null) {
+			this.mTexture = TMXTileSet.createTexture(pAssetManager, pTextureManager, this.mImageSource, this.mTransparentColor, this.mTextureOptions);
+			this.mTexture.load();
 		} else {
-			try{
-				final int color = Color.parseColor((transparentColor.charAt(0) == '#') ? transparentColor : "#" + transparentColor);
-				BitmapTextureAtlasTextureRegionFactory.createFromSource(bitmapTextureAtlas, new ColorKeyBitmapTextureAtlasSourceDecorator(assetBitmapTextureAtlasSource, RectangleBitmapTextureAtlasSourceDecoratorShape.getDefaultInstance(), color), 0, 0);
-			} catch (final IllegalArgumentException e) {
-				throw new TMXParseException("Illegal value: '" + transparentColor + "' for attribute 'trans' supplied!", e);
-			}
+			this.mTexture = pTMXTileSetCache.acquireTexture(pAssetManager, pTextureManager, this.mImageSource, this.mTransparentColor, this.mTextureOptions);
 		}
-		this.mTexture = bitmapTextureAtlas;
-		this.mTexture.load();
+
+		this.mTilesHorizontal = TMXTileSet.determineCount(this.mTexture.getWidth(), this.mTileWidth, this.mMargin, this.mSpacing);
+		this.mTilesVertical = TMXTileSet.determineCount(this.mTexture.getHeight(), this.mTileHeight, this.mMargin, this.mSpacing);
+	}
+
+	/**
+	 * Like {@link #setImageSource(AssetManager, TextureManager, Attributes)}, but without creating a texture.
+	 * The image is packed into an atlas together with the images of the other {@link TMXTileSet}s of the map later, see {@link #setPackedTexture(ITexture, int, int)}.
+	 */
+	void setImageSourceForPacking(final AssetManager pAssetManager, final Attributes pAttributes) throws TMXParseException {
+		this.mImageSource = pAttributes.getValue("", TMXConstants.TAG_IMAGE_ATTRIBUTE_SOURCE);
+		this.mTransparentColor = SAXUtils.getAttribute(pAttributes, TMXConstants.TAG_IMAGE_ATTRIBUTE_TRANS, null);
+
+		this.mPackingBitmapTextureAtlasSource = TMXTileSet.createBitmapTextureAtlasSource(pAssetManager, this.mImageSource, this.mTransparentColor);
+
+		this.mTilesHorizontal = TMXTileSet.determineCount(this.mPackingBitmapTextureAtlasSource.getTextureWidth(), this.mTileWidth, this.mMargin, this.mSpacing);
+		this.mTilesVertical = TMXTileSet.determineCount(this.mPackingBitmapTextureAtlasSource.getTextureHeight(), this.mTileHeight, this.mMargin, this.mSpacing);
+	}
+
+	/**
+	 * @return the image waiting to be packed, or <code>null</code> if there is none.
+	 */
+	IBitmapTextureAtlasSource getPackingBitmapTextureAtlasSource() {
+		return this.mPackingBitmapTextureAtlasSource;
+	}
+
+	/**
+	 * @param pTextureX the x position the image of this {@link TMXTileSet} was packed at within <code>pTexture</code>.
+	 * @param pTextureY the y position the image of this {@link TMXTileSet} was packed at within <code>pTexture</code>.
+	 */
+	void setPackedTexture(final ITexture pTexture, final int pTextureX, final int pTextureY) {
+		this.mTexture = pTexture;
+		this.mTextureX = pTextureX;
+		this.mTextureY = pTextureY;
+		this.mPackingBitmapTextureAtlasSource = null;
 	}
 
 	public String getImageSource() {
 		return this.mImageSource;
 	}
 
+	/**
+	 * @return the value of the <code>trans</code> attribute of the <code>&lt;image&gt;</code>, or <code>null</code> if there was none.
+	 */
+	public String getTransparentColor() {
+		return this.mTransparentColor;
+	}
+
 	public SparseArray<TMXProperties<TMXTileProperty>> getTMXTileProperties() {
 		return this.mTMXTileProperties;
 	}
 
+	/**
+	 * @return the {@link TMXTileAnimation}s by the local ID of the animated tile.
+	 */
+	public SparseArray<TMXTileAnimation> getTMXTileAnimations() {
+		return this.mTMXTileAnimations;
+	}
+
 	// ===========================================================
 	// Methods for/from SuperClass/Interfaces
 	// ===========================================================
@@ -159,17 +248,58 @@ public class TMXTileSet implements TMXConstants {
 		}
 	}
 
+	/**
+	 * @return the {@link TMXTileAnimation} of the tile, or <code>null</code> if it is not animated.
+	 */
+	public TMXTileAnimation getTMXTileAnimationFromGlobalTileID(final int pGlobalTileID) {
+		final int localTileID = pGlobalTileID - this.mFirstGlobalTileID;
+		return this.mTMXTileAnimations.get(localTileID);
+	}
+
+	/**
+	 * @param pDuration in milliseconds.
+	 */
+	public void addTMXTileAnimationFrame(final int pLocalTileID, final int pFrameLocalTileID, final int pDuration) {
+		TMXTileAnimation tmxTileAnimation = this.mTMXTileAnimations.get(pLocalTileID);
+		if(tmxTileAnimation == null) {
+			tmxTileAnimation = new TMXTileAnimation();
+			this.mTMXTileAnimations.put(pLocalTileID, tmxTileAnimation);
+		}
+		tmxTileAnimation.addFrame(pFrameLocalTileID, pDuration);
+	}
+
 	public ITextureRegion getTextureRegionFromGlobalTileID(final int pGlobalTileID) {
 		final int localTileID = pGlobalTileID - this.mFirstGlobalTileID;
 		final int tileColumn = localTileID % this.mTilesHorizontal;
 		final int tileRow = localTileID / this.mTilesHorizontal;
 
-		final int texturePositionX = this.mMargin + (this.mSpacing + this.mTileWidth) * tileColumn;
-		final int texturePositionY = this.mMargin + (this.mSpacing + this.mTileHeight) * tileRow;
+		final int texturePositionX = this.mTextureX + this.mMargin + (this.mSpacing + this.mTileWidth) * tileColumn;
+		final int texturePositionY = this.mTextureY + this.mMargin + (this.mSpacing + this.mTileHeight) * tileRow;
 
 		return new TextureRegion(this.mTexture, texturePositionX, texturePositionY, this.mTileWidth, this.mTileHeight);
 	}
 
+	static ITexture createTexture(final AssetManager pAssetManager, final TextureManager pTextureManager, final String pImageSource, final String pTransparentColor, final TextureOptions pTextureOptions) throws TMXParseException {
+		final IBitmapTextureAtlasSource bitmapTextureAtlasSource = TMXTileSet.createBitmapTextureAtlasSource(pAssetManager, pImageSource, pTransparentColor);
+		final BitmapTextureAtlas bitmapTextureAtlas = new BitmapTextureAtlas(pTextureManager, bitmapTextureAtlasSource.getTextureWidth(), bitmapTextureAtlasSource.getTextureHeight(), BitmapTextureFormat.RGBA_8888, pTextureOptions); // TODO Make TextureFormat variable
+		BitmapTextureAtlasTextureRegionFactory.createFromSource(bitmapTextureAtlas, bitmapTextureAtlasSource, 0, 0);
+		return bitmapTextureAtlas;
+	}
+
+	static IBitmapTextureAtlasSource createBitmapTextureAtlasSource(final AssetManager pAssetManager, final String pImageSource, final String pTransparentColor) throws TMXParseException {
+		final AssetBitmapTextureAtlasSource assetBitmapTextureAtlasSource = AssetBitmapTextureAtlasSource.create(pAssetManager, pImageSource);
+		if(pTransparentColor == null) {
+			return assetBitmapTextureAtlasSource;
+		} else {
+			try{
+				final int color = Color.parseColor((pTransparentColor.charAt(0) == '#') ? pTransparentColor : "#" + pTransparentColor);
+				return new ColorKeyBitmapTextureAtlasSourceDecorator(assetBitmapTextureAtlasSource, RectangleBitmapTextureAtlasSourceDecoratorShape.getDefaultInstance(), color);
+			} catch (final IllegalArgumentException e) {
+				throw new TMXParseException("Illegal value: '" + pTransparentColor + "' for attribute 'trans' supplied!", e);
+			}
+		}
+	}
+
 	private static int determineCount(final int pTotalExtent, final int pTileExtent, final int pMargin, final int pSpacing) {
 		int count = 0;
 		int remainingExtent = pTotalExtent;
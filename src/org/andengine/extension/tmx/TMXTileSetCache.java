@@ -0,0 +1,213 @@
+package org.andengine.extension.tmx;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+
+import org.andengine.extension.tmx.util.exception.TMXParseException;
+import org.andengine.extension.tmx.util.exception.TSXLoadException;
+import org.andengine.opengl.texture.ITexture;
+import org.andengine.opengl.texture.TextureManager;
+import org.andengine.opengl.texture.TextureOptions;
+
+import android.content.res.AssetManager;
+
+/**
+ * Shares tileset textures and parsed external (TSX) tilesets between multiple {@link TMXTiledMap}s.
+ * Textures are keyed by their image asset path, transparent color and {@link TextureOptions} and are reference counted:
+ * every {@link TMXTileSet} that uses a cached texture holds one reference, which is given back with {@link #release(TMXTiledMap)}.
+ * Textures that are no longer referenced stay loaded until they are evicted explicitly, so switching between maps that share tilesets does not reload them.
+ *
+ * Pass the same instance to every {@link TMXLoader} that should share tilesets.
+ *
+ * (c) 2026 Nicolas Gramlich
+ *
+ * @author Nicolas Gramlich
+ * @since 06:32:19 - 18.10.2026
+ */
+public class TMXTileSetCache {
+	// ===========================================================
+	// Constants
+	// ===========================================================
+
+	// ===========================================================
+	// Fields
+	// ===========================================================
+
+	private final HashMap<String, CachedTexture> mCachedTextures = new HashMap<String, CachedTexture>();
+	private final HashMap<ITexture, CachedTexture> mCachedTexturesByTexture = new HashMap<ITexture, CachedTexture>();
+	private final HashMap<String, TMXTileSet> mTSXTileSets = new HashMap<String, TMXTileSet>();
+
+	// ===========================================================
+	// Constructors
+	// ===========================================================
+
+	// ===========================================================
+	// Getter & Setter
+	// ===========================================================
+
+	public synchronized int getCachedTextureCount() {
+		return this.mCachedTextures.size();
+	}
+
+	/**
+	 * @return the number of {@link TMXTileSet}s currently using <code>pTexture</code>, or <code>0</code> if <code>pTexture</code> is not managed by this {@link TMXTileSetCache}.
+	 */
+	public synchronized int getReferenceCount(final ITexture pTexture) {
+		final CachedTexture cachedTexture = this.mCachedTexturesByTexture.get(pTexture);
+		return (cachedTexture == null) ? 0 : cachedTexture.mReferenceCount;
+	}
+
+	// ===========================================================
+	// Methods for/from SuperClass/Interfaces
+	// ===========================================================
+
+	// ===========================================================
+	// Methods
+	// ===========================================================
+
+	/**
+	 * The TSX file is only parsed the first time it is requested. Later requests get a {@link TMXTileSet} starting at <code>pFirstGlobalTileID</code> that shares the texture and tile properties of the first one.
+	 */
+	public synchronized TMXTileSet acquireTSXTileSet(final AssetManager pAssetManager, final TextureManager pTextureManager, final TextureOptions pTextureOptions, final int pFirstGlobalTileID, final String pAssetPath) throws TSXLoadException {
+		final String key = TMXTileSetCache.getKey(pAssetPath, pTextureOptions);
+
+		final TMXTileSet cachedTMXTileSet = this.mTSXTileSets.get(key);
+		if(cachedTMXTileSet == null) {
+			/* Loading acquires the texture, that reference belongs to the TMXTileSet returned here. */
+			final TSXLoader tsxLoader = new TSXLoader(pAssetManager, pTextureManager, pTextureOptions, this);
+			final TMXTileSet tmxTileSet = tsxLoader.loadFromAsset(pFirstGlobalTileID, pAssetPath);
+			this.mTSXTileSets.put(key, tmxTileSet);
+			return new TMXTileSet(pFirstGlobalTileID, tmxTileSet);
+		} else {
+			final CachedTexture cachedTexture = this.mCachedTexturesByTexture.get(cachedTMXTileSet.getTexture());
+			if(cachedTexture != null) {
+				cachedTexture.mReferenceCount++;
+			}
+			return new TMXTileSet(pFirstGlobalTileID, cachedTMXTileSet);
+		}
+	}
+
+	/**
+	 * @return a loaded texture. Call {@link #release(ITexture)} once it is no longer needed.
+	 */
+	public synchronized ITexture acquireTexture(final AssetManager pAssetManager, final TextureManager pTextureManager, final String pImageSource, final String pTransparentColor, final TextureOptions pTextureOptions) throws TMXParseException {
+		final String key = TMXTileSetCache.getKey(pImageSource + '#' + pTransparentColor, pTextureOptions);
+
+		CachedTexture cachedTexture = this.mCachedTextures.get(key);
+		if(cachedTexture == null) {
+			final ITexture texture = TMXTileSet.createTexture(pAssetManager, pTextureManager, pImageSource, pTransparentColor, pTextureOptions);
+			texture.load();
+
+			cachedTexture = new CachedTexture(key, texture);
+			this.mCachedTextures.put(key, cachedTexture);
+			this.mCachedTexturesByTexture.put(texture, cachedTexture);
+		}
+		cachedTexture.mReferenceCount++;
+		return cachedTexture.mTexture;
+	}
+
+	/**
+	 * Gives back the references held by the {@link TMXTileSet}s of <code>pTMXTiledMap</code>. The textures stay loaded until they are evicted.
+	 */
+	public synchronized void release(final TMXTiledMap pTMXTiledMap) {
+		final ArrayList<TMXTileSet> tmxTileSets = pTMXTiledMap.getTMXTileSets();
+		for(int i = 0; i < tmxTileSets.size(); i++) {
+			final ITexture texture = tmxTileSets.get(i).getTexture();
+			if(texture != null && this.mCachedTexturesByTexture.containsKey(texture)) {
+				this.release(texture);
+			}
+		}
+	}
+
+	public synchronized void release(final ITexture pTexture) {
+		final CachedTexture cachedTexture = this.mCachedTexturesByTexture.get(pTexture);
+		if(cachedTexture == null) {
+			throw new IllegalArgumentException("Texture is not managed by this " + this.getClass().getSimpleName() + ".");
+		}
+		if(cachedTexture.mReferenceCount == 0) {
+			throw new IllegalStateException("Texture '" + cachedTexture.mKey + "' was released more often than it was acquired.");
+		}
+		cachedTexture.mReferenceCount--;
+	}
+
+	/**
+	 * Unloads all textures that are no longer referenced and forgets the TSX tilesets using them.
+	 *
+	 * @return the number of evicted textures.
+	 */
+	public synchronized int evictUnused() {
+		return this.evict(false);
+	}
+
+	/**
+	 * Unloads all textures, including the ones still referenced by loaded {@link TMXTiledMap}s, which must not be drawn afterwards.
+	 *
+	 * @return the number of evicted textures.
+	 */
+	public synchronized int evictAll() {
+		return this.evict(true);
+	}
+
+	private int evict(final boolean pEvictReferenced) {
+		int evictedCount = 0;
+
+		final Iterator<CachedTexture> cachedTextureIterator = this.mCachedTextures.values().iterator();
+		while(cachedTextureIterator.hasNext()) {
+			final CachedTexture cachedTexture = cachedTextureIterator.next();
+			if(pEvictReferenced || cachedTexture.mReferenceCount == 0) {
+				cachedTextureIterator.remove();
+				this.mCachedTexturesByTexture.remove(cachedTexture.mTexture);
+				cachedTexture.mTexture.unload();
+				evictedCount++;
+			}
+		}
+
+		final Iterator<TMXTileSet> tsxTileSetIterator = this.mTSXTileSets.values().iterator();
+		while(tsxTileSetIterator.hasNext()) {
+			final ITexture texture = tsxTileSetIterator.next().getTexture();
+			if(texture != null && !this.mCachedTexturesByTexture.containsKey(texture)) {
+				tsxTileSetIterator.remove();
+			}
+		}
+
+		return evictedCount;
+	}
+
+	private static String getKey(final String pAssetPath, final TextureOptions pTextureOptions) {
+		return new StringBuilder(pAssetPath)
+			.append('|').append(pTextureOptions.mMinFilter)
+			.append('|').append(pTextureOptions.mMagFilter)
+			.append('|').append(pTextureOptions.mWrapS)
+			.append('|').append(pTextureOptions.mWrapT)
+			.append('|').append(pTextureOptions.mPreMultiplyAlpha)
+			.toString();
+	}
+
+	// ===========================================================
+	// Inner and Anonymous Classes
+	// ===========================================================
+
+	private static class CachedTexture {
+		// ===========================================================
+		// Constants
+		// ===========================================================
+
+		// ===========================================================
+		// Fields
+		// ===========================================================
+
+		final String mKey;
+		final ITexture mTexture;
+		int mReferenceCount;
+
+		// ===========================================================
+		// Constructors
+		// ===========================================================
+
+		CachedTexture(final String pKey, final ITexture pTexture) {
+			this.mKey = pKey;
+			this.mTexture = pTexture;
+		}
+	}
+}
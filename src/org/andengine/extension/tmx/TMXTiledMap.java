@@ -35,8 +35,12 @@ public class TMXTiledMap implements TMXConstants {
 	private final ArrayList<TMXLayer> mTMXLayers = new ArrayList<TMXLayer>();
 	private final ArrayList<TMXObjectGroup> mTMXObjectGroups = new ArrayList<TMXObjectGroup>();
 
-	private final SparseArray<ITextureRegion> mGlobalTileIDToTextureRegionCache = new SparseArray<ITextureRegion>();
-	private final SparseArray<TMXProperties<TMXTileProperty>> mGlobalTileIDToTMXTilePropertiesCache = new SparseArray<TMXProperties<TMXTileProperty>>();
+	/** Indexed by global tile ID. Built on the first lookup, once all {@link TMXTileSet}s are known, see {@link #getTextureRegionFromGlobalTileID(int)}. */
+	private ITextureRegion[] mGlobalTileIDToTextureRegions;
+	/** Indexed by global tile ID. Built on the first lookup, once all {@link TMXTileSet}s are known, see {@link #getTMXTileProperties(int)}. */
+	private TMXProperties<TMXTileProperty>[] mGlobalTileIDToTMXTileProperties;
+	/** One bit per global tile ID, set if the tile has {@link TMXTileProperty}s. */
+	private long[] mGlobalTileIDsWithTMXTileProperties;
 
 	private final TMXProperties<TMXTiledMapProperty> mTMXTiledMapProperties = new TMXProperties<TMXTiledMapProperty>();
 
@@ -98,6 +102,8 @@ public class TMXTiledMap implements TMXConstants {
 
 	void addTMXTileSet(final TMXTileSet pTMXTileSet) {
 		this.mTMXTileSets.add(pTMXTileSet);
+		this.invalidateTextureRegions();
+		this.invalidateTMXTileProperties();
 	}
 
 	public ArrayList<TMXTileSet> getTMXTileSets() {
@@ -120,8 +126,33 @@ public class TMXTiledMap implements TMXConstants {
 		return this.mTMXObjectGroups;
 	}
 
+	/**
+	 * @param pGlobalTileID the flip flags are ignored, see {@link TMXConstants#GLOBALTILEID_FLAGS}.
+	 * @return the {@link TMXTileProperty}s of the tile, or <code>null</code> if it has none.
+	 */
 	public TMXProperties<TMXTileProperty> getTMXTilePropertiesByGlobalTileID(final int pGlobalTileID) {
-		return this.mGlobalTileIDToTMXTilePropertiesCache.get(pGlobalTileID);
+		this.ensureTMXTileProperties();
+
+		final int globalTileID = pGlobalTileID & ~TMXConstants.GLOBALTILEID_FLAGS;
+		final TMXProperties<TMXTileProperty>[] globalTileIDToTMXTileProperties = this.mGlobalTileIDToTMXTileProperties;
+		if(globalTileID < globalTileIDToTMXTileProperties.length) {
+			return globalTileIDToTMXTileProperties[globalTileID];
+		}
+		return null;
+	}
+
+	/**
+	 * Allows skipping tiles without any {@link TMXTileProperty}s without looking them up.
+	 *
+	 * @param pGlobalTileID the flip flags are ignored, see {@link TMXConstants#GLOBALTILEID_FLAGS}.
+	 */
+	public boolean hasTMXTileProperties(final int pGlobalTileID) {
+		this.ensureTMXTileProperties();
+
+		final int globalTileID = pGlobalTileID & ~TMXConstants.GLOBALTILEID_FLAGS;
+		final long[] globalTileIDsWithTMXTileProperties = this.mGlobalTileIDsWithTMXTileProperties;
+		final int word = globalTileID >>> 6;
+		return word < globalTileIDsWithTMXTileProperties.length && (globalTileIDsWithTMXTileProperties[word] & (1L << globalTileID)) != 0;
 	}
 
 	public void addTMXTiledMapProperty(final TMXTiledMapProperty pTMXTiledMapProperty) {
@@ -141,44 +172,150 @@ public class TMXTiledMap implements TMXConstants {
 	// ===========================================================
 
 	public TMXProperties<TMXTileProperty> getTMXTileProperties(final int pGlobalTileID) {
-		final SparseArray<TMXProperties<TMXTileProperty>> globalTileIDToTMXTilePropertiesCache = this.mGlobalTileIDToTMXTilePropertiesCache;
-
-		final TMXProperties<TMXTileProperty> cachedTMXTileProperties = globalTileIDToTMXTilePropertiesCache.get(pGlobalTileID);
-		if(cachedTMXTileProperties != null) {
-			return cachedTMXTileProperties;
-		} else {
-			final ArrayList<TMXTileSet> tmxTileSets = this.mTMXTileSets;
-
-			for(int i = tmxTileSets.size() - 1; i >= 0; i--) {
-				final TMXTileSet tmxTileSet = tmxTileSets.get(i);
-				if(pGlobalTileID >= tmxTileSet.getFirstGlobalTileID()) {
-					return tmxTileSet.getTMXTilePropertiesFromGlobalTileID(pGlobalTileID);
-				}
-			}
+		final ArrayList<TMXTileSet> tmxTileSets = this.mTMXTileSets;
+		if(tmxTileSets.isEmpty() || (pGlobalTileID & ~TMXConstants.GLOBALTILEID_FLAGS) < tmxTileSets.get(0).getFirstGlobalTileID()) {
 			throw new IllegalArgumentException("No TMXTileProperties found for pGlobalTileID=" + pGlobalTileID);
 		}
+		return this.getTMXTilePropertiesByGlobalTileID(pGlobalTileID);
 	}
 
+	/**
+	 * @param pGlobalTileID the flip flags are ignored, see {@link TMXConstants#GLOBALTILEID_FLAGS}.
+	 * @return the {@link TMXTileSet} with the highest first global tile ID not above the tile, or <code>null</code> if there is none.
+	 */
+	public TMXTileSet getTMXTileSetFromGlobalTileID(final int pGlobalTileID) {
+		final int globalTileID = pGlobalTileID & ~TMXConstants.GLOBALTILEID_FLAGS;
+		final ArrayList<TMXTileSet> tmxTileSets = this.mTMXTileSets;
+		for(int i = tmxTileSets.size() - 1; i >= 0; i--) {
+			final TMXTileSet tmxTileSet = tmxTileSets.get(i);
+			if(tmxTileSet.getFirstGlobalTileID() <= globalTileID) {
+				return tmxTileSet;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * @param pGlobalTileID the flip flags are ignored, see {@link TMXConstants#GLOBALTILEID_FLAGS}.
+	 * @return the {@link TMXTileAnimation} of the tile, or <code>null</code> if it is not animated.
+	 */
+	public TMXTileAnimation getTMXTileAnimationByGlobalTileID(final int pGlobalTileID) {
+		final TMXTileSet tmxTileSet = this.getTMXTileSetFromGlobalTileID(pGlobalTileID);
+		if(tmxTileSet == null) {
+			return null;
+		}
+		return tmxTileSet.getTMXTileAnimationFromGlobalTileID(pGlobalTileID & ~TMXConstants.GLOBALTILEID_FLAGS);
+	}
+
+	/**
+	 * Allows {@link TMXLayer}s to skip looking for animated tiles.
+	 */
+	public boolean hasTMXTileAnimations() {
+		final ArrayList<TMXTileSet> tmxTileSets = this.mTMXTileSets;
+		for(int i = tmxTileSets.size() - 1; i >= 0; i--) {
+			if(tmxTileSets.get(i).getTMXTileAnimations().size() > 0) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Discards the table built by {@link #getTMXTileProperties(int)}, i.e. after the {@link TMXTileSet}s or their {@link TMXTileProperty}s changed.
+	 */
+	void invalidateTMXTileProperties() {
+		this.mGlobalTileIDToTMXTileProperties = null;
+		this.mGlobalTileIDsWithTMXTileProperties = null;
+	}
+
+	@SuppressWarnings("unchecked")
+	private void ensureTMXTileProperties() {
+		if(this.mGlobalTileIDToTMXTileProperties != null) {
+			return;
+		}
+
+		final ArrayList<TMXTileSet> tmxTileSets = this.mTMXTileSets;
+		final int tmxTileSetCount = tmxTileSets.size();
+
+		int globalTileIDCount = 1;
+		for(int i = 0; i < tmxTileSetCount; i++) {
+			final TMXTileSet tmxTileSet = tmxTileSets.get(i);
+			final SparseArray<TMXProperties<TMXTileProperty>> tmxTileProperties = tmxTileSet.getTMXTileProperties();
+			final int tmxTilePropertiesCount = tmxTileProperties.size();
+			if(tmxTilePropertiesCount > 0) {
+				/* The keys of a SparseArray are sorted. */
+				globalTileIDCount = Math.max(globalTileIDCount, tmxTileSet.getFirstGlobalTileID() + tmxTileProperties.keyAt(tmxTilePropertiesCount - 1) + 1);
+			}
+		}
+
+		/* Later TMXTileSets win where ranges overlap, as in buildTextureRegions. */
+		final TMXProperties<TMXTileProperty>[] globalTileIDToTMXTileProperties = new TMXProperties[globalTileIDCount];
+		final long[] globalTileIDsWithTMXTileProperties = new long[(globalTileIDCount + 63) >>> 6];
+		for(int i = 0; i < tmxTileSetCount; i++) {
+			final TMXTileSet tmxTileSet = tmxTileSets.get(i);
+			final int firstGlobalTileID = tmxTileSet.getFirstGlobalTileID();
+			final SparseArray<TMXProperties<TMXTileProperty>> tmxTileProperties = tmxTileSet.getTMXTileProperties();
+			for(int j = tmxTileProperties.size() - 1; j >= 0; j--) {
+				final int globalTileID = firstGlobalTileID + tmxTileProperties.keyAt(j);
+				globalTileIDToTMXTileProperties[globalTileID] = tmxTileProperties.valueAt(j);
+				globalTileIDsWithTMXTileProperties[globalTileID >>> 6] |= 1L << globalTileID;
+			}
+		}
+
+		this.mGlobalTileIDToTMXTileProperties = globalTileIDToTMXTileProperties;
+		this.mGlobalTileIDsWithTMXTileProperties = globalTileIDsWithTMXTileProperties;
+	}
+
+	/**
+	 * @param pGlobalTileID the flip flags are ignored, see {@link TMXConstants#GLOBALTILEID_FLAGS}. The returned {@link ITextureRegion} is never flipped.
+	 */
 	public ITextureRegion getTextureRegionFromGlobalTileID(final int pGlobalTileID) {
-		final SparseArray<ITextureRegion> globalTileIDToTextureRegionCache = this.mGlobalTileIDToTextureRegionCache;
-
-		final ITextureRegion cachedTextureRegion = globalTileIDToTextureRegionCache.get(pGlobalTileID);
-		if(cachedTextureRegion != null) {
-			return cachedTextureRegion;
-		} else {
-			final ArrayList<TMXTileSet> tmxTileSets = this.mTMXTileSets;
-
-			for(int i = tmxTileSets.size() - 1; i >= 0; i--) {
-				final TMXTileSet tmxTileSet = tmxTileSets.get(i);
-				if(pGlobalTileID >= tmxTileSet.getFirstGlobalTileID()) {
-					final ITextureRegion textureRegion = tmxTileSet.getTextureRegionFromGlobalTileID(pGlobalTileID);
-					/* Add to cache for the all future pGlobalTileIDs with the same value. */
-					globalTileIDToTextureRegionCache.put(pGlobalTileID, textureRegion);
-					return textureRegion;
+		ITextureRegion[] globalTileIDToTextureRegions = this.mGlobalTileIDToTextureRegions;
+		if(globalTileIDToTextureRegions == null) {
+			globalTileIDToTextureRegions = this.buildTextureRegions();
+			this.mGlobalTileIDToTextureRegions = globalTileIDToTextureRegions;
+		}
+
+		final int globalTileID = pGlobalTileID & ~TMXConstants.GLOBALTILEID_FLAGS;
+		if(globalTileID > 0 && globalTileID < globalTileIDToTextureRegions.length) {
+			final ITextureRegion textureRegion = globalTileIDToTextureRegions[globalTileID];
+			if(textureRegion != null) {
+				return textureRegion;
+			}
+		}
+		throw new IllegalArgumentException("No TextureRegion found for pGlobalTileID=" + pGlobalTileID);
+	}
+
+	/**
+	 * Discards the table built by {@link #getTextureRegionFromGlobalTileID(int)}, i.e. after the {@link TMXTileSet}s or their textures changed.
+	 */
+	void invalidateTextureRegions() {
+		this.mGlobalTileIDToTextureRegions = null;
+	}
+
+	private ITextureRegion[] buildTextureRegions() {
+		final ArrayList<TMXTileSet> tmxTileSets = this.mTMXTileSets;
+		final int tmxTileSetCount = tmxTileSets.size();
+
+		int globalTileIDCount = 1;
+		for(int i = 0; i < tmxTileSetCount; i++) {
+			final TMXTileSet tmxTileSet = tmxTileSets.get(i);
+			globalTileIDCount = Math.max(globalTileIDCount, tmxTileSet.getFirstGlobalTileID() + tmxTileSet.getTilesHorizontal() * tmxTileSet.getTilesVertical());
+		}
+
+		/* TMXTileSets are ordered by their first global tile ID, so later ones win where ranges overlap, as the first global tile ID of the next TMXTileSet ends the range of the previous one. */
+		final ITextureRegion[] globalTileIDToTextureRegions = new ITextureRegion[globalTileIDCount];
+		for(int i = 0; i < tmxTileSetCount; i++) {
+			final TMXTileSet tmxTileSet = tmxTileSets.get(i);
+			if(tmxTileSet.getTexture() != null) {
+				final int firstGlobalTileID = tmxTileSet.getFirstGlobalTileID();
+				final int lastGlobalTileID = firstGlobalTileID + tmxTileSet.getTilesHorizontal() * tmxTileSet.getTilesVertical() - 1;
+				for(int globalTileID = firstGlobalTileID; globalTileID <= lastGlobalTileID; globalTileID++) {
+					globalTileIDToTextureRegions[globalTileID] = tmxTileSet.getTextureRegionFromGlobalTileID(globalTileID);
 				}
 			}
-			throw new IllegalArgumentException("No TextureRegion found for pGlobalTileID=" + pGlobalTileID);
 		}
+		return globalTileIDToTextureRegions;
 	}
 
 	// ===========================================================
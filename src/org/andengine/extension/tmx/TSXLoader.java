@@ -36,21 +36,38 @@ public class TSXLoader {
 	private final AssetManager mAssetManager;
 	private final TextureManager mTextureManager;
 	private final TextureOptions mTextureOptions;
+	private final TMXTileSetCache mTMXTileSetCache;
+	private boolean mPackTileSetImages;
 
 	// ===========================================================
 	// Constructors
 	// ===========================================================
 
 	public TSXLoader(final AssetManager pAssetManager, final TextureManager pTextureManager, final TextureOptions pTextureOptions) {
+		this(pAssetManager, pTextureManager, pTextureOptions, null);
+	}
+
+	/**
+	 * @param pTMXTileSetCache may be <code>null</code>.
+	 */
+	public TSXLoader(final AssetManager pAssetManager, final TextureManager pTextureManager, final TextureOptions pTextureOptions, final TMXTileSetCache pTMXTileSetCache) {
 		this.mAssetManager = pAssetManager;
 		this.mTextureManager = pTextureManager;
 		this.mTextureOptions = pTextureOptions;
+		this.mTMXTileSetCache = pTMXTileSetCache;
 	}
 
 	// ===========================================================
 	// Getter & Setter
 	// ===========================================================
 
+	/**
+	 * @param pPackTileSetImages see {@link TSXParser#setPackTileSetImages(boolean)}.
+	 */
+	void setPackTileSetImages(final boolean pPackTileSetImages) {
+		this.mPackTileSetImages = pPackTileSetImages;
+	}
+
 	// ===========================================================
 	// Methods for/from SuperClass/Interfaces
 	// ===========================================================
@@ -73,7 +90,8 @@ public class TSXLoader {
 			final SAXParser sp = spf.newSAXParser();
 
 			final XMLReader xr = sp.getXMLReader();
-			final TSXParser tsxParser = new TSXParser(this.mAssetManager, this.mTextureManager, this.mTextureOptions, pFirstGlobalTileID);
+			final TSXParser tsxParser = new TSXParser(this.mAssetManager, this.mTextureManager, this.mTextureOptions, pFirstGlobalTileID, this.mTMXTileSetCache);
+			tsxParser.setPackTileSetImages(this.mPackTileSetImages);
 			xr.setContentHandler(tsxParser);
 
 			xr.parse(new InputSource(new BufferedInputStream(pInputStream)));
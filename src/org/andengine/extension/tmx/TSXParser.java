@@ -30,6 +30,8 @@ public class TSXParser extends DefaultHandler implements TMXConstants {
 	private final AssetManager mAssetManager;
 	private final TextureManager mTextureManager;
 	private final TextureOptions mTextureOptions;
+	private final TMXTileSetCache mTMXTileSetCache;
+	private boolean mPackTileSetImages;
 
 	private TMXTileSet mTMXTileSet;
 
@@ -45,6 +47,10 @@ public class TSXParser extends DefaultHandler implements TMXConstants {
 	private boolean mInProperties;
 	@SuppressWarnings("unused")
 	private boolean mInProperty;
+	@SuppressWarnings("unused")
+	private boolean mInAnimation;
+	@SuppressWarnings("unused")
+	private boolean mInFrame;
 	private final int mFirstGlobalTileID;
 
 	// ===========================================================
@@ -52,16 +58,31 @@ public class TSXParser extends DefaultHandler implements TMXConstants {
 	// ===========================================================
 
 	public TSXParser(final AssetManager pAssetManager, final TextureManager pTextureManager, final TextureOptions pTextureOptions, final int pFirstGlobalTileID) {
+		this(pAssetManager, pTextureManager, pTextureOptions, pFirstGlobalTileID, null);
+	}
+
+	/**
+	 * @param pTMXTileSetCache may be <code>null</code>.
+	 */
+	public TSXParser(final AssetManager pAssetManager, final TextureManager pTextureManager, final TextureOptions pTextureOptions, final int pFirstGlobalTileID, final TMXTileSetCache pTMXTileSetCache) {
 		this.mAssetManager = pAssetManager;
 		this.mTextureManager = pTextureManager;
 		this.mTextureOptions = pTextureOptions;
 		this.mFirstGlobalTileID = pFirstGlobalTileID;
+		this.mTMXTileSetCache = pTMXTileSetCache;
 	}
 
 	// ===========================================================
 	// Getter & Setter
 	// ===========================================================
 
+	/**
+	 * @param pPackTileSetImages when <code>true</code>, no texture is created for the image of the {@link TMXTileSet}, as it will be packed into an atlas with the other tileset images of the map.
+	 */
+	void setPackTileSetImages(final boolean pPackTileSetImages) {
+		this.mPackTileSetImages = pPackTileSetImages;
+	}
+
 	TMXTileSet getTMXTileSet() {
 		return this.mTMXTileSet;
 	}
@@ -77,7 +98,11 @@ public class TSXParser extends DefaultHandler implements TMXConstants {
 			this.mTMXTileSet = new TMXTileSet(this.mFirstGlobalTileID, pAttributes, this.mTextureOptions);
 		} else if(pLocalName.equals(TMXConstants.TAG_IMAGE)){
 			this.mInImage = true;
-			this.mTMXTileSet.setImageSource(this.mAssetManager, this.mTextureManager, pAttributes);
+			if(this.mPackTileSetImages) {
+				this.mTMXTileSet.setImageSourceForPacking(this.mAssetManager, pAttributes);
+			} else {
+				this.mTMXTileSet.setImageSource(this.mAssetManager, this.mTextureManager, pAttributes, this.mTMXTileSetCache);
+			}
 		} else if(pLocalName.equals(TMXConstants.TAG_TILE)) {
 			this.mInTile = true;
 			this.mLastTileSetTileID = SAXUtils.getIntAttributeOrThrow(pAttributes, TMXConstants.TAG_TILE_ATTRIBUTE_ID);
@@ -86,6 +111,13 @@ public class TSXParser extends DefaultHandler implements TMXConstants {
 		} else if(pLocalName.equals(TMXConstants.TAG_PROPERTY)) {
 			this.mInProperty = true;
 			this.mTMXTileSet.addTMXTileProperty(this.mLastTileSetTileID, new TMXTileProperty(pAttributes));
+		} else if(pLocalName.equals(TMXConstants.TAG_ANIMATION)) {
+			this.mInAnimation = true;
+		} else if(pLocalName.equals(TMXConstants.TAG_FRAME)) {
+			this.mInFrame = true;
+			final int frameLocalTileID = SAXUtils.getIntAttributeOrThrow(pAttributes, TMXConstants.TAG_FRAME_ATTRIBUTE_TILEID);
+			final int frameDuration = SAXUtils.getIntAttributeOrThrow(pAttributes, TMXConstants.TAG_FRAME_ATTRIBUTE_DURATION);
+			this.mTMXTileSet.addTMXTileAnimationFrame(this.mLastTileSetTileID, frameLocalTileID, frameDuration);
 		} else {
 			throw new TMXParseException("Unexpected start tag: '" + pLocalName + "'.");
 		}
@@ -103,6 +135,10 @@ public class TSXParser extends DefaultHandler implements TMXConstants {
 			this.mInProperties = false;
 		} else if(pLocalName.equals(TMXConstants.TAG_PROPERTY)) {
 			this.mInProperty = false;
+		} else if(pLocalName.equals(TMXConstants.TAG_ANIMATION)) {
+			this.mInAnimation = false;
+		} else if(pLocalName.equals(TMXConstants.TAG_FRAME)) {
+			this.mInFrame = false;
 		} else {
 			throw new TMXParseException("Unexpected end tag: '" + pLocalName + "'.");
 		}
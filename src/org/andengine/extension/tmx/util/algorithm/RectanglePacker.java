@@ -0,0 +1,224 @@
+package org.andengine.extension.tmx.util.algorithm;
+
+/**
+ * Packs rectangles into as few power-of-two sized atlases as possible, using shelves sorted by decreasing height.
+ * Every atlas but the last is as large as allowed, the last one is shrunk to the smallest power-of-two size that still fits its rectangles.
+ * Pure Java and independent of any texture classes.
+ *
+ * (c) 2026 Nicolas Gramlich
+ *
+ * @author Nicolas Gramlich
+ * @since 06:38:44 - 18.10.2026
+ */
+public class RectanglePacker {
+	// ===========================================================
+	// Constants
+	// ===========================================================
+
+	// ===========================================================
+	// Fields
+	// ===========================================================
+
+	private final int mAtlasSizeMaximum;
+	private final int mPadding;
+
+	private int mAtlasCount;
+	private int[] mAtlasWidths = new int[1];
+	private int[] mAtlasHeights = new int[1];
+
+	// ===========================================================
+	// Constructors
+	// ===========================================================
+
+	/**
+	 * @param pAtlasSizeMaximum the maximum width and height of an atlas, needs to be a power of two.
+	 * @param pPadding the minimum distance between two rectangles, to avoid bleeding when the atlas is filtered.
+	 */
+	public RectanglePacker(final int pAtlasSizeMaximum, final int pPadding) {
+		if(pAtlasSizeMaximum <= 0 || (pAtlasSizeMaximum & (pAtlasSizeMaximum - 1)) != 0) {
+			throw new IllegalArgumentException("pAtlasSizeMaximum must be a power of two.");
+		}
+		if(pPadding < 0) {
+			throw new IllegalArgumentException("pPadding must not be negative.");
+		}
+		this.mAtlasSizeMaximum = pAtlasSizeMaximum;
+		this.mPadding = pPadding;
+	}
+
+	// ===========================================================
+	// Getter & Setter
+	// ===========================================================
+
+	/**
+	 * @return the number of atlases used by the last call to {@link #pack(int[], int[], int[], int[], int[])}.
+	 */
+	public int getAtlasCount() {
+		return this.mAtlasCount;
+	}
+
+	public int getAtlasWidth(final int pAtlasIndex) {
+		return this.mAtlasWidths[pAtlasIndex];
+	}
+
+	public int getAtlasHeight(final int pAtlasIndex) {
+		return this.mAtlasHeights[pAtlasIndex];
+	}
+
+	// ===========================================================
+	// Methods for/from SuperClass/Interfaces
+	// ===========================================================
+
+	// ===========================================================
+	// Methods
+	// ===========================================================
+
+	/**
+	 * @param pWidths the widths of the rectangles.
+	 * @param pHeights the heights of the rectangles.
+	 * @param pAtlasIndices receives the index of the atlas every rectangle was packed into.
+	 * @param pXs receives the x position of every rectangle within its atlas.
+	 * @param pYs receives the y position of every rectangle within its atlas.
+	 * @return the number of atlases used.
+	 * @throws IllegalArgumentException if a rectangle does not fit into an atlas of the maximum size.
+	 */
+	public int pack(final int[] pWidths, final int[] pHeights, final int[] pAtlasIndices, final int[] pXs, final int[] pYs) throws IllegalArgumentException {
+		final int count = pWidths.length;
+		final int atlasSizeMaximum = this.mAtlasSizeMaximum;
+		for(int i = 0; i < count; i++) {
+			if(pWidths[i] > atlasSizeMaximum || pHeights[i] > atlasSizeMaximum) {
+				throw new IllegalArgumentException("Rectangle " + i + " (" + pWidths[i] + "x" + pHeights[i] + ") is larger than the maximum atlas size of " + atlasSizeMaximum + ".");
+			}
+		}
+
+		/* Sort by decreasing height, then decreasing width. */
+		final int[] order = new int[count];
+		for(int i = 0; i < count; i++) {
+			order[i] = i;
+		}
+		for(int i = 1; i < count; i++) {
+			final int index = order[i];
+			int j = i - 1;
+			while(j >= 0 && RectanglePacker.isPlacedBefore(pWidths, pHeights, index, order[j])) {
+				order[j + 1] = order[j];
+				j--;
+			}
+			order[j + 1] = index;
+		}
+
+		final boolean[] packed = new boolean[count];
+		int remaining = count;
+		this.mAtlasCount = 0;
+		while(remaining > 0) {
+			final int atlasIndex = this.mAtlasCount;
+			this.ensureAtlasCapacity(atlasIndex + 1);
+
+			/* Try the smallest power-of-two sizes first, that could fit all remaining rectangles. */
+			final long remainingArea = this.getArea(pWidths, pHeights, order, packed);
+			boolean packedAll = false;
+			for(int height = 1; height <= atlasSizeMaximum && !packedAll; height <<= 1) {
+				for(int width = Math.max(1, height >> 1); width <= Math.min(atlasSizeMaximum, height << 1) && !packedAll; width <<= 1) {
+					if((long)width * height >= remainingArea) {
+						packedAll = this.packShelves(pWidths, pHeights, order, packed, width, height, atlasIndex, pAtlasIndices, pXs, pYs, false) == remaining;
+						if(packedAll) {
+							this.mAtlasWidths[atlasIndex] = width;
+							this.mAtlasHeights[atlasIndex] = height;
+						}
+					}
+				}
+			}
+
+			final int packedCount;
+			if(packedAll) {
+				packedCount = this.packShelves(pWidths, pHeights, order, packed, this.mAtlasWidths[atlasIndex], this.mAtlasHeights[atlasIndex], atlasIndex, pAtlasIndices, pXs, pYs, true);
+			} else {
+				/* Fill an atlas of the maximum size and continue with the rest. */
+				this.mAtlasWidths[atlasIndex] = atlasSizeMaximum;
+				this.mAtlasHeights[atlasIndex] = atlasSizeMaximum;
+				packedCount = this.packShelves(pWidths, pHeights, order, packed, atlasSizeMaximum, atlasSizeMaximum, atlasIndex, pAtlasIndices, pXs, pYs, true);
+			}
+
+			remaining -= packedCount;
+			this.mAtlasCount++;
+		}
+
+		return this.mAtlasCount;
+	}
+
+	/**
+	 * @param pCommit whether to write the positions and mark the rectangles as packed, or only count how many would fit.
+	 * @return the number of rectangles that fit.
+	 */
+	private int packShelves(final int[] pWidths, final int[] pHeights, final int[] pOrder, final boolean[] pPacked, final int pAtlasWidth, final int pAtlasHeight, final int pAtlasIndex, final int[] pAtlasIndices, final int[] pXs, final int[] pYs, final boolean pCommit) {
+		final int padding = this.mPadding;
+
+		int packedCount = 0;
+		int shelfY = 0;
+		int shelfHeight = 0;
+		int shelfX = 0;
+		for(int i = 0; i < pOrder.length; i++) {
+			final int index = pOrder[i];
+			if(pPacked[index]) {
+				continue;
+			}
+
+			final int width = pWidths[index];
+			final int height = pHeights[index];
+			if(width > pAtlasWidth) {
+				continue;
+			}
+			if(shelfX > 0 && shelfX + width > pAtlasWidth) {
+				/* Open the next shelf. */
+				shelfY += shelfHeight + padding;
+				shelfX = 0;
+				shelfHeight = 0;
+			}
+			if(shelfY + height > pAtlasHeight) {
+				continue;
+			}
+
+			if(pCommit) {
+				pPacked[index] = true;
+				pAtlasIndices[index] = pAtlasIndex;
+				pXs[index] = shelfX;
+				pYs[index] = shelfY;
+			}
+			shelfX += width + padding;
+			shelfHeight = Math.max(shelfHeight, height);
+			packedCount++;
+		}
+		return packedCount;
+	}
+
+	private long getArea(final int[] pWidths, final int[] pHeights, final int[] pOrder, final boolean[] pPacked) {
+		long area = 0;
+		for(int i = 0; i < pOrder.length; i++) {
+			final int index = pOrder[i];
+			if(!pPacked[index]) {
+				area += (long)pWidths[index] * pHeights[index];
+			}
+		}
+		return area;
+	}
+
+	private void ensureAtlasCapacity(final int pCapacity) {
+		if(this.mAtlasWidths.length < pCapacity) {
+			final int[] atlasWidths = new int[pCapacity * 2];
+			final int[] atlasHeights = new int[pCapacity * 2];
+			System.arraycopy(this.mAtlasWidths, 0, atlasWidths, 0, this.mAtlasWidths.length);
+			System.arraycopy(this.mAtlasHeights, 0, atlasHeights, 0, this.mAtlasHeights.length);
+			this.mAtlasWidths = atlasWidths;
+			this.mAtlasHeights = atlasHeights;
+		}
+	}
+
+	private static boolean isPlacedBefore(final int[] pWidths, final int[] pHeights, final int pIndexA, final int pIndexB) {
+		if(pHeights[pIndexA] != pHeights[pIndexB]) {
+			return pHeights[pIndexA] > pHeights[pIndexB];
+		}
+		return pWidths[pIndexA] > pWidths[pIndexB];
+	}
+
+	// ===========================================================
+	// Inner and Anonymous Classes
+	// ===========================================================
+}
@@ -0,0 +1,309 @@
+package org.andengine.extension.tmx.util.algorithm;
+
+import java.util.Arrays;
+
+/**
+ * Merges the matching cells of a tile grid into few axis-aligned rectangles (greedy meshing) and traces their outlines,
+ * i.e. to create a handful of physics bodies instead of one per solid tile.
+ * The matcher is asked once per cell in {@link #setTiles(int, int, ITileMatcher)}, all further work runs on the cached grid.
+ * Coordinates are in tiles, with the y-axis pointing down. Pure Java and independent of any TMX classes, so instances can be reused.
+ *
+ * (c) 2026 Nicolas Gramlich
+ *
+ * @author Nicolas Gramlich
+ * @since 06:45:12 - 18.10.2026
+ */
+public class TileRectangleMerger {
+	// ===========================================================
+	// Constants
+	// ===========================================================
+
+	private static final int DIRECTION_NONE = -1;
+	/* Clockwise, in a coordinate system with the y-axis pointing down. */
+	private static final int DIRECTION_RIGHT = 0;
+	private static final int DIRECTION_DOWN = 1;
+	private static final int DIRECTION_LEFT = 2;
+	private static final int DIRECTION_UP = 3;
+
+	private static final int[] DIRECTION_DX = { 1, 0, -1, 0 };
+	private static final int[] DIRECTION_DY = { 0, 1, 0, -1 };
+
+	// ===========================================================
+	// Fields
+	// ===========================================================
+
+	private int mTileColumns;
+	private int mTileRows;
+	private boolean[] mTiles = new boolean[0];
+	private int mTileCount;
+
+	private boolean[] mCovered = new boolean[0];
+	/** Two outgoing boundary edges per grid corner at most, stored as their direction. */
+	private int[] mOutlineEdges = new int[0];
+	private int[] mOutlineVertices = new int[16];
+
+	// ===========================================================
+	// Constructors
+	// ===========================================================
+
+	// ===========================================================
+	// Getter & Setter
+	// ===========================================================
+
+	public int getTileColumns() {
+		return this.mTileColumns;
+	}
+
+	public int getTileRows() {
+		return this.mTileRows;
+	}
+
+	/**
+	 * @return the number of matching cells.
+	 */
+	public int getTileCount() {
+		return this.mTileCount;
+	}
+
+	public boolean isTile(final int pTileColumn, final int pTileRow) {
+		if(pTileColumn < 0 || pTileColumn >= this.mTileColumns || pTileRow < 0 || pTileRow >= this.mTileRows) {
+			return false;
+		}
+		return this.mTiles[pTileRow * this.mTileColumns + pTileColumn];
+	}
+
+	// ===========================================================
+	// Methods for/from SuperClass/Interfaces
+	// ===========================================================
+
+	// ===========================================================
+	// Methods
+	// ===========================================================
+
+	public void setTiles(final int pTileColumns, final int pTileRows, final ITileMatcher pTileMatcher) {
+		final int size = pTileColumns * pTileRows;
+		if(this.mTiles.length < size) {
+			this.mTiles = new boolean[size];
+			this.mCovered = new boolean[size];
+		}
+		this.mTileColumns = pTileColumns;
+		this.mTileRows = pTileRows;
+
+		final boolean[] tiles = this.mTiles;
+		int tileCount = 0;
+		for(int row = 0; row < pTileRows; row++) {
+			final int rowOffset = row * pTileColumns;
+			for(int column = 0; column < pTileColumns; column++) {
+				final boolean tile = pTileMatcher.matches(column, row);
+				tiles[rowOffset + column] = tile;
+				if(tile) {
+					tileCount++;
+				}
+			}
+		}
+		this.mTileCount = tileCount;
+	}
+
+	/**
+	 * Scans the cells row by row. Every matching cell not yet covered starts a rectangle, which is grown to the right first and then downwards, as long as all its cells match.
+	 * The rectangles do not overlap and cover exactly the matching cells.
+	 *
+	 * @return the number of rectangles reported to <code>pTileRectangleListener</code>.
+	 */
+	public int mergeTileRectangles(final ITileRectangleListener pTileRectangleListener) {
+		final int tileColumns = this.mTileColumns;
+		final int tileRows = this.mTileRows;
+		final boolean[] tiles = this.mTiles;
+		final boolean[] covered = this.mCovered;
+		System.arraycopy(tiles, 0, covered, 0, tileColumns * tileRows);
+		/* From here on, covered holds the cells that still need to be covered. */
+
+		int rectangleCount = 0;
+		for(int row = 0; row < tileRows; row++) {
+			final int rowOffset = row * tileColumns;
+			for(int column = 0; column < tileColumns; column++) {
+				if(!covered[rowOffset + column]) {
+					continue;
+				}
+
+				int width = 1;
+				while(column + width < tileColumns && covered[rowOffset + column + width]) {
+					width++;
+				}
+
+				int height = 1;
+				growing:
+				while(row + height < tileRows) {
+					final int nextRowOffset = (row + height) * tileColumns + column;
+					for(int i = 0; i < width; i++) {
+						if(!covered[nextRowOffset + i]) {
+							break growing;
+						}
+					}
+					height++;
+				}
+
+				for(int y = 0; y < height; y++) {
+					final int coveredRowOffset = (row + y) * tileColumns + column;
+					for(int x = 0; x < width; x++) {
+						covered[coveredRowOffset + x] = false;
+					}
+				}
+
+				pTileRectangleListener.onTileRectangle(column, row, width, height);
+				rectangleCount++;
+				column += width - 1;
+			}
+		}
+		return rectangleCount;
+	}
+
+	/**
+	 * Traces the boundaries between matching and non-matching cells into closed polylines, with collinear points removed.
+	 * Outer boundaries run clockwise (with the y-axis pointing down), boundaries of holes counter-clockwise.
+	 * Regions touching only at a corner get separate outlines.
+	 *
+	 * @return the number of outlines reported to <code>pTileOutlineListener</code>.
+	 */
+	public int traceTileOutlines(final ITileOutlineListener pTileOutlineListener) {
+		final int tileColumns = this.mTileColumns;
+		final int tileRows = this.mTileRows;
+		final int cornerColumns = tileColumns + 1;
+		final int cornerCount = cornerColumns * (tileRows + 1);
+
+		if(this.mOutlineEdges.length < cornerCount * 2) {
+			this.mOutlineEdges = new int[cornerCount * 2];
+		}
+		final int[] outlineEdges = this.mOutlineEdges;
+		Arrays.fill(outlineEdges, 0, cornerCount * 2, TileRectangleMerger.DIRECTION_NONE);
+
+		/* Every matching cell contributes its sides facing non-matching cells, walked clockwise, so the cell is on the right. */
+		for(int row = 0; row < tileRows; row++) {
+			for(int column = 0; column < tileColumns; column++) {
+				if(!this.isTile(column, row)) {
+					continue;
+				}
+				if(!this.isTile(column, row - 1)) {
+					TileRectangleMerger.addOutlineEdge(outlineEdges, row * cornerColumns + column, TileRectangleMerger.DIRECTION_RIGHT);
+				}
+				if(!this.isTile(column + 1, row)) {
+					TileRectangleMerger.addOutlineEdge(outlineEdges, row * cornerColumns + column + 1, TileRectangleMerger.DIRECTION_DOWN);
+				}
+				if(!this.isTile(column, row + 1)) {
+					TileRectangleMerger.addOutlineEdge(outlineEdges, (row + 1) * cornerColumns + column + 1, TileRectangleMerger.DIRECTION_LEFT);
+				}
+				if(!this.isTile(column - 1, row)) {
+					TileRectangleMerger.addOutlineEdge(outlineEdges, (row + 1) * cornerColumns + column, TileRectangleMerger.DIRECTION_UP);
+				}
+			}
+		}
+
+		/* The first corner with an edge left in row-major order always is the top left corner of an outline, which has exactly one outgoing edge. */
+		int outlineCount = 0;
+		for(int startCorner = 0; startCorner < cornerCount; startCorner++) {
+			while(outlineEdges[startCorner * 2] != TileRectangleMerger.DIRECTION_NONE) {
+				int vertexCount = 0;
+				int corner = startCorner;
+				int direction = TileRectangleMerger.removeOutlineEdge(outlineEdges, corner, TileRectangleMerger.DIRECTION_NONE);
+				final int startDirection = direction;
+				do {
+					final int nextCorner = corner + TileRectangleMerger.DIRECTION_DX[direction] + TileRectangleMerger.DIRECTION_DY[direction] * cornerColumns;
+					final int nextDirection = (nextCorner == startCorner) ? startDirection : TileRectangleMerger.removeOutlineEdge(outlineEdges, nextCorner, direction);
+					if(nextDirection != direction) {
+						vertexCount = this.addOutlineVertex(vertexCount, nextCorner % cornerColumns, nextCorner / cornerColumns);
+					}
+					corner = nextCorner;
+					direction = nextDirection;
+				} while(corner != startCorner);
+
+				pTileOutlineListener.onTileOutline(this.mOutlineVertices, vertexCount);
+				outlineCount++;
+			}
+		}
+		return outlineCount;
+	}
+
+	private int addOutlineVertex(final int pVertexCount, final int pX, final int pY) {
+		if(this.mOutlineVertices.length < (pVertexCount + 1) * 2) {
+			final int[] outlineVertices = new int[this.mOutlineVertices.length * 2];
+			System.arraycopy(this.mOutlineVertices, 0, outlineVertices, 0, pVertexCount * 2);
+			this.mOutlineVertices = outlineVertices;
+		}
+		this.mOutlineVertices[pVertexCount * 2] = pX;
+		this.mOutlineVertices[pVertexCount * 2 + 1] = pY;
+		return pVertexCount + 1;
+	}
+
+	private static void addOutlineEdge(final int[] pOutlineEdges, final int pCorner, final int pDirection) {
+		if(pOutlineEdges[pCorner * 2] == TileRectangleMerger.DIRECTION_NONE) {
+			pOutlineEdges[pCorner * 2] = pDirection;
+		} else {
+			pOutlineEdges[pCorner * 2 + 1] = pDirection;
+		}
+	}
+
+	/**
+	 * Where two outgoing edges meet at a corner, the one turning right (towards the cells of the current outline) is taken.
+	 *
+	 * @return the direction of the removed edge.
+	 */
+	private static int removeOutlineEdge(final int[] pOutlineEdges, final int pCorner, final int pIncomingDirection) {
+		final int first = pOutlineEdges[pCorner * 2];
+		final int second = pOutlineEdges[pCorner * 2 + 1];
+		if(second != TileRectangleMerger.DIRECTION_NONE && pIncomingDirection != TileRectangleMerger.DIRECTION_NONE && second == ((pIncomingDirection + 1) & 3)) {
+			pOutlineEdges[pCorner * 2 + 1] = TileRectangleMerger.DIRECTION_NONE;
+			return second;
+		}
+		pOutlineEdges[pCorner * 2] = second;
+		pOutlineEdges[pCorner * 2 + 1] = TileRectangleMerger.DIRECTION_NONE;
+		return first;
+	}
+
+	// ===========================================================
+	// Inner and Anonymous Classes
+	// ===========================================================
+
+	public static interface ITileMatcher {
+		// ===========================================================
+		// Constants
+		// ===========================================================
+
+		// ===========================================================
+		// Methods
+		// ===========================================================
+
+		public boolean matches(final int pTileColumn, final int pTileRow);
+	}
+
+	public static interface ITileRectangleListener {
+		// ===========================================================
+		// Constants
+		// ===========================================================
+
+		// ===========================================================
+		// Methods
+		// ===========================================================
+
+		/**
+		 * @param pTileColumn the left column of the rectangle.
+		 * @param pTileRow the top row of the rectangle.
+		 */
+		public void onTileRectangle(final int pTileColumn, final int pTileRow, final int pTileColumns, final int pTileRows);
+	}
+
+	public static interface ITileOutlineListener {
+		// ===========================================================
+		// Constants
+		// ===========================================================
+
+		// ===========================================================
+		// Methods
+		// ===========================================================
+
+		/**
+		 * @param pVertices <code>x/y</code> pairs of the grid corners, in tiles. Reused for the next outline, so copy what needs to be kept.
+		 * @param pVertexCount the number of vertices, the outline is closed from the last vertex back to the first one.
+		 */
+		public void onTileOutline(final int[] pVertices, final int pVertexCount);
+	}
+}
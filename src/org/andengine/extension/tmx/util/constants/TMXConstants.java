@@ -16,6 +16,20 @@ public interface TMXConstants {
 
 	public static final int BYTES_PER_GLOBALTILEID = 4;
 
+	/** The top bits of a global tile ID tell how the tile is flipped. Diagonally means its x and y axes are swapped, which is applied before the other two. */
+	public static final int GLOBALTILEID_FLAG_FLIPPED_HORIZONTALLY = 0x80000000;
+	public static final int GLOBALTILEID_FLAG_FLIPPED_VERTICALLY = 0x40000000;
+	public static final int GLOBALTILEID_FLAG_FLIPPED_DIAGONALLY = 0x20000000;
+	public static final int GLOBALTILEID_FLAGS = GLOBALTILEID_FLAG_FLIPPED_HORIZONTALLY | GLOBALTILEID_FLAG_FLIPPED_VERTICALLY | GLOBALTILEID_FLAG_FLIPPED_DIAGONALLY;
+
+	/** "TMXB" */
+	public static final int BINARY_FORMAT_MAGIC = 0x544D5842;
+	/** Version 2 added the tile animations of the tilesets, version 3 the byte order of the global tile IDs of the layers. */
+	public static final int BINARY_FORMAT_VERSION = 3;
+	/** The byte order of the global tile IDs of the layers, as stored in the header. Before version 3 they were always big-endian. */
+	public static final int BINARY_FORMAT_BYTEORDER_BIG_ENDIAN = 0;
+	public static final int BINARY_FORMAT_BYTEORDER_LITTLE_ENDIAN = 1;
+
 	public static final String TAG_MAP = "map";
 	public static final String TAG_MAP_ATTRIBUTE_ORIENTATION = "orientation";
 	public static final String TAG_MAP_ATTRIBUTE_ORIENTATION_VALUE_ORTHOGONAL = "orthogonal";
@@ -41,6 +55,10 @@ public interface TMXConstants {
 	public static final String TAG_TILE = "tile";
 	public static final String TAG_TILE_ATTRIBUTE_ID = "id";
 	public static final String TAG_TILE_ATTRIBUTE_GID = "gid";
+	public static final String TAG_ANIMATION = "animation";
+	public static final String TAG_FRAME = "frame";
+	public static final String TAG_FRAME_ATTRIBUTE_TILEID = "tileid";
+	public static final String TAG_FRAME_ATTRIBUTE_DURATION = "duration";
 
 	public static final String TAG_PROPERTIES = "properties";
 
@@ -60,6 +78,7 @@ public interface TMXConstants {
 	public static final String TAG_DATA = "data";
 	public static final String TAG_DATA_ATTRIBUTE_ENCODING = "encoding";
 	public static final String TAG_DATA_ATTRIBUTE_ENCODING_VALUE_BASE64 = "base64";
+	public static final String TAG_DATA_ATTRIBUTE_ENCODING_VALUE_CSV = "csv";
 	public static final String TAG_DATA_ATTRIBUTE_COMPRESSION = "compression";
 	public static final String TAG_DATA_ATTRIBUTE_COMPRESSION_VALUE_GZIP = "gzip";
 	public static final String TAG_DATA_ATTRIBUTE_COMPRESSION_VALUE_ZLIB = "zlib";
@@ -0,0 +1,406 @@
+package org.andengine.extension.tmx;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+
+import junit.framework.TestCase;
+
+import org.andengine.extension.tmx.TMXBinaryReader.ITMXBinaryReaderListener;
+import org.andengine.extension.tmx.util.constants.TMXConstants;
+import org.andengine.extension.tmx.util.exception.TMXLoadException;
+import org.xml.sax.Attributes;
+import org.xml.sax.helpers.AttributesImpl;
+
+/**
+ * Writes small maps with the parts the {@link TMXBinaryWriter} is made of and reads them back with the {@link TMXBinaryReader}.
+ * Building the textures and sprites of a {@link TMXTiledMap} from what is read needs GL, so the {@link TMXBinaryLoader} itself is not covered.
+ *
+ * (c) 2026 Nicolas Gramlich
+ *
+ * @author Nicolas Gramlich
+ * @since 07:31:02 - 18.10.2026
+ */
+public class TMXBinaryReaderTest extends TestCase {
+	// ===========================================================
+	// Constants
+	// ===========================================================
+
+	private static final int TILE_COLUMNS = 3;
+	private static final int TILE_ROWS = 2;
+
+	private static final int[] GLOBAL_TILE_IDS = new int[] {
+		1, 0, 2 | TMXConstants.GLOBALTILEID_FLAG_FLIPPED_HORIZONTALLY,
+		17 | TMXConstants.GLOBALTILEID_FLAG_FLIPPED_VERTICALLY, 18 | TMXConstants.GLOBALTILEID_FLAG_FLIPPED_DIAGONALLY, 3 | TMXConstants.GLOBALTILEID_FLAGS
+	};
+
+	// ===========================================================
+	// Test Methods
+	// ===========================================================
+
+	public void testRoundTrip() throws Exception {
+		final RecordingListener recordingListener = TMXBinaryReaderTest.read(ByteBuffer.wrap(TMXBinaryReaderTest.writeMap()));
+
+		TMXBinaryReaderTest.assertEquals("orthogonal", recordingListener.mTMXTiledMapAttributes.getValue("", TMXConstants.TAG_MAP_ATTRIBUTE_ORIENTATION));
+		TMXBinaryReaderTest.assertEquals("3", recordingListener.mTMXTiledMapAttributes.getValue("", TMXConstants.TAG_MAP_ATTRIBUTE_WIDTH));
+		TMXBinaryReaderTest.assertEquals("2", recordingListener.mTMXTiledMapAttributes.getValue("", TMXConstants.TAG_MAP_ATTRIBUTE_HEIGHT));
+		TMXBinaryReaderTest.assertEquals("32", recordingListener.mTMXTiledMapAttributes.getValue("", TMXConstants.TAG_MAP_ATTRIBUTE_TILEWIDTH));
+		TMXBinaryReaderTest.assertEquals("16", recordingListener.mTMXTiledMapAttributes.getValue("", TMXConstants.TAG_MAP_ATTRIBUTE_TILEHEIGHT));
+		TMXBinaryReaderTest.assertEquals(2, recordingListener.mTMXTiledMapProperties.size());
+		TMXBinaryReaderTest.assertEquals("Gr\u00FC\u00DFe \u2713", recordingListener.mTMXTiledMapProperties.getTMXProperty("title").getValue());
+		TMXBinaryReaderTest.assertNull(recordingListener.mTMXTiledMapProperties.getTMXProperty("empty").getValue());
+
+		TMXBinaryReaderTest.assertEquals(2, recordingListener.mTMXTileSetAttributes.size());
+		TMXBinaryReaderTest.assertEquals(1, recordingListener.mFirstGlobalTileIDs.get(0).intValue());
+		TMXBinaryReaderTest.assertEquals("ground", recordingListener.mTMXTileSetAttributes.get(0).getValue("", TMXConstants.TAG_TILESET_ATTRIBUTE_NAME));
+		TMXBinaryReaderTest.assertEquals("2", recordingListener.mTMXTileSetAttributes.get(0).getValue("", TMXConstants.TAG_TILESET_ATTRIBUTE_SPACING));
+		TMXBinaryReaderTest.assertEquals("1", recordingListener.mTMXTileSetAttributes.get(0).getValue("", TMXConstants.TAG_TILESET_ATTRIBUTE_MARGIN));
+		TMXBinaryReaderTest.assertEquals("gfx/ground.png", recordingListener.mImageAttributes.get(0).getValue("", TMXConstants.TAG_IMAGE_ATTRIBUTE_SOURCE));
+		TMXBinaryReaderTest.assertEquals("ff00ff", recordingListener.mImageAttributes.get(0).getValue("", TMXConstants.TAG_IMAGE_ATTRIBUTE_TRANS));
+		TMXBinaryReaderTest.assertEquals(17, recordingListener.mFirstGlobalTileIDs.get(1).intValue());
+		TMXBinaryReaderTest.assertNull(recordingListener.mImageAttributes.get(1).getValue("", TMXConstants.TAG_IMAGE_ATTRIBUTE_TRANS));
+
+		final TMXProperties<TMXTileProperty> tmxTileProperties = recordingListener.mTMXTileProperties.get("0/2");
+		TMXBinaryReaderTest.assertEquals(2, tmxTileProperties.size());
+		TMXBinaryReaderTest.assertTrue(tmxTileProperties.containsTMXProperty("solid", "true"));
+		TMXBinaryReaderTest.assertEquals(3, tmxTileProperties.getInt("damage", 0));
+		TMXBinaryReaderTest.assertEquals(1, recordingListener.mTMXTileProperties.size());
+
+		final TMXTileAnimation tmxTileAnimation = recordingListener.mTMXTileAnimations.get("0/0");
+		TMXBinaryReaderTest.assertEquals(3, tmxTileAnimation.getFrameCount());
+		TMXBinaryReaderTest.assertEquals(1, tmxTileAnimation.getFrameLocalTileID(1));
+		TMXBinaryReaderTest.assertEquals(250, tmxTileAnimation.getFrameDuration(2));
+		TMXBinaryReaderTest.assertEquals(600, tmxTileAnimation.getDuration());
+		TMXBinaryReaderTest.assertEquals(2, recordingListener.mTMXTileAnimations.get("1/4").getFrameCount());
+
+		TMXBinaryReaderTest.assertEquals(2, recordingListener.mTMXLayerAttributes.size());
+		final Attributes tmxLayerAttributes = recordingListener.mTMXLayerAttributes.get(0);
+		TMXBinaryReaderTest.assertEquals("odd", tmxLayerAttributes.getValue("", TMXConstants.TAG_LAYER_ATTRIBUTE_NAME));
+		TMXBinaryReaderTest.assertEquals("0", tmxLayerAttributes.getValue("", TMXConstants.TAG_LAYER_ATTRIBUTE_VISIBLE));
+		TMXBinaryReaderTest.assertEquals(0.5f, Float.parseFloat(tmxLayerAttributes.getValue("", TMXConstants.TAG_LAYER_ATTRIBUTE_OPACITY)), 0);
+		TMXBinaryReaderTest.assertEquals("top", recordingListener.mTMXLayerProperties.get(0).getTMXProperty("z").getValue());
+		TMXBinaryReaderTest.assertGlobalTileIDs(TMXBinaryReaderTest.GLOBAL_TILE_IDS, recordingListener.mGlobalTileIDs.get(0));
+		TMXBinaryReaderTest.assertEquals("1", recordingListener.mTMXLayerAttributes.get(1).getValue("", TMXConstants.TAG_LAYER_ATTRIBUTE_VISIBLE));
+		TMXBinaryReaderTest.assertEquals(0, recordingListener.mTMXLayerProperties.get(1).size());
+		TMXBinaryReaderTest.assertGlobalTileIDs(new int[] {1, 1, 1, 1, 1, 1}, recordingListener.mGlobalTileIDs.get(1));
+
+		TMXBinaryReaderTest.assertEquals(1, recordingListener.mTMXObjectGroups.size());
+		final TMXObjectGroup tmxObjectGroup = recordingListener.mTMXObjectGroups.get(0);
+		TMXBinaryReaderTest.assertEquals("spawns", tmxObjectGroup.getName());
+		TMXBinaryReaderTest.assertEquals(3, tmxObjectGroup.getWidth());
+		TMXBinaryReaderTest.assertTrue(tmxObjectGroup.getTMXObjectGroupProperties().containsTMXProperty("team", "red"));
+		final ArrayList<TMXObject> tmxObjects = tmxObjectGroup.getTMXObjects();
+		TMXBinaryReaderTest.assertEquals(2, tmxObjects.size());
+		TMXBinaryReaderTest.assertEquals("player", tmxObjects.get(0).getName());
+		TMXBinaryReaderTest.assertEquals("start", tmxObjects.get(0).getType());
+		TMXBinaryReaderTest.assertEquals(-8, tmxObjects.get(0).getX());
+		TMXBinaryReaderTest.assertEquals(40, tmxObjects.get(0).getY());
+		TMXBinaryReaderTest.assertEquals(16, tmxObjects.get(0).getWidth());
+		TMXBinaryReaderTest.assertEquals(24, tmxObjects.get(0).getHeight());
+		TMXBinaryReaderTest.assertEquals(7, tmxObjects.get(0).getTMXObjectProperties().getInt("health", 0));
+		TMXBinaryReaderTest.assertNull(tmxObjects.get(1).getName());
+		TMXBinaryReaderTest.assertEquals(0, tmxObjects.get(1).getTMXObjectProperties().size());
+	}
+
+	public void testPositionIsKept() throws Exception {
+		final byte[] tmxTiledMapBytes = TMXBinaryReaderTest.writeMap();
+		/* The padding before the global tile IDs is relative to the start of the map, not of the buffer. */
+		final ByteBuffer byteBuffer = ByteBuffer.allocate(tmxTiledMapBytes.length + 3);
+		byteBuffer.position(3);
+		byteBuffer.put(tmxTiledMapBytes);
+		byteBuffer.position(3);
+
+		final RecordingListener recordingListener = TMXBinaryReaderTest.read(byteBuffer);
+		TMXBinaryReaderTest.assertEquals(3, byteBuffer.position());
+		TMXBinaryReaderTest.assertGlobalTileIDs(TMXBinaryReaderTest.GLOBAL_TILE_IDS, recordingListener.mGlobalTileIDs.get(0));
+	}
+
+	public void testTruncated() throws Exception {
+		final byte[] tmxTiledMapBytes = TMXBinaryReaderTest.writeMap();
+		for(int length = 0; length < tmxTiledMapBytes.length; length++) {
+			try {
+				TMXBinaryReaderTest.read(ByteBuffer.wrap(tmxTiledMapBytes, 0, length));
+				TMXBinaryReaderTest.fail("Truncated to " + length + " of " + tmxTiledMapBytes.length + " bytes, but read.");
+			} catch (final TMXLoadException e) {
+				/* Expected. */
+			}
+		}
+	}
+
+	public void testVersion2BigEndian() throws Exception {
+		final ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+		final DataOutputStream out = new DataOutputStream(byteArrayOutputStream);
+
+		/* Version 2 has no byte order, its global tile IDs are big-endian. */
+		out.writeInt(TMXConstants.BINARY_FORMAT_MAGIC);
+		out.writeInt(2);
+		TMXBinaryWriter.writeTMXTiledMap(out, "orthogonal", TMXBinaryReaderTest.TILE_COLUMNS, TMXBinaryReaderTest.TILE_ROWS, 32, 32, new TMXProperties<TMXTiledMapProperty>());
+		out.writeInt(1);
+		TMXBinaryWriter.writeTMXTileSet(out, 1, "ground", 32, 32, 0, 0, "gfx/ground.png", null);
+		out.writeInt(0);
+		out.writeInt(0);
+		out.writeInt(1);
+		TMXBinaryWriter.writeTMXLayer(out, "ground", TMXBinaryReaderTest.TILE_COLUMNS, TMXBinaryReaderTest.TILE_ROWS, true, 1, new TMXProperties<TMXLayerProperty>());
+		TMXBinaryWriter.writeGlobalTileIDs(out, TMXBinaryReaderTest.GLOBAL_TILE_IDS, ByteOrder.BIG_ENDIAN);
+		out.writeInt(0);
+
+		final RecordingListener recordingListener = TMXBinaryReaderTest.read(ByteBuffer.wrap(byteArrayOutputStream.toByteArray()));
+		TMXBinaryReaderTest.assertEquals(1, recordingListener.mTMXTileSetAttributes.size());
+		TMXBinaryReaderTest.assertEquals(0, recordingListener.mTMXTileAnimations.size());
+		TMXBinaryReaderTest.assertGlobalTileIDs(TMXBinaryReaderTest.GLOBAL_TILE_IDS, recordingListener.mGlobalTileIDs.get(0));
+	}
+
+	public void testUnsupportedHeader() throws Exception {
+		TMXBinaryReaderTest.assertUnreadable(0x12345678, TMXConstants.BINARY_FORMAT_VERSION, TMXConstants.BINARY_FORMAT_BYTEORDER_LITTLE_ENDIAN);
+		TMXBinaryReaderTest.assertUnreadable(TMXConstants.BINARY_FORMAT_MAGIC, 0, TMXConstants.BINARY_FORMAT_BYTEORDER_LITTLE_ENDIAN);
+		TMXBinaryReaderTest.assertUnreadable(TMXConstants.BINARY_FORMAT_MAGIC, TMXConstants.BINARY_FORMAT_VERSION + 1, TMXConstants.BINARY_FORMAT_BYTEORDER_LITTLE_ENDIAN);
+		TMXBinaryReaderTest.assertUnreadable(TMXConstants.BINARY_FORMAT_MAGIC, TMXConstants.BINARY_FORMAT_VERSION, 7);
+	}
+
+	// ===========================================================
+	// Methods
+	// ===========================================================
+
+	/**
+	 * Writes a map the way {@link TMXBinaryWriter#write(TMXTiledMap, java.io.OutputStream)} would, with properties, animations, objects and flipped tiles.
+	 */
+	private static byte[] writeMap() throws IOException {
+		final ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+		final DataOutputStream out = new DataOutputStream(byteArrayOutputStream);
+
+		TMXBinaryWriter.writeHeader(out);
+
+		final TMXProperties<TMXTiledMapProperty> tmxTiledMapProperties = new TMXProperties<TMXTiledMapProperty>();
+		tmxTiledMapProperties.add(new TMXTiledMapProperty(TMXBinaryReaderTest.newTMXPropertyAttributes("title", "Gr\u00FC\u00DFe \u2713")));
+		tmxTiledMapProperties.add(new TMXTiledMapProperty(TMXBinaryReaderTest.newTMXPropertyAttributes("empty", null)));
+		TMXBinaryWriter.writeTMXTiledMap(out, "orthogonal", TMXBinaryReaderTest.TILE_COLUMNS, TMXBinaryReaderTest.TILE_ROWS, 32, 16, tmxTiledMapProperties);
+
+		out.writeInt(2);
+		TMXBinaryWriter.writeTMXTileSet(out, 1, "ground", 32, 16, 2, 1, "gfx/ground.png", "ff00ff");
+		out.writeInt(1);
+		final TMXProperties<TMXTileProperty> tmxTileProperties = new TMXProperties<TMXTileProperty>();
+		tmxTileProperties.add(new TMXTileProperty(TMXBinaryReaderTest.newTMXPropertyAttributes("solid", "true")));
+		tmxTileProperties.add(new TMXTileProperty(TMXBinaryReaderTest.newTMXPropertyAttributes("damage", "3")));
+		TMXBinaryWriter.writeTMXTileProperties(out, 2, tmxTileProperties);
+		out.writeInt(1);
+		final TMXTileAnimation waterTMXTileAnimation = new TMXTileAnimation();
+		waterTMXTileAnimation.addFrame(0, 100);
+		waterTMXTileAnimation.addFrame(1, 250);
+		waterTMXTileAnimation.addFrame(2, 250);
+		TMXBinaryWriter.writeTMXTileAnimation(out, 0, waterTMXTileAnimation);
+
+		TMXBinaryWriter.writeTMXTileSet(out, 17, "objects", 32, 16, 0, 0, "gfx/objects.png", null);
+		out.writeInt(0);
+		out.writeInt(1);
+		final TMXTileAnimation torchTMXTileAnimation = new TMXTileAnimation();
+		torchTMXTileAnimation.addFrame(4, 80);
+		torchTMXTileAnimation.addFrame(5, 80);
+		TMXBinaryWriter.writeTMXTileAnimation(out, 4, torchTMXTileAnimation);
+
+		out.writeInt(2);
+		/* A name of odd length, so the global tile IDs need padding. */
+		final TMXProperties<TMXLayerProperty> tmxLayerProperties = new TMXProperties<TMXLayerProperty>();
+		tmxLayerProperties.add(new TMXLayerProperty(TMXBinaryReaderTest.newTMXPropertyAttributes("z", "top")));
+		TMXBinaryWriter.writeTMXLayer(out, "odd", TMXBinaryReaderTest.TILE_COLUMNS, TMXBinaryReaderTest.TILE_ROWS, false, 0.5f, tmxLayerProperties);
+		TMXBinaryWriter.writeGlobalTileIDs(out, TMXBinaryReaderTest.GLOBAL_TILE_IDS, ByteOrder.LITTLE_ENDIAN);
+		TMXBinaryWriter.writeTMXLayer(out, "even", TMXBinaryReaderTest.TILE_COLUMNS, TMXBinaryReaderTest.TILE_ROWS, true, 1, new TMXProperties<TMXLayerProperty>());
+		TMXBinaryWriter.writeGlobalTileIDs(out, new int[] {1, 1, 1, 1, 1, 1}, ByteOrder.LITTLE_ENDIAN);
+
+		out.writeInt(1);
+		final TMXProperties<TMXObjectGroupProperty> tmxObjectGroupProperties = new TMXProperties<TMXObjectGroupProperty>();
+		tmxObjectGroupProperties.add(new TMXObjectGroupProperty(TMXBinaryReaderTest.newTMXPropertyAttributes("team", "red")));
+		TMXBinaryWriter.writeTMXObjectGroup(out, "spawns", 3, 2, tmxObjectGroupProperties);
+		out.writeInt(2);
+		final TMXObject playerTMXObject = new TMXObject(TMXBinaryReaderTest.newTMXObjectAttributes("player", "start", -8, 40, 16, 24));
+		playerTMXObject.addTMXObjectProperty(new TMXObjectProperty(TMXBinaryReaderTest.newTMXPropertyAttributes("health", "7")));
+		TMXBinaryWriter.writeTMXObject(out, playerTMXObject);
+		TMXBinaryWriter.writeTMXObject(out, new TMXObject(TMXBinaryReaderTest.newTMXObjectAttributes(null, null, 64, 0, 0, 0)));
+
+		out.flush();
+		return byteArrayOutputStream.toByteArray();
+	}
+
+	private static RecordingListener read(final ByteBuffer pByteBuffer) throws TMXLoadException {
+		final RecordingListener recordingListener = new RecordingListener();
+		new TMXBinaryReader(recordingListener).read(pByteBuffer);
+		return recordingListener;
+	}
+
+	private static void assertUnreadable(final int pMagic, final int pVersion, final int pByteOrder) throws IOException {
+		final ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+		final DataOutputStream out = new DataOutputStream(byteArrayOutputStream);
+		out.writeInt(pMagic);
+		out.writeInt(pVersion);
+		out.writeInt(pByteOrder);
+		TMXBinaryWriter.writeTMXTiledMap(out, "orthogonal", 1, 1, 32, 32, new TMXProperties<TMXTiledMapProperty>());
+		out.writeInt(0);
+		out.writeInt(0);
+		out.writeInt(0);
+
+		try {
+			TMXBinaryReaderTest.read(ByteBuffer.wrap(byteArrayOutputStream.toByteArray()));
+			TMXBinaryReaderTest.fail("Read with magic " + pMagic + ", version " + pVersion + " and byte order " + pByteOrder + ".");
+		} catch (final TMXLoadException e) {
+			/* Expected. */
+		}
+	}
+
+	private static void assertGlobalTileIDs(final int[] pExpectedGlobalTileIDs, final int[] pGlobalTileIDs) {
+		TMXBinaryReaderTest.assertEquals(pExpectedGlobalTileIDs.length, pGlobalTileIDs.length);
+		for(int i = 0; i < pExpectedGlobalTileIDs.length; i++) {
+			TMXBinaryReaderTest.assertEquals("Global tile ID " + i, pExpectedGlobalTileIDs[i], pGlobalTileIDs[i]);
+		}
+	}
+
+	private static AttributesImpl newTMXPropertyAttributes(final String pName, final String pValue) {
+		final AttributesImpl attributes = new AttributesImpl();
+		attributes.addAttribute("", TMXConstants.TAG_PROPERTY_ATTRIBUTE_NAME, TMXConstants.TAG_PROPERTY_ATTRIBUTE_NAME, "CDATA", pName);
+		if(pValue != null) {
+			attributes.addAttribute("", TMXConstants.TAG_PROPERTY_ATTRIBUTE_VALUE, TMXConstants.TAG_PROPERTY_ATTRIBUTE_VALUE, "CDATA", pValue);
+		}
+		return attributes;
+	}
+
+	private static AttributesImpl newTMXObjectAttributes(final String pName, final String pType, final int pX, final int pY, final int pWidth, final int pHeight) {
+		final AttributesImpl attributes = new AttributesImpl();
+		if(pName != null) {
+			attributes.addAttribute("", TMXConstants.TAG_OBJECT_ATTRIBUTE_NAME, TMXConstants.TAG_OBJECT_ATTRIBUTE_NAME, "CDATA", pName);
+		}
+		if(pType != null) {
+			attributes.addAttribute("", TMXConstants.TAG_OBJECT_ATTRIBUTE_TYPE, TMXConstants.TAG_OBJECT_ATTRIBUTE_TYPE, "CDATA", pType);
+		}
+		attributes.addAttribute("", TMXConstants.TAG_OBJECT_ATTRIBUTE_X, TMXConstants.TAG_OBJECT_ATTRIBUTE_X, "CDATA", Integer.toString(pX));
+		attributes.addAttribute("", TMXConstants.TAG_OBJECT_ATTRIBUTE_Y, TMXConstants.TAG_OBJECT_ATTRIBUTE_Y, "CDATA", Integer.toString(pY));
+		attributes.addAttribute("", TMXConstants.TAG_OBJECT_ATTRIBUTE_WIDTH, TMXConstants.TAG_OBJECT_ATTRIBUTE_WIDTH, "CDATA", Integer.toString(pWidth));
+		attributes.addAttribute("", TMXConstants.TAG_OBJECT_ATTRIBUTE_HEIGHT, TMXConstants.TAG_OBJECT_ATTRIBUTE_HEIGHT, "CDATA", Integer.toString(pHeight));
+		return attributes;
+	}
+
+	// ===========================================================
+	// Inner and Anonymous Classes
+	// ===========================================================
+
+	/**
+	 * Records what is read into the parts of the model that need no GL. Tile properties and animations are keyed by tileset index and local tile ID, like <code>"0/2"</code>.
+	 */
+	private static class RecordingListener implements ITMXBinaryReaderListener {
+		// ===========================================================
+		// Fields
+		// ===========================================================
+
+		Attributes mTMXTiledMapAttributes;
+		final TMXProperties<TMXTiledMapProperty> mTMXTiledMapProperties = new TMXProperties<TMXTiledMapProperty>();
+
+		final ArrayList<Integer> mFirstGlobalTileIDs = new ArrayList<Integer>();
+		final ArrayList<Attributes> mTMXTileSetAttributes = new ArrayList<Attributes>();
+		final ArrayList<Attributes> mImageAttributes = new ArrayList<Attributes>();
+		final HashMap<String, TMXProperties<TMXTileProperty>> mTMXTileProperties = new HashMap<String, TMXProperties<TMXTileProperty>>();
+		final HashMap<String, TMXTileAnimation> mTMXTileAnimations = new HashMap<String, TMXTileAnimation>();
+
+		final ArrayList<Attributes> mTMXLayerAttributes = new ArrayList<Attributes>();
+		final ArrayList<TMXProperties<TMXLayerProperty>> mTMXLayerProperties = new ArrayList<TMXProperties<TMXLayerProperty>>();
+		final ArrayList<int[]> mGlobalTileIDs = new ArrayList<int[]>();
+
+		final ArrayList<TMXObjectGroup> mTMXObjectGroups = new ArrayList<TMXObjectGroup>();
+		TMXObject mTMXObject;
+
+		// ===========================================================
+		// Methods for/from SuperClass/Interfaces
+		// ===========================================================
+
+		@Override
+		public void onTMXTiledMap(final Attributes pAttributes) {
+			TMXBinaryReaderTest.assertNull(this.mTMXTiledMapAttributes);
+
+			this.mTMXTiledMapAttributes = pAttributes;
+		}
+
+		@Override
+		public void onTMXTiledMapProperty(final Attributes pAttributes) {
+			this.mTMXTiledMapProperties.add(new TMXTiledMapProperty(pAttributes));
+		}
+
+		@Override
+		public void onTMXTileSet(final int pFirstGlobalTileID, final Attributes pAttributes, final Attributes pImageAttributes) {
+			this.mFirstGlobalTileIDs.add(pFirstGlobalTileID);
+			this.mTMXTileSetAttributes.add(pAttributes);
+			this.mImageAttributes.add(pImageAttributes);
+		}
+
+		@Override
+		public void onTMXTileProperty(final int pLocalTileID, final Attributes pAttributes) {
+			final String key = this.getTileKey(pLocalTileID);
+			TMXProperties<TMXTileProperty> tmxTileProperties = this.mTMXTileProperties.get(key);
+			if(tmxTileProperties == null) {
+				tmxTileProperties = new TMXProperties<TMXTileProperty>();
+				this.mTMXTileProperties.put(key, tmxTileProperties);
+			}
+			tmxTileProperties.add(new TMXTileProperty(pAttributes));
+		}
+
+		@Override
+		public void onTMXTileAnimationFrame(final int pLocalTileID, final int pFrameLocalTileID, final int pFrameDuration) {
+			final String key = this.getTileKey(pLocalTileID);
+			TMXTileAnimation tmxTileAnimation = this.mTMXTileAnimations.get(key);
+			if(tmxTileAnimation == null) {
+				tmxTileAnimation = new TMXTileAnimation();
+				this.mTMXTileAnimations.put(key, tmxTileAnimation);
+			}
+			tmxTileAnimation.addFrame(pFrameLocalTileID, pFrameDuration);
+		}
+
+		@Override
+		public void onTMXLayer(final Attributes pAttributes) {
+			this.mTMXLayerAttributes.add(pAttributes);
+			this.mTMXLayerProperties.add(new TMXProperties<TMXLayerProperty>());
+		}
+
+		@Override
+		public void onTMXLayerProperty(final Attributes pAttributes) {
+			this.mTMXLayerProperties.get(this.mTMXLayerProperties.size() - 1).add(new TMXLayerProperty(pAttributes));
+		}
+
+		@Override
+		public void onTMXLayerGlobalTileIDs(final IntBuffer pGlobalTileIDs) {
+			TMXBinaryReaderTest.assertEquals(0, pGlobalTileIDs.position());
+
+			final int[] globalTileIDs = new int[pGlobalTileIDs.remaining()];
+			pGlobalTileIDs.get(globalTileIDs);
+			this.mGlobalTileIDs.add(globalTileIDs);
+		}
+
+		@Override
+		public void onTMXObjectGroup(final Attributes pAttributes) {
+			this.mTMXObjectGroups.add(new TMXObjectGroup(pAttributes));
+		}
+
+		@Override
+		public void onTMXObjectGroupProperty(final Attributes pAttributes) {
+			this.mTMXObjectGroups.get(this.mTMXObjectGroups.size() - 1).addTMXObjectGroupProperty(new TMXObjectGroupProperty(pAttributes));
+		}
+
+		@Override
+		public void onTMXObject(final Attributes pAttributes) {
+			this.mTMXObject = new TMXObject(pAttributes);
+			this.mTMXObjectGroups.get(this.mTMXObjectGroups.size() - 1).addTMXObject(this.mTMXObject);
+		}
+
+		@Override
+		public void onTMXObjectProperty(final Attributes pAttributes) {
+			this.mTMXObject.addTMXObjectProperty(new TMXObjectProperty(pAttributes));
+		}
+
+		// ===========================================================
+		// Methods
+		// ===========================================================
+
+		private String getTileKey(final int pLocalTileID) {
+			return (this.mTMXTileSetAttributes.size() - 1) + "/" + pLocalTileID;
+		}
+	}
+}
@@ -0,0 +1,285 @@
+package org.andengine.extension.tmx;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+import org.andengine.extension.tmx.TMXChunkTextureCache.ITMXChunkTextureCacheListener;
+
+/**
+ * (c) 2026 Nicolas Gramlich
+ *
+ * @author Nicolas Gramlich
+ * @since 07:27:36 - 18.10.2026
+ */
+public class TMXChunkTextureCacheTest extends TestCase {
+	// ===========================================================
+	// Constants
+	// ===========================================================
+
+	private static final int CHUNK_COUNT = 16;
+	private static final int CHUNK_TEXTURE_BYTE_COUNT = 100;
+	private static final long BYTE_BUDGET = 3 * TMXChunkTextureCacheTest.CHUNK_TEXTURE_BYTE_COUNT;
+
+	// ===========================================================
+	// Fields
+	// ===========================================================
+
+	/** The textures released by the cache, in the order they were evicted. */
+	private final ArrayList<TestChunkTexture> mEvictedChunkTextures = new ArrayList<TestChunkTexture>();
+	private TMXChunkTextureCache<TestChunkTexture> mTMXChunkTextureCache;
+
+	// ===========================================================
+	// Methods for/from SuperClass/Interfaces
+	// ===========================================================
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+
+		this.mTMXChunkTextureCache = new TMXChunkTextureCache<TestChunkTexture>(TMXChunkTextureCacheTest.CHUNK_COUNT, TMXChunkTextureCacheTest.BYTE_BUDGET, new ITMXChunkTextureCacheListener<TestChunkTexture>() {
+			@Override
+			public void onChunkTextureEvicted(final int pChunk, final TestChunkTexture pChunkTexture) {
+				TMXChunkTextureCacheTest.assertEquals(pChunkTexture.mChunk, pChunk);
+				TMXChunkTextureCacheTest.assertFalse("Chunk texture released twice.", pChunkTexture.mReleased);
+
+				pChunkTexture.mReleased = true;
+				TMXChunkTextureCacheTest.this.mEvictedChunkTextures.add(pChunkTexture);
+			}
+		});
+	}
+
+	// ===========================================================
+	// Test Methods
+	// ===========================================================
+
+	public void testLeastRecentlyUsedIsEvictedFirst() {
+		final TMXChunkTextureCache<TestChunkTexture> tmxChunkTextureCache = this.mTMXChunkTextureCache;
+		this.putChunkTexture(0);
+		this.putChunkTexture(1);
+		this.putChunkTexture(2);
+
+		tmxChunkTextureCache.beginFrame();
+		/* Chunk 0 is used again, so chunk 1 is the least recently used one now. */
+		TMXChunkTextureCacheTest.assertNotNull(tmxChunkTextureCache.getChunkTexture(0));
+
+		tmxChunkTextureCache.beginFrame();
+		TMXChunkTextureCacheTest.assertTrue(this.putChunkTexture(3));
+		TMXChunkTextureCacheTest.assertTrue(this.putChunkTexture(4));
+		this.assertEvictedChunks(1, 2);
+		TMXChunkTextureCacheTest.assertTrue(tmxChunkTextureCache.hasChunkTexture(0));
+
+		tmxChunkTextureCache.beginFrame();
+		TMXChunkTextureCacheTest.assertTrue(this.putChunkTexture(5));
+		this.assertEvictedChunks(1, 2, 0);
+	}
+
+	public void testChunkTexturesOfCurrentFrameAreKept() {
+		final TMXChunkTextureCache<TestChunkTexture> tmxChunkTextureCache = this.mTMXChunkTextureCache;
+		this.putChunkTexture(0);
+		this.putChunkTexture(1);
+		this.putChunkTexture(2);
+
+		/* All three are visible in this frame, so a fourth one does not fit. */
+		TMXChunkTextureCacheTest.assertFalse(this.putChunkTexture(3));
+		this.assertEvictedChunks();
+		TMXChunkTextureCacheTest.assertEquals(3, tmxChunkTextureCache.getChunkTextureCount());
+
+		tmxChunkTextureCache.beginFrame();
+		tmxChunkTextureCache.getChunkTexture(2);
+		tmxChunkTextureCache.getChunkTexture(1);
+		TMXChunkTextureCacheTest.assertTrue(this.putChunkTexture(3));
+		this.assertEvictedChunks(0);
+	}
+
+	public void testChunkTextureOverBudget() {
+		final TMXChunkTextureCache<TestChunkTexture> tmxChunkTextureCache = this.mTMXChunkTextureCache;
+		this.putChunkTexture(0);
+		this.putChunkTexture(1);
+		tmxChunkTextureCache.beginFrame();
+		tmxChunkTextureCache.getChunkTexture(1);
+
+		/* Evicts what it can, but can never make room for a texture larger than the whole budget. */
+		TMXChunkTextureCacheTest.assertFalse(tmxChunkTextureCache.makeRoom(TMXChunkTextureCacheTest.BYTE_BUDGET + 1));
+		this.assertEvictedChunks(0);
+		TMXChunkTextureCacheTest.assertTrue(tmxChunkTextureCache.hasChunkTexture(1));
+
+		tmxChunkTextureCache.beginFrame();
+		TMXChunkTextureCacheTest.assertFalse(tmxChunkTextureCache.makeRoom(TMXChunkTextureCacheTest.BYTE_BUDGET + 1));
+		this.assertEvictedChunks(0, 1);
+		TMXChunkTextureCacheTest.assertEquals(0, tmxChunkTextureCache.getByteCount());
+		TMXChunkTextureCacheTest.assertEquals(0, tmxChunkTextureCache.getChunkTextureCount());
+	}
+
+	public void testSmallerByteBudgetEvictsRightAway() {
+		final TMXChunkTextureCache<TestChunkTexture> tmxChunkTextureCache = this.mTMXChunkTextureCache;
+		this.putChunkTexture(0);
+		this.putChunkTexture(1);
+		this.putChunkTexture(2);
+
+		tmxChunkTextureCache.setByteBudget(TMXChunkTextureCacheTest.CHUNK_TEXTURE_BYTE_COUNT);
+		this.assertEvictedChunks(0, 1);
+		TMXChunkTextureCacheTest.assertEquals(TMXChunkTextureCacheTest.CHUNK_TEXTURE_BYTE_COUNT, tmxChunkTextureCache.getByteCount());
+	}
+
+	public void testInvalidatedChunkTextureIsKept() {
+		final TMXChunkTextureCache<TestChunkTexture> tmxChunkTextureCache = this.mTMXChunkTextureCache;
+		final TestChunkTexture testChunkTexture = this.putChunkTextureValid(4);
+		this.putChunkTextureValid(5);
+
+		tmxChunkTextureCache.invalidateChunkTexture(4);
+		TMXChunkTextureCacheTest.assertFalse(tmxChunkTextureCache.isChunkTextureValid(4));
+		TMXChunkTextureCacheTest.assertTrue(tmxChunkTextureCache.isChunkTextureValid(5));
+		/* Rendered into again, not replaced. */
+		TMXChunkTextureCacheTest.assertSame(testChunkTexture, tmxChunkTextureCache.getChunkTexture(4));
+		this.assertEvictedChunks();
+
+		tmxChunkTextureCache.setChunkTextureValid(4);
+		TMXChunkTextureCacheTest.assertTrue(tmxChunkTextureCache.isChunkTextureValid(4));
+
+		tmxChunkTextureCache.invalidateChunkTextures();
+		TMXChunkTextureCacheTest.assertFalse(tmxChunkTextureCache.isChunkTextureValid(4));
+		TMXChunkTextureCacheTest.assertFalse(tmxChunkTextureCache.isChunkTextureValid(5));
+		TMXChunkTextureCacheTest.assertEquals(2, tmxChunkTextureCache.getChunkTextureCount());
+	}
+
+	public void testChunkWithoutTextureCannotBeValid() {
+		final TMXChunkTextureCache<TestChunkTexture> tmxChunkTextureCache = this.mTMXChunkTextureCache;
+		tmxChunkTextureCache.setChunkTextureValid(7);
+
+		TMXChunkTextureCacheTest.assertFalse(tmxChunkTextureCache.isChunkTextureValid(7));
+		TMXChunkTextureCacheTest.assertNull(tmxChunkTextureCache.getChunkTexture(7));
+	}
+
+	public void testRemovedBytesReturnToBudget() {
+		final TMXChunkTextureCache<TestChunkTexture> tmxChunkTextureCache = this.mTMXChunkTextureCache;
+		this.putChunkTexture(0);
+		this.putChunkTexture(1);
+		this.putChunkTexture(2);
+		TMXChunkTextureCacheTest.assertEquals(TMXChunkTextureCacheTest.BYTE_BUDGET, tmxChunkTextureCache.getByteCount());
+
+		tmxChunkTextureCache.removeChunkTexture(1);
+		this.assertEvictedChunks(1);
+		TMXChunkTextureCacheTest.assertEquals(TMXChunkTextureCacheTest.BYTE_BUDGET - TMXChunkTextureCacheTest.CHUNK_TEXTURE_BYTE_COUNT, tmxChunkTextureCache.getByteCount());
+
+		/* Fits without evicting any of the textures of the current frame. */
+		TMXChunkTextureCacheTest.assertTrue(this.putChunkTexture(3));
+		this.assertEvictedChunks(1);
+
+		/* Removing it again does nothing. */
+		tmxChunkTextureCache.removeChunkTexture(1);
+		this.assertEvictedChunks(1);
+		TMXChunkTextureCacheTest.assertEquals(TMXChunkTextureCacheTest.BYTE_BUDGET, tmxChunkTextureCache.getByteCount());
+	}
+
+	public void testReplacedChunkTextureIsReleased() {
+		final TMXChunkTextureCache<TestChunkTexture> tmxChunkTextureCache = this.mTMXChunkTextureCache;
+		final TestChunkTexture testChunkTexture = this.putChunkTexture(6, 40);
+		this.putChunkTexture(6, 60);
+
+		TMXChunkTextureCacheTest.assertTrue(testChunkTexture.mReleased);
+		this.assertEvictedChunks(6);
+		TMXChunkTextureCacheTest.assertEquals(60, tmxChunkTextureCache.getByteCount());
+		TMXChunkTextureCacheTest.assertEquals(1, tmxChunkTextureCache.getChunkTextureCount());
+	}
+
+	public void testClearReleasesAllChunkTextures() {
+		final TMXChunkTextureCache<TestChunkTexture> tmxChunkTextureCache = this.mTMXChunkTextureCache;
+		this.putChunkTexture(8);
+		this.putChunkTexture(9);
+		this.putChunkTexture(10);
+		tmxChunkTextureCache.getChunkTexture(8);
+
+		/* Released right away, without another frame being drawn. */
+		tmxChunkTextureCache.clear();
+		this.assertEvictedChunks(9, 10, 8);
+		TMXChunkTextureCacheTest.assertEquals(0, tmxChunkTextureCache.getByteCount());
+		TMXChunkTextureCacheTest.assertEquals(0, tmxChunkTextureCache.getChunkTextureCount());
+		for(int chunk = 0; chunk < TMXChunkTextureCacheTest.CHUNK_COUNT; chunk++) {
+			TMXChunkTextureCacheTest.assertFalse(tmxChunkTextureCache.hasChunkTexture(chunk));
+		}
+
+		/* Still usable afterwards. */
+		TMXChunkTextureCacheTest.assertTrue(this.putChunkTexture(8));
+		TMXChunkTextureCacheTest.assertTrue(tmxChunkTextureCache.hasChunkTexture(8));
+	}
+
+	public void testRandomUseStaysWithinBudget() {
+		final TMXChunkTextureCache<TestChunkTexture> tmxChunkTextureCache = this.mTMXChunkTextureCache;
+		final Random random = new Random(42);
+		int putCount = 0;
+		for(int frame = 0; frame < 1000; frame++) {
+			tmxChunkTextureCache.beginFrame();
+			for(int i = 0; i < 2; i++) {
+				final int chunk = random.nextInt(TMXChunkTextureCacheTest.CHUNK_COUNT);
+				if(tmxChunkTextureCache.getChunkTexture(chunk) == null && this.putChunkTexture(chunk)) {
+					putCount++;
+				}
+			}
+			TMXChunkTextureCacheTest.assertTrue(tmxChunkTextureCache.getByteCount() <= TMXChunkTextureCacheTest.BYTE_BUDGET);
+			TMXChunkTextureCacheTest.assertEquals(tmxChunkTextureCache.getChunkTextureCount() * TMXChunkTextureCacheTest.CHUNK_TEXTURE_BYTE_COUNT, tmxChunkTextureCache.getByteCount());
+		}
+
+		TMXChunkTextureCacheTest.assertEquals(putCount - tmxChunkTextureCache.getChunkTextureCount(), this.mEvictedChunkTextures.size());
+	}
+
+	// ===========================================================
+	// Methods
+	// ===========================================================
+
+	/**
+	 * Adds a texture for <code>pChunk</code> the way {@link TMXLayer} does while drawing.
+	 *
+	 * @return whether there was room for it.
+	 */
+	private boolean putChunkTexture(final int pChunk) {
+		if(!this.mTMXChunkTextureCache.makeRoom(TMXChunkTextureCacheTest.CHUNK_TEXTURE_BYTE_COUNT)) {
+			return false;
+		}
+		this.putChunkTexture(pChunk, TMXChunkTextureCacheTest.CHUNK_TEXTURE_BYTE_COUNT);
+		return true;
+	}
+
+	private TestChunkTexture putChunkTexture(final int pChunk, final int pByteCount) {
+		final TestChunkTexture testChunkTexture = new TestChunkTexture(pChunk);
+		this.mTMXChunkTextureCache.putChunkTexture(pChunk, testChunkTexture, pByteCount);
+		return testChunkTexture;
+	}
+
+	private TestChunkTexture putChunkTextureValid(final int pChunk) {
+		final TestChunkTexture testChunkTexture = this.putChunkTexture(pChunk, TMXChunkTextureCacheTest.CHUNK_TEXTURE_BYTE_COUNT);
+		TMXChunkTextureCacheTest.assertFalse(this.mTMXChunkTextureCache.isChunkTextureValid(pChunk));
+		this.mTMXChunkTextureCache.setChunkTextureValid(pChunk);
+		return testChunkTexture;
+	}
+
+	private void assertEvictedChunks(final int ... pChunks) {
+		final ArrayList<TestChunkTexture> evictedChunkTextures = this.mEvictedChunkTextures;
+		TMXChunkTextureCacheTest.assertEquals("Evicted chunk textures", pChunks.length, evictedChunkTextures.size());
+		for(int i = 0; i < pChunks.length; i++) {
+			TMXChunkTextureCacheTest.assertEquals("Evicted chunk texture " + i, pChunks[i], evictedChunkTextures.get(i).mChunk);
+		}
+	}
+
+	// ===========================================================
+	// Inner and Anonymous Classes
+	// ===========================================================
+
+	private static class TestChunkTexture {
+		// ===========================================================
+		// Fields
+		// ===========================================================
+
+		final int mChunk;
+		boolean mReleased;
+
+		// ===========================================================
+		// Constructors
+		// ===========================================================
+
+		TestChunkTexture(final int pChunk) {
+			this.mChunk = pChunk;
+		}
+	}
+}
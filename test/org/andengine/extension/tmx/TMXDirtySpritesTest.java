@@ -0,0 +1,174 @@
+package org.andengine.extension.tmx;
+
+import junit.framework.TestCase;
+
+/**
+ * (c) 2026 Nicolas Gramlich
+ *
+ * @author Nicolas Gramlich
+ * @since 07:22:58 - 18.10.2026
+ */
+public class TMXDirtySpritesTest extends TestCase {
+	// ===========================================================
+	// Constants
+	// ===========================================================
+
+	private static final int SPRITE_CAPACITY = 1000;
+
+	// ===========================================================
+	// Fields
+	// ===========================================================
+
+	private TMXDirtySprites mTMXDirtySprites;
+
+	// ===========================================================
+	// Methods for/from SuperClass/Interfaces
+	// ===========================================================
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+
+		this.mTMXDirtySprites = new TMXDirtySprites(TMXDirtySpritesTest.SPRITE_CAPACITY);
+		/* The initial upload of a new buffer. */
+		TMXDirtySpritesTest.assertEquals(TMXDirtySprites.UPLOAD_FULL, this.mTMXDirtySprites.nextUpload());
+	}
+
+	// ===========================================================
+	// Test Methods
+	// ===========================================================
+
+	public void testFirstUploadIsFull() {
+		final TMXDirtySprites tmxDirtySprites = new TMXDirtySprites(TMXDirtySpritesTest.SPRITE_CAPACITY);
+		tmxDirtySprites.setSpriteDirty(5);
+
+		TMXDirtySpritesTest.assertTrue(tmxDirtySprites.isFullUploadRequired());
+		TMXDirtySpritesTest.assertEquals(TMXDirtySprites.UPLOAD_FULL, tmxDirtySprites.nextUpload());
+		TMXDirtySpritesTest.assertEquals(0, tmxDirtySprites.getDirtySpriteCount());
+	}
+
+	public void testNoDirtySprites() {
+		TMXDirtySpritesTest.assertEquals(0, this.mTMXDirtySprites.nextUpload());
+	}
+
+	public void testAdjacentSpritesAreCoalesced() {
+		final TMXDirtySprites tmxDirtySprites = this.mTMXDirtySprites;
+		tmxDirtySprites.setSpriteDirty(12);
+		tmxDirtySprites.setSpriteDirty(10);
+		tmxDirtySprites.setSpriteDirty(11);
+
+		TMXDirtySpritesTest.assertEquals(1, tmxDirtySprites.nextUpload());
+		this.assertUploadRange(0, 10, 3);
+	}
+
+	public void testSpritesAreUploadedOnce() {
+		final TMXDirtySprites tmxDirtySprites = this.mTMXDirtySprites;
+		tmxDirtySprites.setSpriteDirty(7);
+		tmxDirtySprites.setSpriteDirty(7);
+
+		TMXDirtySpritesTest.assertEquals(1, tmxDirtySprites.getDirtySpriteCount());
+		TMXDirtySpritesTest.assertEquals(1, tmxDirtySprites.nextUpload());
+		this.assertUploadRange(0, 7, 1);
+
+		/* Uploaded sprites can get dirty again. */
+		tmxDirtySprites.setSpriteDirty(7);
+		TMXDirtySpritesTest.assertEquals(1, tmxDirtySprites.getDirtySpriteCount());
+	}
+
+	public void testSmallGapsAreBridged() {
+		final TMXDirtySprites tmxDirtySprites = this.mTMXDirtySprites;
+		final int first = 20;
+		final int last = first + TMXDirtySprites.SPRITE_GAP_MAXIMUM + 1;
+		tmxDirtySprites.setSpriteDirty(last);
+		tmxDirtySprites.setSpriteDirty(first);
+
+		TMXDirtySpritesTest.assertEquals(1, tmxDirtySprites.nextUpload());
+		this.assertUploadRange(0, first, last - first + 1);
+	}
+
+	public void testLargeGapsAreNotBridged() {
+		final TMXDirtySprites tmxDirtySprites = this.mTMXDirtySprites;
+		final int first = 40;
+		final int second = first + TMXDirtySprites.SPRITE_GAP_MAXIMUM + 2;
+		final int third = 500;
+		tmxDirtySprites.setSpriteDirty(third);
+		tmxDirtySprites.setSpriteDirty(second);
+		tmxDirtySprites.setSpriteDirty(first);
+		tmxDirtySprites.setSpriteDirty(third + 1);
+
+		TMXDirtySpritesTest.assertEquals(3, tmxDirtySprites.nextUpload());
+		this.assertUploadRange(0, first, 1);
+		this.assertUploadRange(1, second, 1);
+		this.assertUploadRange(2, third, 2);
+	}
+
+	public void testRangesAcrossWords() {
+		final TMXDirtySprites tmxDirtySprites = this.mTMXDirtySprites;
+		tmxDirtySprites.setSpriteDirty(64);
+		tmxDirtySprites.setSpriteDirty(63);
+		tmxDirtySprites.setSpriteDirty(TMXDirtySpritesTest.SPRITE_CAPACITY - 1);
+
+		TMXDirtySpritesTest.assertEquals(3, tmxDirtySprites.getDirtySpriteCount());
+		TMXDirtySpritesTest.assertEquals(2, tmxDirtySprites.nextUpload());
+		this.assertUploadRange(0, 63, 2);
+		this.assertUploadRange(1, TMXDirtySpritesTest.SPRITE_CAPACITY - 1, 1);
+
+		tmxDirtySprites.setSpriteDirty(64);
+		TMXDirtySpritesTest.assertEquals(1, tmxDirtySprites.nextUpload());
+		this.assertUploadRange(0, 64, 1);
+	}
+
+	public void testFullUploadAboveRatio() {
+		final TMXDirtySprites tmxDirtySprites = this.mTMXDirtySprites;
+		final int dirtySpritesMaximum = (int)(TMXDirtySpritesTest.SPRITE_CAPACITY * TMXDirtySprites.DIRTY_SPRITES_FULL_UPLOAD_RATIO);
+
+		/* Every other sprite, so no gap is bridged and the ratio alone decides. */
+		for(int i = 0; i < dirtySpritesMaximum; i++) {
+			tmxDirtySprites.setSpriteDirty(i * 2);
+		}
+		TMXDirtySpritesTest.assertFalse(tmxDirtySprites.isFullUploadRequired());
+		TMXDirtySpritesTest.assertEquals(1, tmxDirtySprites.nextUpload());
+		this.assertUploadRange(0, 0, dirtySpritesMaximum * 2 - 1);
+
+		for(int i = 0; i <= dirtySpritesMaximum; i++) {
+			tmxDirtySprites.setSpriteDirty(i * 2);
+		}
+		TMXDirtySpritesTest.assertTrue(tmxDirtySprites.isFullUploadRequired());
+		TMXDirtySpritesTest.assertEquals(TMXDirtySprites.UPLOAD_FULL, tmxDirtySprites.nextUpload());
+
+		/* The full upload is not repeated. */
+		tmxDirtySprites.setSpriteDirty(3);
+		TMXDirtySpritesTest.assertEquals(1, tmxDirtySprites.nextUpload());
+		this.assertUploadRange(0, 3, 1);
+	}
+
+	public void testFullUploadAfterContextLoss() {
+		final TMXDirtySprites tmxDirtySprites = this.mTMXDirtySprites;
+		tmxDirtySprites.setSpriteDirty(3);
+
+		/* What TMXLayerVertexBufferObject.bind does when the hardware buffer is new. */
+		tmxDirtySprites.setFullUploadRequired();
+		TMXDirtySpritesTest.assertEquals(TMXDirtySprites.UPLOAD_FULL, tmxDirtySprites.nextUpload());
+		TMXDirtySpritesTest.assertEquals(TMXDirtySprites.UPLOAD_FULL, tmxDirtySprites.getUploadRangeCount());
+
+		/* The sprites dirty before are in the full upload, so they are not uploaded again. */
+		TMXDirtySpritesTest.assertEquals(0, tmxDirtySprites.nextUpload());
+
+		tmxDirtySprites.setSpriteDirty(100);
+		TMXDirtySpritesTest.assertEquals(1, tmxDirtySprites.nextUpload());
+		this.assertUploadRange(0, 100, 1);
+	}
+
+	// ===========================================================
+	// Methods
+	// ===========================================================
+
+	private void assertUploadRange(final int pUploadRange, final int pFirstSprite, final int pSpriteCount) {
+		TMXDirtySpritesTest.assertEquals("First sprite of upload range " + pUploadRange, pFirstSprite, this.mTMXDirtySprites.getUploadRangeFirstSprite(pUploadRange));
+		TMXDirtySpritesTest.assertEquals("Sprite count of upload range " + pUploadRange, pSpriteCount, this.mTMXDirtySprites.getUploadRangeSpriteCount(pUploadRange));
+	}
+
+	// ===========================================================
+	// Inner and Anonymous Classes
+	// ===========================================================
+}
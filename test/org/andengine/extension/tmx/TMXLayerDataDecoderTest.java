@@ -0,0 +1,458 @@
+package org.andengine.extension.tmx;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Random;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import junit.framework.TestCase;
+
+import org.andengine.extension.tmx.TMXLayerDataDecoder.ITMXGlobalTileIDListener;
+import org.andengine.extension.tmx.util.constants.TMXConstants;
+
+/**
+ * (c) 2026 Nicolas Gramlich
+ *
+ * @author Nicolas Gramlich
+ * @since 07:36:12 - 18.10.2026
+ */
+public class TMXLayerDataDecoderTest extends TestCase {
+	// ===========================================================
+	// Constants
+	// ===========================================================
+
+	private static final int RANDOM_LAYER_COUNT = 100;
+	private static final int RANDOM_LAYER_SIZE_MAX = 64;
+	private static final int RANDOM_CHUNK_SIZE_MAX = 100;
+
+	private static final String BASE64_ALPHABET = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/";
+
+	// ===========================================================
+	// Fields
+	// ===========================================================
+
+	private final Random mRandom = new Random(4);
+	private TMXLayerDataDecoder mTMXLayerDataDecoder;
+
+	// ===========================================================
+	// Methods for/from SuperClass/Interfaces
+	// ===========================================================
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+
+		this.mTMXLayerDataDecoder = new TMXLayerDataDecoder();
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		this.mTMXLayerDataDecoder.release();
+
+		super.tearDown();
+	}
+
+	// ===========================================================
+	// Test Methods
+	// ===========================================================
+
+	public void testBase64MatchesPerIntPath() throws IOException {
+		this.assertRandomBase64Layers(null);
+	}
+
+	public void testZlibMatchesPerIntPath() throws IOException {
+		this.assertRandomBase64Layers(TMXConstants.TAG_DATA_ATTRIBUTE_COMPRESSION_VALUE_ZLIB);
+	}
+
+	public void testGZIPMatchesPerIntPath() throws IOException {
+		this.assertRandomBase64Layers(TMXConstants.TAG_DATA_ATTRIBUTE_COMPRESSION_VALUE_GZIP);
+	}
+
+	public void testGZIPHeaderFields() throws IOException {
+		/* Every combination of the optional gzip header fields, fed one character at a time, so each field is split across chunks. */
+		for(int gzipFlags = 0; gzipFlags < 16; gzipFlags++) {
+			final int[] globalTileIDs = this.randomGlobalTileIDs(this.randomLayerSize());
+			final byte[] data = TMXLayerDataDecoderTest.gzipWithHeaderFields(TMXLayerDataDecoderTest.toLittleEndianBytes(globalTileIDs), gzipFlags << 1);
+
+			TMXLayerDataDecoderTest.assertArrayEquals(globalTileIDs, TMXLayerDataDecoderTest.readGlobalTileIDsPerInt(data, TMXConstants.TAG_DATA_ATTRIBUTE_COMPRESSION_VALUE_GZIP, globalTileIDs.length));
+			TMXLayerDataDecoderTest.assertArrayEquals(globalTileIDs, this.decodeBase64(TMXLayerDataDecoderTest.encodeBase64(data), TMXConstants.TAG_DATA_ATTRIBUTE_COMPRESSION_VALUE_GZIP, globalTileIDs.length, 1));
+		}
+	}
+
+	public void testCSVMatchesGlobalTileIDs() {
+		for(int i = 0; i < TMXLayerDataDecoderTest.RANDOM_LAYER_COUNT; i++) {
+			final int columns = 1 + this.mRandom.nextInt(TMXLayerDataDecoderTest.RANDOM_LAYER_SIZE_MAX);
+			final int rows = 1 + this.mRandom.nextInt(TMXLayerDataDecoderTest.RANDOM_LAYER_SIZE_MAX);
+			final int[] globalTileIDs = this.randomGlobalTileIDs(columns * rows);
+
+			TMXLayerDataDecoderTest.assertArrayEquals(globalTileIDs, this.decodeCSV(TMXLayerDataDecoderTest.encodeCSV(globalTileIDs, columns), globalTileIDs.length, this.randomChunkSizeMaximum()));
+		}
+	}
+
+	public void testBase64WithoutPadding() {
+		/* 2 global tile IDs are 8 bytes, which base64 encodes to 11 characters and one padding character. */
+		final int[] globalTileIDs = new int[] {1, 0x80000002};
+		final String base64 = TMXLayerDataDecoderTest.encodeBase64(TMXLayerDataDecoderTest.toLittleEndianBytes(globalTileIDs));
+		TMXLayerDataDecoderTest.assertTrue(base64.endsWith("="));
+
+		TMXLayerDataDecoderTest.assertArrayEquals(globalTileIDs, this.decodeBase64(base64.substring(0, base64.length() - 1), null, globalTileIDs.length, 3));
+	}
+
+	public void testTooManyGlobalTileIDs() {
+		final int[] globalTileIDs = this.randomGlobalTileIDs(16);
+
+		this.assertBase64Fails(TMXLayerDataDecoderTest.encodeBase64(TMXLayerDataDecoderTest.toLittleEndianBytes(globalTileIDs)), null, globalTileIDs.length - 1);
+		this.assertCSVFails(TMXLayerDataDecoderTest.encodeCSV(globalTileIDs, 4), globalTileIDs.length - 1);
+	}
+
+	public void testMissingGlobalTileIDs() {
+		final int[] globalTileIDs = this.randomGlobalTileIDs(16);
+
+		this.assertBase64Fails(TMXLayerDataDecoderTest.encodeBase64(TMXLayerDataDecoderTest.toLittleEndianBytes(globalTileIDs)), null, globalTileIDs.length + 1);
+		this.assertCSVFails(TMXLayerDataDecoderTest.encodeCSV(globalTileIDs, 4), globalTileIDs.length + 1);
+	}
+
+	public void testPartialGlobalTileID() {
+		/* 3 bytes are a whole base64 group, but not a whole global tile ID. */
+		this.assertBase64Fails(TMXLayerDataDecoderTest.encodeBase64(new byte[] {1, 0, 0, 0, 2, 0, 0}), null, 2);
+	}
+
+	public void testTruncatedCompressedData() throws IOException {
+		final int[] globalTileIDs = this.randomGlobalTileIDs(256);
+		final byte[] data = TMXLayerDataDecoderTest.toLittleEndianBytes(globalTileIDs);
+
+		final byte[] zlibData = TMXLayerDataDecoderTest.compress(data, TMXConstants.TAG_DATA_ATTRIBUTE_COMPRESSION_VALUE_ZLIB);
+		this.assertBase64Fails(TMXLayerDataDecoderTest.encodeBase64(TMXLayerDataDecoderTest.copyOf(zlibData, zlibData.length / 2)), TMXConstants.TAG_DATA_ATTRIBUTE_COMPRESSION_VALUE_ZLIB, globalTileIDs.length);
+
+		final byte[] gzipData = TMXLayerDataDecoderTest.compress(data, TMXConstants.TAG_DATA_ATTRIBUTE_COMPRESSION_VALUE_GZIP);
+		this.assertBase64Fails(TMXLayerDataDecoderTest.encodeBase64(TMXLayerDataDecoderTest.copyOf(gzipData, gzipData.length / 2)), TMXConstants.TAG_DATA_ATTRIBUTE_COMPRESSION_VALUE_GZIP, globalTileIDs.length);
+	}
+
+	public void testCorruptCompressedData() {
+		/* Uncompressed data, which starts with neither a zlib nor a gzip header. */
+		final byte[] data = TMXLayerDataDecoderTest.toLittleEndianBytes(new int[] {1, 2, 3, 4});
+
+		this.assertBase64Fails(TMXLayerDataDecoderTest.encodeBase64(data), TMXConstants.TAG_DATA_ATTRIBUTE_COMPRESSION_VALUE_ZLIB, 4);
+		this.assertBase64Fails(TMXLayerDataDecoderTest.encodeBase64(data), TMXConstants.TAG_DATA_ATTRIBUTE_COMPRESSION_VALUE_GZIP, 4);
+	}
+
+	public void testUnexpectedCharacters() {
+		this.assertBase64Fails("AQAA*AIAAAA=", null, 2);
+		this.assertBase64Fails("AQAAAA==AIAAAA", null, 2);
+		this.assertCSVFails("1,x,3", 3);
+		this.assertCSVFails("1,,3", 3);
+	}
+
+	public void testUnsupportedCompression() {
+		try {
+			this.mTMXLayerDataDecoder.beginBase64("bzip2");
+			TMXLayerDataDecoderTest.fail("Unsupported compression accepted.");
+		} catch (final IllegalArgumentException e) {
+			/* Expected. */
+		}
+	}
+
+	// ===========================================================
+	// Methods
+	// ===========================================================
+
+	/**
+	 * Decodes random layers with one {@link TMXLayerDataDecoder}, so its state is also checked to be reset between layers.
+	 */
+	private void assertRandomBase64Layers(final String pDataCompression) throws IOException {
+		for(int i = 0; i < TMXLayerDataDecoderTest.RANDOM_LAYER_COUNT; i++) {
+			final int[] globalTileIDs = this.randomGlobalTileIDs(this.randomLayerSize());
+			final byte[] data = TMXLayerDataDecoderTest.compress(TMXLayerDataDecoderTest.toLittleEndianBytes(globalTileIDs), pDataCompression);
+
+			TMXLayerDataDecoderTest.assertArrayEquals(globalTileIDs, TMXLayerDataDecoderTest.readGlobalTileIDsPerInt(data, pDataCompression, globalTileIDs.length));
+
+			/* Tiled wraps the data in whitespace, which has to be skipped. */
+			final String base64 = "\n   " + TMXLayerDataDecoderTest.encodeBase64(data) + "\n  ";
+			TMXLayerDataDecoderTest.assertArrayEquals(globalTileIDs, this.decodeBase64(base64, pDataCompression, globalTileIDs.length, this.randomChunkSizeMaximum()));
+		}
+	}
+
+	private int[] decodeBase64(final String pBase64, final String pDataCompression, final int pGlobalTileIDCount, final int pChunkSizeMaximum) {
+		final GlobalTileIDRecorder globalTileIDRecorder = new GlobalTileIDRecorder(pGlobalTileIDCount);
+		final char[] characters = pBase64.toCharArray();
+
+		this.mTMXLayerDataDecoder.beginBase64(pDataCompression);
+		int start = 0;
+		while(start < characters.length) {
+			final int length = Math.min(characters.length - start, 1 + this.mRandom.nextInt(pChunkSizeMaximum));
+			this.mTMXLayerDataDecoder.decodeBase64(globalTileIDRecorder, characters, start, length);
+			start += length;
+		}
+		this.mTMXLayerDataDecoder.finishBase64(globalTileIDRecorder);
+
+		return globalTileIDRecorder.mGlobalTileIDs;
+	}
+
+	private int[] decodeCSV(final String pCSV, final int pGlobalTileIDCount, final int pChunkSizeMaximum) {
+		final GlobalTileIDRecorder globalTileIDRecorder = new GlobalTileIDRecorder(pGlobalTileIDCount);
+		final char[] characters = pCSV.toCharArray();
+
+		int start = 0;
+		while(start < characters.length) {
+			final int length = Math.min(characters.length - start, 1 + this.mRandom.nextInt(pChunkSizeMaximum));
+			this.mTMXLayerDataDecoder.decodeCSV(globalTileIDRecorder, characters, start, length);
+			start += length;
+		}
+		this.mTMXLayerDataDecoder.finishCSV(globalTileIDRecorder);
+
+		return globalTileIDRecorder.mGlobalTileIDs;
+	}
+
+	private void assertBase64Fails(final String pBase64, final String pDataCompression, final int pGlobalTileIDCount) {
+		try {
+			this.decodeBase64(pBase64, pDataCompression, pGlobalTileIDCount, TMXLayerDataDecoderTest.RANDOM_CHUNK_SIZE_MAX);
+			TMXLayerDataDecoderTest.fail("Invalid base64 layer data accepted: '" + pBase64 + "'");
+		} catch (final IllegalArgumentException e) {
+			/* Expected. */
+		}
+	}
+
+	private void assertCSVFails(final String pCSV, final int pGlobalTileIDCount) {
+		try {
+			this.decodeCSV(pCSV, pGlobalTileIDCount, TMXLayerDataDecoderTest.RANDOM_CHUNK_SIZE_MAX);
+			TMXLayerDataDecoderTest.fail("Invalid CSV layer data accepted: '" + pCSV + "'");
+		} catch (final IllegalArgumentException e) {
+			/* Expected. */
+		}
+	}
+
+	private int randomLayerSize() {
+		return (1 + this.mRandom.nextInt(TMXLayerDataDecoderTest.RANDOM_LAYER_SIZE_MAX)) * (1 + this.mRandom.nextInt(TMXLayerDataDecoderTest.RANDOM_LAYER_SIZE_MAX));
+	}
+
+	/**
+	 * @return mostly single characters and small chunks, now and then the whole data at once.
+	 */
+	private int randomChunkSizeMaximum() {
+		switch(this.mRandom.nextInt(3)) {
+			case 0:
+				return 1;
+			case 1:
+				return TMXLayerDataDecoderTest.RANDOM_CHUNK_SIZE_MAX;
+			default:
+				return Integer.MAX_VALUE;
+		}
+	}
+
+	/**
+	 * @return global tile IDs, some of them empty and some with flip flags in the upper bits.
+	 */
+	private int[] randomGlobalTileIDs(final int pCount) {
+		final int[] globalTileIDs = new int[pCount];
+		for(int i = 0; i < pCount; i++) {
+			if(this.mRandom.nextInt(4) > 0) {
+				globalTileIDs[i] = (1 + this.mRandom.nextInt(1000)) | (this.mRandom.nextInt(8) << 29);
+			}
+		}
+		return globalTileIDs;
+	}
+
+	/**
+	 * The per-int path the {@link TMXLayer} used before the {@link TMXLayerDataDecoder}:
+	 * an {@link InflaterInputStream} or {@link GZIPInputStream}, read four bytes at a time through a {@link DataInputStream}.
+	 */
+	private static int[] readGlobalTileIDsPerInt(final byte[] pData, final String pDataCompression, final int pGlobalTileIDCount) throws IOException {
+		InputStream inputStream = new ByteArrayInputStream(pData);
+		if(TMXConstants.TAG_DATA_ATTRIBUTE_COMPRESSION_VALUE_GZIP.equals(pDataCompression)) {
+			inputStream = new GZIPInputStream(inputStream);
+		} else if(TMXConstants.TAG_DATA_ATTRIBUTE_COMPRESSION_VALUE_ZLIB.equals(pDataCompression)) {
+			inputStream = new InflaterInputStream(inputStream);
+		}
+		final DataInputStream dataInputStream = new DataInputStream(inputStream);
+
+		final int[] globalTileIDs = new int[pGlobalTileIDCount];
+		final int[] globalTileIDBytes = new int[TMXConstants.BYTES_PER_GLOBALTILEID];
+		for(int i = 0; i < pGlobalTileIDCount; i++) {
+			for(int j = 0; j < TMXConstants.BYTES_PER_GLOBALTILEID; j++) {
+				globalTileIDBytes[j] = dataInputStream.read();
+				TMXLayerDataDecoderTest.assertTrue("Unexpected end of layer data.", globalTileIDBytes[j] >= 0);
+			}
+			globalTileIDs[i] = globalTileIDBytes[0] | globalTileIDBytes[1] << 8 | globalTileIDBytes[2] << 16 | globalTileIDBytes[3] << 24;
+		}
+		TMXLayerDataDecoderTest.assertEquals(-1, dataInputStream.read());
+		dataInputStream.close();
+
+		return globalTileIDs;
+	}
+
+	private static byte[] toLittleEndianBytes(final int[] pGlobalTileIDs) {
+		final byte[] data = new byte[pGlobalTileIDs.length * TMXConstants.BYTES_PER_GLOBALTILEID];
+		for(int i = 0; i < pGlobalTileIDs.length; i++) {
+			final int globalTileID = pGlobalTileIDs[i];
+			for(int j = 0; j < TMXConstants.BYTES_PER_GLOBALTILEID; j++) {
+				data[i * TMXConstants.BYTES_PER_GLOBALTILEID + j] = (byte)(globalTileID >>> (8 * j));
+			}
+		}
+		return data;
+	}
+
+	private static byte[] compress(final byte[] pData, final String pDataCompression) throws IOException {
+		if(pDataCompression == null) {
+			return pData;
+		}
+
+		final ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+		final DeflaterOutputStream deflaterOutputStream;
+		if(pDataCompression.equals(TMXConstants.TAG_DATA_ATTRIBUTE_COMPRESSION_VALUE_GZIP)) {
+			deflaterOutputStream = new GZIPOutputStream(byteArrayOutputStream);
+		} else {
+			deflaterOutputStream = new DeflaterOutputStream(byteArrayOutputStream);
+		}
+		deflaterOutputStream.write(pData);
+		deflaterOutputStream.close();
+		return byteArrayOutputStream.toByteArray();
+	}
+
+	/**
+	 * Writes a gzip stream by hand, as {@link GZIPOutputStream} never writes the optional header fields.
+	 * @param pGZIPFlags any combination of FHCRC (0x02), FEXTRA (0x04), FNAME (0x08) and FCOMMENT (0x10).
+	 */
+	private static byte[] gzipWithHeaderFields(final byte[] pData, final int pGZIPFlags) {
+		final ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+		byteArrayOutputStream.write(0x1F);
+		byteArrayOutputStream.write(0x8B);
+		byteArrayOutputStream.write(Deflater.DEFLATED);
+		byteArrayOutputStream.write(pGZIPFlags);
+		TMXLayerDataDecoderTest.writeLittleEndian(byteArrayOutputStream, 0, 4);
+		byteArrayOutputStream.write(0);
+		byteArrayOutputStream.write(255);
+		if((pGZIPFlags & 0x04) != 0) {
+			final byte[] extra = new byte[] {'A', 'E', 3, 0, 1, 2, 3};
+			TMXLayerDataDecoderTest.writeLittleEndian(byteArrayOutputStream, extra.length, 2);
+			byteArrayOutputStream.write(extra, 0, extra.length);
+		}
+		if((pGZIPFlags & 0x08) != 0) {
+			TMXLayerDataDecoderTest.writeZeroTerminated(byteArrayOutputStream, "layer.bin");
+		}
+		if((pGZIPFlags & 0x10) != 0) {
+			TMXLayerDataDecoderTest.writeZeroTerminated(byteArrayOutputStream, "Layer data");
+		}
+		if((pGZIPFlags & 0x02) != 0) {
+			final CRC32 headerCRC32 = new CRC32();
+			headerCRC32.update(byteArrayOutputStream.toByteArray());
+			TMXLayerDataDecoderTest.writeLittleEndian(byteArrayOutputStream, (int)headerCRC32.getValue(), 2);
+		}
+
+		final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+		deflater.setInput(pData);
+		deflater.finish();
+		final byte[] buffer = new byte[1024];
+		while(!deflater.finished()) {
+			byteArrayOutputStream.write(buffer, 0, deflater.deflate(buffer));
+		}
+		deflater.end();
+
+		final CRC32 dataCRC32 = new CRC32();
+		dataCRC32.update(pData);
+		TMXLayerDataDecoderTest.writeLittleEndian(byteArrayOutputStream, (int)dataCRC32.getValue(), 4);
+		TMXLayerDataDecoderTest.writeLittleEndian(byteArrayOutputStream, pData.length, 4);
+
+		return byteArrayOutputStream.toByteArray();
+	}
+
+	private static void writeLittleEndian(final ByteArrayOutputStream pByteArrayOutputStream, final int pValue, final int pByteCount) {
+		for(int i = 0; i < pByteCount; i++) {
+			pByteArrayOutputStream.write(pValue >>> (8 * i));
+		}
+	}
+
+	private static void writeZeroTerminated(final ByteArrayOutputStream pByteArrayOutputStream, final String pString) {
+		for(int i = 0; i < pString.length(); i++) {
+			pByteArrayOutputStream.write(pString.charAt(i));
+		}
+		pByteArrayOutputStream.write(0);
+	}
+
+	private static String encodeBase64(final byte[] pData) {
+		final StringBuilder stringBuilder = new StringBuilder();
+		for(int i = 0; i < pData.length; i += 3) {
+			final int byteCount = Math.min(3, pData.length - i);
+			int bits = 0;
+			for(int j = 0; j < 3; j++) {
+				bits = (bits << 8) | ((j < byteCount) ? (pData[i + j] & 0xFF) : 0);
+			}
+			for(int j = 0; j < 4; j++) {
+				stringBuilder.append((j <= byteCount) ? TMXLayerDataDecoderTest.BASE64_ALPHABET.charAt((bits >> (18 - 6 * j)) & 0x3F) : '=');
+			}
+		}
+		return stringBuilder.toString();
+	}
+
+	/**
+	 * @return the global tile IDs as Tiled writes them: unsigned, one row per line, with a comma after every global tile ID but the last.
+	 */
+	private static String encodeCSV(final int[] pGlobalTileIDs, final int pColumns) {
+		final StringBuilder stringBuilder = new StringBuilder("\n");
+		for(int i = 0; i < pGlobalTileIDs.length; i++) {
+			stringBuilder.append(pGlobalTileIDs[i] & 0xFFFFFFFFL);
+			if(i < pGlobalTileIDs.length - 1) {
+				stringBuilder.append(',');
+			}
+			if((i + 1) % pColumns == 0) {
+				stringBuilder.append('\n');
+			}
+		}
+		return stringBuilder.toString();
+	}
+
+	private static byte[] copyOf(final byte[] pData, final int pLength) {
+		final byte[] data = new byte[pLength];
+		System.arraycopy(pData, 0, data, 0, pLength);
+		return data;
+	}
+
+	private static void assertArrayEquals(final int[] pExpected, final int[] pActual) {
+		TMXLayerDataDecoderTest.assertEquals(pExpected.length, pActual.length);
+		for(int i = 0; i < pExpected.length; i++) {
+			TMXLayerDataDecoderTest.assertEquals("Global tile ID " + i, pExpected[i], pActual[i]);
+		}
+	}
+
+	// ===========================================================
+	// Inner and Anonymous Classes
+	// ===========================================================
+
+	private static class GlobalTileIDRecorder implements ITMXGlobalTileIDListener {
+		// ===========================================================
+		// Fields
+		// ===========================================================
+
+		private final int[] mGlobalTileIDs;
+		private int mGlobalTileIDCount;
+
+		// ===========================================================
+		// Constructors
+		// ===========================================================
+
+		public GlobalTileIDRecorder(final int pGlobalTileIDCount) {
+			this.mGlobalTileIDs = new int[pGlobalTileIDCount];
+		}
+
+		// ===========================================================
+		// Methods for/from SuperClass/Interfaces
+		// ===========================================================
+
+		@Override
+		public int getGlobalTileIDsRemaining() {
+			return this.mGlobalTileIDs.length - this.mGlobalTileIDCount;
+		}
+
+		@Override
+		public void onGlobalTileID(final int pGlobalTileID) {
+			this.mGlobalTileIDs[this.mGlobalTileIDCount++] = pGlobalTileID;
+		}
+	}
+}
@@ -0,0 +1,212 @@
+package org.andengine.extension.tmx;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+import org.andengine.extension.tmx.util.constants.TMXConstants;
+import org.xml.sax.helpers.AttributesImpl;
+
+/**
+ * (c) 2026 Nicolas Gramlich
+ *
+ * @author Nicolas Gramlich
+ * @since 07:34:03 - 18.10.2026
+ */
+public class TMXObjectIndexTest extends TestCase {
+	// ===========================================================
+	// Constants
+	// ===========================================================
+
+	private static final int RANDOM_GROUP_COUNT = 200;
+	private static final int RANDOM_OBJECT_COUNT_MAX = 300;
+	private static final int RANDOM_QUERY_COUNT = 100;
+
+	private static final int BENCHMARK_OBJECT_COUNT = 20000;
+	private static final int BENCHMARK_QUERY_COUNT = 2000;
+	private static final int BENCHMARK_MAP_SIZE = 16384;
+	private static final int BENCHMARK_CAMERA_WIDTH = 800;
+	private static final int BENCHMARK_CAMERA_HEIGHT = 480;
+
+	// ===========================================================
+	// Test Methods
+	// ===========================================================
+
+	public void testQueriesMatchLinearScan() {
+		final Random random = new Random(19);
+		final ArrayList<TMXObject> result = new ArrayList<TMXObject>();
+		for(int i = 0; i < TMXObjectIndexTest.RANDOM_GROUP_COUNT; i++) {
+			final ArrayList<TMXObject> tmxObjects = TMXObjectIndexTest.newRandomTMXObjects(random, random.nextInt(TMXObjectIndexTest.RANDOM_OBJECT_COUNT_MAX + 1), 1000, 200);
+			/* The automatically chosen cell size, and tiny and huge ones. */
+			final int cellSize = (i % 3 == 0) ? 0 : (i % 3 == 1) ? 1 + random.nextInt(8) : 2000;
+			final TMXObjectIndex tmxObjectIndex = new TMXObjectIndex(tmxObjects, cellSize);
+			TMXObjectIndexTest.assertEquals(tmxObjects.size(), tmxObjectIndex.getTMXObjectCount());
+
+			for(int j = 0; j < TMXObjectIndexTest.RANDOM_QUERY_COUNT; j++) {
+				/* Partly outside of the bounds of the objects. */
+				final int x = random.nextInt(1400) - 200;
+				final int y = random.nextInt(1400) - 200;
+				final int width = random.nextInt(300);
+				final int height = random.nextInt(300);
+
+				result.clear();
+				final int rectCount = tmxObjectIndex.queryRect(x, y, width, height, result);
+				TMXObjectIndexTest.assertEquals(result.size(), rectCount);
+				TMXObjectIndexTest.assertSameTMXObjects(TMXObjectIndexTest.queryRectLinear(tmxObjects, x, y, width, height), result);
+
+				result.clear();
+				final int pointCount = tmxObjectIndex.queryPoint(x, y, result);
+				TMXObjectIndexTest.assertEquals(result.size(), pointCount);
+				TMXObjectIndexTest.assertSameTMXObjects(TMXObjectIndexTest.queryRectLinear(tmxObjects, x, y, 0, 0), result);
+			}
+		}
+	}
+
+	public void testEdgesAreIncluded() {
+		final ArrayList<TMXObject> tmxObjects = new ArrayList<TMXObject>();
+		tmxObjects.add(TMXObjectIndexTest.newTMXObject(10, 10, 20, 20));
+		tmxObjects.add(TMXObjectIndexTest.newTMXObject(50, 50, 0, 0));
+		final TMXObjectIndex tmxObjectIndex = new TMXObjectIndex(tmxObjects, 16);
+		final ArrayList<TMXObject> result = new ArrayList<TMXObject>();
+
+		TMXObjectIndexTest.assertEquals(1, tmxObjectIndex.queryPoint(30, 30, result));
+		TMXObjectIndexTest.assertEquals(1, tmxObjectIndex.queryPoint(10, 10, result));
+		TMXObjectIndexTest.assertEquals(0, tmxObjectIndex.queryPoint(31, 30, result));
+		TMXObjectIndexTest.assertEquals(1, tmxObjectIndex.queryPoint(50, 50, result));
+		TMXObjectIndexTest.assertEquals(1, tmxObjectIndex.queryRect(0, 0, 10, 10, result));
+		TMXObjectIndexTest.assertEquals(0, tmxObjectIndex.queryRect(0, 0, 9, 9, result));
+		TMXObjectIndexTest.assertEquals(2, tmxObjectIndex.queryRect(30, 30, 20, 20, result));
+		TMXObjectIndexTest.assertEquals(6, result.size());
+	}
+
+	public void testObjectsSpanningCellsAreReportedOnce() {
+		final ArrayList<TMXObject> tmxObjects = new ArrayList<TMXObject>();
+		tmxObjects.add(TMXObjectIndexTest.newTMXObject(0, 0, 1000, 1000));
+		tmxObjects.add(TMXObjectIndexTest.newTMXObject(500, 500, 1, 1));
+		final TMXObjectIndex tmxObjectIndex = new TMXObjectIndex(tmxObjects, 10);
+		final ArrayList<TMXObject> result = new ArrayList<TMXObject>();
+
+		for(int i = 0; i < 3; i++) {
+			result.clear();
+			TMXObjectIndexTest.assertEquals(2, tmxObjectIndex.queryRect(-100, -100, 1200, 1200, result));
+			TMXObjectIndexTest.assertSameTMXObjects(tmxObjects, result);
+		}
+	}
+
+	public void testNoObjects() {
+		final TMXObjectIndex tmxObjectIndex = new TMXObjectIndex(new ArrayList<TMXObject>());
+		final ArrayList<TMXObject> result = new ArrayList<TMXObject>();
+
+		TMXObjectIndexTest.assertEquals(0, tmxObjectIndex.queryRect(-10, -10, 20, 20, result));
+		TMXObjectIndexTest.assertEquals(0, tmxObjectIndex.queryPoint(0, 0, result));
+		TMXObjectIndexTest.assertEquals(0, result.size());
+	}
+
+	/**
+	 * Camera sized queries on a large object group, where the index needs to beat the linear scan it replaces by far.
+	 */
+	public void testQueryRectIsFasterThanLinearScan() {
+		final Random random = new Random(42);
+		final ArrayList<TMXObject> tmxObjects = TMXObjectIndexTest.newRandomTMXObjects(random, TMXObjectIndexTest.BENCHMARK_OBJECT_COUNT, TMXObjectIndexTest.BENCHMARK_MAP_SIZE, 64);
+		final TMXObjectIndex tmxObjectIndex = new TMXObjectIndex(tmxObjects);
+		final int[] xs = new int[TMXObjectIndexTest.BENCHMARK_QUERY_COUNT];
+		final int[] ys = new int[TMXObjectIndexTest.BENCHMARK_QUERY_COUNT];
+		for(int i = 0; i < TMXObjectIndexTest.BENCHMARK_QUERY_COUNT; i++) {
+			xs[i] = random.nextInt(TMXObjectIndexTest.BENCHMARK_MAP_SIZE - TMXObjectIndexTest.BENCHMARK_CAMERA_WIDTH);
+			ys[i] = random.nextInt(TMXObjectIndexTest.BENCHMARK_MAP_SIZE - TMXObjectIndexTest.BENCHMARK_CAMERA_HEIGHT);
+		}
+		final ArrayList<TMXObject> result = new ArrayList<TMXObject>();
+
+		/* Warm up, then take the best of a few runs of each. */
+		long indexNanos = Long.MAX_VALUE;
+		long linearScanNanos = Long.MAX_VALUE;
+		int indexCount = 0;
+		int linearScanCount = 0;
+		for(int run = 0; run < 5; run++) {
+			long start = System.nanoTime();
+			indexCount = 0;
+			for(int i = 0; i < TMXObjectIndexTest.BENCHMARK_QUERY_COUNT; i++) {
+				result.clear();
+				indexCount += tmxObjectIndex.queryRect(xs[i], ys[i], TMXObjectIndexTest.BENCHMARK_CAMERA_WIDTH, TMXObjectIndexTest.BENCHMARK_CAMERA_HEIGHT, result);
+			}
+			indexNanos = Math.min(indexNanos, System.nanoTime() - start);
+
+			start = System.nanoTime();
+			linearScanCount = 0;
+			for(int i = 0; i < TMXObjectIndexTest.BENCHMARK_QUERY_COUNT; i++) {
+				linearScanCount += TMXObjectIndexTest.queryRectLinear(tmxObjects, xs[i], ys[i], TMXObjectIndexTest.BENCHMARK_CAMERA_WIDTH, TMXObjectIndexTest.BENCHMARK_CAMERA_HEIGHT).size();
+			}
+			linearScanNanos = Math.min(linearScanNanos, System.nanoTime() - start);
+		}
+
+		TMXObjectIndexTest.assertEquals(linearScanCount, indexCount);
+		/* By far more in practice, only loosely checked as the machine running the test is unknown. */
+		TMXObjectIndexTest.assertTrue("Index: " + indexNanos / 1000 + "us, linear scan: " + linearScanNanos / 1000 + "us.", indexNanos * 2 < linearScanNanos);
+	}
+
+	// ===========================================================
+	// Methods
+	// ===========================================================
+
+	/**
+	 * What {@link TMXObjectIndex#queryRect(int, int, int, int, java.util.List)} replaces.
+	 */
+	private static ArrayList<TMXObject> queryRectLinear(final ArrayList<TMXObject> pTMXObjects, final int pX, final int pY, final int pWidth, final int pHeight) {
+		final ArrayList<TMXObject> result = new ArrayList<TMXObject>();
+		for(int i = 0; i < pTMXObjects.size(); i++) {
+			final TMXObject tmxObject = pTMXObjects.get(i);
+			if(tmxObject.getX() <= pX + pWidth && tmxObject.getX() + tmxObject.getWidth() >= pX && tmxObject.getY() <= pY + pHeight && tmxObject.getY() + tmxObject.getHeight() >= pY) {
+				result.add(tmxObject);
+			}
+		}
+		return result;
+	}
+
+	private static void assertSameTMXObjects(final ArrayList<TMXObject> pExpectedTMXObjects, final ArrayList<TMXObject> pTMXObjects) {
+		TMXObjectIndexTest.assertEquals(pExpectedTMXObjects.size(), pTMXObjects.size());
+
+		final IdentityHashMap<TMXObject, Boolean> expectedTMXObjects = new IdentityHashMap<TMXObject, Boolean>();
+		for(int i = 0; i < pExpectedTMXObjects.size(); i++) {
+			expectedTMXObjects.put(pExpectedTMXObjects.get(i), Boolean.TRUE);
+		}
+		for(int i = 0; i < pTMXObjects.size(); i++) {
+			/* Removed, so objects reported twice are found too. */
+			TMXObjectIndexTest.assertNotNull("Unexpected or duplicate object " + i + ".", expectedTMXObjects.remove(pTMXObjects.get(i)));
+		}
+	}
+
+	/**
+	 * Mostly small objects, some points and some large ones, partly at negative coordinates.
+	 */
+	private static ArrayList<TMXObject> newRandomTMXObjects(final Random pRandom, final int pCount, final int pMapSize, final int pObjectSizeMaximum) {
+		final ArrayList<TMXObject> tmxObjects = new ArrayList<TMXObject>(pCount);
+		for(int i = 0; i < pCount; i++) {
+			final int x = pRandom.nextInt(pMapSize) - pMapSize / 10;
+			final int y = pRandom.nextInt(pMapSize) - pMapSize / 10;
+			final int kind = pRandom.nextInt(10);
+			if(kind == 0) {
+				tmxObjects.add(TMXObjectIndexTest.newTMXObject(x, y, 0, 0));
+			} else if(kind == 1) {
+				tmxObjects.add(TMXObjectIndexTest.newTMXObject(x, y, pRandom.nextInt(pMapSize / 2), pRandom.nextInt(pMapSize / 2)));
+			} else {
+				tmxObjects.add(TMXObjectIndexTest.newTMXObject(x, y, pRandom.nextInt(pObjectSizeMaximum), pRandom.nextInt(pObjectSizeMaximum)));
+			}
+		}
+		return tmxObjects;
+	}
+
+	private static TMXObject newTMXObject(final int pX, final int pY, final int pWidth, final int pHeight) {
+		final AttributesImpl attributes = new AttributesImpl();
+		attributes.addAttribute("", TMXConstants.TAG_OBJECT_ATTRIBUTE_X, TMXConstants.TAG_OBJECT_ATTRIBUTE_X, "CDATA", Integer.toString(pX));
+		attributes.addAttribute("", TMXConstants.TAG_OBJECT_ATTRIBUTE_Y, TMXConstants.TAG_OBJECT_ATTRIBUTE_Y, "CDATA", Integer.toString(pY));
+		attributes.addAttribute("", TMXConstants.TAG_OBJECT_ATTRIBUTE_WIDTH, TMXConstants.TAG_OBJECT_ATTRIBUTE_WIDTH, "CDATA", Integer.toString(pWidth));
+		attributes.addAttribute("", TMXConstants.TAG_OBJECT_ATTRIBUTE_HEIGHT, TMXConstants.TAG_OBJECT_ATTRIBUTE_HEIGHT, "CDATA", Integer.toString(pHeight));
+		return new TMXObject(attributes);
+	}
+
+	// ===========================================================
+	// Inner and Anonymous Classes
+	// ===========================================================
+}
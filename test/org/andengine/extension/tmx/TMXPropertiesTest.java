@@ -0,0 +1,102 @@
+package org.andengine.extension.tmx;
+
+import junit.framework.TestCase;
+
+import org.andengine.extension.tmx.util.constants.TMXConstants;
+import org.xml.sax.helpers.AttributesImpl;
+
+/**
+ * (c) 2026 Nicolas Gramlich
+ *
+ * @author Nicolas Gramlich
+ * @since 07:37:51 - 18.10.2026
+ */
+public class TMXPropertiesTest extends TestCase {
+	// ===========================================================
+	// Constants
+	// ===========================================================
+
+	// ===========================================================
+	// Fields
+	// ===========================================================
+
+	private TMXProperties<TMXTileProperty> mTMXProperties;
+
+	// ===========================================================
+	// Methods for/from SuperClass/Interfaces
+	// ===========================================================
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+
+		this.mTMXProperties = new TMXProperties<TMXTileProperty>();
+		this.mTMXProperties.add(TMXPropertiesTest.newTMXTileProperty("solid", "true"));
+		this.mTMXProperties.add(TMXPropertiesTest.newTMXTileProperty("damage", "3"));
+		this.mTMXProperties.add(TMXPropertiesTest.newTMXTileProperty("marker", null));
+		this.mTMXProperties.add(TMXPropertiesTest.newTMXTileProperty("damage", "5"));
+	}
+
+	// ===========================================================
+	// Test Methods
+	// ===========================================================
+
+	public void testContainsTMXProperty() {
+		TMXPropertiesTest.assertTrue(this.mTMXProperties.containsTMXProperty("solid", "true"));
+		TMXPropertiesTest.assertFalse(this.mTMXProperties.containsTMXProperty("solid", "false"));
+		TMXPropertiesTest.assertFalse(this.mTMXProperties.containsTMXProperty("solid", null));
+
+		/* Every TMXProperty with the name is checked, not only the first one. */
+		TMXPropertiesTest.assertTrue(this.mTMXProperties.containsTMXProperty("damage", "3"));
+		TMXPropertiesTest.assertTrue(this.mTMXProperties.containsTMXProperty("damage", "5"));
+
+		TMXPropertiesTest.assertFalse(this.mTMXProperties.containsTMXProperty("unknown property name", "true"));
+	}
+
+	public void testContainsTMXPropertyWithoutValue() {
+		TMXPropertiesTest.assertTrue(this.mTMXProperties.containsTMXProperty("marker", null));
+		TMXPropertiesTest.assertFalse(this.mTMXProperties.containsTMXProperty("marker", "true"));
+		TMXPropertiesTest.assertTrue(this.mTMXProperties.containsTMXProperty(TMXPropertyNames.getID("marker")));
+	}
+
+	public void testGetTMXProperty() {
+		final int damageNameID = TMXPropertyNames.getID("damage");
+		TMXPropertiesTest.assertEquals(1, this.mTMXProperties.indexOfTMXProperty(damageNameID));
+		TMXPropertiesTest.assertEquals(3, this.mTMXProperties.getInt(damageNameID, 0));
+		TMXPropertiesTest.assertEquals(3, this.mTMXProperties.getInt("damage", 0));
+		TMXPropertiesTest.assertTrue(this.mTMXProperties.getBoolean("solid", false));
+		TMXPropertiesTest.assertEquals(7, this.mTMXProperties.getInt("marker", 7));
+		TMXPropertiesTest.assertEquals(7, this.mTMXProperties.getInt("unknown property name", 7));
+		TMXPropertiesTest.assertNull(this.mTMXProperties.getTMXProperty(TMXPropertyNames.ID_INVALID));
+	}
+
+	public void testIndexFollowsModifications() {
+		final int damageNameID = TMXPropertyNames.getID("damage");
+		this.mTMXProperties.remove(1);
+		TMXPropertiesTest.assertEquals(5, this.mTMXProperties.getInt(damageNameID, 0));
+
+		this.mTMXProperties.set(2, TMXPropertiesTest.newTMXTileProperty("solid", "false"));
+		TMXPropertiesTest.assertFalse(this.mTMXProperties.containsTMXProperty(damageNameID));
+		TMXPropertiesTest.assertTrue(this.mTMXProperties.containsTMXProperty("solid", "false"));
+
+		this.mTMXProperties.clear();
+		TMXPropertiesTest.assertNull(this.mTMXProperties.getTMXProperty("solid"));
+	}
+
+	// ===========================================================
+	// Methods
+	// ===========================================================
+
+	private static TMXTileProperty newTMXTileProperty(final String pName, final String pValue) {
+		final AttributesImpl attributes = new AttributesImpl();
+		attributes.addAttribute("", TMXConstants.TAG_PROPERTY_ATTRIBUTE_NAME, TMXConstants.TAG_PROPERTY_ATTRIBUTE_NAME, "CDATA", pName);
+		if(pValue != null) {
+			attributes.addAttribute("", TMXConstants.TAG_PROPERTY_ATTRIBUTE_VALUE, TMXConstants.TAG_PROPERTY_ATTRIBUTE_VALUE, "CDATA", pValue);
+		}
+		return new TMXTileProperty(attributes);
+	}
+
+	// ===========================================================
+	// Inner and Anonymous Classes
+	// ===========================================================
+}
@@ -0,0 +1,260 @@
+package org.andengine.extension.tmx;
+
+import junit.framework.TestCase;
+
+import org.andengine.extension.tmx.TMXChunkedLayer.IGlobalTileIDSource;
+import org.andengine.extension.tmx.TMXResidentChunks.ITMXChunkFactory;
+
+/**
+ * Walks a camera across a synthetic 2048x2048 map, the way {@link TMXChunkedLayer} moves its window of resident chunks while drawing.
+ *
+ * (c) 2026 Nicolas Gramlich
+ *
+ * @author Nicolas Gramlich
+ * @since 07:25:41 - 18.10.2026
+ */
+public class TMXResidentChunksTest extends TestCase {
+	// ===========================================================
+	// Constants
+	// ===========================================================
+
+	private static final int TILE_COLUMNS = 2048;
+	private static final int TILE_ROWS = 2048;
+	private static final int TILE_SIZE = 32;
+	private static final int CHUNK_SIZE = 32;
+	private static final int CHUNK_PIXELS = TMXResidentChunksTest.TILE_SIZE * TMXResidentChunksTest.CHUNK_SIZE;
+	private static final int CHUNK_COLUMNS = TMXResidentChunksTest.TILE_COLUMNS / TMXResidentChunksTest.CHUNK_SIZE;
+	private static final int CHUNK_ROWS = TMXResidentChunksTest.TILE_ROWS / TMXResidentChunksTest.CHUNK_SIZE;
+
+	private static final int CAMERA_WIDTH = 800;
+	private static final int CAMERA_HEIGHT = 480;
+
+	private static final int RESIDENT_CHUNK_MARGIN = 1;
+	private static final int POOLED_CHUNKS_MAXIMUM = 8;
+
+	/** A camera spans at most this many chunks plus one, as it can straddle a chunk border. */
+	private static final int RESIDENT_CHUNK_COLUMNS_MAXIMUM = TMXResidentChunksTest.CAMERA_WIDTH / TMXResidentChunksTest.CHUNK_PIXELS + 2 + 2 * TMXResidentChunksTest.RESIDENT_CHUNK_MARGIN;
+	private static final int RESIDENT_CHUNK_ROWS_MAXIMUM = TMXResidentChunksTest.CAMERA_HEIGHT / TMXResidentChunksTest.CHUNK_PIXELS + 2 + 2 * TMXResidentChunksTest.RESIDENT_CHUNK_MARGIN;
+	private static final int RESIDENT_CHUNKS_MAXIMUM = TMXResidentChunksTest.RESIDENT_CHUNK_COLUMNS_MAXIMUM * TMXResidentChunksTest.RESIDENT_CHUNK_ROWS_MAXIMUM;
+
+	// ===========================================================
+	// Fields
+	// ===========================================================
+
+	private SyntheticGlobalTileIDSource mGlobalTileIDSource;
+	private TestChunkFactory mTestChunkFactory;
+	private TMXResidentChunks<TestChunk> mResidentChunks;
+
+	// ===========================================================
+	// Methods for/from SuperClass/Interfaces
+	// ===========================================================
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+
+		this.mGlobalTileIDSource = new SyntheticGlobalTileIDSource();
+		this.mTestChunkFactory = new TestChunkFactory();
+		this.mResidentChunks = new TMXResidentChunks<TestChunk>(TMXResidentChunksTest.CHUNK_COLUMNS, TMXResidentChunksTest.CHUNK_ROWS, TMXResidentChunksTest.RESIDENT_CHUNK_MARGIN, TMXResidentChunksTest.POOLED_CHUNKS_MAXIMUM, this.mTestChunkFactory);
+	}
+
+	// ===========================================================
+	// Test Methods
+	// ===========================================================
+
+	public void testCameraWalkKeepsResidentChunksBounded() {
+		final int mapWidth = TMXResidentChunksTest.TILE_COLUMNS * TMXResidentChunksTest.TILE_SIZE;
+		final int mapHeight = TMXResidentChunksTest.TILE_ROWS * TMXResidentChunksTest.TILE_SIZE;
+
+		/* Diagonally across the whole map, then back along the bottom and up the left edge. */
+		for(int x = 0, y = 0; x < mapWidth && y < mapHeight; x += 13, y += 13) {
+			this.moveCamera(x, y);
+		}
+		for(int x = mapWidth - TMXResidentChunksTest.CAMERA_WIDTH; x >= 0; x -= 29) {
+			this.moveCamera(x, mapHeight - TMXResidentChunksTest.CAMERA_HEIGHT);
+		}
+		for(int y = mapHeight - TMXResidentChunksTest.CAMERA_HEIGHT; y >= 0; y -= 29) {
+			this.moveCamera(0, y);
+		}
+
+		final TestChunkFactory testChunkFactory = this.mTestChunkFactory;
+		TMXResidentChunksTest.assertTrue("Chunks were not reused: " + testChunkFactory.mCreatedChunkCount + " created for " + testChunkFactory.mBuiltChunkCount + " built.", testChunkFactory.mCreatedChunkCount * 4 < testChunkFactory.mBuiltChunkCount);
+		TMXResidentChunksTest.assertTrue("Global tile IDs were read outside of the resident chunks.", this.mGlobalTileIDSource.mReadCount <= (long)testChunkFactory.mBuiltChunkCount * TMXResidentChunksTest.CHUNK_SIZE * TMXResidentChunksTest.CHUNK_SIZE);
+	}
+
+	public void testJumpRecyclesEvictedChunks() {
+		this.moveCamera(10 * TMXResidentChunksTest.CHUNK_PIXELS + 512, 10 * TMXResidentChunksTest.CHUNK_PIXELS + 512);
+		final int residentChunkCount = this.mResidentChunks.getResidentChunkCount();
+		TMXResidentChunksTest.assertTrue(residentChunkCount > TMXResidentChunksTest.POOLED_CHUNKS_MAXIMUM);
+		TMXResidentChunksTest.assertEquals(0, this.mTestChunkFactory.mDisposedChunkCount);
+
+		/* Far away, so no chunk stays resident and the pool is used up by the new chunks again. */
+		this.moveCamera(40 * TMXResidentChunksTest.CHUNK_PIXELS + 512, 40 * TMXResidentChunksTest.CHUNK_PIXELS + 512);
+		TMXResidentChunksTest.assertEquals(residentChunkCount - TMXResidentChunksTest.POOLED_CHUNKS_MAXIMUM, this.mTestChunkFactory.mDisposedChunkCount);
+		TMXResidentChunksTest.assertEquals(0, this.mResidentChunks.getPooledChunkCount());
+	}
+
+	public void testWindowIsClampedToTheMap() {
+		this.moveCamera(-5000, -5000);
+		TMXResidentChunksTest.assertEquals((1 + TMXResidentChunksTest.RESIDENT_CHUNK_MARGIN) * (1 + TMXResidentChunksTest.RESIDENT_CHUNK_MARGIN), this.mResidentChunks.getResidentChunkCount());
+		TMXResidentChunksTest.assertNotNull(this.mResidentChunks.getChunk(0, 0));
+
+		final int mapWidth = TMXResidentChunksTest.TILE_COLUMNS * TMXResidentChunksTest.TILE_SIZE;
+		final int mapHeight = TMXResidentChunksTest.TILE_ROWS * TMXResidentChunksTest.TILE_SIZE;
+		this.moveCamera(mapWidth + 5000, mapHeight + 5000);
+		TMXResidentChunksTest.assertEquals((1 + TMXResidentChunksTest.RESIDENT_CHUNK_MARGIN) * (1 + TMXResidentChunksTest.RESIDENT_CHUNK_MARGIN), this.mResidentChunks.getResidentChunkCount());
+		TMXResidentChunksTest.assertNotNull(this.mResidentChunks.getChunk(TMXResidentChunksTest.CHUNK_COLUMNS - 1, TMXResidentChunksTest.CHUNK_ROWS - 1));
+		TMXResidentChunksTest.assertNull(this.mResidentChunks.getChunk(0, 0));
+	}
+
+	public void testClearDisposesAllChunks() {
+		for(int x = 0; x < 20 * TMXResidentChunksTest.CHUNK_PIXELS; x += 100) {
+			this.moveCamera(x, x / 2);
+		}
+
+		this.mResidentChunks.clear();
+
+		final TestChunkFactory testChunkFactory = this.mTestChunkFactory;
+		TMXResidentChunksTest.assertEquals(0, this.mResidentChunks.getResidentChunkCount());
+		TMXResidentChunksTest.assertEquals(0, this.mResidentChunks.getPooledChunkCount());
+		TMXResidentChunksTest.assertEquals(testChunkFactory.mCreatedChunkCount, testChunkFactory.mDisposedChunkCount);
+	}
+
+	// ===========================================================
+	// Methods
+	// ===========================================================
+
+	/**
+	 * Updates the window for the camera at <code>pCameraX</code> and <code>pCameraY</code>, as {@link TMXChunkedLayer} does while drawing, and checks the chunks.
+	 */
+	private void moveCamera(final int pCameraX, final int pCameraY) {
+		final int firstVisibleChunkColumn = TMXResidentChunksTest.toChunk(pCameraX, TMXResidentChunksTest.CHUNK_COLUMNS);
+		final int firstVisibleChunkRow = TMXResidentChunksTest.toChunk(pCameraY, TMXResidentChunksTest.CHUNK_ROWS);
+		final int lastVisibleChunkColumn = TMXResidentChunksTest.toChunk(pCameraX + TMXResidentChunksTest.CAMERA_WIDTH, TMXResidentChunksTest.CHUNK_COLUMNS);
+		final int lastVisibleChunkRow = TMXResidentChunksTest.toChunk(pCameraY + TMXResidentChunksTest.CAMERA_HEIGHT, TMXResidentChunksTest.CHUNK_ROWS);
+
+		final TMXResidentChunks<TestChunk> residentChunks = this.mResidentChunks;
+		residentChunks.update(firstVisibleChunkColumn, firstVisibleChunkRow, lastVisibleChunkColumn, lastVisibleChunkRow);
+
+		for(int chunkRow = firstVisibleChunkRow; chunkRow <= lastVisibleChunkRow; chunkRow++) {
+			for(int chunkColumn = firstVisibleChunkColumn; chunkColumn <= lastVisibleChunkColumn; chunkColumn++) {
+				final TestChunk testChunk = residentChunks.getChunk(chunkColumn, chunkRow);
+				TMXResidentChunksTest.assertNotNull("Visible chunk " + chunkColumn + "/" + chunkRow + " is not resident.", testChunk);
+				TMXResidentChunksTest.assertEquals(chunkColumn, testChunk.mChunkColumn);
+				TMXResidentChunksTest.assertEquals(chunkRow, testChunk.mChunkRow);
+				TMXResidentChunksTest.assertFalse(testChunk.mDisposed);
+			}
+		}
+
+		final TestChunkFactory testChunkFactory = this.mTestChunkFactory;
+		final int liveChunkCount = testChunkFactory.mCreatedChunkCount - testChunkFactory.mDisposedChunkCount;
+		TMXResidentChunksTest.assertTrue("Too many resident chunks: " + residentChunks.getResidentChunkCount(), residentChunks.getResidentChunkCount() <= TMXResidentChunksTest.RESIDENT_CHUNKS_MAXIMUM);
+		TMXResidentChunksTest.assertTrue("Too many pooled chunks: " + residentChunks.getPooledChunkCount(), residentChunks.getPooledChunkCount() <= TMXResidentChunksTest.POOLED_CHUNKS_MAXIMUM);
+		TMXResidentChunksTest.assertEquals(residentChunks.getResidentChunkCount() + residentChunks.getPooledChunkCount(), liveChunkCount);
+	}
+
+	private static int toChunk(final int pPixel, final int pChunkCount) {
+		return Math.max(0, Math.min(pChunkCount - 1, (int)Math.floor((float)pPixel / TMXResidentChunksTest.CHUNK_PIXELS)));
+	}
+
+	// ===========================================================
+	// Inner and Anonymous Classes
+	// ===========================================================
+
+	private static class TestChunk {
+		// ===========================================================
+		// Fields
+		// ===========================================================
+
+		int mChunkColumn = -1;
+		int mChunkRow = -1;
+		int mTileCount;
+		boolean mDisposed;
+	}
+
+	/**
+	 * Reads the global tile IDs of every chunk it builds, like {@link TMXChunkedLayer} does.
+	 */
+	private class TestChunkFactory implements ITMXChunkFactory<TestChunk> {
+		// ===========================================================
+		// Fields
+		// ===========================================================
+
+		int mCreatedChunkCount;
+		int mBuiltChunkCount;
+		int mDisposedChunkCount;
+
+		// ===========================================================
+		// Methods for/from SuperClass/Interfaces
+		// ===========================================================
+
+		@Override
+		public TestChunk createChunk() {
+			this.mCreatedChunkCount++;
+			return new TestChunk();
+		}
+
+		@Override
+		public void buildChunk(final TestChunk pTestChunk, final int pChunkColumn, final int pChunkRow) {
+			TMXResidentChunksTest.assertFalse(pTestChunk.mDisposed);
+
+			final IGlobalTileIDSource globalTileIDSource = TMXResidentChunksTest.this.mGlobalTileIDSource;
+			final int firstColumn = pChunkColumn * TMXResidentChunksTest.CHUNK_SIZE;
+			final int firstRow = pChunkRow * TMXResidentChunksTest.CHUNK_SIZE;
+			int tileCount = 0;
+			for(int row = firstRow; row < firstRow + TMXResidentChunksTest.CHUNK_SIZE; row++) {
+				for(int column = firstColumn; column < firstColumn + TMXResidentChunksTest.CHUNK_SIZE; column++) {
+					if(globalTileIDSource.getGlobalTileID(column, row) != 0) {
+						tileCount++;
+					}
+				}
+			}
+
+			pTestChunk.mChunkColumn = pChunkColumn;
+			pTestChunk.mChunkRow = pChunkRow;
+			pTestChunk.mTileCount = tileCount;
+			this.mBuiltChunkCount++;
+		}
+
+		@Override
+		public void disposeChunk(final TestChunk pTestChunk) {
+			TMXResidentChunksTest.assertFalse("Chunk disposed twice.", pTestChunk.mDisposed);
+
+			pTestChunk.mDisposed = true;
+			this.mDisposedChunkCount++;
+		}
+	}
+
+	/**
+	 * Computes the global tile IDs instead of storing them, as a stand-in for a memory-mapped layer, and counts the reads.
+	 */
+	private static class SyntheticGlobalTileIDSource implements IGlobalTileIDSource {
+		// ===========================================================
+		// Fields
+		// ===========================================================
+
+		long mReadCount;
+
+		// ===========================================================
+		// Methods for/from SuperClass/Interfaces
+		// ===========================================================
+
+		@Override
+		public int getTileColumns() {
+			return TMXResidentChunksTest.TILE_COLUMNS;
+		}
+
+		@Override
+		public int getTileRows() {
+			return TMXResidentChunksTest.TILE_ROWS;
+		}
+
+		@Override
+		public int getGlobalTileID(final int pTileColumn, final int pTileRow) {
+			this.mReadCount++;
+			/* Some empty cells, some flipped tiles. */
+			final int hash = pTileColumn * 31 + pTileRow * 17;
+			return (hash % 7 == 0) ? 0 : (1 + hash % 64) | ((hash % 5 == 0) ? 0x80000000 : 0);
+		}
+	}
+}
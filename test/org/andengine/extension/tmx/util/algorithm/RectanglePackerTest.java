@@ -0,0 +1,169 @@
+package org.andengine.extension.tmx.util.algorithm;
+
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+/**
+ * (c) 2026 Nicolas Gramlich
+ *
+ * @author Nicolas Gramlich
+ * @since 07:32:10 - 18.10.2026
+ */
+public class RectanglePackerTest extends TestCase {
+	// ===========================================================
+	// Constants
+	// ===========================================================
+
+	private static final int RANDOM_PACK_COUNT = 300;
+	private static final int RANDOM_RECTANGLE_COUNT_MAX = 120;
+	private static final int RANDOM_PADDING_MAX = 4;
+
+	// ===========================================================
+	// Test Methods
+	// ===========================================================
+
+	public void testRandomRectangles() {
+		final Random random = new Random(13);
+		for(int i = 0; i < RectanglePackerTest.RANDOM_PACK_COUNT; i++) {
+			final int atlasSizeMaximum = 32 << random.nextInt(6);
+			final int padding = random.nextInt(RectanglePackerTest.RANDOM_PADDING_MAX + 1);
+			final int count = 1 + random.nextInt(RectanglePackerTest.RANDOM_RECTANGLE_COUNT_MAX);
+			/* Mostly tileset sized rectangles, now and then one up to the maximum size. */
+			final int sizeMaximum = random.nextBoolean() ? atlasSizeMaximum : Math.max(1, atlasSizeMaximum / 4);
+			final int[] widths = new int[count];
+			final int[] heights = new int[count];
+			for(int j = 0; j < count; j++) {
+				widths[j] = 1 + random.nextInt(sizeMaximum);
+				heights[j] = 1 + random.nextInt(sizeMaximum);
+			}
+
+			RectanglePackerTest.assertPacked(new RectanglePacker(atlasSizeMaximum, padding), atlasSizeMaximum, padding, widths, heights);
+		}
+	}
+
+	public void testEqualTilesets() {
+		final RectanglePacker rectanglePacker = new RectanglePacker(64, 0);
+		final int[] widths = new int[] {32, 32, 32, 32};
+		final int[] heights = new int[] {32, 32, 32, 32};
+
+		RectanglePackerTest.assertEquals(1, RectanglePackerTest.assertPacked(rectanglePacker, 64, 0, widths, heights));
+		RectanglePackerTest.assertEquals(64, rectanglePacker.getAtlasWidth(0));
+		RectanglePackerTest.assertEquals(64, rectanglePacker.getAtlasHeight(0));
+	}
+
+	public void testLastAtlasIsShrunk() {
+		final RectanglePacker rectanglePacker = new RectanglePacker(256, 2);
+		final int[] widths = new int[] {200, 200, 30};
+		final int[] heights = new int[] {200, 200, 10};
+
+		RectanglePackerTest.assertEquals(2, RectanglePackerTest.assertPacked(rectanglePacker, 256, 2, widths, heights));
+		RectanglePackerTest.assertEquals(256, rectanglePacker.getAtlasWidth(0));
+		RectanglePackerTest.assertEquals(256, rectanglePacker.getAtlasHeight(0));
+		RectanglePackerTest.assertTrue(rectanglePacker.getAtlasWidth(1) * rectanglePacker.getAtlasHeight(1) <= 256 * 256);
+	}
+
+	public void testNoRectangles() {
+		final RectanglePacker rectanglePacker = new RectanglePacker(64, 1);
+
+		RectanglePackerTest.assertEquals(0, rectanglePacker.pack(new int[0], new int[0], new int[0], new int[0], new int[0]));
+		RectanglePackerTest.assertEquals(0, rectanglePacker.getAtlasCount());
+	}
+
+	public void testRectangleTooLarge() {
+		final RectanglePacker rectanglePacker = new RectanglePacker(64, 0);
+		RectanglePackerTest.assertPackFails(rectanglePacker, new int[] {16, 65}, new int[] {16, 8});
+		RectanglePackerTest.assertPackFails(rectanglePacker, new int[] {16, 8}, new int[] {16, 65});
+
+		/* The padding is only needed between rectangles, so a rectangle of the maximum size still fits. */
+		final RectanglePacker paddedRectanglePacker = new RectanglePacker(64, 4);
+		RectanglePackerTest.assertEquals(1, RectanglePackerTest.assertPacked(paddedRectanglePacker, 64, 4, new int[] {64}, new int[] {64}));
+	}
+
+	public void testInvalidArguments() {
+		try {
+			new RectanglePacker(100, 0);
+			RectanglePackerTest.fail("Atlas size that is not a power of two accepted.");
+		} catch (final IllegalArgumentException e) {
+			/* Expected. */
+		}
+		try {
+			new RectanglePacker(64, -1);
+			RectanglePackerTest.fail("Negative padding accepted.");
+		} catch (final IllegalArgumentException e) {
+			/* Expected. */
+		}
+	}
+
+	// ===========================================================
+	// Methods
+	// ===========================================================
+
+	/**
+	 * Packs the rectangles and checks that every one lies within its atlas and keeps <code>pPadding</code> from all others in the same atlas.
+	 *
+	 * @return the number of atlases used.
+	 */
+	private static int assertPacked(final RectanglePacker pRectanglePacker, final int pAtlasSizeMaximum, final int pPadding, final int[] pWidths, final int[] pHeights) {
+		final int count = pWidths.length;
+		final int[] atlasIndices = new int[count];
+		final int[] xs = new int[count];
+		final int[] ys = new int[count];
+
+		final int atlasCount = pRectanglePacker.pack(pWidths, pHeights, atlasIndices, xs, ys);
+		RectanglePackerTest.assertEquals(atlasCount, pRectanglePacker.getAtlasCount());
+		RectanglePackerTest.assertTrue(atlasCount >= 1);
+
+		final int[] atlasRectangleCounts = new int[atlasCount];
+		for(int atlasIndex = 0; atlasIndex < atlasCount; atlasIndex++) {
+			final int atlasWidth = pRectanglePacker.getAtlasWidth(atlasIndex);
+			final int atlasHeight = pRectanglePacker.getAtlasHeight(atlasIndex);
+			RectanglePackerTest.assertTrue("Atlas width " + atlasWidth, atlasWidth > 0 && atlasWidth <= pAtlasSizeMaximum && (atlasWidth & (atlasWidth - 1)) == 0);
+			RectanglePackerTest.assertTrue("Atlas height " + atlasHeight, atlasHeight > 0 && atlasHeight <= pAtlasSizeMaximum && (atlasHeight & (atlasHeight - 1)) == 0);
+			if(atlasIndex < atlasCount - 1) {
+				/* Only the last atlas is shrunk. */
+				RectanglePackerTest.assertEquals(pAtlasSizeMaximum, atlasWidth);
+				RectanglePackerTest.assertEquals(pAtlasSizeMaximum, atlasHeight);
+			}
+		}
+
+		for(int i = 0; i < count; i++) {
+			final int atlasIndex = atlasIndices[i];
+			RectanglePackerTest.assertTrue("Atlas index " + atlasIndex, atlasIndex >= 0 && atlasIndex < atlasCount);
+			atlasRectangleCounts[atlasIndex]++;
+
+			final String rectangle = "Rectangle " + i + " (" + pWidths[i] + "x" + pHeights[i] + " at " + xs[i] + "/" + ys[i] + ")";
+			RectanglePackerTest.assertTrue(rectangle + " is outside of atlas " + atlasIndex, xs[i] >= 0 && ys[i] >= 0 && xs[i] + pWidths[i] <= pRectanglePacker.getAtlasWidth(atlasIndex) && ys[i] + pHeights[i] <= pRectanglePacker.getAtlasHeight(atlasIndex));
+
+			for(int j = i + 1; j < count; j++) {
+				if(atlasIndices[j] == atlasIndex) {
+					final boolean separated = xs[i] + pWidths[i] + pPadding <= xs[j]
+							|| xs[j] + pWidths[j] + pPadding <= xs[i]
+							|| ys[i] + pHeights[i] + pPadding <= ys[j]
+							|| ys[j] + pHeights[j] + pPadding <= ys[i];
+					RectanglePackerTest.assertTrue(rectangle + " is closer than " + pPadding + " to rectangle " + j + " (" + pWidths[j] + "x" + pHeights[j] + " at " + xs[j] + "/" + ys[j] + ")", separated);
+				}
+			}
+		}
+
+		for(int atlasIndex = 0; atlasIndex < atlasCount; atlasIndex++) {
+			RectanglePackerTest.assertTrue("Atlas " + atlasIndex + " is empty.", atlasRectangleCounts[atlasIndex] > 0);
+		}
+
+		return atlasCount;
+	}
+
+	private static void assertPackFails(final RectanglePacker pRectanglePacker, final int[] pWidths, final int[] pHeights) {
+		final int count = pWidths.length;
+		try {
+			pRectanglePacker.pack(pWidths, pHeights, new int[count], new int[count], new int[count]);
+			RectanglePackerTest.fail("Packed a rectangle larger than the maximum atlas size.");
+		} catch (final IllegalArgumentException e) {
+			/* Expected. */
+		}
+	}
+
+	// ===========================================================
+	// Inner and Anonymous Classes
+	// ===========================================================
+}
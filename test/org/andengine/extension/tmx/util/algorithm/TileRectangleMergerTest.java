@@ -0,0 +1,279 @@
+package org.andengine.extension.tmx.util.algorithm;
+
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+import org.andengine.extension.tmx.util.algorithm.TileRectangleMerger.ITileMatcher;
+import org.andengine.extension.tmx.util.algorithm.TileRectangleMerger.ITileOutlineListener;
+import org.andengine.extension.tmx.util.algorithm.TileRectangleMerger.ITileRectangleListener;
+
+/**
+ * (c) 2026 Nicolas Gramlich
+ *
+ * @author Nicolas Gramlich
+ * @since 07:04:52 - 18.10.2026
+ */
+public class TileRectangleMergerTest extends TestCase {
+	// ===========================================================
+	// Constants
+	// ===========================================================
+
+	private static final int RANDOM_GRID_COUNT = 500;
+	private static final int RANDOM_GRID_SIZE_MAX = 32;
+
+	// ===========================================================
+	// Fields
+	// ===========================================================
+
+	private TileRectangleMerger mTileRectangleMerger;
+
+	// ===========================================================
+	// Methods for/from SuperClass/Interfaces
+	// ===========================================================
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+
+		this.mTileRectangleMerger = new TileRectangleMerger();
+	}
+
+	// ===========================================================
+	// Test Methods
+	// ===========================================================
+
+	public void testRectanglesCoverRandomGrids() {
+		final Random random = new Random(3);
+		for(int i = 0; i < TileRectangleMergerTest.RANDOM_GRID_COUNT; i++) {
+			final int tileColumns = 1 + random.nextInt(TileRectangleMergerTest.RANDOM_GRID_SIZE_MAX);
+			final int tileRows = 1 + random.nextInt(TileRectangleMergerTest.RANDOM_GRID_SIZE_MAX);
+			final double density = random.nextDouble();
+			final boolean[][] tiles = new boolean[tileRows][tileColumns];
+			for(int row = 0; row < tileRows; row++) {
+				for(int column = 0; column < tileColumns; column++) {
+					tiles[row][column] = random.nextDouble() < density;
+				}
+			}
+
+			this.assertRectanglesCoverTiles(tiles);
+		}
+	}
+
+	public void testRectanglesCoverGridWithHoles() {
+		final boolean[][] tiles = TileRectangleMergerTest.parseTiles(
+			"######",
+			"#..#.#",
+			"#..###",
+			"######"
+		);
+
+		this.assertRectanglesCoverTiles(tiles);
+	}
+
+	public void testRectanglesCoverCornerTouchingRegions() {
+		final boolean[][] tiles = TileRectangleMergerTest.parseTiles(
+			"#.#.",
+			".#.#",
+			"##..",
+			"..##"
+		);
+
+		TileRectangleMergerTest.assertEquals(6, this.assertRectanglesCoverTiles(tiles));
+	}
+
+	public void testRectanglesOfEmptyGrid() {
+		final boolean[][] tiles = TileRectangleMergerTest.parseTiles(
+			"...",
+			"..."
+		);
+
+		TileRectangleMergerTest.assertEquals(0, this.assertRectanglesCoverTiles(tiles));
+	}
+
+	public void testRectanglesReductionRatio() {
+		/* A floor with a few pillars standing on it, as in a typical platformer level. */
+		final int tileColumns = 64;
+		final int tileRows = 64;
+		final boolean[][] tiles = new boolean[tileRows][tileColumns];
+		for(int row = 0; row < tileRows; row++) {
+			for(int column = 0; column < tileColumns; column++) {
+				tiles[row][column] = (row > 50) || (column % 16 < 3 && row > 20);
+			}
+		}
+
+		final int rectangleCount = this.assertRectanglesCoverTiles(tiles);
+		final int tileCount = this.mTileRectangleMerger.getTileCount();
+		final float reductionRatio = (float)tileCount / rectangleCount;
+
+		TileRectangleMergerTest.assertEquals(1192, tileCount);
+		TileRectangleMergerTest.assertTrue("Reduction ratio too low: " + reductionRatio, reductionRatio >= 100);
+	}
+
+	public void testOutlinesEncloseRandomGrids() {
+		final Random random = new Random(5);
+		for(int i = 0; i < TileRectangleMergerTest.RANDOM_GRID_COUNT; i++) {
+			final int tileColumns = 1 + random.nextInt(TileRectangleMergerTest.RANDOM_GRID_SIZE_MAX);
+			final int tileRows = 1 + random.nextInt(TileRectangleMergerTest.RANDOM_GRID_SIZE_MAX);
+			final double density = random.nextDouble();
+			final boolean[][] tiles = new boolean[tileRows][tileColumns];
+			for(int row = 0; row < tileRows; row++) {
+				for(int column = 0; column < tileColumns; column++) {
+					tiles[row][column] = random.nextDouble() < density;
+				}
+			}
+
+			this.setTiles(tiles);
+			final OutlineStatistics outlineStatistics = this.traceOutlines();
+			/* Holes run counter-clockwise, so their area is subtracted. */
+			TileRectangleMergerTest.assertEquals(this.mTileRectangleMerger.getTileCount(), outlineStatistics.mArea);
+		}
+	}
+
+	public void testOutlinesOfGridWithHole() {
+		final boolean[][] tiles = TileRectangleMergerTest.parseTiles(
+			"####",
+			"#..#",
+			"####"
+		);
+
+		this.setTiles(tiles);
+		final OutlineStatistics outlineStatistics = this.traceOutlines();
+
+		TileRectangleMergerTest.assertEquals(2, outlineStatistics.mOutlineCount);
+		TileRectangleMergerTest.assertEquals(1, outlineStatistics.mClockwiseOutlineCount);
+		TileRectangleMergerTest.assertEquals(8, outlineStatistics.mVertexCount);
+		TileRectangleMergerTest.assertEquals(12 - 2, outlineStatistics.mArea);
+	}
+
+	public void testOutlinesOfCornerTouchingRegions() {
+		final boolean[][] tiles = TileRectangleMergerTest.parseTiles(
+			"#.#",
+			".#.",
+			"#.#"
+		);
+
+		this.setTiles(tiles);
+		final OutlineStatistics outlineStatistics = this.traceOutlines();
+
+		TileRectangleMergerTest.assertEquals(5, outlineStatistics.mOutlineCount);
+		TileRectangleMergerTest.assertEquals(5, outlineStatistics.mClockwiseOutlineCount);
+		TileRectangleMergerTest.assertEquals(5 * 4, outlineStatistics.mVertexCount);
+		TileRectangleMergerTest.assertEquals(5, outlineStatistics.mArea);
+	}
+
+	// ===========================================================
+	// Methods
+	// ===========================================================
+
+	private static boolean[][] parseTiles(final String ... pRows) {
+		final boolean[][] tiles = new boolean[pRows.length][];
+		for(int row = 0; row < pRows.length; row++) {
+			tiles[row] = new boolean[pRows[row].length()];
+			for(int column = 0; column < tiles[row].length; column++) {
+				tiles[row][column] = pRows[row].charAt(column) == '#';
+			}
+		}
+		return tiles;
+	}
+
+	private void setTiles(final boolean[][] pTiles) {
+		this.mTileRectangleMerger.setTiles(pTiles[0].length, pTiles.length, new ITileMatcher() {
+			@Override
+			public boolean matches(final int pTileColumn, final int pTileRow) {
+				return pTiles[pTileRow][pTileColumn];
+			}
+		});
+	}
+
+	/**
+	 * Asserts that the rectangles lie within the grid, do not overlap and that their union are exactly the matching cells.
+	 *
+	 * @return the number of rectangles.
+	 */
+	private int assertRectanglesCoverTiles(final boolean[][] pTiles) {
+		this.setTiles(pTiles);
+
+		final int tileColumns = pTiles[0].length;
+		final int tileRows = pTiles.length;
+		final int[][] coverCounts = new int[tileRows][tileColumns];
+		final int rectangleCount = this.mTileRectangleMerger.mergeTileRectangles(new ITileRectangleListener() {
+			@Override
+			public void onTileRectangle(final int pTileColumn, final int pTileRow, final int pTileColumns, final int pTileRows) {
+				TileRectangleMergerTest.assertTrue(pTileColumns > 0 && pTileRows > 0);
+				TileRectangleMergerTest.assertTrue(pTileColumn >= 0 && pTileColumn + pTileColumns <= tileColumns);
+				TileRectangleMergerTest.assertTrue(pTileRow >= 0 && pTileRow + pTileRows <= tileRows);
+
+				for(int row = pTileRow; row < pTileRow + pTileRows; row++) {
+					for(int column = pTileColumn; column < pTileColumn + pTileColumns; column++) {
+						coverCounts[row][column]++;
+					}
+				}
+			}
+		});
+
+		for(int row = 0; row < tileRows; row++) {
+			for(int column = 0; column < tileColumns; column++) {
+				TileRectangleMergerTest.assertEquals("Cell " + column + "/" + row + " covered wrongly.", pTiles[row][column] ? 1 : 0, coverCounts[row][column]);
+			}
+		}
+		return rectangleCount;
+	}
+
+	/**
+	 * Also asserts that every outline is closed, axis-aligned and free of collinear points.
+	 */
+	private OutlineStatistics traceOutlines() {
+		final OutlineStatistics outlineStatistics = new OutlineStatistics();
+		final int outlineCount = this.mTileRectangleMerger.traceTileOutlines(new ITileOutlineListener() {
+			@Override
+			public void onTileOutline(final int[] pVertices, final int pVertexCount) {
+				TileRectangleMergerTest.assertTrue(pVertexCount >= 4);
+				TileRectangleMergerTest.assertTrue(pVertexCount % 2 == 0);
+
+				long doubleArea = 0;
+				for(int i = 0; i < pVertexCount; i++) {
+					final int previous = (i + pVertexCount - 1) % pVertexCount;
+					final int next = (i + 1) % pVertexCount;
+					final int x = pVertices[2 * i];
+					final int y = pVertices[2 * i + 1];
+					final int nextX = pVertices[2 * next];
+					final int nextY = pVertices[2 * next + 1];
+
+					/* Axis-aligned edges, turning at every vertex. */
+					TileRectangleMergerTest.assertTrue((x == nextX) != (y == nextY));
+					final boolean previousEdgeHorizontal = pVertices[2 * previous + 1] == y;
+					final boolean nextEdgeHorizontal = nextY == y;
+					TileRectangleMergerTest.assertTrue(previousEdgeHorizontal != nextEdgeHorizontal);
+
+					doubleArea += (long)x * nextY - (long)nextX * y;
+				}
+
+				outlineStatistics.mOutlineCount++;
+				outlineStatistics.mVertexCount += pVertexCount;
+				if(doubleArea > 0) {
+					outlineStatistics.mClockwiseOutlineCount++;
+				}
+				outlineStatistics.mArea += doubleArea / 2;
+			}
+		});
+		TileRectangleMergerTest.assertEquals(outlineCount, outlineStatistics.mOutlineCount);
+		return outlineStatistics;
+	}
+
+	// ===========================================================
+	// Inner and Anonymous Classes
+	// ===========================================================
+
+	private static class OutlineStatistics {
+		// ===========================================================
+		// Fields
+		// ===========================================================
+
+		int mOutlineCount;
+		int mClockwiseOutlineCount;
+		int mVertexCount;
+		/** Signed, clockwise outlines (with the y-axis pointing down) count positive. */
+		long mArea;
+	}
+}